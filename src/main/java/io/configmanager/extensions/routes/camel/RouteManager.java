@@ -17,13 +17,19 @@ package io.configmanager.extensions.routes.camel;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
 import java.util.UUID;
-import javax.xml.bind.Unmarshaller;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import de.fraunhofer.iais.eis.AppEndpoint;
 import de.fraunhofer.iais.eis.AppEndpointType;
@@ -36,15 +42,22 @@ import io.configmanager.extensions.routes.camel.dto.RouteStepEndpoint;
 import io.configmanager.extensions.routes.camel.exceptions.NoSuitableTemplateException;
 import io.configmanager.extensions.routes.camel.exceptions.RouteCreationException;
 import io.configmanager.extensions.routes.camel.exceptions.RouteDeletionException;
+import io.dataspaceconnector.camel.util.RouteDefinitionReader;
 import io.dataspaceconnector.model.route.Route;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.model.RouteDefinition;
 import org.apache.camel.model.RoutesDefinition;
 import org.apache.commons.codec.binary.Base64;
+import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.resource.loader.StringResourceLoader;
+import org.apache.velocity.runtime.resource.util.StringResourceRepository;
+import org.apache.velocity.runtime.resource.util.StringResourceRepositoryImpl;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpMethod;
@@ -57,27 +70,54 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 public class RouteManager {
+    /**
+     * Name of the Velocity repository holding the route templates.
+     */
+    private static final String TEMPLATE_REPOSITORY = "routeTemplates";
+
     /**
      * Setting on how to handle routing errors.
      */
     @Value("${camel.application.error-handler}")
     private String camelErrorHandlerRef;
 
+    /**
+     * Number of threads for building routes in a batch deployment.
+     */
+    @Value("${camel.application.deploy-threads}")
+    private int deployThreads;
+
     /**
      * Helper for configuring Camel routes for the Dataspace Connector.
      */
     private final @NonNull RouteConfigurer routeConfigurer;
 
     /**
-     * Unmarshaller for reading route definitions from XML.
+     * Reader for route definitions from XML.
      */
-    private final @NonNull Unmarshaller unmarshaller;
+    private final @NonNull RouteDefinitionReader routeDefinitionReader;
 
     /**
      * The Camel context for deploying routes.
      */
     private final @NonNull DefaultCamelContext camelContext;
 
+    /**
+     * Holds the sources of the route templates for the Velocity engine.
+     */
+    private final StringResourceRepository templateRepository = new StringResourceRepositoryImpl();
+
+    /**
+     * The Velocity engine used for parsing route templates.
+     */
+    private final VelocityEngine velocityEngine = createVelocityEngine(templateRepository);
+
+    /**
+     * Parsed route templates by template description. Templates are parsed once and shared
+     * between threads.
+     */
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
     /**
      * Creates a Camel XML route from a given app route. The generated XML route is then added to
      * the application's Camel context for execution.
@@ -86,6 +126,100 @@ public class RouteManager {
      * @throws RouteCreationException if the Camel route cannot be created or deployed
      */
     public void createAndDeployXMLRoute(final AppRoute appRoute) throws RouteCreationException {
+        final var routes = createXMLRoute(appRoute);
+
+        try {
+            camelContext.addRouteDefinitions(routes.getRoutes());
+        } catch (Exception e) {
+            throw new RouteCreationException("Error deploying Camel route for AppRoute with ID '"
+                    + appRoute.getId() + "'", e);
+        }
+    }
+
+    /**
+     * Creates Camel XML routes for a list of app routes. The routes are built and read in
+     * parallel; only if all of them could be created, they are added to the application's Camel
+     * context in one step. If adding them fails, the added routes are removed again and the
+     * routes they replaced are restored.
+     *
+     * @param appRoutes the app routes to create Camel routes for
+     * @throws RouteCreationException if any Camel route cannot be created or deployed
+     */
+    public void createAndDeployXMLRoutes(final List<AppRoute> appRoutes)
+            throws RouteCreationException {
+        if (appRoutes.isEmpty()) {
+            return;
+        }
+
+        final var executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(deployThreads, appRoutes.size())));
+        final List<RouteDefinition> routes;
+        try {
+            final var futures = appRoutes.stream()
+                    .map(appRoute -> CompletableFuture
+                            .supplyAsync(() -> createXMLRoute(appRoute), executor))
+                    .collect(Collectors.toList());
+
+            routes = futures.stream()
+                    .map(CompletableFuture::join)
+                    .flatMap(x -> x.getRoutes().stream())
+                    .collect(Collectors.toList());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RouteCreationException) {
+                throw (RouteCreationException) e.getCause();
+            }
+
+            throw new RouteCreationException("Error creating Camel routes.", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Routes with an existing id replace the deployed route.
+        final var replaced = routes.stream()
+                .map(route -> camelContext.getRouteDefinition(route.getId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        try {
+            camelContext.addRouteDefinitions(routes);
+        } catch (Exception e) {
+            restoreRoutes(routes, replaced);
+            throw new RouteCreationException("Error deploying Camel routes.", e);
+        }
+
+        if (log.isInfoEnabled()) {
+            log.info("Added {} routes to the Camel Context.", routes.size());
+        }
+    }
+
+    /**
+     * Removes routes of a failed batch deployment from the Camel context and deploys the routes
+     * they replaced again.
+     *
+     * @param added    the routes of the failed deployment.
+     * @param replaced the previously deployed routes with the same ids.
+     */
+    private void restoreRoutes(final List<RouteDefinition> added,
+                               final List<RouteDefinition> replaced) {
+        try {
+            camelContext.removeRouteDefinitions(added);
+            camelContext.addRouteDefinitions(replaced);
+        } catch (Exception e) {
+            if (log.isWarnEnabled()) {
+                log.warn("Could not restore Camel routes after a failed deployment. "
+                        + "[exception=({})]", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Creates the Camel XML route for a given app route without deploying it.
+     *
+     * @param appRoute the app route to create a Camel route for
+     * @return the route definitions read from the generated XML
+     * @throws RouteCreationException if the Camel route cannot be created
+     */
+    private RoutesDefinition createXMLRoute(final AppRoute appRoute)
+            throws RouteCreationException {
         final var velocityContext = new VelocityContext();
 
         //create ID for Camel route
@@ -104,7 +238,7 @@ public class RouteManager {
                 (ArrayList<? extends RouteStep>) appRoute.getHasSubRoute());
 
         try {
-            createDataspaceConnectorRoute(appRoute, velocityContext);
+            return createDataspaceConnectorRoute(appRoute, velocityContext);
         } catch (Exception e) {
             throw new RouteCreationException("Error creating Camel route for AppRoute with ID '"
                     + appRoute.getId() + "'", e);
@@ -236,17 +370,17 @@ public class RouteManager {
     }
 
     /**
-     * Creates and deploys a Camel route for the Dataspace Connector. First, Dataspace Connector
-     * specific configuration is added to the Velocity Context, which should already contain
-     * general route information. Then, the correct route template for the given AppRoute object
-     * is chosen from the Dataspace Connector templates. Last, the generated XML route is added to
-     * the Camel context.
+     * Creates a Camel route for the Dataspace Connector. First, Dataspace Connector specific
+     * configuration is added to the Velocity Context, which should already contain general route
+     * information. Then, the correct route template for the given AppRoute object is chosen from
+     * the Dataspace Connector templates. Last, the generated XML route is read.
      *
      * @param appRoute the AppRoute object
      * @param velocityContext the Velocity context
-     * @throws Exception if the route file cannot be created or deployed
+     * @return the route definitions read from the generated XML
+     * @throws Exception if the route file cannot be created or read
      */
-    private void createDataspaceConnectorRoute(final AppRoute appRoute,
+    private RoutesDefinition createDataspaceConnectorRoute(final AppRoute appRoute,
                                                final VelocityContext velocityContext)
             throws Exception {
 
@@ -264,17 +398,12 @@ public class RouteManager {
         final var template = routeConfigurer.getRouteTemplate(appRoute);
 
         if (template != null) {
-            final var velocityEngine = new VelocityEngine();
-            velocityEngine.init();
-
             //populate route template with properties from velocity context to create route
-            final var writer = populateTemplate(template, velocityEngine, velocityContext);
+            final var writer = populateTemplate(template, velocityContext);
 
             final var inputStream = new ByteArrayInputStream(writer.toString()
                     .getBytes(StandardCharsets.UTF_8));
-            final var routes = (RoutesDefinition) unmarshaller.unmarshal(inputStream);
-            camelContext.addRouteDefinitions(routes.getRoutes());
-
+            return routeDefinitionReader.read(inputStream);
         } else {
             if (log.isWarnEnabled()) {
                 log.warn("Template is null. Unable to create XML route file for AppRoute"
@@ -290,22 +419,17 @@ public class RouteManager {
      * Populates a given Velocity template using the values from a given Velocity context.
      *
      * @param resource the template
-     * @param velocityEngine the Velocity engine required for populating the template
      * @param velocityContext the context containing the values to insert into the template
      * @return the populated template as a string
      * @throws IOException if an error occurs while filling out the route template
      */
     private StringWriter populateTemplate(final Resource resource,
-                                          final VelocityEngine velocityEngine,
                                           final VelocityContext velocityContext)
             throws IOException {
         final var stringWriter = new StringWriter();
-        InputStreamReader inputStreamReader;
 
         try {
-            inputStreamReader = new InputStreamReader(resource.getInputStream(),
-                    StandardCharsets.UTF_8);
-            velocityEngine.evaluate(velocityContext, stringWriter, "", inputStreamReader);
+            getTemplate(resource).merge(velocityContext, stringWriter);
         } catch (IOException e) {
             final var camelRouteId = (String) velocityContext.get("routeId");
 
@@ -322,6 +446,51 @@ public class RouteManager {
         return stringWriter;
     }
 
+    /**
+     * Returns the parsed Velocity template for a template resource. The resource is read and
+     * parsed on first use only.
+     *
+     * @param resource the template resource
+     * @return the parsed template
+     * @throws IOException if the template resource cannot be read
+     */
+    private Template getTemplate(final Resource resource) throws IOException {
+        final var name = resource.getDescription();
+        var template = templates.get(name);
+        if (template == null) {
+            try (var inputStream = resource.getInputStream()) {
+                templateRepository.putStringResource(name,
+                        new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+
+            template = velocityEngine.getTemplate(name, StandardCharsets.UTF_8.name());
+            templates.put(name, template);
+        }
+
+        return template;
+    }
+
+    /**
+     * Creates a Velocity engine that loads templates from the given repository.
+     *
+     * @param repository the template repository
+     * @return the initialized Velocity engine
+     */
+    private static VelocityEngine createVelocityEngine(final StringResourceRepository repository) {
+        final var loader = "string.resource.loader.";
+        final var properties = new Properties();
+        properties.setProperty(RuntimeConstants.RESOURCE_LOADER, "string");
+        properties.setProperty(loader + "class", StringResourceLoader.class.getName());
+        properties.setProperty(loader + StringResourceLoader.REPOSITORY_STATIC, "false");
+        properties.setProperty(loader + StringResourceLoader.REPOSITORY_NAME,
+                TEMPLATE_REPOSITORY);
+
+        final var engine = new VelocityEngine();
+        engine.setApplicationAttribute(TEMPLATE_REPOSITORY, repository);
+        engine.init(properties);
+        return engine;
+    }
+
     /**
      * Deletes all Camel routes associated with app routes in a given list by calling
      * {@link RouteManager#deleteRoute(AppRoute)}.
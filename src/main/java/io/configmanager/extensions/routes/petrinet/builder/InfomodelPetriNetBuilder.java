@@ -84,7 +84,25 @@ public class InfomodelPetriNetBuilder {
         }
 
         final var stepGraph = PetriNetSimulator.buildStepGraph(petriNet);
-        final var paths = PetriNetSimulator.getAllPaths(stepGraph);
+        if (stepGraph.isTruncated()) {
+            if (log.isWarnEnabled()) {
+                log.warn("Could not explore all states of the AppRoute, policies can not be "
+                        + "verified.");
+            }
+            return false;
+        }
+
+        final var allPaths = PetriNetSimulator.getAllPaths(stepGraph,
+                PetriNetSimulator.DEFAULT_PATH_LIMIT);
+        if (allPaths.isEmpty()) {
+            if (log.isWarnEnabled()) {
+                log.warn("Could not enumerate all paths of the AppRoute, policies can not be "
+                        + "verified.");
+            }
+            return false;
+        }
+
+        final var paths = allPaths.get();
         final var formulas = InfomodelPetriNetBuilder.extractPoliciesFromAppRoute(appRoute);
 
         boolean evaluation = true;
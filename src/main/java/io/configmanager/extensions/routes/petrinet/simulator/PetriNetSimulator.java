@@ -30,23 +30,44 @@ import io.configmanager.extensions.routes.petrinet.model.TransitionImpl;
 import lombok.extern.log4j.Log4j2;
 
 import java.net.URI;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * Class Providing static methods to simulate a PetriNet based on a given initial state,
  * or creating the graph of all possible steps the PetriNet can take in an execution.
  *
- * (both methods could be running indefinitely, if the given initial PetriNet contains a
- * marker generating circle, so the PetriNet has an infinite amount of reachable states)
+ * (the simulation could be running indefinitely, if the given initial PetriNet contains a
+ * marker generating circle, so the PetriNet has an infinite amount of reachable states;
+ * building the graph stops after a limited number of states)
  */
 @Log4j2
 @SuppressFBWarnings(value = "CRLF_INJECTION_LOGS", justification = "The logs are generated by "
         + " the different Petrinet classes itself and are not filled by any user input data.")
 public final class PetriNetSimulator {
+    /**
+     * The maximum number of states explored when building a StepGraph.
+     */
+    public static final int DEFAULT_STATE_LIMIT = 100_000;
+
+    /**
+     * The maximum number of paths enumerated when checking a PetriNet.
+     */
+    public static final int DEFAULT_PATH_LIMIT = 100_000;
+
     private PetriNetSimulator() {
         throw new UnsupportedOperationException();
     }
@@ -114,101 +135,109 @@ public final class PetriNetSimulator {
     }
 
     /**
-     * For a given petriNet, find all transitions that can be taken.
-     * @param petriNet a given PetriNet
-     * @return List of Transition nodes, for which all previous nodes have markers
-     */
-    private static List<Node> getPossibleTransitions(final PetriNet petriNet) {
-        final var possible = new ArrayList<Node>();
-
-        for (final var node : petriNet.getNodes()) {
-            if (isPossible(node)) {
-                possible.add(node);
-            }
-        }
-
-        return possible;
-    }
-
-    /**
-     * Given a petri net and a (transition) node: do the transition.
-     * @param petriNet a given PetriNet
-     * @param node a given Node of the PetriNet
+     * Build a StepGraph with the given PetriNet as starting Point for executions, exploring at
+     * most {@link #DEFAULT_STATE_LIMIT} states.
+     *
+     * @param petriNet the initial PetriNet
+     * @return the StepGraph with all reachable states of the given PetriNet
      */
-    private static void doTransition(final PetriNet petriNet, final Node node) {
-        if (!isPossible(node)) {
-            return;
-        }
-
-        for (final var arc : node.getTargetArcs()) {
-            final var place = (PlaceImpl) arc.getSource();
-            place.setMarkers(place.getMarkers() - 1);
-        }
-
-        for (final var arc : node.getSourceArcs()) {
-            final var place = (PlaceImpl) arc.getTarget();
-            place.setMarkers(place.getMarkers() + 1);
-        }
+    public static StepGraph buildStepGraph(final PetriNet petriNet) {
+        return buildStepGraph(petriNet, DEFAULT_STATE_LIMIT);
     }
 
     /**
      * Build a StepGraph with the given PetriNet as starting Point for executions.
      *
+     * States are represented by their marking vector and explored breadth first. A PetriNet is
+     * only copied once for every distinct marking, firing a transition into a known marking just
+     * adds an arc. If more than stateLimit states are reachable, the exploration stops and the
+     * StepGraph is marked as truncated.
+     *
      * @param petriNet the initial PetriNet
+     * @param stateLimit the maximum number of states in the StepGraph
      * @return the StepGraph with all reachable states of the given PetriNet
      */
-    public static StepGraph buildStepGraph(final PetriNet petriNet) {
+    public static StepGraph buildStepGraph(final PetriNet petriNet, final int stateLimit) {
         final var stepGraph = new StepGraph(petriNet);
         stepGraph.getSteps().add(petriNet);
 
-        for (final var node : getPossibleTransitions(petriNet)) {
-            addStepToStepGraph(petriNet,
-                    petriNet.deepCopy(),
-                    node, stepGraph);
+        final var places = petriNet.getNodes().stream()
+                .filter(Place.class::isInstance)
+                .map(Place.class::cast)
+                .sorted(Comparator.comparing(Node::getID))
+                .collect(Collectors.toList());
+        final var placeIndex = new HashMap<URI, Integer>();
+        for (var i = 0; i < places.size(); i++) {
+            placeIndex.put(places.get(i).getID(), i);
+        }
+
+        final var transitions = petriNet.getNodes().stream()
+                .filter(TransitionImpl.class::isInstance)
+                .sorted(Comparator.comparing(Node::getID))
+                .map(node -> new FiringRule(node, placeIndex))
+                .collect(Collectors.toList());
+
+        final var initial = new Marking(places.stream().mapToInt(Place::getMarkers).toArray());
+        final var visited = new HashMap<Marking, PetriNet>();
+        visited.put(initial, petriNet);
+
+        final var frontier = new ArrayDeque<Marking>();
+        frontier.add(initial);
+
+        while (!frontier.isEmpty()) {
+            final var marking = frontier.poll();
+            final var parent = visited.get(marking);
+
+            for (final var transition : transitions) {
+                if (!transition.isEnabled(marking)) {
+                    continue;
+                }
+
+                final var next = transition.fire(marking);
+                var step = visited.get(next);
+                if (step == null) {
+                    if (visited.size() >= stateLimit) {
+                        stepGraph.setTruncated(true);
+                        continue;
+                    }
+
+                    step = toPetriNet(petriNet, placeIndex, next);
+                    visited.put(next, step);
+                    stepGraph.getSteps().add(step);
+                    frontier.add(next);
+                }
+
+                stepGraph.getArcs().add(new NetArc(parent, step, transition.getId()));
+            }
+        }
+
+        if (stepGraph.isTruncated() && log.isWarnEnabled()) {
+            log.warn("State limit reached, StepGraph is incomplete. [limit=({})]", stateLimit);
         }
 
         return stepGraph;
     }
 
     /**
-     * Execute a possible transition of the current PetriNet and add the result
-     * to the StepGraph.
+     * Create a copy of the initial PetriNet carrying the given marking.
      *
-     * @param parent the current PetriNet
-     * @param copy a copy of the current PetriNet which will be modified
-     * @param transition the transition the PetriNet should execute
-     * @param stepGraph the stepgraph the resulting PetriNet will be added to
-     *                  (if it doesn't already contain an equal PetriNet)
+     * @param initial the initial PetriNet
+     * @param placeIndex the position of every place in the marking vector
+     * @param marking the marking of the copy
+     * @return the copied PetriNet
      */
-    private static void addStepToStepGraph(final PetriNet parent,
-                                           final PetriNet copy,
-                                           final Node transition,
-                                           final StepGraph stepGraph) {
-        Node transitionCopy = null;
+    private static PetriNet toPetriNet(final PetriNet initial,
+                                       final Map<URI, Integer> placeIndex,
+                                       final Marking marking) {
+        final var copy = initial.deepCopy();
         for (final var node : copy.getNodes()) {
-            if (node.getID().equals(transition.getID())) {
-                transitionCopy = node;
-            }
-        }
-
-        doTransition(copy, transitionCopy);
-
-        for (final var net : stepGraph.getSteps()) {
-            if (net.equals(copy)) {
-                stepGraph.getArcs().add(
-                        new NetArc(parent, net, transition.getID()));
-                return;
+            final var index = placeIndex.get(node.getID());
+            if (index != null) {
+                ((Place) node).setMarkers(marking.get(index));
             }
         }
 
-        stepGraph.getArcs().add(
-                new NetArc(parent, copy, transition.getID()));
-
-        stepGraph.getSteps().add(copy);
-
-        for (final var node : getPossibleTransitions(copy)) {
-            addStepToStepGraph(copy, copy.deepCopy(), node, stepGraph);
-        }
+        return copy;
     }
 
     /**
@@ -229,87 +258,145 @@ public final class PetriNetSimulator {
     }
 
     /**
+     * Enumerate all paths of the PetriNet, see {@link #visitPaths(StepGraph, Predicate)}.
+     *
      * @param stepGraph PetriNet StepGraph
-     * @return all paths possible in given petriNet
+     * @return all paths possible in given petriNet, circlefree paths first, shortest first
      */
     public static List<List<Node>> getAllPaths(final StepGraph stepGraph) {
-        final var len1 = getPathsOfLength1(stepGraph);
-        List<List<Node>> lenN = new ArrayList<>(len1);
-        final List<List<Node>> allPaths = new ArrayList<>(len1);
-
-        var i = 1;
+        return getAllPaths(stepGraph, Integer.MAX_VALUE).orElseThrow();
+    }
 
-        while (!lenN.isEmpty()) {
-            if (log.isDebugEnabled()) {
-                log.debug("Calculating paths of length {}", ++i);
+    /**
+     * Enumerate the paths of the PetriNet, stopping as soon as more than pathLimit paths have
+     * been found. The number of paths can grow exponentially with the size of the net.
+     *
+     * @param stepGraph PetriNet StepGraph
+     * @param pathLimit the maximum number of paths
+     * @return all paths possible in given petriNet, circlefree paths first, shortest first.
+     *      Empty if the petriNet has more than pathLimit paths.
+     */
+    public static Optional<List<List<Node>>> getAllPaths(final StepGraph stepGraph,
+                                                         final int pathLimit) {
+        final List<List<Node>> circleFreePaths = new ArrayList<>();
+        final List<List<Node>> circularPaths = new ArrayList<>();
+
+        final var complete = visitPaths(stepGraph, path -> {
+            if (circleFreePaths.size() + circularPaths.size() >= pathLimit) {
+                return false;
             }
-            lenN = getPathsOfLengthNplus1(len1, lenN);
 
-            if (!lenN.isEmpty()) {
-                allPaths.addAll(lenN);
+            final var last = path.get(path.size() - 1);
+            if (path.indexOf(last) == path.size() - 1) {
+                circleFreePaths.add(path);
+            } else {
+                circularPaths.add(path);
             }
+            return true;
+        });
+
+        if (log.isDebugEnabled()) {
+            log.debug("Found {} paths. [complete=({})]",
+                    circleFreePaths.size() + circularPaths.size(), complete);
+        }
+
+        if (!complete) {
+            return Optional.empty();
         }
 
-        allPaths.sort(Comparator.comparingInt(List::size));
+        //put circlefree paths at beginning of list, so they get checked first
+        circleFreePaths.sort(Comparator.comparingInt(List::size));
+        circularPaths.sort(Comparator.comparingInt(List::size));
+        circleFreePaths.addAll(circularPaths);
 
-        return filterPaths(allPaths);
+        return Optional.of(circleFreePaths);
     }
 
     /**
+     * Enumerate the paths of the PetriNet by an iterative depth first search over its successor
+     * relation and pass each one to the visitor as soon as it is found. A path ends when its last
+     * node has no successor or as soon as it gets circular (last node already contained in the
+     * path), so only the longest paths are visited and no subpaths have to be filtered out.
+     *
+     * Example: {A -> B -> C (visit), A -> B (not visited), B -> C (visit)}
+     *
      * @param stepGraph PetriNet StepGraph
-     * @return all possible paths of length 1 (either Place -> Transition or Transition -> Place)
+     * @param visitor receives every path, returns false to stop the enumeration
+     * @return true if all paths have been visited, false if the visitor stopped the enumeration
      */
-    private static List<List<Node>> getPathsOfLength1(final StepGraph stepGraph) {
-        final List<List<Node>> paths = new ArrayList<>();
+    public static boolean visitPaths(final StepGraph stepGraph,
+                                     final Predicate<List<Node>> visitor) {
+        final var successors = getSuccessors(stepGraph);
+        final var path = new ArrayList<Node>();
+        final var onPath = new HashSet<Node>();
+        final var pending = new ArrayDeque<Iterator<Node>>();
 
         for (final var node : stepGraph.getInitial().getNodes()) {
-            if (node instanceof Place) {
-                final var followingTransitions = node.getSourceArcs()
-                        .stream()
-                        .map(Arc::getTarget)
-                        .filter(trans -> stepGraph.getArcs().stream()
-                                .map(NetArc::getUsedTransition)
-                                .anyMatch(used -> used.equals(trans.getID())))
-                        .collect(Collectors.toList());
-
-                for (final var succ : followingTransitions) {
-                    paths.add(List.of(node, succ));
-                }
+            final var next = successors.get(node);
+            if (next.isEmpty()) {
+                continue;
             }
 
-            if (node instanceof Transition) {
-                for (final var succ : node.getSourceArcs().stream()
-                        .map(Arc::getTarget)
-                        .collect(Collectors.toSet())) {
-                    paths.add(List.of(node, succ));
+            path.add(node);
+            onPath.add(node);
+            pending.push(next.iterator());
+
+            while (!pending.isEmpty()) {
+                final var candidates = pending.peek();
+                if (!candidates.hasNext()) {
+                    pending.pop();
+                    onPath.remove(path.remove(path.size() - 1));
+                    continue;
+                }
+
+                final var succ = candidates.next();
+                path.add(succ);
+                if (!onPath.add(succ)) {
+                    // circular: the node stays on the path with its first occurrence
+                    if (!visitor.test(List.copyOf(path))) {
+                        return false;
+                    }
+                    path.remove(path.size() - 1);
+                    continue;
+                }
+
+                final var succNext = successors.getOrDefault(succ, Collections.emptySet());
+                if (succNext.isEmpty()) {
+                    if (!visitor.test(List.copyOf(path))) {
+                        return false;
+                    }
+                    onPath.remove(path.remove(path.size() - 1));
+                } else {
+                    pending.push(succNext.iterator());
                 }
             }
         }
-        return paths;
+
+        return true;
     }
 
     /**
-     * @param pathsLen1 set of possible paths of length 1
-     * @param pathsLenN all possible paths of length n
-     *                  (stop considering as soon as path gets circular (first = last))
-     * @return all possible paths of length n+1
+     * @param stepGraph PetriNet StepGraph
+     * @return successors of every node (for places only the transitions used in the StepGraph)
      */
-    private static List<List<Node>> getPathsOfLengthNplus1(final List<List<Node>> pathsLen1,
-                                                           final List<List<Node>> pathsLenN) {
-        final List<List<Node>> pathsLenNplus1 = new ArrayList<>();
-
-        for (final var pathN : pathsLenN) {
-            for (final var path1 : pathsLen1) {
-                if (pathN.get(pathN.size() - 1).equals(path1.get(0)) && circleFree(pathN)) {
-                    final var pathNplus1 = new ArrayList<>(pathN);
+    private static Map<Node, Collection<Node>> getSuccessors(final StepGraph stepGraph) {
+        final var usedTransitions = stepGraph.getArcs().stream()
+                .map(NetArc::getUsedTransition)
+                .collect(Collectors.toSet());
+        final var successors = new HashMap<Node, Collection<Node>>();
 
-                    pathNplus1.add(path1.get(path1.size() - 1));
-                    pathsLenNplus1.add(pathNplus1);
+        for (final var node : stepGraph.getInitial().getNodes()) {
+            final var next = new LinkedHashSet<Node>();
+            for (final var arc : node.getSourceArcs()) {
+                final var succ = arc.getTarget();
+                if (node instanceof Transition || usedTransitions.contains(succ.getID())) {
+                    next.add(succ);
                 }
             }
+            successors.put(node, next);
         }
 
-        return pathsLenNplus1;
+        return successors;
     }
 
     /**
@@ -402,29 +489,101 @@ public final class PetriNetSimulator {
     }
 
     /**
-     * Remove subpaths from set of paths, only keep longest paths
-     * (but keep them if they have different starting places).
-     *
-     * Example: {A -> B -> C (keep), A -> B (remove), B -> C (keep)}
-     *
-     * @param paths Set of all paths
-     * @return Filtered set of Paths
+     * The number of markers on every place of a PetriNet, in a fixed place order.
      */
-    private static List<List<Node>> filterPaths(final List<List<Node>> paths) {
-        final List<List<Node>> filtered = new ArrayList<>(List.copyOf(paths));
+    private static final class Marking {
+        /**
+         * The markers per place.
+         */
+        private final int[] markers;
+
+        /**
+         * The precomputed hash of the markers.
+         */
+        private final int hash;
+
+        Marking(final int[] pMarkers) {
+            this.markers = pMarkers;
+            this.hash = Arrays.hashCode(pMarkers);
+        }
+
+        int get(final int index) {
+            return markers[index];
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            return Arrays.equals(markers, ((Marking) o).markers);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 
-        final var filteredCopy = new ArrayList<>(filtered);
+    /**
+     * A transition reduced to the positions of its input and output places in a marking.
+     */
+    private static final class FiringRule {
+        /**
+         * The id of the transition.
+         */
+        private final URI id;
+
+        /**
+         * The places losing a marker.
+         */
+        private final int[] inputs;
+
+        /**
+         * The places gaining a marker.
+         */
+        private final int[] outputs;
+
+        FiringRule(final Node transition, final Map<URI, Integer> placeIndex) {
+            this.id = transition.getID();
+            this.inputs = transition.getTargetArcs().stream()
+                    .mapToInt(arc -> placeIndex.get(arc.getSource().getID()))
+                    .toArray();
+            this.outputs = transition.getSourceArcs().stream()
+                    .mapToInt(arc -> placeIndex.get(arc.getTarget().getID()))
+                    .toArray();
+        }
 
-        for (final var pathY : filteredCopy) {
-            for (final var pathX : paths) {
-                if (pathX.get(0).equals(pathY.get(0)) && !pathX.equals(pathY)
-                        && Collections.indexOfSubList(pathY, pathX) != -1) {
-                    filtered.remove(pathX);
+        URI getId() {
+            return id;
+        }
+
+        boolean isEnabled(final Marking marking) {
+            for (final var input : inputs) {
+                if (marking.get(input) <= 0) {
+                    return false;
                 }
             }
+
+            return true;
+        }
+
+        Marking fire(final Marking marking) {
+            final var next = marking.markers.clone();
+            for (final var input : inputs) {
+                next[input]--;
+            }
+
+            for (final var output : outputs) {
+                next[output]++;
+            }
+
+            return new Marking(next);
         }
-        //put circlefree paths at beginnig of list, so they get checked first
-        filtered.sort((o1, o2) -> Boolean.compare(circleFree(o2), circleFree(o1)));
-        return filtered;
     }
 }
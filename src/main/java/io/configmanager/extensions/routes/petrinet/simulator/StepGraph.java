@@ -16,9 +16,13 @@
 package io.configmanager.extensions.routes.petrinet.simulator;
 
 import io.configmanager.extensions.routes.petrinet.model.PetriNet;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Set;
 
 /**
@@ -32,7 +36,8 @@ public class StepGraph {
     private PetriNet initial;
 
     /**
-     * Each Step a PetriNet can make is represented as a PetriNet.
+     * Each Step a PetriNet can make is represented as a PetriNet. Steps are unique by their
+     * marking, so the set compares them by identity.
      */
     private Set<PetriNet> steps;
 
@@ -41,13 +46,19 @@ public class StepGraph {
      */
     private Set<NetArc> arcs;
 
+    /**
+     * True if the state limit was reached and not every reachable Step is contained.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private boolean truncated;
+
     /**
      * Creates a Step-Graph of the given Petrinet, containing every Step a PetriNet can make.
      * @param pInitial The initial Petrinet.
      */
     public StepGraph(final PetriNet pInitial) {
         this.initial = pInitial;
-        steps = new HashSet<>();
+        steps = Collections.newSetFromMap(new IdentityHashMap<>());
         arcs = new HashSet<>();
     }
 }
@@ -32,26 +32,25 @@ import de.fraunhofer.ids.messaging.requests.exceptions.UnexpectedPayloadExceptio
 import io.dataspaceconnector.bootstrap.util.BootstrapUtils;
 import io.dataspaceconnector.model.artifact.ArtifactDesc;
 import io.dataspaceconnector.model.auth.AuthenticationDesc;
-import io.dataspaceconnector.model.resource.OfferedResource;
 import io.dataspaceconnector.model.resource.OfferedResourceDesc;
 import io.dataspaceconnector.model.resource.RequestedResourceDesc;
+import io.dataspaceconnector.model.template.CatalogTemplate;
 import io.dataspaceconnector.model.template.ResourceTemplate;
 import io.dataspaceconnector.service.ids.ConnectorService;
 import io.dataspaceconnector.service.ids.DeserializationService;
 import io.dataspaceconnector.service.message.GlobalMessageService;
+import io.dataspaceconnector.service.resource.BatchTemplateBuilder;
 import io.dataspaceconnector.service.resource.CatalogService;
-import io.dataspaceconnector.service.resource.TemplateBuilder;
 import io.dataspaceconnector.util.TemplateUtils;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.context.ApplicationContext;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
 
@@ -65,13 +64,18 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import static io.dataspaceconnector.bootstrap.util.BootstrapUtils.findFilesByExtension;
 import static io.dataspaceconnector.bootstrap.util.BootstrapUtils.retrieveBootstrapConfig;
@@ -109,6 +113,18 @@ public class Bootstrapper {
     @Value("${bootstrap.path}")
     private String bootstrapPath;
 
+    /**
+     * Number of threads for parsing catalog files and registering resources at brokers.
+     */
+    @Value("${bootstrap.threads}")
+    private int threads;
+
+    /**
+     * Number of offered resources after which the imported catalogs are committed.
+     */
+    @Value("${bootstrap.batch-size}")
+    private int batchSize;
+
     /**
      * Spring application context. Needed for shutdowns in case of errors.
      */
@@ -120,9 +136,9 @@ public class Bootstrapper {
     private final @NotNull DeserializationService deserializationSvc;
 
     /**
-     * The template builder.
+     * The builder for importing catalogs in batches.
      */
-    private final @NotNull TemplateBuilder<OfferedResource, OfferedResourceDesc> templateBuilder;
+    private final @NotNull BatchTemplateBuilder batchTemplateBuilder;
 
     /**
      * The catalog service.
@@ -194,8 +210,8 @@ public class Bootstrapper {
      */
     private boolean registerAtBroker(final Properties properties,
                                     final Map<URI, Resource> resources) {
-        final var knownBrokers = new HashSet<String>();
-        // Iterate over all registered resources.
+        // Group the resources by broker, so the connector is registered once per broker.
+        final var resourcesByBroker = new HashMap<URI, List<Resource>>();
         for (final var entry : resources.entrySet()) {
             final var propertyKey = "broker.register." + entry.getKey().toString();
             if (properties.containsKey(propertyKey)) {
@@ -208,38 +224,86 @@ public class Bootstrapper {
                     return false;
                 }
 
-                final var broker = brokerUrl.get();
-
                 try {
-                    if (!knownBrokers.contains(broker.toString())) {
-                        knownBrokers.add(broker.toString());
-                        var connectorResponse = brokerSvc
-                                .sendConnectorUpdateMessage(broker.toURI());
-                        if (!brokerSvc.checkResponse(connectorResponse)) {
-                            return false;
-                        }
-                    }
-
-                    var resourceResponse = brokerSvc
-                            .sendResourceUpdateMessage(broker.toURI(), entry.getValue());
-                    if (!brokerSvc.checkResponse(resourceResponse)) {
-                        return false;
-                    }
-                } catch (MultipartParseException | ClaimsException | DapsTokenManagerException
-                        | IOException | URISyntaxException | NoTemplateProvidedException
-                        | ShaclValidatorException | SendMessageException
-                        | UnexpectedPayloadException | SerializeException
-                        | DeserializeException | RejectionException
-                        | UnknownResponseException e) {
+                    resourcesByBroker.computeIfAbsent(brokerUrl.get().toURI(),
+                            x -> new ArrayList<>()).add(entry.getValue());
+                } catch (URISyntaxException e) {
                     if (log.isDebugEnabled()) {
                         log.debug("Could not register resource at broker [resourceId=({}), "
-                                + "broker=({})].", entry.getKey().toString(), broker, e);
+                                + "broker=({})].", entry.getKey().toString(), brokerUrl.get(), e);
                     }
                     return false;
                 }
             }
         }
-        return true;
+
+        if (resourcesByBroker.isEmpty()) {
+            return true;
+        }
+
+        // The connector has to be known to a broker before its resources are sent. The
+        // registrations of the resources at a broker are independent of each other.
+        final var executor = Executors.newFixedThreadPool(threads);
+        try {
+            final var registrations = resourcesByBroker.entrySet().stream()
+                    .map(entry -> CompletableFuture
+                            .supplyAsync(() -> updateConnector(entry.getKey()), executor)
+                            .thenCompose(registered -> registered
+                                    ? updateResources(entry.getKey(), entry.getValue(), executor)
+                                    : CompletableFuture.completedFuture(false)))
+                    .collect(Collectors.toList());
+
+            return registrations.stream()
+                    .map(CompletableFuture::join)
+                    .reduce(true, Boolean::logicalAnd);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private CompletableFuture<Boolean> updateResources(final URI broker,
+                                                       final List<Resource> resources,
+                                                       final ExecutorService executor) {
+        final var updates = resources.stream()
+                .map(resource -> CompletableFuture
+                        .supplyAsync(() -> updateResource(broker, resource), executor))
+                .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(updates.toArray(new CompletableFuture[0]))
+                .thenApply(x -> updates.stream().allMatch(CompletableFuture::join));
+    }
+
+    private boolean updateConnector(final URI broker) {
+        try {
+            return brokerSvc.checkResponse(brokerSvc.sendConnectorUpdateMessage(broker));
+        } catch (MultipartParseException | ClaimsException | DapsTokenManagerException
+                | IOException | NoTemplateProvidedException
+                | ShaclValidatorException | SendMessageException
+                | UnexpectedPayloadException | SerializeException
+                | DeserializeException | RejectionException
+                | UnknownResponseException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Could not register connector at broker [broker=({})].", broker, e);
+            }
+            return false;
+        }
+    }
+
+    private boolean updateResource(final URI broker, final Resource resource) {
+        try {
+            return brokerSvc.checkResponse(brokerSvc.sendResourceUpdateMessage(broker, resource));
+        } catch (MultipartParseException | ClaimsException | DapsTokenManagerException
+                | IOException | NoTemplateProvidedException
+                | ShaclValidatorException | SendMessageException
+                | UnexpectedPayloadException | SerializeException
+                | DeserializeException | RejectionException
+                | UnknownResponseException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Could not register resource at broker [resourceId=({}), "
+                        + "broker=({})].", resource.getId(), broker, e);
+            }
+            return false;
+        }
     }
 
     private List<File> loadBootstrapData() {
@@ -294,71 +358,120 @@ public class Bootstrapper {
             return false;
         }
 
+        // Every chunk of catalogs is committed on its own, so the persistence context does not
+        // grow with the whole import. A catalog is never split, it is imported completely or not.
         final var template = new TransactionTemplate(transactionManager);
-        // Iterate over all deserialized catalogs.
-        for (final var catalog : catalogs.get()) {
-            // Check for duplicates. Get all known catalogs for every bootstrap processor to detect
-            // duplicated bootstrap files.
-            final var duplicate = template.execute(x -> isDuplicate(catalog));
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // Catalogs known from previous runs or from duplicated bootstrap files are skipped.
+        final var knownIds = new HashSet<URI>();
+        final var bootstrapIds = template.execute(x -> catalogSvc.getBootstrapIds());
+        if (bootstrapIds != null) {
+            knownIds.addAll(bootstrapIds);
+        }
 
-            if (duplicate != null && duplicate) {
+        final var progress = new ImportProgress(catalogs.get().size());
+        final var chunk = new ArrayList<ResourceCatalog>();
+        var chunkResources = 0;
+        for (final var catalog : catalogs.get()) {
+            if (!knownIds.add(catalog.getId())) {
                 if (log.isInfoEnabled()) {
                     log.info("Catalog is already registered and will be skipped. "
                             + "[catalogId=({})]", catalog.getId());
                 }
+                progress.skipped();
                 continue;
             }
 
-            if (!registerCatalog(catalog, properties, idsResources)) {
-                return false;
+            chunk.add(catalog);
+            chunkResources += countOfferedResources(catalog);
+            if (chunkResources >= batchSize) {
+                registerChunk(template, chunk, properties, idsResources, progress);
+                chunk.clear();
+                chunkResources = 0;
             }
         }
 
+        if (!chunk.isEmpty()) {
+            registerChunk(template, chunk, properties, idsResources, progress);
+        }
+
         return true;
     }
 
-    private boolean isDuplicate(final ResourceCatalog catalog) {
-        for (final var knownCatalog : catalogSvc.getAll(Pageable.unpaged())) {
-            Hibernate.initialize(knownCatalog.getAdditional());
-            if (catalog.getId().equals(knownCatalog.getBootstrapId())) {
-                return true;
+    private void registerChunk(final TransactionTemplate template,
+                               final List<ResourceCatalog> chunk, final Properties properties,
+                               final Map<URI, Resource> idsResources,
+                               final ImportProgress progress) {
+        final var templates = new ArrayList<CatalogTemplate>(chunk.size());
+        for (final var catalog : chunk) {
+            templates.add(getCatalogTemplate(catalog, properties, idsResources));
+        }
+
+        // The catalogs of a chunk are built in batch mode and flushed once.
+        template.executeWithoutResult(x -> batchTemplateBuilder.build(templates));
+
+        for (final var catalog : chunk) {
+            if (log.isInfoEnabled()) {
+                log.info("Bootstrapped catalog. [catalogId=({})]", catalog.getId());
             }
+            progress.imported(countOfferedResources(catalog));
         }
+        progress.report();
+    }
 
-        return false;
+    private static int countOfferedResources(final ResourceCatalog catalog) {
+        return catalog.getOfferedResource() == null ? 0 : catalog.getOfferedResource().size();
     }
 
     private Optional<Set<ResourceCatalog>> deserializeAllCatalogs(final List<File> jsonFiles) {
-        final var catalogs = new HashSet<ResourceCatalog>();
-
-        // Deserialize all files.
-        for (final var jsonFile : jsonFiles) {
-            try {
-                catalogs.add(deserializationSvc.getResourceCatalog(
-                        Files.readString(jsonFile.toPath())));
-            } catch (IOException e) {
-                if (log.isWarnEnabled()) {
-                    log.warn("Could not deserialize ids catalog file. [path=({})]",
-                            jsonFile.getPath(), e);
+        // Deserialize all files. Parsing is independent per file and dominates for large files.
+        final var executor = Executors.newFixedThreadPool(threads);
+        try {
+            final var parsed = jsonFiles.stream()
+                    .map(file -> CompletableFuture
+                            .supplyAsync(() -> deserializeCatalog(file), executor))
+                    .collect(Collectors.toList());
+
+            final var catalogs = new HashSet<ResourceCatalog>();
+            for (final var catalog : parsed) {
+                final var result = catalog.join();
+                if (result.isEmpty()) {
+                    return Optional.empty();
                 }
-                return Optional.empty();
+                catalogs.add(result.get());
             }
+
+            return Optional.of(catalogs);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Optional<ResourceCatalog> deserializeCatalog(final File jsonFile) {
+        try {
+            return Optional.of(deserializationSvc.getResourceCatalog(
+                    Files.readString(jsonFile.toPath())));
+        } catch (IOException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("Could not deserialize ids catalog file. [path=({})]",
+                        jsonFile.getPath(), e);
+            }
+            return Optional.empty();
         }
-        return Optional.of(catalogs);
     }
 
     /**
-     * Transform an ids resource catalog to dsc format and register the catalog in the connector.
+     * Transform an ids resource catalog to a dsc catalog template.
      *
      * @param catalog      The ids resource catalog entity.
      * @param properties   Additional properties that are missing in ids entity.
      * @param idsResources (IDS ID, IDS-Resource) Map that contains bootstrapped elements.
-     * @return true if the catalog could be registered, false otherwise.
+     * @return The catalog template.
      */
-    @Transactional
-    protected boolean registerCatalog(final ResourceCatalog catalog,
-                                      final Properties properties,
-                                      final Map<URI, Resource> idsResources) {
+    private CatalogTemplate getCatalogTemplate(final ResourceCatalog catalog,
+                                               final Properties properties,
+                                               final Map<URI, Resource> idsResources) {
         // create templates
         final var catalogTemplate = TemplateUtils.getCatalogTemplate(catalog);
 
@@ -376,14 +489,7 @@ public class Bootstrapper {
         final var requestedResources = new ArrayList<ResourceTemplate<RequestedResourceDesc>>();
         catalogTemplate.setRequestedResources(requestedResources);
 
-        // Perform registration.
-        templateBuilder.build(catalogTemplate);
-
-        if (log.isInfoEnabled()) {
-            log.info("Bootstrapped catalog. [catalogId=({})]", catalog.getId());
-        }
-
-        return true;
+        return catalogTemplate;
     }
 
     /**
@@ -462,4 +568,51 @@ public class Bootstrapper {
         return properties.containsKey("resource.download.auto")
                 && properties.getProperty("resource.download.auto").contains(resourceId.toString());
     }
+
+    /**
+     * Tracks the number of imported catalogs and resources and reports the throughput.
+     */
+    private static final class ImportProgress {
+        /**
+         * The number of catalogs to import.
+         */
+        private final int total;
+
+        /**
+         * The start of the import in nanoseconds.
+         */
+        private final long start = System.nanoTime();
+
+        /**
+         * The number of processed catalogs.
+         */
+        private int catalogs;
+
+        /**
+         * The number of imported offered resources.
+         */
+        private int resources;
+
+        ImportProgress(final int catalogCount) {
+            this.total = catalogCount;
+        }
+
+        void skipped() {
+            catalogs++;
+        }
+
+        void imported(final int resourceCount) {
+            catalogs++;
+            resources += resourceCount;
+        }
+
+        void report() {
+            if (log.isInfoEnabled()) {
+                final var seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+                log.info("Bootstrapping in progress. [catalogs=({}/{}), resources=({}), "
+                                + "resourcesPerSecond=({})]", catalogs, total, resources,
+                        Math.round(resources / seconds));
+            }
+        }
+    }
 }
@@ -27,7 +27,6 @@ import org.springframework.context.support.GenericApplicationContext;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
 
 /**
  * Contains beans required for reading, deploying, and/or removing routes and beans as well as
@@ -37,17 +36,17 @@ import javax.xml.bind.Unmarshaller;
 public class CamelConfig {
 
     /**
-     * Creates an Unmarshaller bean that can be used to read bean definitions from XML.
+     * Creates the JAXB context for the Camel model. The context is thread-safe and expensive to
+     * create, so it is shared; unmarshallers are created from it per thread.
      *
-     * @return the Unmarshaller.
+     * @return the JAXBContext.
      */
     @Bean
-    public Unmarshaller unmarshaller() {
+    public JAXBContext jaxbContext() {
         try {
-            final var jaxb = JAXBContext.newInstance(Constants.JAXB_CONTEXT_PACKAGES);
-            return jaxb.createUnmarshaller();
+            return JAXBContext.newInstance(Constants.JAXB_CONTEXT_PACKAGES);
         } catch (JAXBException e) {
-            throw new BeanCreationException("Failed to create Unmarshaller.", e);
+            throw new BeanCreationException("Failed to create JAXBContext.", e);
         }
     }
 
@@ -15,6 +15,7 @@
  */
 package io.dataspaceconnector.camel.controller;
 
+import io.dataspaceconnector.camel.util.RouteDefinitionReader;
 import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -24,7 +25,6 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.camel.impl.DefaultCamelContext;
-import org.apache.camel.model.RoutesDefinition;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -36,7 +36,6 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
 
 /**
  * Controller for adding and removing routes at runtime.
@@ -53,9 +52,9 @@ public class RoutesController {
     private final @NonNull DefaultCamelContext camelContext;
 
     /**
-     * Unmarshaller for reading route definitions from XML.
+     * Reader for route definitions from XML.
      */
-    private final @NonNull Unmarshaller unmarshaller;
+    private final @NonNull RouteDefinitionReader routeDefinitionReader;
 
     /**
      * Adds one or more routes from an XML file to the Camel context.
@@ -79,7 +78,7 @@ public class RoutesController {
             }
 
             final var inputStream = file.getInputStream();
-            final var routes = (RoutesDefinition) unmarshaller.unmarshal(inputStream);
+            final var routes = routeDefinitionReader.read(inputStream);
             camelContext.addRouteDefinitions(routes.getRoutes());
 
             if (log.isInfoEnabled()) {
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.camel.event;
+
+import io.dataspaceconnector.service.ids.ConnectorService;
+import io.dataspaceconnector.service.resource.EntityChangedEvent;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Handles entity change events by evicting the affected parts of the cached self-description.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityEventHandler {
+
+    /**
+     * Service for the connector self-description.
+     */
+    private final @NonNull ConnectorService connectorService;
+
+    /**
+     * Evicts the changed entity from the self-description once the change is committed, so the
+     * self-description is not rebuilt from the state before the change.
+     *
+     * @param event The entity change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEntityChangedEvent(final EntityChangedEvent event) {
+        connectorService.evictFromSelfDescription(event.getEntity());
+    }
+}
@@ -56,19 +56,21 @@ import io.dataspaceconnector.service.message.type.ContractRejectionService;
 import io.dataspaceconnector.service.message.type.DescriptionResponseService;
 import io.dataspaceconnector.service.message.type.MessageProcessedNotificationService;
 import io.dataspaceconnector.service.resource.SubscriptionService;
+import io.dataspaceconnector.telemetry.TracingUtils;
 import io.dataspaceconnector.util.ContractUtils;
 import io.dataspaceconnector.util.ErrorMessage;
 import io.dataspaceconnector.util.IdsUtils;
 import io.dataspaceconnector.util.MessageUtils;
 import io.dataspaceconnector.util.QueryInput;
+import io.opentracing.Tracer;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
-import org.springframework.util.Base64Utils;
 
 import javax.persistence.PersistenceException;
 import java.util.ArrayList;
@@ -82,9 +84,15 @@ import java.util.Optional;
  */
 public abstract class IdsProcessor<I extends RouteMsg<?, ?>> implements Processor {
 
+    /**
+     * The tracer for the spans of the processing steps.
+     */
+    @Autowired
+    private Tracer tracer;
+
     /**
      * Override of the {@link Processor}'s process method. Calls the implementing class's
-     * processInternal method and sets the result as the {@link Exchange}'s body.
+     * processInternal method within a span and sets the result as the {@link Exchange}'s body.
      *
      * @param exchange the input.
      * @throws Exception if an error occurs.
@@ -92,7 +100,8 @@ public abstract class IdsProcessor<I extends RouteMsg<?, ?>> implements Processo
     @Override
     @SuppressWarnings("unchecked")
     public void process(final Exchange exchange) throws Exception {
-        exchange.getIn().setBody(processInternal((I) exchange.getIn().getBody(Request.class)));
+        exchange.getIn().setBody(TracingUtils.trace(tracer, getClass().getSimpleName(),
+                () -> processInternal((I) exchange.getIn().getBody(Request.class))));
     }
 
     /**
@@ -189,14 +198,14 @@ class SelfDescriptionProcessor extends IdsProcessor<
             MessagePayload> msg) throws Exception {
         final var issuer = MessageUtils.extractIssuerConnector(msg.getHeader());
         final var messageId = MessageUtils.extractMessageId(msg.getHeader());
-        final var connector = connectorService.getConnectorWithOfferedResources();
+        final var selfDescription = connectorService.getSelfDescriptionWithOfferedResources();
 
         // Build ids response message.
         final var desc = new DescriptionResponseMessageDesc(issuer, messageId);
         final var header = messageService.buildMessage(desc);
 
         // Send ids response message.
-        return new Response(header, IdsUtils.toRdf(connector));
+        return new Response(header, selfDescription.getRdf());
     }
 }
 
@@ -243,7 +252,7 @@ class DataRequestProcessor extends IdsProcessor<
         final var desc = new ArtifactResponseMessageDesc(issuer, messageId, transferContract);
         final var responseHeader = messageService.buildMessage(desc);
 
-        return new Response(responseHeader, Base64Utils.encodeToString(data.readAllBytes()));
+        return new Response(responseHeader, MessageUtils.encodePayload(data));
     }
 
     /**
@@ -35,14 +35,17 @@ import io.dataspaceconnector.camel.dto.payload.ContractTargetRuleMapContainer;
 import io.dataspaceconnector.camel.exception.DeserializationException;
 import io.dataspaceconnector.camel.exception.MissingPayloadException;
 import io.dataspaceconnector.service.ids.DeserializationService;
+import io.dataspaceconnector.telemetry.TracingUtils;
 import io.dataspaceconnector.util.ContractUtils;
 import io.dataspaceconnector.util.MessageUtils;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
+import io.opentracing.Tracer;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.Charset;
@@ -56,9 +59,15 @@ import java.nio.charset.Charset;
  */
 public abstract class IdsTransformer<I, O> implements Processor {
 
+    /**
+     * The tracer for the spans of the processing steps.
+     */
+    @Autowired
+    private Tracer tracer;
+
     /**
      * Override of the {@link Processor}'s process method. Calls the implementing class's
-     * processInternal method and sets the result as the {@link Exchange}'s body.
+     * processInternal method within a span and sets the result as the {@link Exchange}'s body.
      *
      * @param exchange the input.
      * @throws Exception if transformation fails.
@@ -66,7 +75,8 @@ public abstract class IdsTransformer<I, O> implements Processor {
     @Override
     @SuppressWarnings("unchecked")
     public void process(final Exchange exchange) throws Exception {
-        exchange.getIn().setBody(processInternal((I) exchange.getIn().getBody(RouteMsg.class)));
+        exchange.getIn().setBody(TracingUtils.trace(tracer, getClass().getSimpleName(),
+                () -> processInternal((I) exchange.getIn().getBody(RouteMsg.class))));
     }
 
     /**
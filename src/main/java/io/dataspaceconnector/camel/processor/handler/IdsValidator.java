@@ -48,16 +48,19 @@ import io.dataspaceconnector.service.usagecontrol.ContractManager;
 import io.dataspaceconnector.service.usagecontrol.DataProvisionVerifier;
 import io.dataspaceconnector.service.usagecontrol.ProvisionVerificationInput;
 import io.dataspaceconnector.service.usagecontrol.VerificationResult;
+import io.dataspaceconnector.telemetry.TracingUtils;
 import io.dataspaceconnector.util.ContractUtils;
 import io.dataspaceconnector.util.ErrorMessage;
 import io.dataspaceconnector.util.IdsUtils;
 import io.dataspaceconnector.util.MessageUtils;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
+import io.opentracing.Tracer;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
@@ -67,9 +70,15 @@ import org.springframework.stereotype.Component;
  */
 public abstract class IdsValidator<I> implements Processor {
 
+    /**
+     * The tracer for the spans of the processing steps.
+     */
+    @Autowired
+    private Tracer tracer;
+
     /**
      * Override of the {@link Processor}'s process method. Calls the implementing class's
-     * processInternal method.
+     * processInternal method within a span.
      *
      * @param exchange the input.
      * @throws Exception if validation fails.
@@ -77,7 +86,10 @@ public abstract class IdsValidator<I> implements Processor {
     @Override
     @SuppressWarnings("unchecked")
     public void process(final Exchange exchange) throws Exception {
-        processInternal((I) exchange.getIn().getBody(Request.class));
+        TracingUtils.trace(tracer, getClass().getSimpleName(), () -> {
+            processInternal((I) exchange.getIn().getBody(Request.class));
+            return null;
+        });
     }
 
     /**
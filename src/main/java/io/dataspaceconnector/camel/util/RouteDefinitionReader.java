@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.camel.util;
+
+import java.io.InputStream;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.apache.camel.model.RoutesDefinition;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads Camel route definitions from XML. JAXB unmarshallers are not thread-safe, so every thread
+ * gets its own unmarshaller created from the shared (thread-safe) JAXB context.
+ */
+@Component
+@RequiredArgsConstructor
+public class RouteDefinitionReader {
+
+    /**
+     * The JAXB context for the Camel model.
+     */
+    private final @NonNull JAXBContext jaxbContext;
+
+    /**
+     * The unmarshaller of the current thread.
+     */
+    private final ThreadLocal<Unmarshaller> unmarshaller = new ThreadLocal<>();
+
+    /**
+     * Reads route definitions from an XML input stream.
+     *
+     * @param inputStream the XML input stream.
+     * @return the route definitions.
+     * @throws JAXBException if the input cannot be read as route definitions.
+     */
+    public RoutesDefinition read(final InputStream inputStream) throws JAXBException {
+        return (RoutesDefinition) getUnmarshaller().unmarshal(inputStream);
+    }
+
+    /**
+     * Returns the unmarshaller of the current thread, creating it on first use.
+     *
+     * @return the unmarshaller.
+     * @throws JAXBException if the unmarshaller cannot be created.
+     */
+    private Unmarshaller getUnmarshaller() throws JAXBException {
+        var current = unmarshaller.get();
+        if (current == null) {
+            current = jaxbContext.createUnmarshaller();
+            unmarshaller.set(current);
+        }
+
+        return current;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for delivering log items to the clearing house, bound from the properties with the
+ * prefix clearing.house.
+ */
+@Data
+@ConfigurationProperties(prefix = "clearing.house")
+public class ClearingHouseProperties {
+
+    /**
+     * Settings of the delivery threads.
+     */
+    private final Dispatcher dispatcher = new Dispatcher();
+
+    /**
+     * Settings for retrying failed deliveries.
+     */
+    private final Retry retry = new Retry();
+
+    /**
+     * Settings of the write-ahead buffer.
+     */
+    private final Buffer buffer = new Buffer();
+
+    /**
+     * Settings of the delivery threads.
+     */
+    @Data
+    public static class Dispatcher {
+        /**
+         * The number of log items delivered in parallel.
+         */
+        private int threads;
+
+        /**
+         * The maximum number of log items held in memory.
+         */
+        private int queueCapacity;
+
+        /**
+         * The maximum number of log items taken from the queue at once.
+         */
+        private int batchSize;
+    }
+
+    /**
+     * Settings for retrying failed deliveries.
+     */
+    @Data
+    public static class Retry {
+        /**
+         * The maximum number of attempts per log item.
+         */
+        private int maxAttempts;
+
+        /**
+         * The delay in milliseconds before the first retry. Doubles with every further attempt.
+         */
+        private long initialDelay;
+    }
+
+    /**
+     * Settings of the write-ahead buffer.
+     */
+    @Data
+    public static class Buffer {
+        /**
+         * The directory of the buffer. Relative paths are resolved against the data directory.
+         * Empty to disable the buffer.
+         */
+        private String path = "";
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.config;
+
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures the embedded Tomcat.
+ */
+@Configuration
+public class TomcatConfiguration {
+
+    /**
+     * Send the interim 100 (Continue) response only once the request body is read instead of
+     * right after the request headers. Uploads that are rejected before their body is read,
+     * e.g. because they are too large, are then not transferred at all.
+     *
+     * @return The customizer for the Tomcat connectors.
+     */
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> continueResponseTiming() {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            final var handler = connector.getProtocolHandler();
+            if (handler instanceof AbstractHttp11Protocol) {
+                ((AbstractHttp11Protocol<?>) handler).setContinueResponseTiming("onRead");
+            }
+        });
+    }
+}
@@ -21,6 +21,7 @@ import io.dataspaceconnector.controller.configuration.EndpointController;
 import io.dataspaceconnector.controller.configuration.RouteControllers;
 import io.dataspaceconnector.controller.resource.ResourceControllers;
 import io.dataspaceconnector.service.ids.ConnectorService;
+import io.dataspaceconnector.service.ids.SelfDescription;
 import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -59,10 +60,11 @@ public class MainController {
     @Operation(summary = "Public IDS self-description")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ok"),
+            @ApiResponse(responseCode = "304", description = "Not modified"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")})
     @ResponseBody
     public ResponseEntity<Object> getPublicSelfDescription() {
-        return ResponseEntity.ok(connectorService.getConnectorWithoutResources().toRdf());
+        return toResponse(connectorService.getSelfDescriptionWithoutResources());
     }
 
     /**
@@ -74,11 +76,22 @@ public class MainController {
     @Operation(summary = "Private IDS self-description")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ok"),
+            @ApiResponse(responseCode = "304", description = "Not modified"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "500", description = "Internal server error")})
     @ResponseBody
     public ResponseEntity<Object> getPrivateSelfDescription() {
-        return ResponseEntity.ok(connectorService.getConnectorWithOfferedResources().toRdf());
+        return toResponse(connectorService.getSelfDescriptionWithOfferedResources());
+    }
+
+    /**
+     * Spring answers requests with a matching If-None-Match header with 304 Not Modified.
+     *
+     * @param description The self-description.
+     * @return The response with the self-description and its entity tag.
+     */
+    private ResponseEntity<Object> toResponse(final SelfDescription description) {
+        return ResponseEntity.ok().eTag(description.getEtag()).body(description.getRdf());
     }
 
     /**
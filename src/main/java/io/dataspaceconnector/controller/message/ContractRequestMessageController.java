@@ -17,6 +17,7 @@ package io.dataspaceconnector.controller.message;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import javax.persistence.PersistenceException;
@@ -39,6 +40,7 @@ import io.dataspaceconnector.service.ContractNegotiator;
 import io.dataspaceconnector.service.EntityUpdateService;
 import io.dataspaceconnector.service.MetadataDownloader;
 import io.dataspaceconnector.service.resource.AgreementService;
+import io.dataspaceconnector.util.ErrorMessage;
 import io.dataspaceconnector.util.RuleUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -47,6 +49,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
 import org.apache.camel.CamelContext;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.builder.ExchangeBuilder;
@@ -65,11 +68,18 @@ import org.springframework.web.bind.annotation.RestController;
  * This controller provides the endpoint for sending a contract request message and starting the
  * metadata and data exchange.
  */
+@Log4j2
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/ids")
 @Tag(name = "Messages", description = "Endpoints for invoke sending messages")
 public class ContractRequestMessageController {
+
+    /**
+     * Response header naming an artifact whose data could not be downloaded and the reason.
+     */
+    public static final String FAILED_DOWNLOADS_HEADER = "Failed-Downloads";
+
     /**
      * Service for updating database entities.
      */
@@ -129,7 +139,10 @@ public class ContractRequestMessageController {
     @Operation(summary = "Send IDS contract request message")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ok"),
-            @ApiResponse(responseCode = "201", description = "Created"),
+            @ApiResponse(responseCode = "201", description = "Created. If the data of some "
+                    + "artifacts could not be downloaded, the response contains a "
+                    + FAILED_DOWNLOADS_HEADER + " header per artifact, formatted as "
+                    + "<artifact>; reason=\"...\"."),
             @ApiResponse(responseCode = "400", description = "Bad request"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "417", description = "Expectation failed"),
@@ -192,11 +205,12 @@ public class ContractRequestMessageController {
                 downloadMetadata(recipient, resources, artifacts, download, agreementId);
 
                 // Download data, if requested.
-                if (download) {
-                    artifactDataDownloader.download(recipient, artifacts, agreementId);
-                }
+                final var failures = download
+                        ? artifactDataDownloader.download(recipient, artifacts, agreementId)
+                        : Map.<URI, Exception>of();
+                logFailedDownloads(failures);
 
-                return respondWithCreatedAgreement(agreementId);
+                return respondWithCreatedAgreement(agreementId, failures);
             } catch (InvalidInputException exception) {
                 // If the input rules are malformed.
                 return ControllerUtils.respondInvalidInput(exception);
@@ -229,15 +243,47 @@ public class ContractRequestMessageController {
         updateService.linkArtifactToAgreement(artifacts, agreementId);
     }
 
-    private ResponseEntity<Object> respondWithCreatedAgreement(final UUID agreementId) {
+    private void logFailedDownloads(final Map<URI, Exception> failures) {
+        // The data of these artifacts can be requested again later.
+        if (log.isWarnEnabled()) {
+            for (final var failure : failures.entrySet()) {
+                log.warn("Could not download artifact data. [artifact=({}), exception=({})]",
+                        failure.getKey(), failure.getValue().getMessage());
+            }
+        }
+    }
+
+    private ResponseEntity<Object> respondWithCreatedAgreement(
+            final UUID agreementId, final Map<URI, Exception> failures) {
         final var entity = agreementAsm.toModel(agreementService.get(agreementId));
 
         final var headers = new HttpHeaders();
         headers.setLocation(entity.getRequiredLink("self").toUri());
 
+        // The agreement has been concluded, tell the caller which data is still missing.
+        for (final var failure : failures.entrySet()) {
+            headers.add(FAILED_DOWNLOADS_HEADER, String.format("<%s>; reason=\"%s\"",
+                    failure.getKey(), getFailureReason(failure.getValue())));
+        }
+
         return new ResponseEntity<>(entity, headers, HttpStatus.CREATED);
     }
 
+    private static ErrorMessage getFailureReason(final Exception exception) {
+        // Exception messages may contain details of the provider or the storage.
+        if (exception instanceof MessageResponseException) {
+            return ErrorMessage.INVALID_MESSAGE;
+        } else if (exception instanceof MessageException) {
+            return ErrorMessage.MESSAGE_SENDING_FAILED;
+        } else if (exception instanceof UnexpectedResponseException) {
+            return ErrorMessage.UNEXPECTED_RESPONSE;
+        } else if (exception instanceof PersistenceException) {
+            return ErrorMessage.DATA_STORAGE_FAILED;
+        }
+
+        return ErrorMessage.DATA_DOWNLOAD_FAILED;
+    }
+
     @SuppressWarnings("unchecked")
     private static ResponseEntity<Object> toObjectResponse(final ResponseEntity<?> response) {
         return (ResponseEntity<Object>) response;
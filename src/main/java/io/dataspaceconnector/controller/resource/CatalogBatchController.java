@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.controller.resource;
+
+import io.dataspaceconnector.controller.resource.swagger.response.ResponseCode;
+import io.dataspaceconnector.controller.resource.swagger.response.ResponseDescription;
+import io.dataspaceconnector.controller.resource.tag.ResourceDescription;
+import io.dataspaceconnector.controller.resource.tag.ResourceName;
+import io.dataspaceconnector.controller.resource.view.ViewAssemblerHelper;
+import io.dataspaceconnector.model.template.CatalogTemplate;
+import io.dataspaceconnector.service.resource.BatchTemplateBuilder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Offers the endpoint for creating whole catalog trees at once.
+ */
+@RestController
+@RequestMapping("/api/catalogs/batch")
+@Tag(name = ResourceName.CATALOGS, description = ResourceDescription.CATALOGS)
+@RequiredArgsConstructor
+public class CatalogBatchController {
+
+    /**
+     * The builder for catalog trees.
+     */
+    private final @NonNull BatchTemplateBuilder templateBuilder;
+
+    /**
+     * Creates catalogs with their offered resources, representations, artifacts, contracts,
+     * and rules. Either all entities are created or none.
+     *
+     * @param templates The catalog templates.
+     * @return Response with code 201 (Created) and the self-links of the created catalogs and
+     * offered resources.
+     */
+    @PostMapping
+    @Operation(summary = "Create catalogs with all their dependencies")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = ResponseCode.CREATED,
+                    description = ResponseDescription.CREATED),
+            @ApiResponse(responseCode = ResponseCode.UNAUTHORIZED,
+                    description = ResponseDescription.UNAUTHORIZED)
+    })
+    public ResponseEntity<JSONObject> create(@RequestBody final List<CatalogTemplate> templates) {
+        final var created = new JSONArray();
+        for (final var catalog : templateBuilder.build(templates)) {
+            final var offers = new JSONArray();
+            for (final var resource : catalog.getOfferedResources()) {
+                offers.add(ViewAssemblerHelper.getSelfLink(resource.getId(),
+                        ResourceControllers.OfferedResourceController.class).getHref());
+            }
+
+            final var entry = new JSONObject();
+            entry.put("catalog", ViewAssemblerHelper.getSelfLink(catalog.getId(),
+                    ResourceControllers.CatalogController.class).getHref());
+            entry.put("offers", offers);
+            created.add(entry);
+        }
+
+        final var body = new JSONObject();
+        body.put("catalogs", created);
+
+        return new ResponseEntity<>(body, HttpStatus.CREATED);
+    }
+}
@@ -17,12 +17,14 @@ package io.dataspaceconnector.controller.resource;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 import de.fraunhofer.ids.messaging.protocol.UnexpectedResponseException;
 import io.dataspaceconnector.controller.resource.exception.MethodNotAllowed;
@@ -39,6 +41,8 @@ import io.dataspaceconnector.controller.resource.view.OfferedResourceView;
 import io.dataspaceconnector.controller.resource.view.RepresentationView;
 import io.dataspaceconnector.controller.resource.view.RequestedResourceView;
 import io.dataspaceconnector.controller.resource.view.SubscriptionView;
+import io.dataspaceconnector.controller.util.ControllerUtils;
+import io.dataspaceconnector.exception.UploadConflictException;
 import io.dataspaceconnector.model.agreement.Agreement;
 import io.dataspaceconnector.model.agreement.AgreementDesc;
 import io.dataspaceconnector.model.artifact.Artifact;
@@ -61,6 +65,8 @@ import io.dataspaceconnector.service.BlockingArtifactReceiver;
 import io.dataspaceconnector.service.ids.ConnectorService;
 import io.dataspaceconnector.service.resource.AgreementService;
 import io.dataspaceconnector.service.resource.ArtifactService;
+import io.dataspaceconnector.service.resource.ArtifactUploadService;
+import io.dataspaceconnector.service.resource.ArtifactUploadService.UploadStatus;
 import io.dataspaceconnector.service.resource.CatalogService;
 import io.dataspaceconnector.service.resource.ContractService;
 import io.dataspaceconnector.service.resource.RepresentationService;
@@ -68,8 +74,10 @@ import io.dataspaceconnector.service.resource.ResourceService;
 import io.dataspaceconnector.service.resource.RetrievalInformation;
 import io.dataspaceconnector.service.resource.RuleService;
 import io.dataspaceconnector.service.resource.SubscriptionService;
+import io.dataspaceconnector.service.storage.StoredDataInputStream;
 import io.dataspaceconnector.service.usagecontrol.DataAccessVerifier;
 import io.dataspaceconnector.util.QueryInput;
+import io.dataspaceconnector.util.StreamUtils;
 import io.dataspaceconnector.util.Utils;
 import io.dataspaceconnector.util.ValidationUtils;
 import io.swagger.v3.oas.annotations.Hidden;
@@ -82,9 +90,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -219,11 +229,48 @@ public final class ResourceControllers {
             extends BaseResourceNotificationController<Artifact, ArtifactDesc, ArtifactView,
             ArtifactService> {
 
+        /**
+         * The format of content range headers of chunked uploads.
+         */
+        private static final Pattern CONTENT_RANGE =
+                Pattern.compile("bytes (?:(\\d{1,18})-(\\d{1,18})|\\*)/(\\d{1,18})");
+
+        /**
+         * The request attribute set by Tomcat if the response may be sent through sendfile.
+         */
+        private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+
+        /**
+         * The request attribute telling Tomcat the file to send.
+         */
+        private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+        /**
+         * The request attribute telling Tomcat the position of the first byte to send.
+         */
+        private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+        /**
+         * The request attribute telling Tomcat the position after the last byte to send.
+         */
+        private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+        /**
+         * The size from which data is sent through sendfile, smaller data is written faster from
+         * the copy buffer. This is the threshold of Tomcat's default servlet.
+         */
+        private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
         /**
          * The service managing artifacts.
          */
         private final @NonNull ArtifactService artifactSvc;
 
+        /**
+         * The service streaming uploaded data into artifacts.
+         */
+        private final @NonNull ArtifactUploadService uploadSvc;
+
         /**
          * The receiver for getting data from a remote source.
          */
@@ -277,6 +324,13 @@ public final class ResourceControllers {
                 queryInput.setOptional(optional);
             }
 
+            if (agreementUri == null) {
+                final var response = respondWithoutData(artifactId, request);
+                if (response.isPresent()) {
+                    return response.get();
+                }
+            }
+
             /*
                 If no agreement information has been passed the connector needs
                 to check if the data access is restricted by the usage control.
@@ -286,7 +340,7 @@ public final class ResourceControllers {
                     : artifactSvc.getData(accessVerifier, dataReceiver, artifactId,
                     new RetrievalInformation(agreementUri, download, queryInput));
 
-            return returnData(artifactId, data);
+            return returnData(artifactId, data, request);
         }
 
         /**
@@ -313,45 +367,336 @@ public final class ResourceControllers {
             ValidationUtils.validateQueryInput(queryInput);
             final var data =
                     artifactSvc.getData(accessVerifier, dataReceiver, artifactId, queryInput);
-            return returnData(artifactId, data);
+            return returnData(artifactId, data, null);
         }
 
+        /**
+         * Answers requests that do not need the data of an artifact served from the data store:
+         * conditional requests for unchanged data and unsatisfiable ranges. The size and checksum
+         * recorded for the data are used, so the data is not opened and the access not counted.
+         *
+         * @param artifactId The artifact id.
+         * @param request    The current http request.
+         * @return The response, empty if the data is needed.
+         */
+        private Optional<ResponseEntity<StreamingResponseBody>> respondWithoutData(
+                final UUID artifactId, final HttpServletRequest request) {
+            final var stored = artifactSvc.getStoredData(artifactId);
+            if (stored.isEmpty()) {
+                return Optional.empty();
+            }
+
+            final var size = stored.get().getByteSize();
+            final var outputHeader = getStoredDataHeaders(artifactId, stored.get().getCheckSum(),
+                    size);
+            if (matchesETag(request.getHeader(HttpHeaders.IF_NONE_MATCH),
+                    outputHeader.getETag())) {
+                return Optional.of(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .headers(outputHeader)
+                        .build());
+            }
+
+            final var range = getRange(request);
+            if (range != null && (size == 0 || range.getRangeStart(size) >= size)) {
+                return Optional.of(respondRangeNotSatisfiable(outputHeader, size));
+            }
+
+            return Optional.empty();
+        }
+
+        /**
+         * Returns the data. Data of unknown size is streamed as it is read. Data from the data
+         * store is returned with its length and a weak entity tag derived from its checksum,
+         * which allows a single byte range requested by the client. Data from files is sent by
+         * the servlet container where possible.
+         *
+         * @param artifactId The artifact id.
+         * @param data       The data.
+         * @param request    The current http request. Null if it may not request a range.
+         * @return The response containing the data or the requested part of it.
+         * @throws IOException if the data cannot be closed.
+         */
         private ResponseEntity<StreamingResponseBody> returnData(
-                final UUID artifactId, final InputStream data) {
-            final StreamingResponseBody body = outputStream -> {
-                final int blockSize = 1024;
-                int numBytesToWrite;
-                var buffer = new byte[blockSize];
-                while ((numBytesToWrite = data.read(buffer, 0, buffer.length)) != -1) {
-                    outputStream.write(buffer, 0, numBytesToWrite);
-                }
+                final UUID artifactId, final InputStream data, final HttpServletRequest request)
+                throws IOException {
+            if (!(data instanceof StoredDataInputStream)) {
+                final var outputHeader = new HttpHeaders();
+                outputHeader.set("Content-Disposition",
+                        "attachment;filename=" + artifactId.toString());
+                final StreamingResponseBody body = outputStream -> {
+                    // Close the data even if the client aborts, it may hold a backend connection.
+                    try (data) {
+                        StreamUtils.copy(data, outputStream, Long.MAX_VALUE);
+                    }
+                };
+
+                return ResponseEntity.ok()
+                        .headers(outputHeader)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .body(body);
+            }
+
+            final var stored = (StoredDataInputStream) data;
+            final var size = stored.getByteSize();
+            final var outputHeader = getStoredDataHeaders(artifactId, stored.getCheckSum(), size);
 
+            final var requested = request == null ? null : getRange(request);
+            if (requested != null && (size == 0 || requested.getRangeStart(size) >= size)) {
                 data.close();
+                return respondRangeNotSatisfiable(outputHeader, size);
+            }
+
+            final var start = requested == null ? 0 : requested.getRangeStart(size);
+            final var length = requested == null ? size : requested.getRangeEnd(size) - start + 1;
+            if (requested != null) {
+                outputHeader.set(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + start + "-" + (start + length - 1) + "/" + size);
+            }
+
+            final var response = ResponseEntity
+                    .status(requested == null ? HttpStatus.OK : HttpStatus.PARTIAL_CONTENT)
+                    .headers(outputHeader)
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .contentLength(length);
+            if (sendFile(request, stored, start, length)) {
+                return response.build();
+            }
+
+            final StreamingResponseBody body = outputStream -> {
+                try (data) {
+                    if (requested == null) {
+                        data.transferTo(outputStream);
+                    } else {
+                        stored.transferTo(outputStream, start, length);
+                    }
+                }
             };
 
+            return response.body(body);
+        }
+
+        /**
+         * Lets the servlet container send file-backed data itself through sendfile, which
+         * copies the file to the connection without passing it through the Java heap. Only
+         * Tomcat offers this. The data is closed if the container sends it.
+         *
+         * @param request The current http request. Null if it may not be sent by the container.
+         * @param data    The data.
+         * @param start   The position of the first byte to send.
+         * @param length  The number of bytes to send.
+         * @return True if the container sends the data.
+         * @throws IOException if the data cannot be closed.
+         */
+        private static boolean sendFile(final HttpServletRequest request,
+                                        final StoredDataInputStream data, final long start,
+                                        final long length) throws IOException {
+            if (request == null || length < SENDFILE_MIN_SIZE
+                    || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+                return false;
+            }
+
+            final var sent = data.transferTo((file, offset, count) -> {
+                request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, offset);
+                request.setAttribute(SENDFILE_END, offset + count);
+            }, start, length);
+            if (sent < 0) {
+                return false;
+            }
+
+            data.close();
+            return true;
+        }
+
+        private static HttpHeaders getStoredDataHeaders(final UUID artifactId,
+                                                        final long checkSum, final long size) {
             final var outputHeader = new HttpHeaders();
             outputHeader.set("Content-Disposition", "attachment;filename=" + artifactId.toString());
+            // A CRC32C checksum does not guarantee byte-for-byte equality, so the tag is weak.
+            outputHeader.setETag("W/\"" + Long.toHexString(checkSum) + "-"
+                    + Long.toHexString(size) + "\"");
+            outputHeader.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+            return outputHeader;
+        }
 
-            return ResponseEntity.ok()
+        private static ResponseEntity<StreamingResponseBody> respondRangeNotSatisfiable(
+                final HttpHeaders outputHeader, final long size) {
+            outputHeader.set(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
                     .headers(outputHeader)
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .body(body);
+                    .build();
+        }
+
+        private static boolean matchesETag(final String ifNoneMatch, final String eTag) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+
+            // If-None-Match uses the weak comparison, which ignores the weak indicator.
+            final var opaqueTag = eTag.substring(2);
+            for (final var value : ifNoneMatch.split(",")) {
+                final var candidate = value.trim();
+                if ("*".equals(candidate) || opaqueTag.equals(candidate)
+                        || eTag.equals(candidate)) {
+                    return true;
+                }
+            }
+
+            return false;
         }
 
         /**
-         * Replace the data of an artifact.
+         * Get the single byte range requested by the client.
          *
-         * @param artifactId  The artifact whose data should be replaced.
-         * @param inputStream The new data.
-         * @return Http Status ok.
+         * @param request The current http request.
+         * @return The range, null if none or several are requested or the request has an
+         *         If-Range header. A weak entity tag never satisfies If-Range and modification
+         *         dates are not tracked, so the full data is returned then.
+         */
+        private HttpRange getRange(final HttpServletRequest request) {
+            final var ranges = parseRanges(request);
+            if (ranges.size() != 1 || request.getHeader(HttpHeaders.IF_RANGE) != null) {
+                return null;
+            }
+
+            return ranges.get(0);
+        }
+
+        private List<HttpRange> parseRanges(final HttpServletRequest request) {
+            final var range = request.getHeader(HttpHeaders.RANGE);
+            if (range == null || range.isBlank()) {
+                return List.of();
+            }
+
+            try {
+                return HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException exception) {
+                // Malformed range headers are ignored and the full content is returned.
+                return List.of();
+            }
+        }
+
+        /**
+         * Replace the data of an artifact. The data is streamed into the data store without
+         * being buffered. Large data can be uploaded in chunks, each sent with a Content-Range
+         * header like {@code bytes 0-1048575/5242880}. Chunks before the last one are answered
+         * with 202 (Accepted), a chunk not starting right after the staged bytes with 409
+         * (Conflict). Both carry a Range header listing the staged bytes and the id of the
+         * upload as ETag, which can also be queried by sending {@code bytes *}{@code /5242880}
+         * without content. Chunks sent with If-Match are rejected with 412 (Precondition
+         * Failed) if the staged upload has another id, e.g. because it has expired or been
+         * replaced. A first chunk with another total size replaces the staged upload.
+         *
+         * @param artifactId   The artifact whose data should be replaced.
+         * @param contentRange The value of the content range header. May be null.
+         * @param ifMatch      The value of the if match header. May be null.
+         * @param request      The current http request.
+         * @return Http Status no content once the data has been replaced.
          * @throws IOException if the data could not be stored.
          */
         @PutMapping(value = "{id}/data", consumes = "*/*")
-        public ResponseEntity<Void> putData(
+        @Operation(summary = "Replace the data of an artifact")
+        @ApiResponses(value = {
+                @ApiResponse(responseCode = "202", description = "Chunk accepted"),
+                @ApiResponse(responseCode = "204", description = "Data replaced"),
+                @ApiResponse(responseCode = "409", description = "Chunk out of order"),
+                @ApiResponse(responseCode = "412", description = "Upload id does not match"),
+                @ApiResponse(responseCode = "413", description = "Data too large")})
+        public ResponseEntity<Object> putData(
                 @Valid @PathVariable(name = "id") final UUID artifactId,
-                @RequestBody final byte[] inputStream) throws IOException {
-            artifactSvc.setData(artifactId, new ByteArrayInputStream(inputStream));
-            return ResponseEntity.noContent().build();
+                @RequestHeader(value = HttpHeaders.CONTENT_RANGE, required = false)
+                final String contentRange,
+                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                final String ifMatch,
+                final HttpServletRequest request) throws IOException {
+            // Reject before reading the body, so that clients waiting for 100 (Continue) do not
+            // send it at all.
+            uploadSvc.checkSize(request.getContentLengthLong());
+
+            if (contentRange == null) {
+                uploadSvc.upload(artifactId, request.getInputStream());
+                return ResponseEntity.noContent().build();
+            }
+
+            final var matcher = CONTENT_RANGE.matcher(contentRange.trim());
+            if (!matcher.matches()) {
+                return ControllerUtils.respondInvalidInput(
+                        new IllegalArgumentException("Invalid content range."));
+            }
+
+            final var total = Long.parseLong(matcher.group(3));
+            if (matcher.group(1) == null) {
+                return respondStaged(uploadSvc.getStatus(artifactId), HttpStatus.ACCEPTED);
+            }
+
+            final var start = Long.parseLong(matcher.group(1));
+            final var end = Long.parseLong(matcher.group(2));
+            if (start > end || end >= total) {
+                return ControllerUtils.respondInvalidInput(
+                        new IllegalArgumentException("Invalid content range."));
+            }
+
+            final var uploadId = parseUploadId(ifMatch);
+            try {
+                final var status = uploadSvc.uploadChunk(artifactId, request.getInputStream(),
+                        start, end, total, uploadId);
+                if (status.getStaged() == total) {
+                    return ResponseEntity.noContent().build();
+                }
+
+                return respondStaged(status, status.getStaged() == end + 1
+                        ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT);
+            } catch (UploadConflictException exception) {
+                final var status = uploadSvc.getStatus(artifactId);
+                return respondStaged(status, uploadId != null
+                        && !uploadId.equals(status.getUploadId())
+                        ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT);
+            }
+        }
+
+        /**
+         * Abort an unfinished chunked upload and remove its staged data. The data of the
+         * artifact is not changed.
+         *
+         * @param artifactId The artifact whose upload should be aborted.
+         * @return Http Status no content if the upload has been removed.
+         * @throws IOException if the staged data could not be removed.
+         */
+        @DeleteMapping("{id}/data/upload")
+        @Operation(summary = "Abort an unfinished upload of artifact data")
+        @ApiResponses(value = {
+                @ApiResponse(responseCode = "204", description = "Upload removed"),
+                @ApiResponse(responseCode = "404", description = "No unfinished upload"),
+                @ApiResponse(responseCode = "409", description = "Chunk in transfer")})
+        public ResponseEntity<Object> abortUpload(
+                @Valid @PathVariable(name = "id") final UUID artifactId) throws IOException {
+            try {
+                return uploadSvc.abort(artifactId) ? ResponseEntity.noContent().build()
+                        : ResponseEntity.notFound().build();
+            } catch (UploadConflictException exception) {
+                return respondStaged(uploadSvc.getStatus(artifactId), HttpStatus.CONFLICT);
+            }
+        }
+
+        private static String parseUploadId(final String ifMatch) {
+            if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+                return null;
+            }
+
+            return ifMatch.trim().replace("\"", "");
+        }
+
+        private ResponseEntity<Object> respondStaged(final UploadStatus status,
+                                                     final HttpStatus httpStatus) {
+            final var headers = new HttpHeaders();
+            if (status.getStaged() > 0) {
+                headers.set(HttpHeaders.RANGE, "bytes=0-" + (status.getStaged() - 1));
+            }
+            if (status.getUploadId() != null) {
+                headers.setETag("\"" + status.getUploadId() + "\"");
+            }
+
+            return new ResponseEntity<>(headers, httpStatus);
         }
     }
 
@@ -16,9 +16,12 @@
 package io.dataspaceconnector.model.agreement;
 
 import java.net.URI;
+import java.time.ZonedDateTime;
 import java.util.List;
 import javax.persistence.Column;
 import javax.persistence.Convert;
+import javax.persistence.Index;
+import javax.persistence.JoinTable;
 import javax.persistence.Lob;
 import javax.persistence.ManyToMany;
 import javax.persistence.Table;
@@ -32,6 +35,7 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
@@ -42,7 +46,10 @@ import static io.dataspaceconnector.model.config.DatabaseConstants.URI_COLUMN_LE
  * and usage behaviours.
  */
 @javax.persistence.Entity
-@Table(name = "agreement")
+@Table(name = "agreement", indexes = {
+        @Index(name = "agreement_deletion_date_idx", columnList = "deletion_date"),
+        @Index(name = "agreement_deletion_indexed_idx", columnList = "deletion_indexed"),
+        @Index(name = "agreement_remote_id_idx", columnList = "remote_id, deleted")})
 @SQLDelete(sql = "UPDATE agreement SET deleted=true WHERE id=?")
 @Where(clause = "deleted = false")
 @Getter
@@ -79,9 +86,28 @@ public class Agreement extends Entity implements RemoteObject {
     @Lob
     private String value;
 
+    /**
+     * The earliest date at which data of the agreement's targets has to be deleted.
+     */
+    @Column(name = "deletion_date")
+    private ZonedDateTime deletionDate;
+
+    /**
+     * Whether the deletion date has been computed from the agreement's rules. Agreements
+     * persisted before the deletion date was tracked are indexed once.
+     */
+    @Column(name = "deletion_indexed", nullable = false)
+    @ColumnDefault("false")
+    private boolean deletionIndexed;
+
     /**
      * The artifacts this agreement refers to.
      */
     @ManyToMany
+    @JoinTable(indexes = {
+            @Index(name = "agreement_artifacts_owner_idx",
+                    columnList = "agreements_id, artifacts_id"),
+            @Index(name = "agreement_artifacts_target_idx",
+                    columnList = "artifacts_id")})
     private List<Artifact> artifacts;
 }
@@ -20,7 +20,9 @@ import io.dataspaceconnector.util.MetadataUtils;
 import org.springframework.stereotype.Component;
 
 import java.net.URI;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Objects;
 
 /**
  * Creates and updates a contract.
@@ -79,6 +81,29 @@ public class AgreementFactory extends AbstractFactory<Agreement, AgreementDesc>
         return false;
     }
 
+    /**
+     * Update the date at which data of the agreement's targets has to be deleted.
+     *
+     * @param agreement    The agreement.
+     * @param deletionDate The new deletion date. May be null.
+     * @return true if the agreement has been modified.
+     */
+    public boolean updateDeletionDate(final Agreement agreement,
+                                      final ZonedDateTime deletionDate) {
+        var hasUpdated = false;
+        if (!agreement.isDeletionIndexed()) {
+            agreement.setDeletionIndexed(true);
+            hasUpdated = true;
+        }
+
+        if (!Objects.equals(agreement.getDeletionDate(), deletionDate)) {
+            agreement.setDeletionDate(deletionDate);
+            hasUpdated = true;
+        }
+
+        return hasUpdated;
+    }
+
     private boolean updateValue(final Agreement agreement, final String value) {
         final var newValue = MetadataUtils.updateString(agreement.getValue(), value, DEFAULT_VALUE);
         newValue.ifPresent(agreement::setValue);
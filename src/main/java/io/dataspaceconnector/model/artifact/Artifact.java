@@ -31,6 +31,7 @@ import org.hibernate.annotations.Where;
 
 import javax.persistence.Column;
 import javax.persistence.Convert;
+import javax.persistence.Index;
 import javax.persistence.Inheritance;
 import javax.persistence.ManyToMany;
 import javax.persistence.OneToMany;
@@ -45,7 +46,9 @@ import static io.dataspaceconnector.model.config.DatabaseConstants.URI_COLUMN_LE
  */
 @Inheritance
 @javax.persistence.Entity
-@Table(name = "artifact")
+@Table(name = "artifact", indexes = {
+        @Index(name = "artifact_remote_id_idx", columnList = "remote_id, deleted"),
+        @Index(name = "artifact_bootstrap_id_idx", columnList = "bootstrap_id, deleted")})
 @SQLDelete(sql = "UPDATE artifact SET deleted=true WHERE id=?")
 @Where(clause = "deleted = false")
 @Getter
@@ -74,8 +77,10 @@ public abstract class Artifact extends NamedEntity implements RemoteObject {
     private URI remoteAddress;
 
     /**
-     * The counter of how often the underlying data has been accessed.
+     * The counter of how often the underlying data has been accessed. Only changed through
+     * atomic updates, never by writing the entity.
      */
+    @Column(updatable = false)
     private long numAccessed;
 
     /**
@@ -105,13 +110,6 @@ public abstract class Artifact extends NamedEntity implements RemoteObject {
     @ManyToMany(mappedBy = "artifacts")
     private List<Agreement> agreements;
 
-    /**
-     * Increment the data access counter.
-     */
-    public void incrementAccessCounter() {
-        numAccessed += 1;
-    }
-
     /**
      * List of subscriptions listening to updates for this artifact.
      */
@@ -125,7 +125,8 @@ public final class ArtifactFactory extends AbstractNamedFactory<Artifact, Artifa
 
         final var oldData = artifact.getData();
         if (oldData instanceof LocalData) {
-            if (!oldData.equals(newData)) {
+            if (!oldData.equals(newData) && !isSameStoredData(artifact, (LocalData) oldData,
+                    data)) {
                 artifact.setData(newData);
                 updateByteSize(artifact, data);
                 return true;
@@ -139,6 +140,46 @@ public final class ArtifactFactory extends AbstractNamedFactory<Artifact, Artifa
         return false;
     }
 
+    private boolean isSameStoredData(final Artifact artifact, final LocalData oldData,
+                                     final byte[] data) {
+        return oldData.getStorageKey() != null && data != null
+                && artifact.getByteSize() == data.length
+                && artifact.getCheckSum() == calculateChecksum(data);
+    }
+
+    /**
+     * Point the local data of an artifact to data held in a data store. An existing local data
+     * element is updated in place, any inline data is dropped. The byte size and checksum are
+     * taken over as computed by the store.
+     *
+     * @param artifact   The artifact.
+     * @param storageKey The key of the data in the data store.
+     * @param byteSize   The size of the data in bytes.
+     * @param checkSum   The CRC32C checksum of the data.
+     * @return true if the artifact has been modified.
+     */
+    public boolean updateStoredData(final Artifact artifact, final String storageKey,
+                                    final long byteSize, final long checkSum) {
+        final var tmp = (ArtifactImpl) artifact;
+        var hasChanged = false;
+        if (tmp.getData() instanceof LocalData) {
+            final var data = (LocalData) tmp.getData();
+            if (!storageKey.equals(data.getStorageKey()) || data.getValue() != null) {
+                data.setStorageKey(storageKey);
+                data.setValue(null);
+                hasChanged = true;
+            }
+        } else {
+            final var data = new LocalData();
+            data.setStorageKey(storageKey);
+            tmp.setData(data);
+            hasChanged = true;
+        }
+
+        final var hasUpdatedSize = updateByteSize(artifact, byteSize, checkSum);
+        return hasChanged || hasUpdatedSize;
+    }
+
     private boolean updateRemoteData(final ArtifactImpl artifact, final URL accessUrl,
                                      final AuthenticationDesc basicAuth,
                                      final AuthenticationDesc apiKey) {
@@ -176,11 +217,25 @@ public final class ArtifactFactory extends AbstractNamedFactory<Artifact, Artifa
      * @return true if the artifact has been modified.
      */
     public boolean updateByteSize(final Artifact artifact, final byte[] bytes) {
+        final var byteSize = bytes == null ? artifact.getByteSize() : bytes.length;
+        return updateByteSize(artifact, byteSize, calculateChecksum(bytes));
+    }
+
+    /**
+     * Update the byte and checksum of an artifact with values computed while the data has been
+     * streamed. This will not update the actual data.
+     *
+     * @param artifact The artifact which byte and checksum needs to be updated.
+     * @param byteSize The size of the data in bytes.
+     * @param checkSum The CRC32C checksum of the data.
+     * @return true if the artifact has been modified.
+     */
+    public boolean updateByteSize(final Artifact artifact, final long byteSize,
+                                  final long checkSum) {
         var hasChanged = false;
-        final var checkSum = calculateChecksum(bytes);
 
-        if (bytes != null && artifact.getByteSize() != bytes.length) {
-            artifact.setByteSize(bytes.length);
+        if (artifact.getByteSize() != byteSize) {
+            artifact.setByteSize(byteSize);
             hasChanged = true;
         }
 
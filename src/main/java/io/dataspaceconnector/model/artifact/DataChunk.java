@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.model.artifact;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import static io.dataspaceconnector.model.config.DatabaseConstants.DATA_CHUNK_COLUMN_LENGTH;
+import static io.dataspaceconnector.model.config.DatabaseConstants.STORAGE_KEY_COLUMN_LENGTH;
+
+/**
+ * A fixed size piece of the data of a {@link LocalData}. The chunks are written and read with
+ * plain JDBC by the database data store, this mapping only defines the table.
+ */
+@Entity
+@Table(name = "data_chunk")
+@IdClass(DataChunk.ChunkId.class)
+@Getter
+@Setter(AccessLevel.NONE)
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public class DataChunk implements Serializable {
+
+    /**
+     * Serial version uid.
+     **/
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The key of the data this chunk belongs to.
+     */
+    @Id
+    @Column(name = "storage_key", length = STORAGE_KEY_COLUMN_LENGTH)
+    private String storageKey;
+
+    /**
+     * The position of the chunk within the data.
+     */
+    @Id
+    @Column(name = "chunk_index")
+    private int chunkIndex;
+
+    /**
+     * The bytes of the chunk.
+     */
+    @Column(name = "content", length = DATA_CHUNK_COLUMN_LENGTH)
+    @ToString.Exclude
+    private byte[] content;
+
+    /**
+     * The composite primary key of a chunk.
+     */
+    @Getter
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    public static class ChunkId implements Serializable {
+        /**
+         * Serial version uid.
+         **/
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The key of the data.
+         */
+        private String storageKey;
+
+        /**
+         * The position of the chunk.
+         */
+        private int chunkIndex;
+    }
+}
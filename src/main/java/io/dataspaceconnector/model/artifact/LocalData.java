@@ -17,16 +17,22 @@ package io.dataspaceconnector.model.artifact;
 
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Lob;
 
+import static io.dataspaceconnector.model.config.DatabaseConstants.STORAGE_KEY_COLUMN_LENGTH;
+
 /**
- * Simple wrapper for data stored in the internal database.
+ * Simple wrapper for data stored in the internal database. The data itself is kept in a
+ * {@link io.dataspaceconnector.service.storage.DataStore} and referenced by its storage key.
+ * Data written by earlier versions may still be held inline.
  */
 @Entity
 @SQLDelete(sql = "UPDATE data SET deleted=true WHERE id=?")
@@ -42,13 +48,21 @@ public class LocalData extends Data {
     private static final long serialVersionUID = 1L;
 
     /**
-     * The data.
+     * The data, if it is stored inline. Only used for data that has not been moved to the
+     * data store yet.
      */
     @Lob
     private byte[] value;
 
     /**
-     * Get the data.
+     * The key of the data in the data store.
+     */
+    @Getter
+    @Column(name = "storage_key", length = STORAGE_KEY_COLUMN_LENGTH)
+    private String storageKey;
+
+    /**
+     * Get the inline data.
      *
      * @return The data.
      */
@@ -19,6 +19,8 @@ import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.Index;
+import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.Table;
 import java.net.URI;
@@ -74,5 +76,10 @@ public class Broker extends NamedEntity implements RemoteService {
      * The list of resources.
      */
     @ManyToMany
+    @JoinTable(indexes = {
+            @Index(name = "broker_offered_resources_owner_idx",
+                    columnList = "brokers_id, offered_resources_id"),
+            @Index(name = "broker_offered_resources_target_idx",
+                    columnList = "offered_resources_id")})
     private List<OfferedResource> offeredResources;
 }
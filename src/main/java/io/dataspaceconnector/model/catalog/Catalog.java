@@ -26,6 +26,8 @@ import lombok.Setter;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
+import javax.persistence.Index;
+import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.Table;
 import java.util.List;
@@ -34,7 +36,8 @@ import java.util.List;
  * A catalog groups resources.
  */
 @javax.persistence.Entity
-@Table(name = "catalog")
+@Table(name = "catalog", indexes = {
+        @Index(name = "catalog_bootstrap_id_idx", columnList = "bootstrap_id, deleted")})
 @SQLDelete(sql = "UPDATE catalog SET deleted=true WHERE id=?")
 @Where(clause = "deleted = false")
 @Getter
@@ -52,11 +55,21 @@ public class Catalog extends NamedEntity {
      * The offered resources grouped by the catalog.
      **/
     @ManyToMany
+    @JoinTable(indexes = {
+            @Index(name = "catalog_offered_resources_owner_idx",
+                    columnList = "catalogs_id, offered_resources_id"),
+            @Index(name = "catalog_offered_resources_target_idx",
+                    columnList = "offered_resources_id")})
     private List<OfferedResource> offeredResources;
 
     /**
      * The requested resources grouped by the catalog.
      **/
     @ManyToMany
+    @JoinTable(indexes = {
+            @Index(name = "catalog_requested_resources_owner_idx",
+                    columnList = "catalogs_id, requested_resources_id"),
+            @Index(name = "catalog_requested_resources_target_idx",
+                    columnList = "requested_resources_id")})
     private List<RequestedResource> requestedResources;
 }
@@ -25,6 +25,21 @@ public final class DatabaseConstants {
      */
     public static final int URI_COLUMN_LENGTH = 2048;
 
+    /**
+     * The maximum length of database columns containing keys of the artifact data store.
+     */
+    public static final int STORAGE_KEY_COLUMN_LENGTH = 64;
+
+    /**
+     * The maximum size of a single chunk of artifact data stored in the database.
+     */
+    public static final int DATA_CHUNK_COLUMN_LENGTH = 16 * 1024 * 1024;
+
+    /**
+     * The length of database columns containing hex encoded SHA-256 fingerprints.
+     */
+    public static final int FINGERPRINT_COLUMN_LENGTH = 64;
+
     /**
      * Private constructor.
      */
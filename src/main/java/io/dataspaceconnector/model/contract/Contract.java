@@ -20,6 +20,8 @@ import java.time.ZonedDateTime;
 import java.util.List;
 import javax.persistence.Column;
 import javax.persistence.Convert;
+import javax.persistence.Index;
+import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.Table;
 
@@ -42,7 +44,8 @@ import static io.dataspaceconnector.model.config.DatabaseConstants.URI_COLUMN_LE
  * A contract documents access and usage behaviours.
  */
 @javax.persistence.Entity
-@Table(name = "contract")
+@Table(name = "contract", indexes = {
+        @Index(name = "contract_remote_id_idx", columnList = "remote_id, deleted")})
 @SQLDelete(sql = "UPDATE contract SET deleted=true WHERE id=?")
 @Where(clause = "deleted = false")
 @Getter
@@ -93,6 +96,11 @@ public class Contract extends NamedEntity implements RemoteObject {
      * The rules used by this contract.
      **/
     @ManyToMany
+    @JoinTable(indexes = {
+            @Index(name = "contract_rules_owner_idx",
+                    columnList = "contracts_id, rules_id"),
+            @Index(name = "contract_rules_target_idx",
+                    columnList = "rules_id")})
     private List<ContractRule> rules;
 
     /**
@@ -30,6 +30,8 @@ import org.hibernate.annotations.Where;
 
 import javax.persistence.Column;
 import javax.persistence.Convert;
+import javax.persistence.Index;
+import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
@@ -42,7 +44,8 @@ import static io.dataspaceconnector.model.config.DatabaseConstants.URI_COLUMN_LE
  * A representation describes how data is presented.
  */
 @javax.persistence.Entity
-@Table(name = "representation")
+@Table(name = "representation", indexes = {
+        @Index(name = "representation_remote_id_idx", columnList = "remote_id, deleted")})
 @SQLDelete(sql = "UPDATE representation SET deleted=true WHERE id=?")
 @Where(clause = "deleted = false")
 @Getter
@@ -83,6 +86,11 @@ public class Representation extends NamedEntity {
      * The artifacts associated with this representation.
      */
     @ManyToMany
+    @JoinTable(indexes = {
+            @Index(name = "representation_artifacts_owner_idx",
+                    columnList = "representations_id, artifacts_id"),
+            @Index(name = "representation_artifacts_target_idx",
+                    columnList = "artifacts_id")})
     private List<Artifact> artifacts;
 
     /**
@@ -35,7 +35,9 @@ import org.springframework.data.annotation.Version;
 import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.ElementCollection;
+import javax.persistence.Index;
 import javax.persistence.Inheritance;
+import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
@@ -54,7 +56,8 @@ import static io.dataspaceconnector.model.config.DatabaseConstants.URI_COLUMN_LE
 @EqualsAndHashCode(callSuper = true)
 @SQLDelete(sql = "UPDATE resource SET deleted=true WHERE id=?")
 @Where(clause = "deleted = false")
-@Table(name = "resource")
+@Table(name = "resource", indexes = {
+        @Index(name = "resource_remote_id_idx", columnList = "remote_id, deleted")})
 @RequiredArgsConstructor
 public class Resource extends NamedEntity {
 
@@ -112,12 +115,22 @@ public class Resource extends NamedEntity {
      * The representation available for the resource.
      */
     @ManyToMany
+    @JoinTable(indexes = {
+            @Index(name = "resource_representations_owner_idx",
+                    columnList = "resources_id, representations_id"),
+            @Index(name = "resource_representations_target_idx",
+                    columnList = "representations_id")})
     private List<Representation> representations;
 
     /**
      * The contracts available for the resource.
      */
     @ManyToMany
+    @JoinTable(indexes = {
+            @Index(name = "resource_contracts_owner_idx",
+                    columnList = "resources_id, contracts_id"),
+            @Index(name = "resource_contracts_target_idx",
+                    columnList = "contracts_id")})
     private List<Contract> contracts;
 
     /**
@@ -19,6 +19,7 @@ import java.net.URI;
 import java.util.List;
 import javax.persistence.Column;
 import javax.persistence.Convert;
+import javax.persistence.Index;
 import javax.persistence.Lob;
 import javax.persistence.ManyToMany;
 import javax.persistence.Table;
@@ -35,13 +36,15 @@ import lombok.Setter;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
+import static io.dataspaceconnector.model.config.DatabaseConstants.FINGERPRINT_COLUMN_LENGTH;
 import static io.dataspaceconnector.model.config.DatabaseConstants.URI_COLUMN_LENGTH;
 
 /**
  * A ContractRule defines a rule that should be enforced.
  */
 @javax.persistence.Entity
-@Table(name = "contractrule")
+@Table(name = "contractrule", indexes = {
+        @Index(name = "contractrule_remote_id_idx", columnList = "remote_id, deleted")})
 @SQLDelete(sql = "UPDATE contractrule SET deleted=true WHERE id=?")
 @Where(clause = "deleted = false")
 @Getter
@@ -68,6 +71,13 @@ public class ContractRule extends NamedEntity implements RemoteObject {
     @Lob
     private String value;
 
+    /**
+     * The order-independent fingerprint of the rule's actions and constraints. Null if the
+     * value is not a valid ids rule.
+     */
+    @Column(length = FINGERPRINT_COLUMN_LENGTH)
+    private String fingerprint;
+
     /**
      * The contracts in which this rule is used.
      */
@@ -21,6 +21,7 @@ import org.springframework.stereotype.Component;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Objects;
 
 /**
  * Creates and updates a ContractRule.
@@ -69,6 +70,22 @@ public class ContractRuleFactory extends AbstractNamedFactory<ContractRule, Cont
         return hasUpdatedRemoteId || hasUpdatedRule;
     }
 
+    /**
+     * Update the fingerprint of a ContractRule.
+     *
+     * @param contractRule The ContractRule.
+     * @param fingerprint  The fingerprint of the rule's value. May be null.
+     * @return true if the ContractRule has been modified.
+     */
+    public boolean updateFingerprint(final ContractRule contractRule, final String fingerprint) {
+        if (!Objects.equals(contractRule.getFingerprint(), fingerprint)) {
+            contractRule.setFingerprint(fingerprint);
+            return true;
+        }
+
+        return false;
+    }
+
     private boolean updateRemoteId(final ContractRule contractRule, final URI remoteId) {
         final var newUri = MetadataUtils.updateUri(contractRule.getRemoteId(),
                 remoteId, DEFAULT_REMOTE_ID);
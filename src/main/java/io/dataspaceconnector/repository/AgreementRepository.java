@@ -16,10 +16,13 @@
 package io.dataspaceconnector.repository;
 
 import io.dataspaceconnector.model.agreement.Agreement;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -40,4 +43,66 @@ public interface AgreementRepository extends BaseEntityRepository<Agreement> {
             + "AND a.archived = false "
             + "AND a.deleted = false")
     void confirmAgreement(UUID entityId);
+
+    /**
+     * Set the date at which data of the agreement's targets has to be deleted and mark the
+     * agreement as indexed.
+     *
+     * @param entityId     The id of the agreement.
+     * @param deletionDate The new deletion date. May be null.
+     */
+    @Modifying
+    @Query("UPDATE Agreement a "
+            + "SET a.deletionDate = :deletionDate, a.deletionIndexed = true "
+            + "WHERE a.id = :entityId")
+    void setDeletionDate(UUID entityId, ZonedDateTime deletionDate);
+
+    /**
+     * Finds agreements whose deletion date has not been computed yet.
+     *
+     * @param pageable The page to load.
+     * @return The agreements without a computed deletion date.
+     */
+    @Query("SELECT a "
+            + "FROM Agreement a "
+            + "WHERE a.deletionIndexed = false "
+            + "AND a.deleted = false")
+    List<Agreement> findAllNotDeletionIndexed(Pageable pageable);
+
+    /**
+     * Finds all agreements whose deletion date has passed, ordered by the deletion date.
+     *
+     * @param date The date to compare against.
+     * @return The agreements due for deletion.
+     */
+    @Query("SELECT a "
+            + "FROM Agreement a "
+            + "WHERE a.deletionDate <= :date "
+            + "AND a.deleted = false "
+            + "ORDER BY a.deletionDate")
+    List<Agreement> findAllDueForDeletion(ZonedDateTime date);
+
+    /**
+     * Counts the agreements whose deletion date has passed.
+     *
+     * @param date The date to compare against.
+     * @return The number of agreements due for deletion.
+     */
+    @Query("SELECT COUNT(a) "
+            + "FROM Agreement a "
+            + "WHERE a.deletionDate <= :date "
+            + "AND a.deleted = false")
+    long countDueForDeletion(ZonedDateTime date);
+
+    /**
+     * Counts the agreements whose deletion date lies in the future.
+     *
+     * @param date The date to compare against.
+     * @return The number of agreements with a pending deletion.
+     */
+    @Query("SELECT COUNT(a) "
+            + "FROM Agreement a "
+            + "WHERE a.deletionDate > :date "
+            + "AND a.deleted = false")
+    long countPendingDeletion(ZonedDateTime date);
 }
@@ -16,6 +16,8 @@
 package io.dataspaceconnector.repository;
 
 import io.dataspaceconnector.model.artifact.Artifact;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -90,6 +92,45 @@ public interface ArtifactRepository extends RemoteEntityRepository<Artifact> {
             + "AND a.deleted = false")
     void setArtifactData(UUID artifactId, long checkSum, long size);
 
+    /**
+     * Atomically increment the access counter of an artifact.
+     *
+     * @param artifactId The artifact.
+     */
+    @Modifying
+    @Query("UPDATE Artifact a "
+            + "SET a.numAccessed = a.numAccessed + 1 "
+            + "WHERE a.id = :artifactId "
+            + "AND a.deleted = false")
+    void incrementAccessCounter(UUID artifactId);
+
+    /**
+     * Atomically increment the access counter of an artifact, if it is below a maximum.
+     *
+     * @param artifactId The artifact.
+     * @param max        The maximum number of accesses.
+     * @return 1 if the counter has been incremented, 0 if the maximum has been reached.
+     */
+    @Modifying
+    @Query("UPDATE Artifact a "
+            + "SET a.numAccessed = a.numAccessed + 1 "
+            + "WHERE a.id = :artifactId "
+            + "AND a.numAccessed < :max "
+            + "AND a.deleted = false")
+    int incrementAccessCounterBelow(UUID artifactId, long max);
+
+    /**
+     * Read the access counter of an artifact.
+     *
+     * @param artifactId The artifact.
+     * @return The number of accesses.
+     */
+    @Query("SELECT a.numAccessed "
+            + "FROM Artifact a "
+            + "WHERE a.id = :artifactId "
+            + "AND a.deleted = false")
+    Long findAccessCounter(UUID artifactId);
+
     /**
      * Finds all artifacts with a specific bootstrap ID.
      *
@@ -101,4 +142,25 @@ public interface ArtifactRepository extends RemoteEntityRepository<Artifact> {
             + "WHERE a.bootstrapId = :bootstrapId "
             + "AND a.deleted = false")
     List<Artifact> findAllByBootstrapId(URI bootstrapId);
+
+    /**
+     * Finds a page of the artifacts of a specific representation, ordered by their creation
+     * date.
+     *
+     * @param representationId The id of the representation.
+     * @param pageable         The requested page.
+     * @return The page of artifacts of the representation.
+     */
+    @Query(value = "SELECT a "
+            + "FROM Representation r INNER JOIN r.artifacts a "
+            + "WHERE r.id = :representationId "
+            + "AND a.deleted = false "
+            + "AND r.deleted = false "
+            + "ORDER BY a.creationDate, a.id",
+            countQuery = "SELECT COUNT(a) "
+                    + "FROM Representation r INNER JOIN r.artifacts a "
+                    + "WHERE r.id = :representationId "
+                    + "AND a.deleted = false "
+                    + "AND r.deleted = false")
+    Page<Artifact> findAllByRepresentation(UUID representationId, Pageable pageable);
 }
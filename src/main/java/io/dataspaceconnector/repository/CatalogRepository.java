@@ -16,11 +16,26 @@
 package io.dataspaceconnector.repository;
 
 import io.dataspaceconnector.model.catalog.Catalog;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.net.URI;
+import java.util.List;
+
 /**
  * The repository containing all objects of type {@link Catalog}.
  */
 @Repository
 public interface CatalogRepository extends BaseEntityRepository<Catalog> {
+
+    /**
+     * Finds the bootstrap ids of all catalogs that were created during bootstrapping.
+     *
+     * @return The bootstrap ids.
+     */
+    @Query("SELECT c.bootstrapId "
+            + "FROM Catalog c "
+            + "WHERE c.bootstrapId IS NOT NULL "
+            + "AND c.deleted = false")
+    List<URI> findAllBootstrapIds();
 }
@@ -19,6 +19,8 @@ import java.util.List;
 import java.util.UUID;
 
 import io.dataspaceconnector.model.contract.Contract;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -44,4 +46,24 @@ public interface ContractRepository extends BaseEntityRepository<Contract> {
             + "AND r.deleted = false "
             + "AND a.deleted = false")
     List<Contract> findAllByArtifactId(UUID artifactId);
+
+    /**
+     * Finds a page of the contracts of a specific resource, ordered by their creation date.
+     *
+     * @param resourceId The id of the resource.
+     * @param pageable   The requested page.
+     * @return The page of contracts of the resource.
+     */
+    @Query(value = "SELECT c "
+            + "FROM Resource o INNER JOIN o.contracts c "
+            + "WHERE o.id = :resourceId "
+            + "AND c.deleted = false "
+            + "AND o.deleted = false "
+            + "ORDER BY c.creationDate, c.id",
+            countQuery = "SELECT COUNT(c) "
+                    + "FROM Resource o INNER JOIN o.contracts c "
+                    + "WHERE o.id = :resourceId "
+                    + "AND c.deleted = false "
+                    + "AND o.deleted = false")
+    Page<Contract> findAllByResource(UUID resourceId, Pageable pageable);
 }
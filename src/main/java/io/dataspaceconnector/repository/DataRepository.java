@@ -27,14 +27,27 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface DataRepository extends JpaRepository<Data, Long> {
     /**
-     * Set new local data for an entity.
+     * Set new local data for an entity. The data is referenced by its key in the data store,
+     * any inline data is dropped.
      *
-     * @param entityId The entity id.
-     * @param data     The new data.
+     * @param entityId   The entity id.
+     * @param storageKey The key of the new data in the data store.
      */
     @Modifying
     @Query("UPDATE LocalData a "
-            + "SET a.value = :data "
+            + "SET a.storageKey = :storageKey, a.value = null "
             + "WHERE a.id = :entityId")
-    void setLocalData(Long entityId, byte[] data);
+    void setLocalData(Long entityId, String storageKey);
+
+    /**
+     * Count the local data elements referencing data in the data store.
+     *
+     * @param storageKey The key of the data in the data store.
+     * @return The number of data elements referencing the stored data.
+     */
+    @Query("SELECT COUNT(a) "
+            + "FROM LocalData a "
+            + "WHERE a.storageKey = :storageKey "
+            + "AND a.deleted = false")
+    long countByStorageKey(String storageKey);
 }
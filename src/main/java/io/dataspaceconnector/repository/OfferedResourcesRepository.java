@@ -16,11 +16,36 @@
 package io.dataspaceconnector.repository;
 
 import io.dataspaceconnector.model.resource.OfferedResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.UUID;
+
 /**
  * The repository containing all objects of type {@link OfferedResource}.
  */
 @Repository
 public interface OfferedResourcesRepository extends BaseEntityRepository<OfferedResource> {
+    /**
+     * Finds a page of the offered resources in a specific catalog, ordered by their creation
+     * date.
+     *
+     * @param catalogId The id of the catalog.
+     * @param pageable  The requested page.
+     * @return The page of offered resources in the catalog.
+     */
+    @Query(value = "SELECT o "
+            + "FROM Catalog c INNER JOIN c.offeredResources o "
+            + "WHERE c.id = :catalogId "
+            + "AND o.deleted = false "
+            + "AND c.deleted = false "
+            + "ORDER BY o.creationDate, o.id",
+            countQuery = "SELECT COUNT(o) "
+                    + "FROM Catalog c INNER JOIN c.offeredResources o "
+                    + "WHERE c.id = :catalogId "
+                    + "AND o.deleted = false "
+                    + "AND c.deleted = false")
+    Page<OfferedResource> findAllByCatalog(UUID catalogId, Pageable pageable);
 }
@@ -16,11 +16,36 @@
 package io.dataspaceconnector.repository;
 
 import io.dataspaceconnector.model.representation.Representation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.UUID;
+
 /**
  * The repository containing all objects of type {@link Representation}.
  */
 @Repository
 public interface RepresentationRepository extends RemoteEntityRepository<Representation> {
+    /**
+     * Finds a page of the representations of a specific resource, ordered by their creation
+     * date.
+     *
+     * @param resourceId The id of the resource.
+     * @param pageable   The requested page.
+     * @return The page of representations of the resource.
+     */
+    @Query(value = "SELECT r "
+            + "FROM Resource o INNER JOIN o.representations r "
+            + "WHERE o.id = :resourceId "
+            + "AND r.deleted = false "
+            + "AND o.deleted = false "
+            + "ORDER BY r.creationDate, r.id",
+            countQuery = "SELECT COUNT(r) "
+                    + "FROM Resource o INNER JOIN o.representations r "
+                    + "WHERE o.id = :resourceId "
+                    + "AND r.deleted = false "
+                    + "AND o.deleted = false")
+    Page<Representation> findAllByResource(UUID resourceId, Pageable pageable);
 }
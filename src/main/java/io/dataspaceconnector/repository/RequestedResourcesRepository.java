@@ -16,11 +16,14 @@
 package io.dataspaceconnector.repository;
 
 import io.dataspaceconnector.model.resource.RequestedResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.net.URI;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * The repository containing all objects of type {@link RequestedResource}.
@@ -39,4 +42,25 @@ public interface RequestedResourcesRepository extends RemoteEntityRepository<Req
             + "WHERE a.remoteId = :remoteId "
             + "AND a.deleted = false")
     Optional<RequestedResource> getByRemoteId(URI remoteId);
+
+    /**
+     * Finds a page of the requested resources in a specific catalog, ordered by their creation
+     * date.
+     *
+     * @param catalogId The id of the catalog.
+     * @param pageable  The requested page.
+     * @return The page of requested resources in the catalog.
+     */
+    @Query(value = "SELECT r "
+            + "FROM Catalog c INNER JOIN c.requestedResources r "
+            + "WHERE c.id = :catalogId "
+            + "AND r.deleted = false "
+            + "AND c.deleted = false "
+            + "ORDER BY r.creationDate, r.id",
+            countQuery = "SELECT COUNT(r) "
+                    + "FROM Catalog c INNER JOIN c.requestedResources r "
+                    + "WHERE c.id = :catalogId "
+                    + "AND r.deleted = false "
+                    + "AND c.deleted = false")
+    Page<RequestedResource> findAllByCatalog(UUID catalogId, Pageable pageable);
 }
@@ -29,7 +29,9 @@ import org.springframework.stereotype.Component;
 import javax.persistence.PersistenceException;
 import java.io.IOException;
 import java.net.URI;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -56,35 +58,65 @@ public class ArtifactDataDownloader {
     private final @NonNull EntityPersistenceService persistenceSvc;
 
     /**
-     * Download artifact data.
+     * Executes the downloads in parallel.
+     */
+    private final @NonNull DownloadExecutor downloadExecutor;
+
+    /**
+     * Download artifact data. The artifacts are downloaded in parallel. A failed download does
+     * not abort the others, unless every download failed.
      *
      * @param recipient   The provider connector.
      * @param artifacts   The artifact whose data should be downloaded.
      * @param agreementId The agreement allowing the transfer.
+     * @return The reasons of failed downloads per artifact. Empty, if all downloads succeeded.
      * @throws UnexpectedResponseException if the response type is not as expected.
      * @throws MessageResponseException    if the response is invalid.
      * @throws MessageException            if message handling failed.
+     * @throws PersistenceException        if the data could not be stored.
      */
-    public void download(final URI recipient, final List<URI> artifacts, final UUID agreementId)
-            throws UnexpectedResponseException, MessageResponseException, MessageException {
-        // Iterate over list of resource ids to send artifact request messages for each.
-        for (final var artifact : artifacts) {
-            // Send and validate artifact request/response message.
-            final var response = artifactReqSvc.sendMessage(recipient, artifact,
-                    agreementService.get(agreementId).getRemoteId());
+    public Map<URI, Exception> download(final URI recipient, final List<URI> artifacts,
+                                        final UUID agreementId)
+            throws UnexpectedResponseException, MessageResponseException, MessageException,
+            PersistenceException {
+        final var transferContract = agreementService.get(agreementId).getRemoteId();
+
+        // Send artifact request messages for each artifact and save the received data.
+        final var results = downloadExecutor.downloadAll("data", recipient, artifacts,
+                artifact -> {
+                    final var response = artifactReqSvc.sendMessage(recipient, artifact,
+                            transferContract);
+                    save(response, artifact);
+                    return artifact;
+                });
+
+        final var failures = new LinkedHashMap<URI, Exception>();
+        for (final var result : results) {
+            if (!result.isSuccess()) {
+                failures.put(result.getItem(), result.getError());
+            }
+        }
+
+        if (!results.isEmpty() && failures.size() == results.size()) {
+            // Nothing has been downloaded, report the first failure.
+            results.get(0).get();
+        }
+
+        return failures;
+    }
 
-            // Read and process the response message.
-            try {
-                persistenceSvc.saveData(response, artifact);
-            } catch (IOException | ResourceNotFoundException
-                    | MessageResponseException e) {
-                // Ignore that the data saving failed. Another try can take place later.
-                if (log.isWarnEnabled()) {
-                    log.warn("Could not save data for artifact. [artifact=({}), "
-                            + "exception=({})]", artifact, e.getMessage());
-                }
-                throw new PersistenceException(e);
+    private void save(final Map<String, String> response, final URI artifact) {
+        // Read and process the response message.
+        try {
+            persistenceSvc.saveData(response, artifact);
+        } catch (IOException | ResourceNotFoundException
+                | MessageResponseException e) {
+            // Ignore that the data saving failed. Another try can take place later.
+            if (log.isWarnEnabled()) {
+                log.warn("Could not save data for artifact. [artifact=({}), "
+                        + "exception=({})]", artifact, e.getMessage());
             }
+            throw new PersistenceException(e);
         }
     }
 }
@@ -34,9 +34,7 @@ import org.apache.camel.CamelContext;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.builder.ExchangeBuilder;
 import org.springframework.stereotype.Component;
-import org.springframework.util.Base64Utils;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.Map;
@@ -131,6 +129,6 @@ public class BlockingArtifactReceiver implements ArtifactRetriever {
             data = MessageUtils.extractPayloadFromMultipartMessage(response);
         }
 
-        return new ByteArrayInputStream(Base64Utils.decodeFromString(data));
+        return MessageUtils.decodePayload(data);
     }
 }
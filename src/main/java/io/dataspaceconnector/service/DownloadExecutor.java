@@ -0,0 +1,452 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+
+import io.dataspaceconnector.exception.MessageException;
+import io.dataspaceconnector.exception.UnexpectedResponseException;
+import io.dataspaceconnector.util.ErrorMessage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Executes batches of downloads from other connectors. The downloads of a batch run in parallel
+ * on a bounded pool, with a limit on concurrent downloads per recipient host. Downloads exceeding
+ * the limit wait in a queue per host and are started by the download freeing the slot, so
+ * neither the caller nor a download thread waits for a slot. Failed downloads do not abort the
+ * batch but are reported per item.
+ */
+@Log4j2
+@Component
+public class DownloadExecutor {
+
+    /**
+     * Executes the downloads.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The maximum number of concurrent downloads per recipient host.
+     */
+    private final int recipientLimit;
+
+    /**
+     * Download slots and waiting downloads per recipient host.
+     */
+    private final Map<String, Recipient> recipients = new ConcurrentHashMap<>();
+
+    /**
+     * The progress of the batches currently running.
+     */
+    private final Set<Progress> running = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The registry for the executor's metrics.
+     */
+    private final MeterRegistry registry;
+
+    /**
+     * Constructor for DownloadExecutor.
+     *
+     * @param meterRegistry The registry for the executor's metrics.
+     * @param threads       The number of download threads.
+     * @param perRecipient  The maximum number of concurrent downloads per recipient host.
+     */
+    public DownloadExecutor(
+            final MeterRegistry meterRegistry,
+            @Value("${download.threads}") final int threads,
+            @Value("${download.recipient-limit}") final int perRecipient) {
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.recipientLimit = perRecipient;
+        this.registry = meterRegistry;
+
+        Gauge.builder("dsc.download.pending", running,
+                        batches -> batches.stream().mapToInt(Progress::getRemaining).sum())
+                .description("Downloads of running batches that have not finished yet.")
+                .register(registry);
+        Gauge.builder("dsc.download.batches", running, Set::size)
+                .description("Batches of downloads currently running.")
+                .register(registry);
+        Gauge.builder("dsc.download.waiting", recipients,
+                        hosts -> hosts.values().stream().mapToInt(host -> host.waiting.size())
+                                .sum())
+                .description("Downloads waiting for a free slot of their recipient.")
+                .register(registry);
+    }
+
+    /**
+     * A single download of an item from a recipient.
+     *
+     * @param <T> The type of the downloaded value.
+     */
+    @FunctionalInterface
+    public interface Download<T> {
+        /**
+         * Download and process the item.
+         *
+         * @param item The item to download.
+         * @return The downloaded value.
+         * @throws UnexpectedResponseException if the response type is not as expected.
+         */
+        T run(URI item) throws UnexpectedResponseException;
+    }
+
+    /**
+     * Download a batch of items from a recipient. Blocks until every download has finished.
+     *
+     * @param type      The kind of downloaded items, used for logging and metrics.
+     * @param recipient The recipient connector.
+     * @param items     The items to download.
+     * @param download  The download of a single item.
+     * @param <T>       The type of the downloaded values.
+     * @return The results in the order of the items.
+     * @throws MessageException if the calling thread has been interrupted.
+     */
+    public <T> List<Result<T>> downloadAll(final String type, final URI recipient,
+                                           final List<URI> items, final Download<T> download) {
+        final var progress = new Progress(type, recipient, items.size());
+        final var host = getRecipient(recipient);
+        final var attributes = RequestContextHolder.getRequestAttributes();
+        final var tasks = new ArrayList<Task<T>>(items.size());
+
+        running.add(progress);
+        try {
+            for (final var item : items) {
+                tasks.add(new Task<>(item, download, attributes, progress));
+            }
+            host.waiting.addAll(tasks);
+            schedule(host);
+
+            final var results = new ArrayList<Result<T>>(items.size());
+            for (final var task : tasks) {
+                results.add(task.result.get());
+            }
+
+            if (log.isInfoEnabled()) {
+                log.info("Finished downloads. [type=({}), recipient=({}), total=({}), "
+                                + "failed=({}), duration=({}ms)]", type, recipient,
+                        progress.getTotal(), progress.getFailed(), progress.getDuration());
+            }
+
+            return results;
+        } catch (InterruptedException e) {
+            // Downloads already started are few and finish on their own.
+            host.waiting.removeAll(tasks);
+            Thread.currentThread().interrupt();
+            throw new MessageException(ErrorMessage.MESSAGE_SENDING_FAILED, e);
+        } catch (ExecutionException e) {
+            // Download failures end up in the results, only errors are left here.
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            running.remove(progress);
+        }
+    }
+
+    /**
+     * Stop the download threads. Running downloads are interrupted.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Start waiting downloads of a recipient as long as it has free slots. Called whenever
+     * downloads have been added or a slot has been freed, so no download is left waiting while
+     * a slot is free.
+     *
+     * @param host The recipient.
+     */
+    private void schedule(final Recipient host) {
+        while (!host.waiting.isEmpty() && host.slots.tryAcquire()) {
+            final var task = host.waiting.poll();
+            if (task == null) {
+                host.slots.release();
+                continue;
+            }
+
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        // Hand the slot over to the next waiting download.
+                        host.slots.release();
+                        schedule(host);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                host.slots.release();
+                task.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private <T> Result<T> run(final URI item, final Download<T> download,
+                              final RequestAttributes attributes, final Progress progress) {
+        // Provide the caller's request, e.g. for building the connector's base url.
+        RequestContextHolder.setRequestAttributes(attributes);
+        final var start = System.nanoTime();
+        try {
+            final var value = download.run(item);
+            progress.finished(true);
+            return new Result<>(item, value, null);
+        } catch (UnexpectedResponseException | RuntimeException e) {
+            progress.finished(false);
+            registry.counter("dsc.download.failed", "type", progress.getType()).increment();
+            if (log.isDebugEnabled()) {
+                log.debug("Download failed. [type=({}), item=({}), exception=({})]",
+                        progress.getType(), item, e.getMessage());
+            }
+            return new Result<>(item, null, e);
+        } finally {
+            registry.timer("dsc.download.latency", "type", progress.getType())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            RequestContextHolder.resetRequestAttributes();
+
+            if (log.isDebugEnabled()) {
+                log.debug("Download progress. [type=({}), recipient=({}), done=({}/{})]",
+                        progress.getType(), progress.getRecipient(),
+                        progress.getTotal() - progress.getRemaining(), progress.getTotal());
+            }
+        }
+    }
+
+    private Recipient getRecipient(final URI recipient) {
+        final var host = recipient.getHost() == null ? recipient.toString() : recipient.getHost();
+        return recipients.computeIfAbsent(host, key -> new Recipient(recipientLimit));
+    }
+
+    /**
+     * The download slots and waiting downloads of a recipient host.
+     */
+    private static final class Recipient {
+        /**
+         * The free download slots.
+         */
+        private final Semaphore slots;
+
+        /**
+         * The downloads waiting for a free slot.
+         */
+        private final Queue<Task<?>> waiting = new ConcurrentLinkedQueue<>();
+
+        private Recipient(final int limit) {
+            this.slots = new Semaphore(limit);
+        }
+    }
+
+    /**
+     * A download of a batch that has not finished yet.
+     *
+     * @param <T> The type of the downloaded value.
+     */
+    private final class Task<T> implements Runnable {
+        /**
+         * The item to download.
+         */
+        private final URI item;
+
+        /**
+         * The download of the item.
+         */
+        private final Download<T> download;
+
+        /**
+         * The request attributes of the caller.
+         */
+        private final RequestAttributes attributes;
+
+        /**
+         * The progress of the batch.
+         */
+        private final Progress progress;
+
+        /**
+         * The outcome of the download, completed once it has finished.
+         */
+        private final CompletableFuture<Result<T>> result = new CompletableFuture<>();
+
+        private Task(final URI downloaded, final Download<T> action,
+                     final RequestAttributes request, final Progress batch) {
+            this.item = downloaded;
+            this.download = action;
+            this.attributes = request;
+            this.progress = batch;
+        }
+
+        @Override
+        public void run() {
+            result.complete(DownloadExecutor.this.run(item, download, attributes, progress));
+        }
+    }
+
+    /**
+     * The outcome of a single download.
+     *
+     * @param <T> The type of the downloaded value.
+     */
+    @Getter
+    public static final class Result<T> {
+        /**
+         * The downloaded item.
+         */
+        private final URI item;
+
+        /**
+         * The downloaded value. Null, if the download failed.
+         */
+        private final T value;
+
+        /**
+         * The reason the download failed. Null, if the download succeeded.
+         */
+        private final Exception error;
+
+        private Result(final URI downloaded, final T result, final Exception failure) {
+            this.item = downloaded;
+            this.value = result;
+            this.error = failure;
+        }
+
+        /**
+         * Check whether the download succeeded.
+         *
+         * @return true if the download succeeded.
+         */
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        /**
+         * Get the downloaded value or rethrow the reason the download failed.
+         *
+         * @return The downloaded value.
+         * @throws UnexpectedResponseException if the response type was not as expected.
+         */
+        public T get() throws UnexpectedResponseException {
+            if (error instanceof UnexpectedResponseException) {
+                throw (UnexpectedResponseException) error;
+            } else if (error != null) {
+                throw (RuntimeException) error;
+            }
+
+            return value;
+        }
+    }
+
+    /**
+     * The progress of a batch of downloads.
+     */
+    private static final class Progress {
+        /**
+         * The kind of downloaded items.
+         */
+        @Getter
+        private final String type;
+
+        /**
+         * The recipient connector.
+         */
+        @Getter
+        private final URI recipient;
+
+        /**
+         * The number of items in the batch.
+         */
+        @Getter
+        private final int total;
+
+        /**
+         * The time the batch has been started in milliseconds.
+         */
+        private final long started = System.currentTimeMillis();
+
+        /**
+         * The number of downloads that succeeded.
+         */
+        private final AtomicInteger succeeded = new AtomicInteger();
+
+        /**
+         * The number of downloads that failed.
+         */
+        private final AtomicInteger failed = new AtomicInteger();
+
+        private Progress(final String kind, final URI target, final int count) {
+            this.type = kind;
+            this.recipient = target;
+            this.total = count;
+        }
+
+        /**
+         * Get the number of downloads that failed.
+         *
+         * @return The number of failed downloads.
+         */
+        public int getFailed() {
+            return failed.get();
+        }
+
+        /**
+         * Get the number of downloads that have not finished yet.
+         *
+         * @return The number of remaining downloads.
+         */
+        public int getRemaining() {
+            return total - succeeded.get() - failed.get();
+        }
+
+        /**
+         * Get the time since the batch has been started in milliseconds.
+         *
+         * @return The duration of the batch.
+         */
+        public long getDuration() {
+            return System.currentTimeMillis() - started;
+        }
+
+        private void finished(final boolean success) {
+            if (success) {
+                succeeded.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+            }
+        }
+    }
+}
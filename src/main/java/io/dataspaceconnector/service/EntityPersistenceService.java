@@ -36,14 +36,12 @@ import io.dataspaceconnector.util.TemplateUtils;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.jose4j.base64url.Base64;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.persistence.PersistenceException;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
@@ -260,8 +258,7 @@ public class EntityPersistenceService {
         }
 
         final var artifact = artifactService.get(artifactId.get());
-        artifactService.setData(artifact.getId(),
-                new ByteArrayInputStream(Base64.decode(base64Data)));
+        artifactService.setData(artifact.getId(), MessageUtils.decodePayload(base64Data));
         if (log.isDebugEnabled()) {
             log.debug("Updated data from artifact. [target=({})]", artifactId);
         }
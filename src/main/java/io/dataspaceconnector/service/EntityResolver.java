@@ -28,7 +28,6 @@ import io.dataspaceconnector.model.resource.OfferedResourceDesc;
 import io.dataspaceconnector.model.resource.RequestedResource;
 import io.dataspaceconnector.model.resource.RequestedResourceDesc;
 import io.dataspaceconnector.model.rule.ContractRule;
-import io.dataspaceconnector.service.ids.DeserializationService;
 import io.dataspaceconnector.service.ids.builder.IdsArtifactBuilder;
 import io.dataspaceconnector.service.ids.builder.IdsCatalogBuilder;
 import io.dataspaceconnector.service.ids.builder.IdsContractBuilder;
@@ -42,6 +41,7 @@ import io.dataspaceconnector.service.resource.RepresentationService;
 import io.dataspaceconnector.service.resource.ResourceService;
 import io.dataspaceconnector.service.resource.RuleService;
 import io.dataspaceconnector.service.usagecontrol.AllowAccessVerifier;
+import io.dataspaceconnector.service.usagecontrol.PolicyCache;
 import io.dataspaceconnector.service.util.EndpointUtils;
 import io.dataspaceconnector.util.ErrorMessage;
 import io.dataspaceconnector.util.IdsUtils;
@@ -144,9 +144,9 @@ public class EntityResolver {
     private final @NonNull BlockingArtifactReceiver artifactReceiver;
 
     /**
-     * Service for deserialization.
+     * Cache for deserialized policies.
      */
-    private final @NonNull DeserializationService deserializationService;
+    private final @NonNull PolicyCache policyCache;
 
     /**
      * Return any connector entity by its id.
@@ -268,9 +268,7 @@ public class EntityResolver {
         final var agreements = artifact.getAgreements();
         final var agreementList = new ArrayList<ContractAgreement>();
         for (final var agreement : agreements) {
-            final var value = agreement.getValue();
-            final var idsAgreement = deserializationService.getContractAgreement(value);
-            agreementList.add(idsAgreement);
+            agreementList.add(policyCache.getContractAgreement(agreement));
         }
         return agreementList;
     }
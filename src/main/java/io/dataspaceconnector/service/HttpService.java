@@ -15,10 +15,18 @@
  */
 package io.dataspaceconnector.service;
 
+import io.dataspaceconnector.telemetry.TracingUtils;
 import io.dataspaceconnector.util.ErrorMessage;
 import io.dataspaceconnector.util.QueryInput;
 import io.dataspaceconnector.util.Utils;
 import io.dataspaceconnector.util.exception.NotImplemented;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.opentracing.Span;
+import io.opentracing.Tracer;
+import io.opentracing.propagation.Format;
+import io.opentracing.propagation.TextMapAdapter;
+import io.opentracing.tag.Tags;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -28,6 +36,9 @@ import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.Request;
 import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayInputStream;
@@ -51,6 +62,16 @@ public class HttpService {
     private final @NonNull de.fraunhofer.ids.messaging.protocol.http.HttpService
             httpSvc;
 
+    /**
+     * The registry for the http client metrics.
+     */
+    private final @NonNull MeterRegistry registry;
+
+    /**
+     * The tracer for the http client spans.
+     */
+    private final @NonNull Tracer tracer;
+
     /**
      * The request method.
      */
@@ -137,7 +158,39 @@ public class HttpService {
     }
 
     /**
-     * Send post requests using the http service of the messaging services.
+     * A request body written from a stream while the request is sent. The stream can only be
+     * read once, so the request is not repeated by the http client.
+     */
+    private static final class StreamingRequestBody extends RequestBody {
+        /**
+         * The data to send.
+         */
+        private final InputStream data;
+
+        StreamingRequestBody(final InputStream content) {
+            super();
+            this.data = content;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return MediaType.get("application/octet-stream");
+        }
+
+        @Override
+        public void writeTo(final BufferedSink sink) throws IOException {
+            sink.writeAll(Okio.source(data));
+        }
+
+        @Override
+        public boolean isOneShot() {
+            return true;
+        }
+    }
+
+    /**
+     * Send post requests using the http service of the messaging services. The data is streamed
+     * into the request body while it is sent and is closed afterwards.
      *
      * @param target The target url.
      * @param args   Request arguments.
@@ -160,11 +213,29 @@ public class HttpService {
 
         final var targetUrl = urlBuilder.build();
 
-        final var body = RequestBody.create(data.readAllBytes(),
-                MediaType.get("application/octet-stream"));
-        final var request = new Request.Builder().url(targetUrl).post(body).build();
+        final var body = new StreamingRequestBody(data);
+        final var builder = new Request.Builder().url(targetUrl).post(body);
+        if (args.getHeaders() != null) {
+            args.getHeaders().forEach(builder::addHeader);
+        }
+
+        final var span = startClientSpan("POST", target);
+        getTraceHeaders(span).forEach(builder::header);
 
-        final var response = httpSvc.send(request);
+        final var request = builder.build();
+
+        final var sample = Timer.start(registry);
+        okhttp3.Response response;
+        try (data; var scope = tracer.activateSpan(span)) {
+            response = httpSvc.send(request);
+        } catch (IOException exception) {
+            stopRequestTimer(sample, "POST", target, "IO_ERROR");
+            TracingUtils.setError(span, exception);
+            span.finish();
+            throw exception;
+        }
+        stopRequestTimer(sample, "POST", target, String.valueOf(response.code()));
+        finishClientSpan(span, response.code());
 
         final var output = new Response();
         output.setCode(response.code());
@@ -175,7 +246,8 @@ public class HttpService {
     }
 
     /**
-     * Perform a get request.
+     * Perform a get request. The body of the response is streamed from the connection and has to
+     * be closed by the caller.
      *
      * @param target The recipient of the request.
      * @param args   The request arguments.
@@ -197,30 +269,106 @@ public class HttpService {
 
         final var targetUri = urlBuilder.build().uri();
 
+        final var span = startClientSpan("GET", target);
+        final var traceHeaders = getTraceHeaders(span);
+
+        final var sample = Timer.start(registry);
         okhttp3.Response response;
-        if (args.getHeaders() == null && args.getAuth() == null) {
-            response = httpSvc.get(targetUri);
-        } else {
-            /*
-                Make a copy of the headers and insert sensitive data only into the copy.
-             */
-            final var headerCopy = args.getHeaders() == null
-                    ? new HashMap<String, String>() : new HashMap<>(args.getHeaders());
-            if (args.getAuth() != null) {
-                headerCopy.put(args.getAuth().getFirst(), args.getAuth().getSecond());
+        try (var scope = tracer.activateSpan(span)) {
+            if (args.getHeaders() == null && args.getAuth() == null && traceHeaders.isEmpty()) {
+                response = httpSvc.get(targetUri);
+            } else {
+                /*
+                    Make a copy of the headers and insert sensitive data only into the copy.
+                 */
+                final var headerCopy = args.getHeaders() == null
+                        ? new HashMap<String, String>() : new HashMap<>(args.getHeaders());
+                headerCopy.putAll(traceHeaders);
+                if (args.getAuth() != null) {
+                    headerCopy.put(args.getAuth().getFirst(), args.getAuth().getSecond());
+                }
+
+                response = httpSvc.getWithHeaders(targetUri, headerCopy);
             }
-
-            response = httpSvc.getWithHeaders(targetUri, headerCopy);
+        } catch (IOException exception) {
+            stopRequestTimer(sample, "GET", target, "IO_ERROR");
+            TracingUtils.setError(span, exception);
+            span.finish();
+            throw exception;
         }
+        stopRequestTimer(sample, "GET", target, String.valueOf(response.code()));
+        finishClientSpan(span, response.code());
 
         final var output = new Response();
         output.setCode(response.code());
-        output.setBody(getBody(response));
-        response.close();
+        output.setBody(getBodyAsStream(response));
 
         return output;
     }
 
+    /**
+     * Record the time until the response headers of a request were received. The host is used as
+     * tag instead of the url, which would create a time series per query.
+     *
+     * @param sample The sample started before sending the request.
+     * @param method The request method.
+     * @param target The recipient of the request.
+     * @param status The response code or the kind of failure.
+     */
+    private void stopRequestTimer(final Timer.Sample sample, final String method,
+                                  final URL target, final String status) {
+        sample.stop(Timer.builder("dsc.http.client.requests")
+                .description("Time until the response headers of a backend were received.")
+                .tag("method", method)
+                .tag("host", target.getHost())
+                .tag("status", status)
+                .register(registry));
+    }
+
+    /**
+     * Start a client span for a request. The span is a child of the currently active span, e.g.
+     * the one of the incoming api call or of the route processing a message.
+     *
+     * @param method The request method.
+     * @param target The recipient of the request.
+     * @return The started span.
+     */
+    private Span startClientSpan(final String method, final URL target) {
+        return tracer.buildSpan("HTTP " + method)
+                .withTag(Tags.SPAN_KIND, Tags.SPAN_KIND_CLIENT)
+                .withTag(Tags.HTTP_METHOD, method)
+                .withTag(Tags.PEER_HOSTNAME, target.getHost())
+                .start();
+    }
+
+    /**
+     * Get the headers propagating the trace context of a span to the recipient. Which headers are
+     * used depends on the configured tracer, e.g. traceparent for W3C trace context.
+     *
+     * @param span The client span.
+     * @return The trace headers.
+     */
+    private Map<String, String> getTraceHeaders(final Span span) {
+        final var headers = new HashMap<String, String>();
+        tracer.inject(span.context(), Format.Builtin.HTTP_HEADERS, new TextMapAdapter(headers));
+        return headers;
+    }
+
+    private void finishClientSpan(final Span span, final int status) {
+        Tags.HTTP_STATUS.set(span, status);
+        if (status >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+            Tags.ERROR.set(span, true);
+        }
+        span.finish();
+    }
+
+    /**
+     * Read the whole response body and release the connection.
+     *
+     * @param response The response.
+     * @return The buffered response body.
+     * @throws IOException if the body could not be read.
+     */
     private InputStream getBody(final okhttp3.Response response) throws IOException {
         final var body = response.body();
         if (body != null) {
@@ -232,6 +380,24 @@ public class HttpService {
         return InputStream.nullInputStream();
     }
 
+    /**
+     * Get the response body as a stream that is read from the connection while it is consumed,
+     * so the body is never held in memory as a whole. The connection is released to the pool of
+     * the http client when the stream is closed.
+     *
+     * @param response The response.
+     * @return The response body.
+     */
+    private InputStream getBodyAsStream(final okhttp3.Response response) {
+        final var body = response.body();
+        if (body == null) {
+            response.close();
+            return InputStream.nullInputStream();
+        }
+
+        return body.byteStream();
+    }
+
     /**
      * Perform a get request.
      *
@@ -46,7 +46,13 @@ public class MetadataDownloader {
     private final @NonNull EntityPersistenceService persistenceSvc;
 
     /**
-     * Download metadata from another connector.
+     * Executes the downloads in parallel.
+     */
+    private final @NonNull DownloadExecutor downloadExecutor;
+
+    /**
+     * Download metadata from another connector. The description requests are sent in
+     * parallel, the responses are saved in the order of the resources.
      *
      * @param recipient The recipient connector.
      * @param resources The resources.
@@ -61,9 +67,13 @@ public class MetadataDownloader {
                          final List<URI> artifacts, final boolean download)
             throws UnexpectedResponseException, PersistenceException, MessageResponseException,
             MessageException {
+        final var results = downloadExecutor.downloadAll("metadata", recipient, resources,
+                resource -> descReqSvc.sendMessage(recipient, resource));
+
+        // Save in order and stop at the first failed download, like a sequential download.
         Map<String, String> response;
-        for (final var resource : resources) {
-            response = descReqSvc.sendMessage(recipient, resource);
+        for (final var result : results) {
+            response = result.get();
             persistenceSvc.saveMetadata(response, artifacts, download, recipient);
         }
     }
@@ -56,7 +56,7 @@ public class ConnectorEndpointService
 
     /**
      * Persists a connector endpoint. If an already existing endpoint is updated, the Camel routes
-     * for all routes referencing the endpoint are recreated.
+     * for all routes referencing the endpoint are recreated in one deployment.
      *
      * @param endpoint the endpoint to persist.
      * @return the persisted endpoint.
@@ -65,7 +65,7 @@ public class ConnectorEndpointService
     protected final ConnectorEndpoint persist(final ConnectorEndpoint endpoint) {
         if (endpoint.getId() != null) {
             final var affectedRoutes = routeRepo.findTopLevelRoutesByEndpoint(endpoint.getId());
-            affectedRoutes.forEach(routeHelper::deploy);
+            routeHelper.deploy(affectedRoutes);
         }
 
         return super.persist(endpoint);
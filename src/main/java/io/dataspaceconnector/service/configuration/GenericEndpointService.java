@@ -85,7 +85,7 @@ public class GenericEndpointService
 
     /**
      * Persists a generic endpoint. If an already existing endpoint is updated, the Camel routes
-     * for all routes referencing the endpoint are recreated.
+     * for all routes referencing the endpoint are recreated in one deployment.
      *
      * @param endpoint the endpoint to persist.
      * @return the persisted endpoint.
@@ -94,7 +94,7 @@ public class GenericEndpointService
     protected final GenericEndpoint persist(final GenericEndpoint endpoint) {
         if (endpoint.getId() != null) {
             final var affectedRoutes = routeRepo.findTopLevelRoutesByEndpoint(endpoint.getId());
-            affectedRoutes.forEach(routeHelper::deploy);
+            routeHelper.deploy(affectedRoutes);
         }
 
         return super.persist(endpoint);
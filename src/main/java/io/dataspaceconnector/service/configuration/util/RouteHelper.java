@@ -25,6 +25,9 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * Helper class for deploying Camel routes from {@link Route} objects.
  */
@@ -51,12 +54,26 @@ public class RouteHelper {
      * @throws RouteCreationException if the Camel route cannot be created or deployed.
      */
     public void deploy(final Route route) throws RouteCreationException {
-        if (DeployMethod.CAMEL.equals(route.getDeploy())
-                && route.getStart() != null && route.getEnd() != null) {
+        if (isCamelRoute(route)) {
             routeManager.createAndDeployXMLRoute(appRouteBuilder.create(route));
         }
     }
 
+    /**
+     * Tries to deploy Camel routes for a list of route objects at once. Only routes that would be
+     * deployed by {@link #deploy(Route)} are considered. Either all Camel routes are deployed or,
+     * if any of them cannot be created, none.
+     *
+     * @param routes the routes.
+     * @throws RouteCreationException if any Camel route cannot be created or deployed.
+     */
+    public void deploy(final List<Route> routes) throws RouteCreationException {
+        routeManager.createAndDeployXMLRoutes(routes.stream()
+                .filter(this::isCamelRoute)
+                .map(appRouteBuilder::create)
+                .collect(Collectors.toList()));
+    }
+
     /**
      * Deletes the Camel route associated with a route.
      *
@@ -67,4 +84,16 @@ public class RouteHelper {
         routeManager.deleteRoute(route);
     }
 
+    /**
+     * Checks whether a Camel route should be created for a route. This is the case if the route
+     * deploy method is CAMEL and start and end of the route are defined.
+     *
+     * @param route the route.
+     * @return true, if a Camel route should be created.
+     */
+    private boolean isCamelRoute(final Route route) {
+        return DeployMethod.CAMEL.equals(route.getDeploy())
+                && route.getStart() != null && route.getEnd() != null;
+    }
+
 }
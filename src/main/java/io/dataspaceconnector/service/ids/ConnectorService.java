@@ -18,6 +18,7 @@ package io.dataspaceconnector.service.ids;
 import de.fraunhofer.iais.eis.BaseConnector;
 import de.fraunhofer.iais.eis.BaseConnectorImpl;
 import de.fraunhofer.iais.eis.ConfigurationModelImpl;
+import de.fraunhofer.iais.eis.Connector;
 import de.fraunhofer.iais.eis.DynamicAttributeToken;
 import de.fraunhofer.iais.eis.Resource;
 import de.fraunhofer.iais.eis.ResourceCatalog;
@@ -28,23 +29,41 @@ import de.fraunhofer.ids.messaging.core.daps.ConnectorMissingCertExtensionExcept
 import de.fraunhofer.ids.messaging.core.daps.DapsConnectionException;
 import de.fraunhofer.ids.messaging.core.daps.DapsEmptyResponseException;
 import de.fraunhofer.ids.messaging.core.daps.DapsTokenProvider;
+import io.dataspaceconnector.model.artifact.Artifact;
+import io.dataspaceconnector.model.base.Entity;
+import io.dataspaceconnector.model.catalog.Catalog;
+import io.dataspaceconnector.model.contract.Contract;
+import io.dataspaceconnector.model.representation.Representation;
 import io.dataspaceconnector.model.resource.OfferedResource;
+import io.dataspaceconnector.model.rule.ContractRule;
 import io.dataspaceconnector.service.ids.builder.IdsCatalogBuilder;
 import io.dataspaceconnector.service.ids.builder.IdsResourceBuilder;
 import io.dataspaceconnector.service.resource.CatalogService;
 import io.dataspaceconnector.service.resource.OfferedResourceService;
+import io.dataspaceconnector.service.util.EndpointUtils;
+import io.dataspaceconnector.util.IdsUtils;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32C;
 
 /**
  * This service offers different methods related to the connector configuration, like e.g. getting
@@ -85,6 +104,46 @@ public class ConnectorService {
      */
     private final @NonNull OfferedResourceService offeredResourceService;
 
+    /**
+     * The maximum number of base urls entries are cached for. The base url is taken from the
+     * request, so the least recently used base urls are evicted.
+     */
+    private static final int MAX_BASE_URLS = 8;
+
+    /**
+     * The initial capacity of the cache maps.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The load factor of the cache maps.
+     */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * The ids catalogs built from the persisted catalogs, by base url and catalog id.
+     */
+    private final Map<String, Map<UUID, ResourceCatalog>> catalogCache =
+            createLruMap(MAX_BASE_URLS);
+
+    /**
+     * The rendered self-descriptions, by variant and base url.
+     */
+    private final Map<String, CachedSelfDescription> descriptionCache =
+            createLruMap(2 * MAX_BASE_URLS);
+
+    /**
+     * The ids resources built from the offered resources, by base url and resource id.
+     */
+    private final Map<String, Map<UUID, Resource>> resourceCache =
+            createLruMap(MAX_BASE_URLS);
+
+    /**
+     * Incremented whenever cached catalogs or resources are evicted. Guarded by the catalog
+     * cache.
+     */
+    private long catalogVersion;
+
     /**
      * Get a local copy of the current connector and extract its id.
      *
@@ -196,31 +255,209 @@ public class ConnectorService {
         }
     }
 
+    /**
+     * Get the rendered self-description with all offered resources. It is reused until the
+     * offered resources or the connector configuration change.
+     *
+     * @return The self-description.
+     */
+    public SelfDescription getSelfDescriptionWithOfferedResources()
+            throws ConstraintViolationException {
+        return getSelfDescription(true);
+    }
+
+    /**
+     * Get the rendered self-description without resources. It is reused until the connector
+     * configuration changes.
+     *
+     * @return The self-description.
+     */
+    public SelfDescription getSelfDescriptionWithoutResources()
+            throws ConstraintViolationException {
+        return getSelfDescription(false);
+    }
+
+    /**
+     * Evict the cached parts of the self-description that may contain an entity. A changed
+     * catalog only evicts itself. Changes below a catalog evict all catalogs and resources, as
+     * the catalogs and resources containing the entity are not known without loading its
+     * relations.
+     *
+     * @param entity The changed entity.
+     */
+    public void evictFromSelfDescription(final Entity entity) {
+        if (entity instanceof Catalog) {
+            synchronized (catalogCache) {
+                catalogVersion++;
+                catalogCache.values().forEach(x -> x.remove(entity.getId()));
+            }
+        } else if (entity instanceof OfferedResource || entity instanceof Representation
+                || entity instanceof Artifact || entity instanceof Contract
+                || entity instanceof ContractRule) {
+            synchronized (catalogCache) {
+                catalogVersion++;
+                catalogCache.clear();
+                resourceCache.clear();
+            }
+        }
+    }
+
+    private SelfDescription getSelfDescription(final boolean withResources) {
+        final var key = (withResources ? "resources|" : "base|") + getBaseUrl();
+        final var connector = configContainer.getConnector();
+        final var version = withResources ? getCatalogVersion() : -1;
+
+        final var cached = descriptionCache.get(key);
+        if (cached != null && cached.isValid(connector, version)) {
+            return cached.getDescription();
+        }
+
+        final var rdf = IdsUtils.toRdf(withResources
+                ? getConnectorWithOfferedResources() : getConnectorWithoutResources());
+        final var description = new SelfDescription(rdf, getEtag(rdf));
+        descriptionCache.put(key, new CachedSelfDescription(connector, version, description));
+
+        if (log.isDebugEnabled()) {
+            log.debug("Rendered self-description. [key=({}), etag=({})]", key,
+                    description.getEtag());
+        }
+
+        return description;
+    }
+
     /**
      * Get all catalogs with offered resources.
      *
      * @return List of resource catalogs.
      */
     private List<ResourceCatalog> getAllCatalogsWithOfferedResources() {
+        final var baseUrl = getBaseUrl();
         return catalogService.getAll(Pageable.unpaged())
                 .stream()
-                .map(x -> catalogBuilder.create(x, 0))
+                .map(x -> getCatalog(x, baseUrl))
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
+    private ResourceCatalog getCatalog(final Catalog catalog, final String baseUrl) {
+        return getCached(catalogCache, catalog, baseUrl, x -> catalogBuilder.create(x, 0));
+    }
+
+    private <E extends Entity, V> V getCached(final Map<String, Map<UUID, V>> cache,
+                                              final E entity, final String baseUrl,
+                                              final Function<E, V> builder) {
+        if (entity.getId() == null) {
+            return builder.apply(entity);
+        }
+
+        final var cached = cache.getOrDefault(baseUrl, Map.of()).get(entity.getId());
+        if (cached != null) {
+            return cached;
+        }
+
+        final var version = getCatalogVersion();
+        final var value = builder.apply(entity);
+        if (value != null) {
+            synchronized (catalogCache) {
+                // Do not store a value built from entities that changed in the meantime.
+                if (version == catalogVersion) {
+                    cache.computeIfAbsent(baseUrl, x -> new ConcurrentHashMap<>())
+                            .put(entity.getId(), value);
+                }
+            }
+        }
+
+        return value;
+    }
+
+    private static <K, V> Map<K, V> createLruMap(final int maxSize) {
+        return Collections.synchronizedMap(
+                new LinkedHashMap<K, V>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                        return size() > maxSize;
+                    }
+                });
+    }
+
+    private long getCatalogVersion() {
+        synchronized (catalogCache) {
+            return catalogVersion;
+        }
+    }
+
+    /**
+     * The self links in the self-description are built from the url of the current request.
+     *
+     * @return The base url of the current request or an empty string.
+     */
+    private static String getBaseUrl() {
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            return "";
+        }
+
+        return ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString();
+    }
+
+    private static String getEtag(final String rdf) {
+        final var bytes = rdf.getBytes(StandardCharsets.UTF_8);
+        final var checksum = new CRC32C();
+        checksum.update(bytes, 0, bytes.length);
+        return String.format("\"%x-%x\"", bytes.length, checksum.getValue());
+    }
+
     /**
-     * Get offered resource by its id.
+     * Get offered resource by its id. The first UUID in the id is looked up by primary key.
      *
      * @param resourceId The resource id.
      * @return The ids resource.
      */
     public Optional<Resource> getOfferedResourceById(final URI resourceId) {
-        final var resource = offeredResourceService.getAll(Pageable.unpaged())
-                .stream()
-                .filter(x -> resourceId.toString().contains(x.getId().toString()))
-                .findAny();
+        final var uuid = EndpointUtils.getUUIDFromPath(resourceId);
+        if (uuid == null) {
+            return Optional.empty();
+        }
+
+        final var baseUrl = getBaseUrl();
+        return offeredResourceService.findById(uuid)
+                .map(x -> getCached(resourceCache, x, baseUrl, resourceBuilder::create));
+    }
+
+    /**
+     * A rendered self-description and the state it was rendered from.
+     */
+    private static final class CachedSelfDescription {
+        /**
+         * The connector the self-description was rendered from.
+         */
+        private final Connector connector;
+
+        /**
+         * The catalog version the self-description was rendered from.
+         */
+        private final long version;
+
+        /**
+         * The rendered self-description.
+         */
+        private final SelfDescription description;
 
-        return resource.map(resourceBuilder::create);
+        CachedSelfDescription(final Connector pConnector, final long pVersion,
+                              final SelfDescription pDescription) {
+            this.connector = pConnector;
+            this.version = pVersion;
+            this.description = pDescription;
+        }
+
+        boolean isValid(final Connector current, final long currentVersion) {
+            // A configuration update replaces the connector of the config container.
+            return connector == current && version == currentVersion;
+        }
+
+        SelfDescription getDescription() {
+            return description;
+        }
     }
 }
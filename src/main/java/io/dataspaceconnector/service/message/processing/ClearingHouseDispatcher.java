@@ -0,0 +1,527 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.message.processing;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import io.dataspaceconnector.config.ClearingHouseProperties;
+import io.dataspaceconnector.service.message.type.LogMessageService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * Delivers log items to the clearing house asynchronously. Log items are put into a bounded
+ * queue and, if a buffer directory is configured, written to disk first. A dispatcher thread
+ * takes batches from the queue for the idle threads of a bounded delivery pool. Failed
+ * deliveries are retried with exponential backoff. Retries that do not fit into the queue stay
+ * in the buffer directory and are loaded again once there is space. Items still in the buffer
+ * directory are delivered after a restart.
+ */
+@Log4j2
+@Component
+@EnableConfigurationProperties(ClearingHouseProperties.class)
+public class ClearingHouseDispatcher {
+
+    /**
+     * File extension of buffered log items.
+     */
+    private static final String BUFFER_SUFFIX = ".log";
+
+    /**
+     * File extension of log items while they are written to the buffer.
+     */
+    private static final String TMP_SUFFIX = ".tmp";
+
+    /**
+     * Time in milliseconds the dispatcher waits for new log items before checking for a
+     * shutdown.
+     */
+    private static final long POLL_TIMEOUT = 1000;
+
+    /**
+     * Service for sending log messages.
+     */
+    private final LogMessageService logMessageSvc;
+
+    /**
+     * Log items ready for delivery.
+     */
+    private final BlockingQueue<Entry> queue;
+
+    /**
+     * Takes batches of log items from the queue.
+     */
+    private final ExecutorService dispatcher;
+
+    /**
+     * Delivers the log items of a batch in parallel.
+     */
+    private final ThreadPoolExecutor deliveries;
+
+    /**
+     * One permit per idle delivery thread. The dispatcher takes log items from the queue only
+     * for idle threads, so log items wait in the bounded queue instead of the thread pool.
+     */
+    private final Semaphore idle;
+
+    /**
+     * Schedules retries of failed deliveries and loads log items left in the buffer directory.
+     */
+    private final ScheduledExecutorService retries;
+
+    /**
+     * The maximum number of log items taken from the queue at once.
+     */
+    private final int batchSize;
+
+    /**
+     * The maximum number of attempts per log item.
+     */
+    private final int maxAttempts;
+
+    /**
+     * The delay in milliseconds before the first retry. Doubles with every further attempt.
+     */
+    private final long retryDelay;
+
+    /**
+     * Directory of the write-ahead buffer. Null, if log items are held in memory only.
+     */
+    private final Path bufferDir;
+
+    /**
+     * Buffer files of log items held in memory or given up on, these are not loaded again.
+     */
+    private final Set<Path> loaded = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Whether the buffer directory contains log items that are not held in memory.
+     */
+    private final AtomicBoolean spilled = new AtomicBoolean();
+
+    /**
+     * The number of log items waiting, in delivery, or waiting for a retry.
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * Time from enqueueing a log item till its delivery.
+     */
+    private final Timer deliveryLag;
+
+    /**
+     * Number of log items that could not be delivered after all attempts.
+     */
+    private final Counter failedDeliveries;
+
+    /**
+     * Number of log items delivered by the caller because the queue was full.
+     */
+    private final Counter overflowDeliveries;
+
+    /**
+     * Constructor for ClearingHouseDispatcher.
+     *
+     * @param registry   The registry for the dispatcher's metrics.
+     * @param logService The service for sending log messages.
+     * @param properties The settings for the delivery.
+     * @param dataPath   The data directory, relative buffer paths are resolved against it.
+     */
+    public ClearingHouseDispatcher(final MeterRegistry registry,
+                                   final LogMessageService logService,
+                                   final ClearingHouseProperties properties,
+                                   @Value("${storage.data-path}") final Path dataPath) {
+        final var settings = properties.getDispatcher();
+        this.logMessageSvc = logService;
+        this.queue = new LinkedBlockingQueue<>(settings.getQueueCapacity());
+        this.dispatcher = Executors.newSingleThreadExecutor();
+        this.deliveries = new ThreadPoolExecutor(settings.getThreads(), settings.getThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(settings.getThreads()));
+        this.idle = new Semaphore(settings.getThreads());
+        this.retries = Executors.newSingleThreadScheduledExecutor();
+        this.batchSize = settings.getBatchSize();
+        this.maxAttempts = properties.getRetry().getMaxAttempts();
+        this.retryDelay = properties.getRetry().getInitialDelay();
+
+        final var bufferPath = properties.getBuffer().getPath();
+        this.bufferDir = bufferPath.isBlank() ? null : dataPath.resolve(bufferPath);
+
+        registry.gauge("dsc.clearinghouse.queue.depth", pending);
+        this.deliveryLag = Timer.builder("dsc.clearinghouse.delivery.lag")
+                .description("Time from enqueueing a log item till its delivery.")
+                .register(registry);
+        this.failedDeliveries = Counter.builder("dsc.clearinghouse.delivery.failed")
+                .description("Log items that could not be delivered.")
+                .register(registry);
+        this.overflowDeliveries = Counter.builder("dsc.clearinghouse.delivery.overflow")
+                .description("Log items delivered synchronously because the queue was full.")
+                .register(registry);
+    }
+
+    /**
+     * Starts the dispatcher and enqueues the log items left in the buffer directory.
+     */
+    @PostConstruct
+    public void start() {
+        dispatcher.execute(this::work);
+
+        if (bufferDir != null) {
+            recover();
+            retries.scheduleWithFixedDelay(this::reload, retryDelay, retryDelay,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Enqueue a log item for delivery. Returns as soon as the item has been buffered. If the
+     * queue is full, the item is delivered by the calling thread instead.
+     *
+     * @param destination The clearing house url.
+     * @param logItem     The item to be logged.
+     */
+    public void dispatch(final URI destination, final String logItem) {
+        final var entry = new Entry(destination, logItem, write(destination, logItem),
+                System.nanoTime());
+
+        pending.incrementAndGet();
+        if (!queue.offer(entry)) {
+            overflowDeliveries.increment();
+            if (log.isDebugEnabled()) {
+                log.debug("Clearing house queue is full, delivering log item directly. "
+                        + "[url=({})]", destination);
+            }
+            deliver(entry);
+        }
+    }
+
+    /**
+     * Get the number of log items waiting or in delivery.
+     *
+     * @return The number of pending log items.
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    /**
+     * Stop the delivery threads. Log items in the buffer directory are delivered after the next
+     * start.
+     */
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        deliveries.shutdownNow();
+        retries.shutdownNow();
+    }
+
+    private void work() {
+        final var batch = new ArrayList<Entry>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                idle.acquire();
+                final var first = queue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    idle.release();
+                    continue;
+                }
+
+                batch.add(first);
+                final var free = Math.min(batchSize - 1, idle.availablePermits());
+                queue.drainTo(batch, free);
+                // Only this thread acquires permits, the drained items always get one.
+                idle.acquire(batch.size() - 1);
+                for (final var entry : batch) {
+                    deliveries.execute(() -> deliverAndRelease(entry));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliverAndRelease(final Entry entry) {
+        try {
+            deliver(entry);
+        } finally {
+            idle.release();
+        }
+    }
+
+    private void deliver(final Entry entry) {
+        entry.attempts++;
+        try {
+            logMessageSvc.sendMessage(entry.destination, entry.logItem);
+        } catch (Exception exception) {
+            if (entry.attempts < maxAttempts && !retries.isShutdown()) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Could not send log item to clearing house. [url=({}), "
+                                    + "attempt=({}), exception=({})]", entry.destination,
+                            entry.attempts, exception.getMessage());
+                }
+                retries.schedule(() -> requeue(entry), retryDelay << (entry.attempts - 1),
+                        TimeUnit.MILLISECONDS);
+            } else {
+                pending.decrementAndGet();
+                failedDeliveries.increment();
+                if (log.isWarnEnabled()) {
+                    log.warn("Could not send log item to clearing house. [url=({}), "
+                            + "attempts=({}), buffered=({}), exception=({})]",
+                            entry.destination, entry.attempts, entry.file != null,
+                            exception.getMessage());
+                }
+            }
+            return;
+        }
+
+        pending.decrementAndGet();
+        deliveryLag.record(System.nanoTime() - entry.enqueued, TimeUnit.NANOSECONDS);
+        delete(entry.file);
+        if (entry.file != null) {
+            loaded.remove(entry.file);
+        }
+    }
+
+    /**
+     * Put a log item waiting for a retry back into the queue without blocking the retry thread.
+     * If the queue is full, a buffered item is dropped from memory and loaded from the buffer
+     * directory again later, an item held in memory only is retried after the initial delay.
+     *
+     * @param entry The log item.
+     */
+    private void requeue(final Entry entry) {
+        if (queue.offer(entry)) {
+            return;
+        }
+
+        if (entry.file != null) {
+            pending.decrementAndGet();
+            loaded.remove(entry.file);
+            spilled.set(true);
+        } else if (!retries.isShutdown()) {
+            retries.schedule(() -> requeue(entry), retryDelay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes a log item to the buffer directory. The item is written to a temporary file first
+     * and then renamed, so that only complete items are recovered.
+     *
+     * @param destination The clearing house url.
+     * @param logItem     The item to be logged.
+     * @return The buffer file or null, if the buffer is disabled or the item could not be
+     *         written.
+     */
+    private Path write(final URI destination, final String logItem) {
+        if (bufferDir == null) {
+            return null;
+        }
+
+        final var name = System.currentTimeMillis() + "-" + UUID.randomUUID();
+        final var tmp = bufferDir.resolve(name + TMP_SUFFIX);
+        final var file = bufferDir.resolve(name + BUFFER_SUFFIX);
+        try {
+            Files.createDirectories(bufferDir);
+            Files.writeString(tmp, destination + "\n" + logItem, StandardCharsets.UTF_8);
+            loaded.add(file);
+            return Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            loaded.remove(file);
+            if (log.isWarnEnabled()) {
+                log.warn("Could not buffer log item, keeping it in memory only. "
+                        + "[exception=({})]", exception.getMessage());
+            }
+            return null;
+        }
+    }
+
+    private void delete(final Path file) {
+        if (file == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException exception) {
+            if (log.isWarnEnabled()) {
+                log.warn("Could not remove delivered log item from buffer. [file=({}), "
+                        + "exception=({})]", file, exception.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Removes incomplete log items from the buffer directory and enqueues the complete ones.
+     */
+    private void recover() {
+        if (!Files.isDirectory(bufferDir)) {
+            return;
+        }
+
+        try (var files = Files.list(bufferDir)) {
+            for (final var file : files.collect(Collectors.toList())) {
+                if (file.getFileName().toString().endsWith(TMP_SUFFIX)) {
+                    delete(file);
+                }
+            }
+        } catch (IOException exception) {
+            if (log.isWarnEnabled()) {
+                log.warn("Could not clean up clearing house buffer. [exception=({})]",
+                        exception.getMessage());
+            }
+        }
+
+        spilled.set(true);
+        final var recovered = reload();
+        if (recovered > 0 && log.isInfoEnabled()) {
+            log.info("Recovered buffered clearing house log items. [count=({})]", recovered);
+        }
+    }
+
+    /**
+     * Enqueues the log items of the buffer directory that are not held in memory, oldest first,
+     * as long as the queue has space.
+     *
+     * @return The number of log items enqueued.
+     */
+    private int reload() {
+        if (!spilled.getAndSet(false) || !Files.isDirectory(bufferDir)) {
+            return 0;
+        }
+
+        var reloaded = 0;
+        try (var files = Files.list(bufferDir)) {
+            final var buffered = files
+                    .filter(file -> file.getFileName().toString().endsWith(BUFFER_SUFFIX))
+                    .filter(file -> !loaded.contains(file))
+                    .sorted()
+                    .collect(Collectors.toList());
+            for (final var file : buffered) {
+                final var entry = read(file);
+                if (entry == null) {
+                    continue;
+                }
+
+                loaded.add(file);
+                pending.incrementAndGet();
+                if (!queue.offer(entry)) {
+                    pending.decrementAndGet();
+                    loaded.remove(file);
+                    spilled.set(true);
+                    break;
+                }
+                reloaded++;
+            }
+        } catch (IOException | RuntimeException exception) {
+            spilled.set(true);
+            if (log.isWarnEnabled()) {
+                log.warn("Could not load buffered clearing house log items. "
+                        + "[exception=({})]", exception.getMessage());
+            }
+        }
+
+        return reloaded;
+    }
+
+    /**
+     * Reads a log item from the buffer directory. Malformed items are removed.
+     *
+     * @param file The buffer file.
+     * @return The log item or null, if the file is malformed or has been delivered meanwhile.
+     */
+    private Entry read(final Path file) {
+        try {
+            final var content = Files.readString(file, StandardCharsets.UTF_8);
+            final var separator = content.indexOf('\n');
+            if (separator < 0) {
+                delete(file);
+                return null;
+            }
+
+            return new Entry(URI.create(content.substring(0, separator)),
+                    content.substring(separator + 1), file, System.nanoTime());
+        } catch (IOException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * A log item waiting for delivery.
+     */
+    private static final class Entry {
+        /**
+         * The clearing house url.
+         */
+        private final URI destination;
+
+        /**
+         * The item to be logged.
+         */
+        private final String logItem;
+
+        /**
+         * The buffer file of the item. Null, if the item is held in memory only.
+         */
+        private final Path file;
+
+        /**
+         * The time the item has been enqueued in nanoseconds.
+         */
+        private final long enqueued;
+
+        /**
+         * The number of attempts so far.
+         */
+        private int attempts;
+
+        Entry(final URI url, final String item, final Path bufferFile, final long start) {
+            this.destination = url;
+            this.logItem = item;
+            this.file = bufferFile;
+            this.enqueued = start;
+        }
+    }
+}
@@ -19,7 +19,6 @@ import de.fraunhofer.iais.eis.Message;
 import io.dataspaceconnector.config.ConnectorConfiguration;
 import io.dataspaceconnector.exception.PolicyExecutionException;
 import io.dataspaceconnector.exception.UUIDFormatException;
-import io.dataspaceconnector.service.message.type.LogMessageService;
 import io.dataspaceconnector.util.UUIDUtils;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -43,13 +42,13 @@ public class ClearingHouseService {
     private final @NonNull ConnectorConfiguration connectorConfig;
 
     /**
-     * Service for ids log messages.
+     * Delivers log items to the clearing house in the background.
      */
-    private final @NonNull LogMessageService logMessageSvc;
-
+    private final @NonNull ClearingHouseDispatcher dispatcher;
 
     /**
-     * Send contract agreement to clearing house.
+     * Send contract agreement to clearing house. The log item is enqueued and delivered
+     * asynchronously.
      *
      * @param agreementId The agreement's id.
      * @param logItem   The item that should be logged.
@@ -57,12 +56,13 @@ public class ClearingHouseService {
     public void sendToClearingHouse(final URI agreementId, final Object logItem) {
         if (isClearingHouseEnabled()) {
             final var url = buildDestination(agreementId);
-            logMessageSvc.sendMessage(url, logItem);
+            dispatcher.dispatch(url, logItem.toString());
         }
     }
 
     /**
      * Creates a LogMessage with the IDS message as payload, then sends to the Clearing House.
+     * The log item is enqueued and delivered asynchronously.
      *
      * @param idsMessage the message that should be logged.
      */
@@ -72,7 +72,7 @@ public class ClearingHouseService {
                 final var transferContractId =
                                     UUIDUtils.uuidFromUri(idsMessage.getTransferContract());
                 final var url = buildDestination(URI.create(transferContractId.toString()));
-                logMessageSvc.sendMessage(url, idsMessage.toRdf());
+                dispatcher.dispatch(url, idsMessage.toRdf());
             } catch (UUIDFormatException | PolicyExecutionException exception) {
                 if (log.isWarnEnabled()) {
                     log.warn("Failed to log message to clearing house. [exception=({})]",
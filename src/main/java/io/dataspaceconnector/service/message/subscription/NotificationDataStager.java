@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.message.subscription;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stages the data pushed to subscribers in a file, so that it is fetched once per notification
+ * and read from the file by every delivery and retry.
+ */
+@Log4j2
+@Component
+public class NotificationDataStager {
+
+    /**
+     * The directory containing the staged data.
+     */
+    private final Path directory;
+
+    /**
+     * Constructor for NotificationDataStager. Data staged before a restart is removed, as the
+     * deliveries using it are not kept.
+     *
+     * @param dataPath The directory for data of the connector.
+     * @throws IOException if the staging directory cannot be created or cleaned.
+     */
+    public NotificationDataStager(@Value("${storage.data-path}") final Path dataPath)
+            throws IOException {
+        this.directory = Files.createDirectories(dataPath.resolve("notifications"));
+        try (var files = Files.list(directory)) {
+            for (final var file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Stage the data. The data stream is read fully but not closed.
+     *
+     * @param data       The data.
+     * @param deliveries The number of deliveries reading the data.
+     * @return The staged data, removed once it has been released by every delivery.
+     * @throws IOException if the data cannot be read or written.
+     */
+    public StagedData stage(final InputStream data, final int deliveries) throws IOException {
+        final var file = Files.createTempFile(directory, "data-", ".tmp");
+        try {
+            Files.copy(data, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException exception) {
+            Files.deleteIfExists(file);
+            throw exception;
+        }
+
+        return new StagedData(file, deliveries);
+    }
+
+    /**
+     * Data staged for the deliveries of a notification.
+     */
+    public static final class StagedData implements InputStreamSource {
+        /**
+         * The file containing the data.
+         */
+        private final Path file;
+
+        /**
+         * The number of deliveries that have not released the data yet.
+         */
+        private final AtomicInteger remaining;
+
+        private StagedData(final Path path, final int deliveries) {
+            this.file = path;
+            this.remaining = new AtomicInteger(deliveries);
+        }
+
+        /**
+         * Open the staged data.
+         *
+         * @return The data.
+         * @throws IOException if the file cannot be opened.
+         */
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(file);
+        }
+
+        /**
+         * Release the data once a delivery has ended. The file is removed after the last
+         * delivery.
+         */
+        public void release() {
+            if (remaining.decrementAndGet() != 0) {
+                return;
+            }
+
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException exception) {
+                if (log.isWarnEnabled()) {
+                    log.warn("Could not remove staged notification data. [file=({}), "
+                            + "exception=({})]", file, exception.getMessage());
+                }
+            }
+        }
+    }
+}
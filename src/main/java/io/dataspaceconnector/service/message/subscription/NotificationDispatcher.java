@@ -0,0 +1,284 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.message.subscription;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * Delivers subscriber notifications asynchronously. Deliveries are executed in parallel on a
+ * bounded pool, with a limit on concurrent deliveries per recipient host. Failed deliveries are
+ * retried with exponential backoff.
+ */
+@Log4j2
+@Component
+public class NotificationDispatcher {
+
+    /**
+     * Delay in milliseconds before retrying a delivery that is waiting for a free slot of its
+     * recipient.
+     */
+    private static final long SLOT_WAIT_DELAY = 50;
+
+    /**
+     * Executes and schedules deliveries.
+     */
+    private final ScheduledThreadPoolExecutor executor;
+
+    /**
+     * The maximum number of deliveries waiting for execution.
+     */
+    private final int queueCapacity;
+
+    /**
+     * The maximum number of concurrent deliveries per recipient host.
+     */
+    private final int recipientLimit;
+
+    /**
+     * The maximum number of attempts per delivery.
+     */
+    private final int maxAttempts;
+
+    /**
+     * The delay in milliseconds before the first retry. Doubles with every further attempt.
+     */
+    private final long retryDelay;
+
+    /**
+     * Free delivery slots per recipient host.
+     */
+    private final Map<String, Semaphore> recipientSlots = new ConcurrentHashMap<>();
+
+    /**
+     * The number of deliveries waiting or in progress.
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * Time from enqueueing a delivery till it succeeded.
+     */
+    private final Timer deliveryLatency;
+
+    /**
+     * Number of deliveries that failed after all attempts.
+     */
+    private final Counter failedDeliveries;
+
+    /**
+     * Number of deliveries rejected because the queue was full.
+     */
+    private final Counter rejectedDeliveries;
+
+    /**
+     * Constructor for NotificationDispatcher.
+     *
+     * @param registry      The registry for the dispatcher's metrics.
+     * @param threads       The number of delivery threads.
+     * @param capacity      The maximum number of pending deliveries.
+     * @param perRecipient  The maximum number of concurrent deliveries per recipient host.
+     * @param attempts      The maximum number of attempts per delivery.
+     * @param initialDelay  The delay in milliseconds before the first retry.
+     */
+    public NotificationDispatcher(
+            final MeterRegistry registry,
+            @Value("${notification.dispatcher.threads}") final int threads,
+            @Value("${notification.dispatcher.queue-capacity}") final int capacity,
+            @Value("${notification.dispatcher.recipient-limit}") final int perRecipient,
+            @Value("${notification.retry.max-attempts}") final int attempts,
+            @Value("${notification.retry.initial-delay}") final long initialDelay) {
+        this.executor = new ScheduledThreadPoolExecutor(threads);
+        this.executor.setRemoveOnCancelPolicy(true);
+        this.queueCapacity = capacity;
+        this.recipientLimit = perRecipient;
+        this.maxAttempts = attempts;
+        this.retryDelay = initialDelay;
+
+        registry.gauge("dsc.notification.queue.depth", pending);
+        this.deliveryLatency = Timer.builder("dsc.notification.delivery.latency")
+                .description("Time from enqueueing a notification till its delivery.")
+                .register(registry);
+        this.failedDeliveries = Counter.builder("dsc.notification.delivery.failed")
+                .description("Notifications that could not be delivered.")
+                .register(registry);
+        this.rejectedDeliveries = Counter.builder("dsc.notification.delivery.rejected")
+                .description("Notifications rejected because the queue was full.")
+                .register(registry);
+    }
+
+    /**
+     * A single delivery to a recipient.
+     */
+    @FunctionalInterface
+    public interface Delivery {
+        /**
+         * Send the notification.
+         *
+         * @return true if the recipient accepted the notification.
+         * @throws Exception if the notification could not be sent.
+         */
+        boolean send() throws Exception;
+    }
+
+    /**
+     * Enqueue a delivery. Returns immediately.
+     *
+     * @param recipient The recipient of the notification.
+     * @param delivery  The delivery.
+     * @return false if the delivery has been rejected because the queue is full.
+     */
+    public boolean dispatch(final URI recipient, final Delivery delivery) {
+        return dispatch(recipient, delivery, () -> { });
+    }
+
+    /**
+     * Enqueue a delivery. Returns immediately.
+     *
+     * @param recipient The recipient of the notification.
+     * @param delivery  The delivery.
+     * @param onEnd     Runs once when the delivery has succeeded, finally failed or has been
+     *                  rejected.
+     * @return false if the delivery has been rejected because the queue is full.
+     */
+    public boolean dispatch(final URI recipient, final Delivery delivery, final Runnable onEnd) {
+        if (pending.incrementAndGet() > queueCapacity) {
+            pending.decrementAndGet();
+            rejectedDeliveries.increment();
+            if (log.isWarnEnabled()) {
+                log.warn("Notification queue is full, dropping notification. [url=({})]",
+                        recipient);
+            }
+            onEnd.run();
+            return false;
+        }
+
+        final var task = new Task(recipient, delivery, onEnd, System.nanoTime());
+        executor.execute(task);
+        return true;
+    }
+
+    /**
+     * Get the number of deliveries waiting or in progress.
+     *
+     * @return The number of pending deliveries.
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    /**
+     * Stop the delivery threads. Pending deliveries are dropped.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Semaphore getSlots(final URI recipient) {
+        final var host = recipient.getHost() == null ? recipient.toString() : recipient.getHost();
+        return recipientSlots.computeIfAbsent(host, key -> new Semaphore(recipientLimit));
+    }
+
+    /**
+     * Executes a delivery and reschedules it on failure.
+     */
+    private final class Task implements Runnable {
+        /**
+         * The recipient.
+         */
+        private final URI recipient;
+
+        /**
+         * The delivery.
+         */
+        private final Delivery delivery;
+
+        /**
+         * Runs once the delivery has ended.
+         */
+        private final Runnable onEnd;
+
+        /**
+         * The time the delivery has been enqueued in nanoseconds.
+         */
+        private final long enqueued;
+
+        /**
+         * The number of attempts so far.
+         */
+        private int attempts;
+
+        Task(final URI target, final Delivery action, final Runnable end, final long start) {
+            this.recipient = target;
+            this.delivery = action;
+            this.onEnd = end;
+            this.enqueued = start;
+        }
+
+        @Override
+        public void run() {
+            final var slots = getSlots(recipient);
+            if (!slots.tryAcquire()) {
+                executor.schedule(this, SLOT_WAIT_DELAY, TimeUnit.MILLISECONDS);
+                return;
+            }
+
+            attempts++;
+            boolean success;
+            try {
+                success = delivery.send();
+            } catch (Exception exception) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Could not notify subscriber. [url=({}), attempt=({}), "
+                            + "exception=({})]", recipient, attempts, exception.getMessage());
+                }
+                success = false;
+            } finally {
+                slots.release();
+            }
+
+            if (success) {
+                pending.decrementAndGet();
+                deliveryLatency.record(System.nanoTime() - enqueued, TimeUnit.NANOSECONDS);
+                onEnd.run();
+            } else if (attempts < maxAttempts) {
+                executor.schedule(this, retryDelay << (attempts - 1), TimeUnit.MILLISECONDS);
+            } else {
+                pending.decrementAndGet();
+                failedDeliveries.increment();
+                if (log.isWarnEnabled()) {
+                    log.warn("Could not notify subscriber. [url=({}), attempts=({})]",
+                            recipient, attempts);
+                }
+                onEnd.run();
+            }
+        }
+    }
+}
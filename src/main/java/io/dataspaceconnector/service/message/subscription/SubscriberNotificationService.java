@@ -27,6 +27,7 @@ import io.dataspaceconnector.service.BlockingArtifactReceiver;
 import io.dataspaceconnector.service.HttpService;
 import io.dataspaceconnector.service.ids.builder.IdsResourceBuilder;
 import io.dataspaceconnector.service.message.GlobalMessageService;
+import io.dataspaceconnector.service.message.subscription.NotificationDataStager.StagedData;
 import io.dataspaceconnector.service.resource.ArtifactService;
 import io.dataspaceconnector.service.resource.SubscriptionService;
 import io.dataspaceconnector.service.usagecontrol.DataAccessVerifier;
@@ -36,6 +37,8 @@ import io.dataspaceconnector.util.SelfLinkHelper;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -48,7 +51,9 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
- * This class provides methods for handling subscriptions to a requested resource.
+ * This class provides methods for handling subscriptions to a requested resource. The
+ * notifications are handed to the {@link NotificationDispatcher}, which delivers them
+ * asynchronously.
  */
 @Log4j2
 @RequiredArgsConstructor
@@ -90,6 +95,16 @@ public class SubscriberNotificationService {
      */
     private final @NonNull HttpService httpService;
 
+    /**
+     * Dispatcher delivering the notifications.
+     */
+    private final @NonNull NotificationDispatcher dispatcher;
+
+    /**
+     * Stages the data pushed to subscribers.
+     */
+    private final @NonNull NotificationDataStager dataStager;
+
     /**
      * Notify subscribers on database update event.
      *
@@ -151,15 +166,18 @@ public class SubscriberNotificationService {
             put("ids-event", Event.UPDATED.toString());
         }};
         if (!recipients.isEmpty()) {
-            sendNotification(recipients, notification, InputStream.nullInputStream());
+            sendNotification(recipients, notification, InputStream::nullInputStream, () -> { });
         }
 
-        // Only send data if entity is of type artifact.
+        // Only send data if entity is of type artifact. The data is fetched once and read by
+        // every delivery from the staged copy.
         if (!recipientsWithData.isEmpty()) {
-            if (entity instanceof Artifact) {
-                sendNotification(recipientsWithData, notification, retrieveDataByArtifact(entity));
+            final var data = stageData(entity, recipientsWithData.size());
+            if (data == null) {
+                sendNotification(recipientsWithData, notification, InputStream::nullInputStream,
+                        () -> { });
             } else {
-                sendNotification(recipientsWithData, notification, InputStream.nullInputStream());
+                sendNotification(recipientsWithData, notification, data, data::release);
             }
         }
     }
@@ -176,28 +194,27 @@ public class SubscriberNotificationService {
         for (final var recipient : idsRecipients) {
             // Send update message for every found resource.
             for (final var resource : resources) {
-                try {
-                    final var response = messageSvc.sendResourceUpdateMessage(recipient, resource);
-                    if (response.isPresent()) {
-                        if (log.isDebugEnabled()) {
-                            log.debug("Successfully sent update message. [url=({})]", recipient);
-                        }
-                    } else {
-                        if (log.isDebugEnabled()) {
-                            log.debug("{} [url=({})]", ErrorMessage.UPDATE_MESSAGE_FAILED,
-                                    recipient);
-                        }
-                    }
-                } catch (Exception e) {
-                    if (log.isWarnEnabled()) {
-                        log.debug("{} [url=({}), exception=({})]",
-                                ErrorMessage.UPDATE_MESSAGE_FAILED, recipient, e.getMessage());
-                    }
-                }
+                dispatcher.dispatch(recipient, () -> sendUpdateMessage(recipient, resource));
             }
         }
     }
 
+    private boolean sendUpdateMessage(final URI recipient, final Resource resource)
+            throws Exception {
+        final var response = messageSvc.sendResourceUpdateMessage(recipient, resource);
+        if (response.isPresent()) {
+            if (log.isDebugEnabled()) {
+                log.debug("Successfully sent update message. [url=({})]", recipient);
+            }
+            return true;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("{} [url=({})]", ErrorMessage.UPDATE_MESSAGE_FAILED, recipient);
+        }
+        return false;
+    }
+
     // TODO refactor to recursive method calls
     private List<Resource> getIdsResourcesFromEntity(final Entity entity) {
         var updatedResources = new ArrayList<Resource>();
@@ -231,35 +248,40 @@ public class SubscriberNotificationService {
     }
 
     /**
-     * Retrieve data if the entity is of type {@link Artifact}.
+     * Fetch and stage the data if the entity is of type {@link Artifact}. Access to the data is
+     * verified once for all deliveries.
      *
-     * @param entity The database entity.
-     * @return Data as input stream.
+     * @param entity     The database entity.
+     * @param deliveries The number of deliveries reading the data.
+     * @return The staged data, null if the entity is no artifact or the data is not available.
      */
-    private InputStream retrieveDataByArtifact(final Entity entity) {
+    private StagedData stageData(final Entity entity, final int deliveries) {
         if (entity instanceof Artifact) {
-            final var id = entity.getId();
-            try {
-                return artifactSvc.getData(accessVerifier, dataReceiver, id, new QueryInput());
+            try (var data = artifactSvc.getData(accessVerifier, dataReceiver, entity.getId(),
+                    new QueryInput())) {
+                return dataStager.stage(data, deliveries);
             } catch (IOException exception) {
-                log.debug("Failed to retrieve data. [exception=({})]", exception.getMessage());
+                if (log.isDebugEnabled()) {
+                    log.debug("Failed to retrieve data. [exception=({})]",
+                            exception.getMessage());
+                }
             }
         }
-        return InputStream.nullInputStream();
+        return null;
     }
 
     private void sendNotification(final List<URI> recipients,
-                                  final Map<String, String> notification, final InputStream data) {
+                                  final Map<String, String> notification,
+                                  final InputStreamSource data, final Runnable onEnd) {
         for (final var recipient : recipients) {
             final var args = new HttpService.HttpArgs();
             args.setHeaders(notification);
-            try {
-                httpService.post(recipient.toURL(), args, data);
-            } catch (IOException exception) {
-                if (log.isWarnEnabled()) {
-                    log.warn("Could not notify subscriber. [url=({})]", recipient);
-                }
-            }
+            dispatcher.dispatch(recipient, () -> {
+                final var response = httpService.post(recipient.toURL(), args,
+                        data.getInputStream());
+                return HttpStatus.Series.resolve(response.getCode())
+                        == HttpStatus.Series.SUCCESSFUL;
+            }, onEnd);
         }
     }
 }
@@ -87,7 +87,9 @@ public abstract class AbstractRelationService<K extends Entity, W extends Entity
     protected abstract List<W> getInternal(K owner);
 
     /**
-     * Receives a page of children assigned to the entity.
+     * Receives a page of children assigned to the entity. By default, all children are loaded
+     * and paged in memory. Relations that may grow large should override this to page on the
+     * database.
      *
      * @param owner    The entity whose children should be received.
      * @param pageable The children assigned to the entity.
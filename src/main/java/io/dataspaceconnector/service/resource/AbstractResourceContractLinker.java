@@ -20,6 +20,8 @@ import java.util.List;
 import io.dataspaceconnector.model.contract.Contract;
 import io.dataspaceconnector.model.resource.Resource;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 /**
  * Base class for handling resource-contract relations.
@@ -37,4 +39,15 @@ public abstract class AbstractResourceContractLinker<T extends Resource>
     protected List<Contract> getInternal(final Resource owner) {
         return owner.getContracts();
     }
+
+    /**
+     * Get a page of the contracts owned by the resource.
+     * @param owner    The owner of the contracts.
+     * @param pageable The requested page.
+     * @return The page of owned contracts.
+     */
+    @Override
+    protected Page<Contract> getInternal(final T owner, final Pageable pageable) {
+        return getManyService().getAllByResource(owner.getId(), pageable);
+    }
 }
@@ -20,6 +20,8 @@ import java.util.List;
 import io.dataspaceconnector.model.representation.Representation;
 import io.dataspaceconnector.model.resource.Resource;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 /**
  * Handles the relation between a resources and its representations.
@@ -38,4 +40,15 @@ public abstract class AbstractResourceRepresentationLinker<T extends Resource>
     protected List<Representation> getInternal(final Resource owner) {
         return owner.getRepresentations();
     }
+
+    /**
+     * Get a page of the representations owned by the resource.
+     * @param owner    The owner of the representations.
+     * @param pageable The requested page.
+     * @return The page of owned representations.
+     */
+    @Override
+    protected Page<Representation> getInternal(final T owner, final Pageable pageable) {
+        return getManyService().getAllByResource(owner.getId(), pageable);
+    }
 }
@@ -17,19 +17,114 @@ package io.dataspaceconnector.service.resource;
 
 import io.dataspaceconnector.model.agreement.Agreement;
 import io.dataspaceconnector.model.agreement.AgreementDesc;
+import io.dataspaceconnector.model.agreement.AgreementFactory;
 import io.dataspaceconnector.repository.AgreementRepository;
+import io.dataspaceconnector.service.ids.DeserializationService;
+import io.dataspaceconnector.util.ContractUtils;
+import io.dataspaceconnector.util.RuleUtils;
 import lombok.NoArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
 /**
  * Handles the basic logic for contracts.
  */
+@Log4j2
 @Service
 @NoArgsConstructor
 @Transactional
 public class AgreementService extends BaseEntityService<Agreement, AgreementDesc> {
 
+    /**
+     * Service for deserialization.
+     */
+    @Autowired
+    private DeserializationService deserializationService;
+
+    /**
+     * Persist the agreement together with the earliest date at which data of its targets has to
+     * be deleted, so that the deletion does not require scanning all agreements.
+     *
+     * @param agreement The agreement to persist.
+     * @return The persisted agreement.
+     */
+    @Override
+    protected Agreement persist(final Agreement agreement) {
+        final var factory = (AgreementFactory) getFactory();
+        factory.updateDeletionDate(agreement, findDeletionDate(agreement.getValue()));
+
+        return super.persist(agreement);
+    }
+
+    /**
+     * Get all agreements whose deletion date has passed, starting with the most overdue one.
+     *
+     * @param date The date to compare against.
+     * @return The agreements due for deletion.
+     */
+    public List<Agreement> getAllDueForDeletion(final ZonedDateTime date) {
+        final var repo = (AgreementRepository) getRepository();
+        return repo.findAllDueForDeletion(date);
+    }
+
+    /**
+     * Count the agreements whose deletion date has passed.
+     *
+     * @param date The date to compare against.
+     * @return The number of overdue deletions.
+     */
+    public long countDueForDeletion(final ZonedDateTime date) {
+        final var repo = (AgreementRepository) getRepository();
+        return repo.countDueForDeletion(date);
+    }
+
+    /**
+     * Count the agreements whose deletion date lies in the future.
+     *
+     * @param date The date to compare against.
+     * @return The number of pending deletions.
+     */
+    public long countPendingDeletion(final ZonedDateTime date) {
+        final var repo = (AgreementRepository) getRepository();
+        return repo.countPendingDeletion(date);
+    }
+
+    /**
+     * Compute the deletion date of agreements that were persisted before the deletion date was
+     * tracked. Each call indexes at most one batch, indexed agreements are marked and not loaded
+     * again.
+     *
+     * @param batchSize The maximum number of agreements to index.
+     * @return The number of agreements indexed. Zero if none are left.
+     */
+    public int indexDeletionDates(final int batchSize) {
+        final var repo = (AgreementRepository) getRepository();
+        final var agreements = repo.findAllNotDeletionIndexed(PageRequest.of(0, batchSize));
+        for (final var agreement : agreements) {
+            setDeletionDate(agreement, findDeletionDate(agreement.getValue()));
+        }
+
+        return agreements.size();
+    }
+
+    /**
+     * Set the date at which data of the agreement's targets has to be deleted next.
+     *
+     * @param agreement    The agreement.
+     * @param deletionDate The new deletion date. Null if no deletion is outstanding.
+     */
+    public void setDeletionDate(final Agreement agreement, final ZonedDateTime deletionDate) {
+        final var repo = (AgreementRepository) getRepository();
+        repo.setDeletionDate(agreement.getId(), deletionDate);
+    }
+
     /**
      * Compares the agreement with the persisted one. If they are equal the agreement
      * will be confirmed.
@@ -50,4 +145,29 @@ public class AgreementService extends BaseEntityService<Agreement, AgreementDesc
 
         return isConfirmed;
     }
+
+    private ZonedDateTime findDeletionDate(final String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+
+        try {
+            final var idsAgreement = deserializationService.getContractAgreement(value);
+            ZonedDateTime earliest = null;
+            for (final var rule : ContractUtils.extractRulesFromContract(idsAgreement)) {
+                final var date = RuleUtils.getDeletionDate(rule);
+                if (date != null && (earliest == null || date.isBefore(earliest))) {
+                    earliest = date;
+                }
+            }
+
+            return earliest;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("Could not read deletion date of agreement. [exception=({})]",
+                        e.getMessage());
+            }
+            return null;
+        }
+    }
 }
@@ -19,11 +19,14 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import io.dataspaceconnector.exception.PolicyRestrictionException;
+import io.dataspaceconnector.exception.ResourceNotFoundException;
 import io.dataspaceconnector.exception.UnreachableLineException;
 import io.dataspaceconnector.model.artifact.Artifact;
 import io.dataspaceconnector.model.artifact.ArtifactDesc;
@@ -36,19 +39,31 @@ import io.dataspaceconnector.repository.AuthenticationRepository;
 import io.dataspaceconnector.repository.DataRepository;
 import io.dataspaceconnector.service.ArtifactRetriever;
 import io.dataspaceconnector.service.HttpService;
+import io.dataspaceconnector.service.storage.DataStore;
+import io.dataspaceconnector.service.storage.StoredData;
+import io.dataspaceconnector.service.storage.StoredDataInputStream;
+import io.dataspaceconnector.service.storage.StoredDataTracker;
 import io.dataspaceconnector.service.usagecontrol.AccessVerificationInput;
 import io.dataspaceconnector.service.usagecontrol.PolicyVerifier;
 import io.dataspaceconnector.service.usagecontrol.VerificationResult;
+import io.dataspaceconnector.telemetry.MeteredInputStream;
+import io.dataspaceconnector.telemetry.TracingUtils;
 import io.dataspaceconnector.util.ErrorMessage;
 import io.dataspaceconnector.util.QueryInput;
 import io.dataspaceconnector.util.Utils;
 import io.dataspaceconnector.util.exception.NotImplemented;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.opentracing.Tracer;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -62,6 +77,13 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
         implements RemoteResolver {
+    /**
+     * The maximum number of accesses per artifact, set by the policy check of the data access
+     * running on the current thread. The access is counted only while below the maximum.
+     */
+    private static final ThreadLocal<Map<UUID, Long>> ACCESS_LIMITS =
+            ThreadLocal.withInitial(HashMap::new);
+
     /**
      * Repository for storing data.
      **/
@@ -77,21 +99,53 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
      */
     private final @NonNull AuthenticationRepository authRepo;
 
+    /**
+     * Store holding the data of local artifacts.
+     */
+    private final @NonNull DataStore dataStore;
+
+    /**
+     * Guards stored data against removal while it may still be referenced.
+     */
+    private final @NonNull StoredDataTracker storedDataTracker;
+
+    /**
+     * The registry for the data access metrics.
+     */
+    private final @NonNull MeterRegistry registry;
+
+    /**
+     * The tracer for the data access spans.
+     */
+    private final @NonNull Tracer tracer;
+
     /**
      * Constructor for ArtifactService.
      *
      * @param dataRepository           The data repository.
      * @param httpService              The HTTP service for fetching remote data.
      * @param authenticationRepository The AuthType repository.
+     * @param store                    The store holding the data of local artifacts.
+     * @param tracker                  Guards stored data against removal while referenced.
+     * @param meterRegistry            The registry for the data access metrics.
+     * @param dataTracer               The tracer for the data access spans.
      */
     @Autowired
     public ArtifactService(final @NonNull DataRepository dataRepository,
                            final @NonNull HttpService httpService,
-                           final @NonNull AuthenticationRepository authenticationRepository) {
+                           final @NonNull AuthenticationRepository authenticationRepository,
+                           final @NonNull DataStore store,
+                           final @NonNull StoredDataTracker tracker,
+                           final @NonNull MeterRegistry meterRegistry,
+                           final @NonNull Tracer dataTracer) {
         super();
         this.dataRepo = dataRepository;
         this.httpSvc = httpService;
         this.authRepo = authenticationRepository;
+        this.dataStore = store;
+        this.storedDataTracker = tracker;
+        this.registry = meterRegistry;
+        this.tracer = dataTracer;
     }
 
     /**
@@ -106,21 +160,24 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
         if (tmp.getData() != null) {
             if (tmp.getData().getId() == null) {
                 // The data element is new, insert
-                if (tmp.getData() instanceof RemoteData) {
+                if (tmp.getData() instanceof LocalData) {
+                    moveToDataStore(tmp, (LocalData) tmp.getData());
+                } else if (tmp.getData() instanceof RemoteData) {
                     var data = (RemoteData) tmp.getData();
-                    data.getAuthentication().forEach(authRepo::saveAndFlush);
+                    data.getAuthentication().forEach(x -> BatchPersistence.save(authRepo, x));
                 }
-                dataRepo.saveAndFlush(tmp.getData());
+                BatchPersistence.save(dataRepo, tmp.getData());
             } else {
                 // The data element exists already, check if an update is
                 // required
                 final var storedCopy = dataRepo.getById(tmp.getData().getId());
                 if (!storedCopy.equals(tmp.getData())) {
-                    dataRepo.saveAndFlush(tmp.getData());
+                    BatchPersistence.save(dataRepo, tmp.getData());
                 }
             }
 
-            if (tmp.getData() instanceof LocalData) {
+            if (tmp.getData() instanceof LocalData
+                    && ((LocalData) tmp.getData()).getStorageKey() == null) {
                 final var factory = (ArtifactFactory) getFactory();
                 factory.updateByteSize(artifact, ((LocalData) tmp.getData()).getValue());
             }
@@ -129,6 +186,31 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
         return super.persist(tmp);
     }
 
+    /**
+     * Move inline data of a new local data element to the data store.
+     *
+     * @param artifact The artifact.
+     * @param data     The new local data element.
+     */
+    private void moveToDataStore(final ArtifactImpl artifact, final LocalData data) {
+        final var value = data.getValue();
+        if (value == null) {
+            return;
+        }
+
+        try (var stream = toInputStream(value)) {
+            final var stored = storedDataTracker.store(stream);
+            ((ArtifactFactory) getFactory()).updateStoredData(artifact, stored.getKey(),
+                    stored.getByteSize(), stored.getCheckSum());
+        } catch (IOException e) {
+            if (log.isErrorEnabled()) {
+                log.error("Failed to store data. [exception=({})]", e.getMessage(), e);
+            }
+
+            throw new IllegalStateException("Failed to store data.", e);
+        }
+    }
+
     /**
      * Get the artifacts data. If agreements for this resource exist, all of them will be tried for
      * data access.
@@ -161,6 +243,35 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
         return getDataFromInternalDB((ArtifactImpl) get(artifactId), queryInput);
     }
 
+    /**
+     * Get the size and checksum recorded for the data of an artifact, if a request without
+     * agreement would serve it from the data store. This is the case for data offered by this
+     * connector, requested data is retrieved again. Access to the data is neither verified nor
+     * counted, so that requests answered without the data, like conditional requests, do not use
+     * up the permitted accesses.
+     *
+     * @param artifactId The id of the artifact.
+     * @return The stored data, empty if the data is not served from the data store.
+     * @throws io.dataspaceconnector.exception.ResourceNotFoundException if the artifact does not
+     *                                                                   exist.
+     */
+    public Optional<StoredData> getStoredData(final UUID artifactId) {
+        final var agreements =
+                ((ArtifactRepository) getRepository()).findRemoteOriginAgreements(artifactId);
+        if (!agreements.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final var artifact = get(artifactId);
+        final var data = ((ArtifactImpl) artifact).getData();
+        if (!(data instanceof LocalData) || ((LocalData) data).getStorageKey() == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new StoredData(((LocalData) data).getStorageKey(),
+                artifact.getByteSize(), artifact.getCheckSum()));
+    }
+
     private InputStream tryToAccessDataByUsingAnyAgreement(
             final PolicyVerifier<AccessVerificationInput> accessVerifier,
             final ArtifactRetriever retriever, final UUID artifactId, final QueryInput queryInput,
@@ -224,18 +335,28 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
             throws PolicyRestrictionException, IOException {
         // Check the artifact exists and access is granted.
         final var artifact = get(artifactId);
-        verifyDataAccess(accessVerifier,
-                new AccessVerificationInput(information.getTransferContract(), artifact));
+        try {
+            verifyDataAccess(accessVerifier,
+                    new AccessVerificationInput(information.getTransferContract(), artifact));
+
+            // Make sure the data exists and is up to date.
+            if (shouldDownload(artifact, information)) {
+                final var data =
+                        downloadAndUpdateData(retriever, artifactId, information, artifact);
+                try {
+                    incrementAccessCounter(artifact);
+                } catch (RuntimeException exception) {
+                    data.close();
+                    throw exception;
+                }
+                return data;
+            }
 
-        // Make sure the data exists and is up to date.
-        if (shouldDownload(artifact, information)) {
-            final var data = downloadAndUpdateData(retriever, artifactId, information, artifact);
-            incrementAccessCounter(artifact);
-            return data;
+            // Artifact exists, access granted, data exists and data up to date.
+            return getDataFromInternalDB((ArtifactImpl) artifact, null);
+        } finally {
+            ACCESS_LIMITS.get().remove(artifactId);
         }
-
-        // Artifact exists, access granted, data exists and data up to date.
-        return getDataFromInternalDB((ArtifactImpl) artifact, null);
     }
 
     private void verifyDataAccess(final PolicyVerifier<AccessVerificationInput> accessVerifier,
@@ -263,7 +384,9 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
     }
 
     /**
-     * Get the data from the internal database. No policy enforcement is performed here!
+     * Get the data from the internal database. No policy enforcement is performed here! The time
+     * until the data can be read is recorded per data source, the number of bytes read once the
+     * returned stream is closed.
      *
      * @param artifact   The artifact which data should be returned.
      * @param queryInput The query for the data backend. May be null.
@@ -272,25 +395,117 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
      */
     private InputStream getDataFromInternalDB(final ArtifactImpl artifact,
                                               final QueryInput queryInput) throws IOException {
+        final var span = tracer.buildSpan("ArtifactService.getData")
+                .withTag("artifact.id", String.valueOf(artifact.getId()))
+                .start();
+        try (var scope = tracer.activateSpan(span)) {
+            return openData(artifact, queryInput);
+        } catch (IOException | RuntimeException exception) {
+            TracingUtils.setError(span, exception);
+            throw exception;
+        } finally {
+            span.finish();
+        }
+    }
+
+    /**
+     * Open the data of an artifact, either from the local store or from its remote source. Data
+     * from the local store is returned as {@link StoredDataInputStream} carrying its size and
+     * checksum.
+     *
+     * @param artifact   The artifact.
+     * @param queryInput The query for the remote source.
+     * @return The data.
+     * @throws IOException if the data could not be opened.
+     */
+    private InputStream openData(final ArtifactImpl artifact, final QueryInput queryInput)
+            throws IOException {
         final var data = artifact.getData();
+        final var sample = Timer.start(registry);
 
         InputStream rawData;
+        String source;
         if (data instanceof LocalData) {
+            source = "local";
             rawData = getData((LocalData) data);
         } else if (data instanceof RemoteData) {
+            source = "remote";
             rawData = getData((RemoteData) data, queryInput);
         } else {
             throw new UnreachableLineException("Unknown data type.");
         }
 
-        incrementAccessCounter(artifact);
+        sample.stop(Timer.builder("dsc.artifact.data.latency")
+                .description("Time until the data of an artifact can be read.")
+                .tag("source", source)
+                .register(registry));
+        rawData = new MeteredInputStream(rawData,
+                DistributionSummary.builder("dsc.artifact.data.size")
+                        .description("Bytes read from the data of an artifact.")
+                        .baseUnit("bytes")
+                        .tag("source", source)
+                        .register(registry));
+
+        if (data instanceof LocalData && ((LocalData) data).getStorageKey() != null) {
+            // Size and checksum have been recorded when the data was stored.
+            rawData = new StoredDataInputStream(rawData, artifact.getByteSize(),
+                    artifact.getCheckSum());
+        }
+
+        try {
+            incrementAccessCounter(artifact);
+        } catch (RuntimeException exception) {
+            // Remote data is streamed, do not leak the backend connection.
+            rawData.close();
+            throw exception;
+        }
 
         return rawData;
     }
 
     private void incrementAccessCounter(final Artifact artifact) {
-        artifact.incrementAccessCounter();
-        persist(artifact);
+        // Do not write the whole entity, a concurrent access may have changed the counter.
+        final var repository = (ArtifactRepository) getRepository();
+        final var max = ACCESS_LIMITS.get().remove(artifact.getId());
+        if (max == null) {
+            repository.incrementAccessCounter(artifact.getId());
+        } else if (repository.incrementAccessCounterBelow(artifact.getId(), max) == 0) {
+            // Concurrent accesses have reached the maximum since the policy check.
+            if (log.isDebugEnabled()) {
+                log.debug("Access number reached. [artifactId=({})]", artifact.getId());
+            }
+            throw new PolicyRestrictionException(ErrorMessage.DATA_ACCESS_NUMBER_REACHED);
+        }
+    }
+
+    /**
+     * Get the number of accesses of an artifact.
+     *
+     * @param artifactId The id of the artifact.
+     * @return The number of accesses.
+     * @throws ResourceNotFoundException if the artifact does not exist.
+     */
+    public long getAccessCounter(final UUID artifactId) {
+        Utils.requireNonNull(artifactId, ErrorMessage.ENTITYID_NULL);
+        final var counter = ((ArtifactRepository) getRepository()).findAccessCounter(artifactId);
+        if (counter == null) {
+            throw new ResourceNotFoundException(artifactId.toString());
+        }
+
+        return counter;
+    }
+
+    /**
+     * Limit the number of accesses of an artifact for the data access running on the current
+     * thread. The access is only counted, and the data only returned, if the access counter is
+     * still below the maximum when it is incremented. The counter is not locked in between.
+     *
+     * @param artifactId The id of the artifact.
+     * @param max        The maximum number of accesses.
+     */
+    public void limitAccessCounter(final UUID artifactId, final long max) {
+        Utils.requireNonNull(artifactId, ErrorMessage.ENTITYID_NULL);
+        ACCESS_LIMITS.get().merge(artifactId, max, Math::min);
     }
 
     private boolean shouldDownload(final Artifact artifact,
@@ -318,8 +533,13 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
      *
      * @param data The data container.
      * @return The stored data.
+     * @throws IOException if the data cannot be read from the data store.
      */
-    private InputStream getData(final LocalData data) {
+    private InputStream getData(final LocalData data) throws IOException {
+        if (data.getStorageKey() != null) {
+            return dataStore.open(data.getStorageKey());
+        }
+
         return toInputStream(data.getValue());
     }
 
@@ -369,6 +589,21 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
         return ((ArtifactRepository) getRepository()).findAllByAgreement(agreementId);
     }
 
+    /**
+     * Finds a page of the artifacts of a specific representation.
+     *
+     * @param representationId ID of the representation
+     * @param pageable         The requested page.
+     * @return page of the artifacts of the representation
+     */
+    public Page<Artifact> getAllByRepresentation(final UUID representationId,
+                                                 final Pageable pageable) {
+        Utils.requireNonNull(representationId, ErrorMessage.ENTITYID_NULL);
+        Utils.requireNonNull(pageable, ErrorMessage.PAGEABLE_NULL);
+        final var repo = (ArtifactRepository) getRepository();
+        return repo.findAllByRepresentation(representationId, pageable);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -398,23 +633,30 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
     }
 
     @NonNull
-    private ByteArrayInputStream setLocalData(final UUID artifactId,
-                                              final InputStream data,
-                                              final Artifact artifact,
-                                              final LocalData localData)
+    private InputStream setLocalData(final UUID artifactId,
+                                     final InputStream data,
+                                     final Artifact artifact,
+                                     final LocalData localData)
             throws IOException {
         try {
-            // Update the internal database and return the new data.
-            final var bytes = data.readAllBytes();
-            data.close();
-            dataRepo.setLocalData(localData.getId(), bytes);
-            if (((ArtifactFactory) getFactory()).updateByteSize(artifact, bytes)) {
+            // Stream the data into the store and return the new data.
+            final var oldKey = localData.getStorageKey();
+            final var stored = storeAndClose(data);
+            dataRepo.setLocalData(localData.getId(), stored.getKey());
+
+            final var factory = (ArtifactFactory) getFactory();
+            if (factory.updateStoredData(artifact, stored.getKey(), stored.getByteSize(),
+                    stored.getCheckSum())) {
                 ((ArtifactRepository) getRepository()).setArtifactData(artifactId,
                         artifact.getCheckSum(),
                         artifact.getByteSize());
+                // Cached descriptions contain the byte size and checksum.
+                getPublisher().publishEvent(new EntityChangedEvent(artifact));
             }
 
-            return new ByteArrayInputStream(bytes);
+            releaseStoredData(oldKey, stored.getKey());
+
+            return dataStore.open(stored.getKey());
         } catch (IOException e) {
             if (log.isErrorEnabled()) {
                 log.error("Failed to store data. [artifactId=({}), exception=({})]",
@@ -425,6 +667,25 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
         }
     }
 
+    private StoredData storeAndClose(final InputStream data) throws IOException {
+        try (data) {
+            return storedDataTracker.store(data);
+        }
+    }
+
+    /**
+     * Release replaced data. It is removed from the data store after the current transaction
+     * has committed, if no other data element references it.
+     *
+     * @param oldKey The storage key of the replaced data. May be null.
+     * @param newKey The storage key of the new data.
+     */
+    private void releaseStoredData(final String oldKey, final String newKey) {
+        if (oldKey != null && !oldKey.equals(newKey)) {
+            storedDataTracker.release(oldKey);
+        }
+    }
+
     private InputStream toInputStream(final byte[] data) {
         return new ByteArrayInputStream(data);
     }
@@ -0,0 +1,567 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.resource;
+
+import io.dataspaceconnector.exception.DataTooLargeException;
+import io.dataspaceconnector.exception.UploadConflictException;
+import io.dataspaceconnector.service.storage.SizeLimitedInputStream;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Streams uploaded data into the data of local artifacts. The data is never buffered in memory
+ * and rejected as soon as it exceeds the maximum upload size. Uploads can be split into chunks
+ * that are staged on disk until the last chunk has arrived, so that interrupted uploads can be
+ * resumed. Each staged upload has an id and a total size, both are kept in the name of its
+ * staging file. Staged uploads that have not been continued within the expiry time are removed.
+ */
+@EnableScheduling
+@Log4j2
+@Service
+public class ArtifactUploadService {
+
+    /**
+     * The delay between two checks for expired uploads in milliseconds.
+     */
+    private static final long CLEANUP_DELAY = 600_000;
+
+    /**
+     * File extension of staging files.
+     */
+    private static final String PART_SUFFIX = ".part";
+
+    /**
+     * Separates artifact id, upload id, and total size in the name of a staging file.
+     */
+    private static final String SEPARATOR = "_";
+
+    /**
+     * The service for artifacts.
+     */
+    private final @NonNull ArtifactService artifactSvc;
+
+    /**
+     * The maximum size of the data of an artifact in bytes.
+     */
+    @Getter
+    private final long maxSize;
+
+    /**
+     * The directory containing the chunks of unfinished uploads.
+     */
+    @Getter
+    private final Path stagingPath;
+
+    /**
+     * The time in milliseconds after which an unfinished upload is removed.
+     */
+    @Getter
+    private final long expiry;
+
+    /**
+     * The unfinished uploads currently in use. An upload is its own lock and only held while
+     * reading or updating its state, never while data is transferred.
+     */
+    private final ConcurrentMap<UUID, Upload> uploads = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for ArtifactUploadService.
+     *
+     * @param artifactService The service for artifacts.
+     * @param maxUploadSize   The maximum size of the data of an artifact in bytes.
+     * @param staging         The directory for the chunks of unfinished uploads.
+     * @param uploadExpiry    The time in milliseconds after which unfinished uploads are removed.
+     * @throws IOException if the directory cannot be created.
+     */
+    @Autowired
+    public ArtifactUploadService(final @NonNull ArtifactService artifactService,
+                                 @Value("${storage.upload.max-size}") final long maxUploadSize,
+                                 @Value("${storage.upload.staging-path}") final Path staging,
+                                 @Value("${storage.upload.expiry}") final long uploadExpiry)
+            throws IOException {
+        this.artifactSvc = artifactService;
+        this.maxSize = maxUploadSize;
+        this.stagingPath = Files.createDirectories(staging.toAbsolutePath().normalize());
+        this.expiry = uploadExpiry;
+    }
+
+    /**
+     * Check the announced size of an upload before reading it.
+     *
+     * @param size The size in bytes. Negative if unknown.
+     * @throws DataTooLargeException if the size exceeds the maximum upload size.
+     */
+    public void checkSize(final long size) {
+        if (size > maxSize) {
+            throw new DataTooLargeException("The data exceeds the maximum size of " + maxSize
+                    + " bytes.");
+        }
+    }
+
+    /**
+     * Replace the data of an artifact. The data is streamed into the data store.
+     *
+     * @param artifactId The artifact whose data should be replaced.
+     * @param data       The new data. The stream will be closed.
+     * @throws IOException           if the data could not be stored.
+     * @throws DataTooLargeException if the data exceeds the maximum upload size.
+     */
+    public void upload(final UUID artifactId, final InputStream data) throws IOException {
+        artifactSvc.setData(artifactId, new SizeLimitedInputStream(data, maxSize)).close();
+    }
+
+    /**
+     * Get the state of the unfinished upload of an artifact.
+     *
+     * @param artifactId The artifact.
+     * @return The state of the upload. Without id, if no upload has been staged.
+     * @throws IOException if the staged data cannot be read.
+     */
+    public UploadStatus getStatus(final UUID artifactId) throws IOException {
+        return withUpload(artifactId, Upload::toStatus);
+    }
+
+    /**
+     * Upload a chunk of the data of an artifact. The chunk is only appended if it starts right
+     * after the already staged data. A chunk starting at zero with a different total size
+     * replaces the staged upload. Once all data has been staged, it replaces the data of the
+     * artifact.
+     *
+     * @param artifactId The artifact whose data should be replaced.
+     * @param data       The chunk.
+     * @param start      The position of the first byte of the chunk.
+     * @param end        The position of the last byte of the chunk.
+     * @param total      The size of the complete data.
+     * @param uploadId   The id the staged upload must have. Null to skip the check.
+     * @return The state of the upload, staged bytes equal to the total size if it is complete.
+     * @throws IOException                                               if the data could not be
+     *                                                                   staged or stored.
+     * @throws DataTooLargeException                                     if the data exceeds the
+     *                                                                   maximum upload size.
+     * @throws UploadConflictException                                   if the id or total size
+     *                                                                   does not match the
+     *                                                                   staged upload.
+     * @throws io.dataspaceconnector.exception.ResourceNotFoundException if the artifact does not
+     *                                                                   exist.
+     */
+    public UploadStatus uploadChunk(final UUID artifactId, final InputStream data,
+                                    final long start, final long end, final long total,
+                                    final String uploadId) throws IOException {
+        checkSize(total);
+        // Fail before staging anything for unknown artifacts.
+        artifactSvc.get(artifactId);
+
+        final var claimed = withUpload(artifactId, upload -> {
+            upload.check(uploadId, start, total);
+            if (upload.busy) {
+                return null;
+            }
+
+            if (upload.file == null && start == 0) {
+                create(upload, total);
+            }
+
+            if (upload.file != null && (start == upload.staged || upload.staged == total)) {
+                upload.busy = true;
+                return upload;
+            }
+
+            return null;
+        });
+
+        if (claimed == null) {
+            return getStatus(artifactId);
+        }
+
+        if (claimed.staged < total) {
+            final var status = append(claimed, data, end - start + 1);
+            if (status.getStaged() < total) {
+                return status;
+            }
+        }
+
+        return complete(claimed);
+    }
+
+    /**
+     * Remove the unfinished upload of an artifact.
+     *
+     * @param artifactId The artifact.
+     * @return True, if an upload has been removed.
+     * @throws IOException             if the staged data cannot be removed.
+     * @throws UploadConflictException if a chunk of the upload is being transferred.
+     */
+    public boolean abort(final UUID artifactId) throws IOException {
+        return withUpload(artifactId, upload -> {
+            if (upload.file == null) {
+                return false;
+            }
+
+            if (upload.busy) {
+                throw new UploadConflictException("A chunk of the upload is being transferred.");
+            }
+
+            discard(upload);
+            return true;
+        });
+    }
+
+    /**
+     * Periodically removes unfinished uploads that have not been continued within the expiry
+     * time.
+     */
+    @Scheduled(fixedDelay = CLEANUP_DELAY)
+    public void removeExpired() {
+        final var artifacts = new HashSet<UUID>();
+        try (var files = Files.newDirectoryStream(stagingPath, "*" + PART_SUFFIX)) {
+            for (final var file : files) {
+                final var name = file.getFileName().toString();
+                try {
+                    artifacts.add(UUID.fromString(name.substring(0, name.indexOf(SEPARATOR))));
+                } catch (IllegalArgumentException | IndexOutOfBoundsException exception) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException exception) {
+            if (log.isWarnEnabled()) {
+                log.warn("Failed to list staged uploads. [exception=({})]",
+                        exception.getMessage());
+            }
+            return;
+        }
+
+        try {
+            removeExpired(artifacts);
+        } catch (IOException exception) {
+            if (log.isWarnEnabled()) {
+                log.warn("Failed to remove expired uploads. [exception=({})]",
+                        exception.getMessage());
+            }
+        }
+    }
+
+    private void removeExpired(final Set<UUID> artifacts) throws IOException {
+        final var deadline = System.currentTimeMillis() - expiry;
+        var removed = 0;
+        for (final var artifactId : artifacts) {
+            final boolean expired = withUpload(artifactId, upload -> {
+                if (upload.file == null || upload.busy || upload.modified > deadline) {
+                    return false;
+                }
+
+                discard(upload);
+                return true;
+            });
+
+            if (expired) {
+                removed++;
+            }
+        }
+
+        if (removed > 0 && log.isInfoEnabled()) {
+            log.info("Removed expired uploads. [count=({})]", removed);
+        }
+    }
+
+    /**
+     * Append a chunk to the staging file. The upload stays claimed if it is complete afterwards.
+     *
+     * @param upload The claimed upload.
+     * @param data   The chunk.
+     * @param length The size of the chunk.
+     * @return The state of the upload after the chunk.
+     * @throws IOException if the chunk could not be staged.
+     */
+    private UploadStatus append(final Upload upload, final InputStream data, final long length)
+            throws IOException {
+        var transferred = false;
+        try (var output = Files.newOutputStream(upload.file, StandardOpenOption.APPEND)) {
+            // A failing chunk leaves a valid prefix behind that can be resumed.
+            new SizeLimitedInputStream(data, length).transferTo(output);
+            transferred = true;
+        } finally {
+            synchronized (upload) {
+                upload.staged = Files.size(upload.file);
+                upload.modified = System.currentTimeMillis();
+                if (!transferred || upload.staged != upload.total) {
+                    release(upload);
+                }
+            }
+        }
+
+        synchronized (upload) {
+            return upload.toStatus();
+        }
+    }
+
+    /**
+     * Replace the data of the artifact with the staged data and remove the upload.
+     *
+     * @param upload The claimed upload.
+     * @return The state of the completed upload.
+     * @throws IOException if the data could not be stored.
+     */
+    private UploadStatus complete(final Upload upload) throws IOException {
+        final UploadStatus status;
+        synchronized (upload) {
+            status = upload.toStatus();
+        }
+
+        try {
+            upload(upload.artifactId, Files.newInputStream(upload.file));
+        } catch (IOException | RuntimeException exception) {
+            // Keep the staged data, so that the last chunk can be sent again.
+            synchronized (upload) {
+                release(upload);
+            }
+            throw exception;
+        }
+
+        synchronized (upload) {
+            discard(upload);
+            release(upload);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Completed chunked upload. [artifactId=({}), size=({})]",
+                    upload.artifactId, status.getTotal());
+        }
+
+        return status;
+    }
+
+    private <T> T withUpload(final UUID artifactId, final UploadAction<T> action)
+            throws IOException {
+        while (true) {
+            final var upload = uploads.computeIfAbsent(artifactId, Upload::new);
+            synchronized (upload) {
+                if (upload.removed) {
+                    // The upload has been dropped meanwhile, retry with a fresh one.
+                    continue;
+                }
+
+                try {
+                    if (!upload.loaded) {
+                        load(upload);
+                    }
+
+                    return action.apply(upload);
+                } finally {
+                    if (!upload.busy) {
+                        release(upload);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Restore the state of an upload from the staging directory. If there are several staging
+     * files for the artifact, only the most recent one is kept.
+     *
+     * @param upload The upload.
+     * @throws IOException if the staging directory cannot be read.
+     */
+    private void load(final Upload upload) throws IOException {
+        upload.loaded = true;
+        final var prefix = upload.artifactId + SEPARATOR;
+        try (var files = Files.newDirectoryStream(stagingPath, prefix + "*" + PART_SUFFIX)) {
+            for (final var file : files) {
+                final var name = file.getFileName().toString();
+                final var fields = name.substring(prefix.length(),
+                        name.length() - PART_SUFFIX.length()).split(SEPARATOR);
+                final var modified = Files.getLastModifiedTime(file).toMillis();
+                if (fields.length != 2 || !fields[1].matches("\\d{1,18}")
+                        || (upload.file != null && modified < upload.modified)) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+
+                if (upload.file != null) {
+                    Files.deleteIfExists(upload.file);
+                }
+
+                upload.file = file;
+                upload.id = fields[0];
+                upload.total = Long.parseLong(fields[1]);
+                upload.staged = Files.size(file);
+                upload.modified = modified;
+            }
+        }
+    }
+
+    private void create(final Upload upload, final long total) throws IOException {
+        final var id = UUID.randomUUID().toString();
+        upload.file = Files.createFile(stagingPath.resolve(
+                upload.artifactId + SEPARATOR + id + SEPARATOR + total + PART_SUFFIX));
+        upload.id = id;
+        upload.total = total;
+        upload.staged = 0;
+        upload.modified = System.currentTimeMillis();
+    }
+
+    private static void discard(final Upload upload) throws IOException {
+        Files.deleteIfExists(upload.file);
+        upload.file = null;
+        upload.id = null;
+        upload.total = 0;
+        upload.staged = 0;
+    }
+
+    /**
+     * Mark an upload as idle and drop it from memory if nothing is staged.
+     *
+     * @param upload The upload, its lock must be held.
+     */
+    private void release(final Upload upload) {
+        upload.busy = false;
+        if (upload.file == null) {
+            upload.removed = true;
+            uploads.remove(upload.artifactId, upload);
+        }
+    }
+
+    /**
+     * The state of an unfinished upload.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class UploadStatus {
+        /**
+         * The id of the upload. Null, if no upload has been staged.
+         */
+        private final String uploadId;
+
+        /**
+         * The number of staged bytes.
+         */
+        private final long staged;
+
+        /**
+         * The size of the complete data.
+         */
+        private final long total;
+    }
+
+    /**
+     * An action on the state of an upload, run while holding its lock.
+     *
+     * @param <T> The result type.
+     */
+    @FunctionalInterface
+    private interface UploadAction<T> {
+        T apply(Upload upload) throws IOException;
+    }
+
+    /**
+     * The state of an unfinished upload of an artifact.
+     */
+    @RequiredArgsConstructor
+    private static final class Upload {
+        /**
+         * The artifact whose data is uploaded.
+         */
+        private final UUID artifactId;
+
+        /**
+         * Whether the state has been read from the staging directory.
+         */
+        private boolean loaded;
+
+        /**
+         * Whether the upload has been dropped from memory and must not be used anymore.
+         */
+        private boolean removed;
+
+        /**
+         * Whether a chunk is being transferred or the data is being stored.
+         */
+        private boolean busy;
+
+        /**
+         * The staging file. Null, if no upload has been staged.
+         */
+        private Path file;
+
+        /**
+         * The id of the upload.
+         */
+        private String id;
+
+        /**
+         * The size of the complete data.
+         */
+        private long total;
+
+        /**
+         * The number of staged bytes.
+         */
+        private long staged;
+
+        /**
+         * The time of the last change in milliseconds.
+         */
+        private long modified;
+
+        /**
+         * Reject chunks that belong to another upload. A chunk starting at zero with a
+         * different total size restarts the upload instead.
+         *
+         * @param uploadId The expected upload id. Null to skip the check.
+         * @param start    The position of the first byte of the chunk.
+         * @param size     The size of the complete data.
+         * @throws IOException             if the staged data cannot be removed.
+         * @throws UploadConflictException if the chunk does not match the upload.
+         */
+        private void check(final String uploadId, final long start, final long size)
+                throws IOException {
+            if (uploadId != null && !uploadId.equals(id)) {
+                throw new UploadConflictException("The upload id does not match.");
+            }
+
+            if (file != null && total != size) {
+                if (start != 0 || busy) {
+                    throw new UploadConflictException("The total size does not match the "
+                            + "staged upload of " + total + " bytes.");
+                }
+
+                discard(this);
+            }
+        }
+
+        private UploadStatus toStatus() {
+            return new UploadStatus(id, staged, total);
+        }
+    }
+}
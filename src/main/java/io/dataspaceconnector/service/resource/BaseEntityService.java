@@ -26,6 +26,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -53,6 +54,12 @@ public class BaseEntityService<T extends Entity, D extends Description>
     @Autowired
     private AbstractFactory<T, D> factory;
 
+    /**
+     * Publishes changes of entities of type T.
+     **/
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
     /**
      * Default constructor.
      */
@@ -154,16 +161,21 @@ public class BaseEntityService<T extends Entity, D extends Description>
     @Override
     public void delete(final UUID entityId) {
         Utils.requireNonNull(entityId, ErrorMessage.ENTITYID_NULL);
+        final var entity = repository.findById(entityId);
         repository.deleteById(entityId);
+        entity.ifPresent(x -> publisher.publishEvent(new EntityChangedEvent(x)));
     }
 
     /**
-     * Persists an entity.
+     * Persists an entity. The entity is flushed immediately, unless it is persisted as part of a
+     * batch.
      *
      * @param entity The entity.
      * @return The persisted entity.
      */
     protected T persist(final T entity) {
-        return repository.saveAndFlush(entity);
+        final var persisted = BatchPersistence.save(repository, entity);
+        publisher.publishEvent(new EntityChangedEvent(entity));
+        return persisted;
     }
 }
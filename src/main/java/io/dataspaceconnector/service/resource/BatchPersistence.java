@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.resource;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.function.Supplier;
+
+/**
+ * Tracks whether the current thread persists entities in batch mode. Outside of batch mode,
+ * every saved entity is flushed immediately. In batch mode, entities are only handed to the
+ * persistence context and written in JDBC batches when the surrounding transaction is flushed.
+ */
+final class BatchPersistence {
+
+    /**
+     * Whether batch mode is active for the current thread.
+     */
+    private static final ThreadLocal<Boolean> ACTIVE = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Default constructor.
+     */
+    private BatchPersistence() {
+        // Nothing to do here. Intentionally empty.
+    }
+
+    /**
+     * Run an action in batch mode. The action has to run within a transaction, so the saved
+     * entities are flushed before the transaction commits.
+     *
+     * @param action The action.
+     * @param <R>    The type of the result.
+     * @return The result of the action.
+     */
+    static <R> R run(final Supplier<R> action) {
+        final var previous = ACTIVE.get();
+        ACTIVE.set(true);
+        try {
+            return action.get();
+        } finally {
+            ACTIVE.set(previous);
+        }
+    }
+
+    /**
+     * Save an entity. The entity is only flushed if batch mode is not active.
+     *
+     * @param repository The repository of the entity.
+     * @param entity     The entity.
+     * @param <E>        The type of the entity.
+     * @return The saved entity.
+     */
+    static <E> E save(final JpaRepository<E, ?> repository, final E entity) {
+        return ACTIVE.get() ? repository.save(entity) : repository.saveAndFlush(entity);
+    }
+}
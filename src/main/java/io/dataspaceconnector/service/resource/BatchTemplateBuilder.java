@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.resource;
+
+import io.dataspaceconnector.model.catalog.Catalog;
+import io.dataspaceconnector.model.resource.OfferedResource;
+import io.dataspaceconnector.model.resource.OfferedResourceDesc;
+import io.dataspaceconnector.model.template.CatalogTemplate;
+import io.dataspaceconnector.util.ErrorMessage;
+import io.dataspaceconnector.util.Utils;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds whole catalog trees from templates in a single transaction. In contrast to the
+ * {@link TemplateBuilder}, which flushes every entity and link on its own, the entities are
+ * flushed once at the end, so Hibernate writes them in JDBC batches.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class BatchTemplateBuilder {
+
+    /**
+     * The builder for the single catalogs.
+     */
+    private final @NonNull TemplateBuilder<OfferedResource, OfferedResourceDesc> templateBuilder;
+
+    /**
+     * The entity manager of the current transaction.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Build catalogs and all their dependencies from templates. Either all catalogs are created
+     * or none.
+     *
+     * @param templates The catalog templates.
+     * @return The new catalogs.
+     * @throws IllegalArgumentException if the list or one of the templates is null.
+     */
+    @Transactional
+    public List<Catalog> build(final List<CatalogTemplate> templates) {
+        Utils.requireNonNull(templates, ErrorMessage.LIST_NULL);
+
+        // Queries issued while building, e.g. for remote ids, must not flush the pending inserts.
+        final var flushMode = entityManager.getFlushMode();
+        entityManager.setFlushMode(FlushModeType.COMMIT);
+        try {
+            final var catalogs = BatchPersistence.run(() -> {
+                final var output = new ArrayList<Catalog>(templates.size());
+                for (final var template : templates) {
+                    output.add(templateBuilder.build(template));
+                }
+                return output;
+            });
+
+            // Write all entities and links now, so errors are reported to the caller.
+            entityManager.flush();
+
+            if (log.isInfoEnabled()) {
+                log.info("Built catalogs from templates. [catalogs=({})]", catalogs.size());
+            }
+
+            return catalogs;
+        } finally {
+            entityManager.setFlushMode(flushMode);
+        }
+    }
+}
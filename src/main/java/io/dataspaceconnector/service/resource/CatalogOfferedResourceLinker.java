@@ -20,6 +20,8 @@ import java.util.List;
 import io.dataspaceconnector.model.catalog.Catalog;
 import io.dataspaceconnector.model.resource.OfferedResource;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 /**
@@ -33,4 +35,10 @@ public final class CatalogOfferedResourceLinker
     protected List<OfferedResource> getInternal(final Catalog owner) {
         return owner.getOfferedResources();
     }
+
+    @Override
+    protected Page<OfferedResource> getInternal(final Catalog owner, final Pageable pageable) {
+        final var service = (OfferedResourceService) getManyService();
+        return service.getAllByCatalog(owner.getId(), pageable);
+    }
 }
@@ -20,6 +20,8 @@ import java.util.List;
 import io.dataspaceconnector.model.catalog.Catalog;
 import io.dataspaceconnector.model.resource.RequestedResource;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 /**
@@ -33,4 +35,10 @@ public final class CatalogRequestedResourceLinker
     protected List<RequestedResource> getInternal(final Catalog owner) {
         return owner.getRequestedResources();
     }
+
+    @Override
+    protected Page<RequestedResource> getInternal(final Catalog owner, final Pageable pageable) {
+        final var service = (RequestedResourceService) getManyService();
+        return service.getAllByCatalog(owner.getId(), pageable);
+    }
 }
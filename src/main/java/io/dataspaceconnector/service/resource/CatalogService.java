@@ -17,14 +17,28 @@ package io.dataspaceconnector.service.resource;
 
 import io.dataspaceconnector.model.catalog.Catalog;
 import io.dataspaceconnector.model.catalog.CatalogDesc;
+import io.dataspaceconnector.repository.CatalogRepository;
 
 import lombok.NoArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Handles the basic logic for catalogs.
  */
 @Service
 @NoArgsConstructor
 public class CatalogService extends BaseEntityService<Catalog, CatalogDesc> {
+
+    /**
+     * Get the bootstrap ids of all catalogs created during bootstrapping.
+     *
+     * @return The bootstrap ids.
+     */
+    public Set<URI> getBootstrapIds() {
+        return new HashSet<>(((CatalogRepository) getRepository()).findAllBootstrapIds());
+    }
 }
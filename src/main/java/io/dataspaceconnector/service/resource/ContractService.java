@@ -21,6 +21,8 @@ import io.dataspaceconnector.repository.ContractRepository;
 import io.dataspaceconnector.util.ErrorMessage;
 import io.dataspaceconnector.util.Utils;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -44,4 +46,17 @@ public class ContractService extends BaseEntityService<Contract, ContractDesc> {
         return ((ContractRepository) getRepository()).findAllByArtifactId(artifactId);
     }
 
+    /**
+     * Finds a page of the contracts of a specific resource.
+     *
+     * @param resourceId ID of the resource
+     * @param pageable   The requested page.
+     * @return page of the contracts of the resource
+     */
+    public Page<Contract> getAllByResource(final UUID resourceId, final Pageable pageable) {
+        Utils.requireNonNull(resourceId, ErrorMessage.ENTITYID_NULL);
+        Utils.requireNonNull(pageable, ErrorMessage.PAGEABLE_NULL);
+        return ((ContractRepository) getRepository()).findAllByResource(resourceId, pageable);
+    }
+
 }
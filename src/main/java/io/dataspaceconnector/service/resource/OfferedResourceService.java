@@ -17,11 +17,43 @@ package io.dataspaceconnector.service.resource;
 
 import io.dataspaceconnector.model.resource.OfferedResource;
 import io.dataspaceconnector.model.resource.OfferedResourceDesc;
+import io.dataspaceconnector.repository.OfferedResourcesRepository;
+import io.dataspaceconnector.util.ErrorMessage;
+import io.dataspaceconnector.util.Utils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+import java.util.UUID;
+
 /**
  * Handles the basic logic for offered resources.
  */
 @Service
 public class OfferedResourceService extends ResourceService<OfferedResource, OfferedResourceDesc> {
+
+    /**
+     * Find an offered resource by its id.
+     *
+     * @param resourceId The id of the resource.
+     * @return The entity.
+     */
+    public Optional<OfferedResource> findById(final UUID resourceId) {
+        return getRepository().findById(resourceId);
+    }
+
+    /**
+     * Finds a page of the offered resources in a specific catalog.
+     *
+     * @param catalogId ID of the catalog
+     * @param pageable  The requested page.
+     * @return page of the offered resources in the catalog
+     */
+    public Page<OfferedResource> getAllByCatalog(final UUID catalogId, final Pageable pageable) {
+        Utils.requireNonNull(catalogId, ErrorMessage.ENTITYID_NULL);
+        Utils.requireNonNull(pageable, ErrorMessage.PAGEABLE_NULL);
+        final var repo = (OfferedResourcesRepository) getRepository();
+        return repo.findAllByCatalog(catalogId, pageable);
+    }
 }
@@ -27,6 +27,8 @@ import io.dataspaceconnector.model.resource.RequestedResource;
 import io.dataspaceconnector.model.rule.ContractRule;
 import io.dataspaceconnector.service.configuration.BrokerService;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -251,6 +253,19 @@ public final class RelationServices {
         protected List<Artifact> getInternal(final Representation owner) {
             return owner.getArtifacts();
         }
+
+        /**
+         * Get a page of the artifacts owned by the representation.
+         *
+         * @param owner    The owner of the artifacts.
+         * @param pageable The requested page.
+         * @return The page of owned artifacts.
+         */
+        @Override
+        protected Page<Artifact> getInternal(final Representation owner,
+                                             final Pageable pageable) {
+            return getManyService().getAllByRepresentation(owner.getId(), pageable);
+        }
     }
 
     /**
@@ -270,6 +285,18 @@ public final class RelationServices {
         protected List<ContractRule> getInternal(final Contract owner) {
             return owner.getRules();
         }
+
+        /**
+         * Get a page of the rules owned by the contract.
+         *
+         * @param owner    The owner of the rules.
+         * @param pageable The requested page.
+         * @return The page of owned rules.
+         */
+        @Override
+        protected Page<ContractRule> getInternal(final Contract owner, final Pageable pageable) {
+            return getManyService().getAllByContract(owner.getId(), pageable);
+        }
     }
 
     /**
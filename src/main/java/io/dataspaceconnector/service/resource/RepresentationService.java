@@ -18,6 +18,10 @@ package io.dataspaceconnector.service.resource;
 import io.dataspaceconnector.model.representation.Representation;
 import io.dataspaceconnector.model.representation.RepresentationDesc;
 import io.dataspaceconnector.repository.RepresentationRepository;
+import io.dataspaceconnector.util.ErrorMessage;
+import io.dataspaceconnector.util.Utils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.net.URI;
@@ -36,4 +40,19 @@ public final class RepresentationService extends BaseEntityService<Representatio
         final var repo = (RepresentationRepository) getRepository();
         return repo.identifyByRemoteId(remoteId);
     }
+
+    /**
+     * Finds a page of the representations of a specific resource.
+     *
+     * @param resourceId ID of the resource
+     * @param pageable   The requested page.
+     * @return page of the representations of the resource
+     */
+    public Page<Representation> getAllByResource(final UUID resourceId,
+                                                 final Pageable pageable) {
+        Utils.requireNonNull(resourceId, ErrorMessage.ENTITYID_NULL);
+        Utils.requireNonNull(pageable, ErrorMessage.PAGEABLE_NULL);
+        final var repo = (RepresentationRepository) getRepository();
+        return repo.findAllByResource(resourceId, pageable);
+    }
 }
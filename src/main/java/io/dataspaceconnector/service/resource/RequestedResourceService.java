@@ -22,6 +22,10 @@ import java.util.UUID;
 import io.dataspaceconnector.model.resource.RequestedResource;
 import io.dataspaceconnector.model.resource.RequestedResourceDesc;
 import io.dataspaceconnector.repository.RequestedResourcesRepository;
+import io.dataspaceconnector.util.ErrorMessage;
+import io.dataspaceconnector.util.Utils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 /**
@@ -49,4 +53,19 @@ public final class RequestedResourceService extends ResourceService<RequestedRes
         final var repo = (RequestedResourcesRepository) getRepository();
         return repo.getByRemoteId(remoteId);
     }
+
+    /**
+     * Finds a page of the requested resources in a specific catalog.
+     *
+     * @param catalogId ID of the catalog
+     * @param pageable  The requested page.
+     * @return page of the requested resources in the catalog
+     */
+    public Page<RequestedResource> getAllByCatalog(final UUID catalogId,
+                                                   final Pageable pageable) {
+        Utils.requireNonNull(catalogId, ErrorMessage.ENTITYID_NULL);
+        Utils.requireNonNull(pageable, ErrorMessage.PAGEABLE_NULL);
+        final var repo = (RequestedResourcesRepository) getRepository();
+        return repo.findAllByCatalog(catalogId, pageable);
+    }
 }
@@ -17,10 +17,17 @@ package io.dataspaceconnector.service.resource;
 
 import io.dataspaceconnector.model.rule.ContractRule;
 import io.dataspaceconnector.model.rule.ContractRuleDesc;
+import io.dataspaceconnector.model.rule.ContractRuleFactory;
 import io.dataspaceconnector.repository.RuleRepository;
+import io.dataspaceconnector.service.ids.DeserializationService;
 import io.dataspaceconnector.util.ErrorMessage;
+import io.dataspaceconnector.util.RuleUtils;
 import io.dataspaceconnector.util.Utils;
 import lombok.NoArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -29,10 +36,48 @@ import java.util.UUID;
 /**
  * Handles the basic logic for contract rules.
  */
+@Log4j2
 @Service
 @NoArgsConstructor
 public class RuleService extends BaseEntityService<ContractRule, ContractRuleDesc> {
 
+    /**
+     * Service for deserialization.
+     */
+    @Autowired
+    private DeserializationService deserializationService;
+
+    /**
+     * Persist the rule together with its fingerprint, so that contract offers and requests can
+     * be matched without deserializing every rule.
+     *
+     * @param rule The rule to persist.
+     * @return The persisted rule.
+     */
+    @Override
+    protected ContractRule persist(final ContractRule rule) {
+        final var factory = (ContractRuleFactory) getFactory();
+        factory.updateFingerprint(rule, findFingerprint(rule.getValue()));
+
+        return super.persist(rule);
+    }
+
+    private String findFingerprint(final String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+
+        try {
+            return RuleUtils.getFingerprint(deserializationService.getRule(value));
+        } catch (IllegalArgumentException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("Could not compute fingerprint of rule. [exception=({})]",
+                        e.getMessage());
+            }
+            return null;
+        }
+    }
+
     /**
      * Finds all rules in a specific contract.
      *
@@ -44,4 +89,17 @@ public class RuleService extends BaseEntityService<ContractRule, ContractRuleDes
         return ((RuleRepository) getRepository()).findAllByContract(contractId);
     }
 
+    /**
+     * Finds a page of the rules in a specific contract.
+     *
+     * @param contractId ID of the contract
+     * @param pageable   The requested page.
+     * @return page of the rules in the contract
+     */
+    public Page<ContractRule> getAllByContract(final UUID contractId, final Pageable pageable) {
+        Utils.requireNonNull(contractId, ErrorMessage.ENTITYID_NULL);
+        Utils.requireNonNull(pageable, ErrorMessage.PAGEABLE_NULL);
+        return ((RuleRepository) getRepository()).findAllByContract(contractId, pageable);
+    }
+
 }
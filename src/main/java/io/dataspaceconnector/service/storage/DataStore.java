@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Stores the data of local artifacts outside of the artifact's database row. Data is written and
+ * read as streams so that it never has to be held in memory as a whole.
+ */
+public interface DataStore {
+
+    /**
+     * Store the data. The stream is consumed completely but not closed. The checksum and size
+     * are computed while the data passes through.
+     *
+     * @param data The data.
+     * @return Information about the stored data.
+     * @throws IOException if the data could not be stored.
+     */
+    StoredData store(InputStream data) throws IOException;
+
+    /**
+     * Open the data stored under the given key. The caller has to close the returned stream.
+     *
+     * @param key The storage key.
+     * @return The data.
+     * @throws IOException if the data could not be read.
+     */
+    InputStream open(String key) throws IOException;
+
+    /**
+     * Remove the data stored under the given key.
+     *
+     * @param key The storage key.
+     * @throws IOException if the data could not be removed.
+     */
+    void delete(String key) throws IOException;
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import static io.dataspaceconnector.model.config.DatabaseConstants.DATA_CHUNK_COLUMN_LENGTH;
+
+/**
+ * Stores artifact data in fixed size chunks in the connector's database. Only a single chunk is
+ * held in memory at any time, both while writing and while reading.
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "database", matchIfMissing = true)
+public class DatabaseDataStore implements DataStore {
+
+    /**
+     * Statement for inserting a chunk.
+     */
+    private static final String INSERT_CHUNK = "INSERT INTO data_chunk "
+            + "(storage_key, chunk_index, content) VALUES (?, ?, ?)";
+
+    /**
+     * Statement for selecting a chunk.
+     */
+    private static final String SELECT_CHUNK = "SELECT content FROM data_chunk "
+            + "WHERE storage_key = ? AND chunk_index = ?";
+
+    /**
+     * Statement for removing all chunks of the data.
+     */
+    private static final String DELETE_CHUNKS = "DELETE FROM data_chunk WHERE storage_key = ?";
+
+    /**
+     * Used for accessing the chunk table.
+     */
+    private final @NonNull JdbcTemplate jdbcTemplate;
+
+    /**
+     * The maximum number of bytes per chunk.
+     */
+    private final int chunkSize;
+
+    /**
+     * Constructor for DatabaseDataStore.
+     *
+     * @param template     The jdbc template.
+     * @param maxChunkSize The maximum number of bytes per chunk.
+     */
+    @Autowired
+    public DatabaseDataStore(final @NonNull JdbcTemplate template,
+                             @Value("${storage.database.chunk-size}") final int maxChunkSize) {
+        if (maxChunkSize <= 0 || maxChunkSize > DATA_CHUNK_COLUMN_LENGTH) {
+            throw new IllegalArgumentException("The chunk size must be between 1 and "
+                    + DATA_CHUNK_COLUMN_LENGTH + " bytes.");
+        }
+
+        this.jdbcTemplate = template;
+        this.chunkSize = maxChunkSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoredData store(final InputStream data) throws IOException {
+        final var key = UUID.randomUUID().toString();
+        final var checksum = new CRC32C();
+        var byteSize = 0L;
+        var index = 0;
+
+        try {
+            byte[] chunk = data.readNBytes(chunkSize);
+            while (chunk.length > 0) {
+                checksum.update(chunk, 0, chunk.length);
+                byteSize += chunk.length;
+                jdbcTemplate.update(INSERT_CHUNK, key, index, chunk);
+                index++;
+                chunk = data.readNBytes(chunkSize);
+            }
+        } catch (IOException | RuntimeException exception) {
+            // The key is never returned, remove the chunks written so far. A transaction around
+            // the call is not rolled back for the checked exception.
+            jdbcTemplate.update(DELETE_CHUNKS, key);
+            throw exception;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Stored data in database. [key=({}), size=({}), chunks=({})]",
+                    key, byteSize, index);
+        }
+
+        return new StoredData(key, byteSize, checksum.getValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream open(final String key) {
+        return new ChunkInputStream(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void delete(final String key) {
+        jdbcTemplate.update(DELETE_CHUNKS, key);
+    }
+
+    /**
+     * Reads the chunks of a single data element one after another. A chunk is only loaded
+     * once the previous one has been consumed.
+     */
+    private final class ChunkInputStream extends InputStream {
+        /**
+         * The key of the data.
+         */
+        private final String key;
+
+        /**
+         * The chunk currently read.
+         */
+        private byte[] chunk = new byte[0];
+
+        /**
+         * The read position in the current chunk.
+         */
+        private int position;
+
+        /**
+         * The index of the next chunk to load.
+         */
+        private int nextIndex;
+
+        /**
+         * Whether the last chunk has been read.
+         */
+        private boolean exhausted;
+
+        ChunkInputStream(final String storageKey) {
+            super();
+            this.key = storageKey;
+        }
+
+        @Override
+        public int read() {
+            if (!ensureAvailable()) {
+                return -1;
+            }
+
+            return Byte.toUnsignedInt(chunk[position++]);
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) {
+            if (length == 0) {
+                return 0;
+            }
+
+            if (!ensureAvailable()) {
+                return -1;
+            }
+
+            final var count = Math.min(length, chunk.length - position);
+            System.arraycopy(chunk, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return chunk.length - position;
+        }
+
+        @Override
+        public long skip(final long n) {
+            var skipped = 0L;
+            while (skipped < n && ensureAvailable()) {
+                final var count = (int) Math.min(n - skipped, chunk.length - position);
+                position += count;
+                skipped += count;
+            }
+
+            return skipped;
+        }
+
+        @Override
+        public long transferTo(final OutputStream out) throws IOException {
+            // Write the loaded chunks directly instead of copying them into a buffer first.
+            var transferred = 0L;
+            while (ensureAvailable()) {
+                final var count = chunk.length - position;
+                out.write(chunk, position, count);
+                position += count;
+                transferred += count;
+            }
+
+            return transferred;
+        }
+
+        private boolean ensureAvailable() {
+            while (position >= chunk.length) {
+                if (exhausted) {
+                    return false;
+                }
+
+                final var result = jdbcTemplate.query(SELECT_CHUNK,
+                        (rs, row) -> rs.getBytes(1), key, nextIndex);
+                if (result.isEmpty()) {
+                    exhausted = true;
+                    chunk = new byte[0];
+                } else {
+                    chunk = result.get(0);
+                    nextIndex++;
+                }
+                position = 0;
+            }
+
+            return true;
+        }
+    }
+}
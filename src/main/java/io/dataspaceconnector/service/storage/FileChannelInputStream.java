@@ -0,0 +1,213 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.storage;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import io.dataspaceconnector.util.FileRegionTarget;
+import io.dataspaceconnector.util.RangeTransferable;
+import lombok.Getter;
+
+/**
+ * Reads artifact data from a file. Besides the usual stream operations, the data can be
+ * transferred to an output stream, fully or in parts, independent of the read position. Targets
+ * backed by a channel receive the data through {@link FileChannel#transferTo}, which lets the
+ * operating system copy it without passing it through the Java heap. Other targets receive it
+ * through a heap buffer. Parts of the file can also be handed over to a {@link FileRegionTarget},
+ * e.g. for the servlet container sending them itself.
+ */
+public final class FileChannelInputStream extends InputStream implements RangeTransferable {
+
+    /**
+     * The size of the buffer used for targets that are not backed by a channel.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The file containing the data.
+     */
+    @Getter
+    private final Path path;
+
+    /**
+     * The channel used for reading the file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The read position in the file.
+     */
+    private long position;
+
+    /**
+     * Constructor for FileChannelInputStream.
+     *
+     * @param file The file containing the data.
+     * @throws IOException if the file cannot be opened.
+     */
+    public FileChannelInputStream(final Path file) throws IOException {
+        super();
+        this.path = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    /**
+     * Get the size of the data.
+     *
+     * @return The size in bytes.
+     * @throws IOException if the size cannot be determined.
+     */
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public int read() throws IOException {
+        final var buffer = new byte[1];
+        return read(buffer, 0, 1) == -1 ? -1 : Byte.toUnsignedInt(buffer[0]);
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        final var count = channel.read(ByteBuffer.wrap(buffer, offset, length), position);
+        if (count > 0) {
+            position += count;
+        }
+
+        return count;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        final var skipped = Math.max(0, Math.min(n, channel.size() - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, channel.size() - position));
+    }
+
+    /**
+     * Transfer the remaining data to the output stream.
+     *
+     * @param out The output stream.
+     * @return The number of bytes transferred.
+     * @throws IOException if the data cannot be read or written.
+     */
+    @Override
+    public long transferTo(final OutputStream out) throws IOException {
+        final var count = transferTo(out, position, Math.max(0, channel.size() - position));
+        position += count;
+        return count;
+    }
+
+    /**
+     * Transfer a part of the data to the output stream. The read position of this stream is not
+     * affected.
+     *
+     * @param out    The output stream.
+     * @param offset The position of the first byte to transfer.
+     * @param length The number of bytes to transfer.
+     * @return The number of bytes transferred.
+     * @throws IOException if the data cannot be read or written.
+     */
+    @Override
+    public long transferTo(final OutputStream out, final long offset, final long length)
+            throws IOException {
+        if (out instanceof FileOutputStream) {
+            return transferTo(((FileOutputStream) out).getChannel(), offset, length);
+        }
+
+        final var end = Math.min(channel.size(), offset + length);
+        final var buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        var current = offset;
+        while (current < end) {
+            buffer.clear().limit((int) Math.min(BUFFER_SIZE, end - current));
+            final var count = channel.read(buffer, current);
+            if (count < 0) {
+                break;
+            }
+
+            out.write(buffer.array(), 0, count);
+            current += count;
+        }
+
+        return current - offset;
+    }
+
+    /**
+     * Transfer a part of the data to the channel without copying it into the Java heap. The read
+     * position of this stream is not affected.
+     *
+     * @param target The target channel.
+     * @param offset The position of the first byte to transfer.
+     * @param length The number of bytes to transfer.
+     * @return The number of bytes transferred.
+     * @throws IOException if the data cannot be read or written.
+     */
+    public long transferTo(final WritableByteChannel target, final long offset,
+                           final long length) throws IOException {
+        final var end = Math.min(channel.size(), offset + length);
+        var current = offset;
+        while (current < end) {
+            final var count = channel.transferTo(current, end - current, target);
+            if (count <= 0) {
+                break;
+            }
+
+            current += count;
+        }
+
+        return Math.max(0, current - offset);
+    }
+
+    /**
+     * Hand a part of the file over to a target sending it. The read position of this stream is
+     * not affected.
+     *
+     * @param target The target sending the data.
+     * @param offset The position of the first byte to send.
+     * @param length The number of bytes to send.
+     * @return The number of bytes handed over.
+     * @throws IOException if the data cannot be handed over.
+     */
+    @Override
+    public long transferTo(final FileRegionTarget target, final long offset, final long length)
+            throws IOException {
+        final var count = Math.max(0, Math.min(channel.size(), offset + length) - offset);
+        target.send(path, offset, count);
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores artifact data as files on the local disk. The files are content-addressed: the key is
+ * the SHA-256 hash of the data, so identical data is only stored once. The data is read through
+ * {@link FileChannelInputStream}s, so it can be transferred to channels without copying it into
+ * the Java heap.
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "filesystem")
+public class FileSystemDataStore implements DataStore {
+
+    /**
+     * The hash algorithm used for addressing the files.
+     */
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    /**
+     * Valid storage keys, i.e. hex encoded SHA-256 hashes.
+     */
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    /**
+     * The directory containing all files.
+     */
+    @Getter
+    private final Path root;
+
+    /**
+     * Constructor for FileSystemDataStore.
+     *
+     * @param path The directory the data should be stored in.
+     * @throws IOException if the directory cannot be created.
+     */
+    public FileSystemDataStore(@Value("${storage.filesystem.path}") final Path path)
+            throws IOException {
+        this.root = Files.createDirectories(path.toAbsolutePath().normalize());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoredData store(final InputStream data) throws IOException {
+        final var digest = createDigest();
+        final var checked = new CheckedInputStream(data, new CRC32C());
+        final var tmp = Files.createTempFile(root, "upload-", ".tmp");
+        try {
+            final var byteSize =
+                    Files.copy(new DigestInputStream(checked, digest), tmp,
+                            StandardCopyOption.REPLACE_EXISTING);
+            final var key = toHex(digest.digest());
+            moveToTarget(tmp, resolve(key));
+
+            if (log.isDebugEnabled()) {
+                log.debug("Stored data on disk. [key=({}), size=({})]", key, byteSize);
+            }
+
+            return new StoredData(key, byteSize, checked.getChecksum().getValue());
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream open(final String key) throws IOException {
+        return new FileChannelInputStream(resolve(key));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void delete(final String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    /**
+     * Get the file the data with the given key is stored in.
+     *
+     * @param key The storage key.
+     * @return The path of the file.
+     * @throws IllegalArgumentException if the key is not a valid storage key.
+     */
+    public Path resolve(final String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid storage key.");
+        }
+
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static void moveToTarget(final Path tmp, final Path target) throws IOException {
+        if (Files.exists(target)) {
+            // Same content is already stored.
+            return;
+        }
+
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException exception) {
+            // Stored concurrently with the same content.
+            if (log.isDebugEnabled()) {
+                log.debug("Data has been stored concurrently. [target=({})]", target);
+            }
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("Missing hash algorithm.", exception);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final var builder = new StringBuilder(bytes.length * 2);
+        for (final var b : bytes) {
+            builder.append(String.format("%02x", b));
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import io.dataspaceconnector.exception.DataTooLargeException;
+import lombok.Getter;
+
+/**
+ * Passes data through while counting it and fails as soon as more than the allowed number of
+ * bytes has been read, so that oversized data is rejected without reading it completely.
+ */
+public class SizeLimitedInputStream extends FilterInputStream {
+
+    /**
+     * The maximum number of bytes that may be read.
+     */
+    @Getter
+    private final long maxSize;
+
+    /**
+     * The number of bytes read so far.
+     */
+    @Getter
+    private long count;
+
+    /**
+     * Constructor for SizeLimitedInputStream.
+     *
+     * @param data The data.
+     * @param max  The maximum number of bytes that may be read.
+     */
+    public SizeLimitedInputStream(final InputStream data, final long max) {
+        super(data);
+        this.maxSize = max;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException {
+        final var value = super.read();
+        if (value != -1) {
+            add(1);
+        }
+
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        final var numBytes = super.read(b, off, len);
+        if (numBytes > 0) {
+            add(numBytes);
+        }
+
+        return numBytes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long skip(final long n) throws IOException {
+        final var numBytes = super.skip(n);
+        add(numBytes);
+
+        return numBytes;
+    }
+
+    /**
+     * Marking is not supported, since reset would break the byte count.
+     *
+     * @return false.
+     */
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Marking is not supported, since reset would break the byte count.
+     *
+     * @throws IOException always.
+     */
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("Mark and reset are not supported.");
+    }
+
+    private void add(final long numBytes) {
+        count += numBytes;
+        if (count > maxSize) {
+            throw new DataTooLargeException("The data exceeds the maximum size of " + maxSize
+                    + " bytes.");
+        }
+    }
+}
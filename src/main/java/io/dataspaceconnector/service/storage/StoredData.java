@@ -0,0 +1,39 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.storage;
+
+import lombok.Data;
+
+/**
+ * Describes data that has been written to a {@link DataStore}.
+ */
+@Data
+public class StoredData {
+    /**
+     * The key under which the data can be retrieved from the store.
+     */
+    private final String key;
+
+    /**
+     * The size of the data in bytes.
+     */
+    private final long byteSize;
+
+    /**
+     * The CRC32C checksum of the data.
+     */
+    private final long checkSum;
+}
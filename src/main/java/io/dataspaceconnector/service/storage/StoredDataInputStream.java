@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import io.dataspaceconnector.util.FileRegionTarget;
+import io.dataspaceconnector.util.RangeTransferable;
+import io.dataspaceconnector.util.StreamUtils;
+import lombok.Getter;
+
+/**
+ * Reads data from the data store together with the size and checksum recorded when the data
+ * was stored, so that it can be served with a known length and validator.
+ */
+public class StoredDataInputStream extends FilterInputStream implements RangeTransferable {
+
+    /**
+     * The size of the data in bytes.
+     */
+    @Getter
+    private final long byteSize;
+
+    /**
+     * The CRC32C checksum of the data.
+     */
+    @Getter
+    private final long checkSum;
+
+    /**
+     * Constructor for StoredDataInputStream.
+     *
+     * @param data The data.
+     * @param size The size of the data in bytes.
+     * @param crc  The CRC32C checksum of the data.
+     */
+    public StoredDataInputStream(final InputStream data, final long size, final long crc) {
+        super(data);
+        this.byteSize = size;
+        this.checkSum = crc;
+    }
+
+    /**
+     * Transfer the data using the underlying stream, so that its optimized transfer is used.
+     *
+     * @param out The output stream.
+     * @return The number of bytes transferred.
+     * @throws IOException if the data could not be transferred.
+     */
+    @Override
+    public long transferTo(final OutputStream out) throws IOException {
+        return in.transferTo(out);
+    }
+
+    /**
+     * Transfer a part of the data. The ranged transfer of the underlying stream is used where
+     * available, so that the data before the range is neither read nor counted. The stream has to
+     * be at its start.
+     *
+     * @param out    The output stream.
+     * @param offset The position of the first byte to transfer.
+     * @param length The number of bytes to transfer.
+     * @return The number of bytes transferred.
+     * @throws IOException if the data could not be transferred.
+     */
+    @Override
+    public long transferTo(final OutputStream out, final long offset, final long length)
+            throws IOException {
+        return StreamUtils.transferRange(in, out, offset, length);
+    }
+
+    /**
+     * Hand a part of the data over to a target sending it from the file the data is read from.
+     * The stream has to be at its start.
+     *
+     * @param target The target sending the data.
+     * @param offset The position of the first byte to send.
+     * @param length The number of bytes to send.
+     * @return The number of bytes handed over, -1 if the data is not read from a file.
+     * @throws IOException if the data could not be handed over.
+     */
+    @Override
+    public long transferTo(final FileRegionTarget target, final long offset, final long length)
+            throws IOException {
+        return StreamUtils.transferRange(in, target, offset, length);
+    }
+}
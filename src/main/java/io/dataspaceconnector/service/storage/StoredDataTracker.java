@@ -0,0 +1,210 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import io.dataspaceconnector.repository.DataRepository;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps track of the data in the {@link DataStore} that may still be referenced. Data is only
+ * removed after the transaction replacing it has committed, and only if neither a data element
+ * nor a running transaction references it anymore. Content-addressed stores return the same key
+ * for identical data, so a key may be referenced by an upload that has not committed yet.
+ */
+@Log4j2
+@Component
+public class StoredDataTracker {
+
+    /**
+     * The store holding the data.
+     */
+    private final @NonNull DataStore dataStore;
+
+    /**
+     * Repository for counting the data elements referencing stored data.
+     */
+    private final @NonNull DataRepository dataRepo;
+
+    /**
+     * Runs the removal of data in a new transaction, after the replacing one has committed.
+     */
+    private final @NonNull TransactionTemplate transactionTemplate;
+
+    /**
+     * Storage keys written by transactions that have not completed yet, with their number.
+     */
+    private final Map<String, Integer> pinned = new ConcurrentHashMap<>();
+
+    /**
+     * Storage keys of data that has been replaced and may be removed.
+     */
+    private final Set<String> orphans = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Held for reading while data is stored and pinned, and for writing while data is removed.
+     * Thus, data cannot be removed between being stored and being pinned.
+     */
+    private final ReadWriteLock storeLock = new ReentrantReadWriteLock();
+
+    /**
+     * Constructor for StoredDataTracker.
+     *
+     * @param store              The store holding the data.
+     * @param dataRepository     The data repository.
+     * @param transactionManager The transaction manager.
+     */
+    public StoredDataTracker(final @NonNull DataStore store,
+                             final @NonNull DataRepository dataRepository,
+                             final @NonNull PlatformTransactionManager transactionManager) {
+        this.dataStore = store;
+        this.dataRepo = dataRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Store the data and protect it from removal until the current transaction has completed.
+     * If the transaction rolls back, the data is released again.
+     *
+     * @param data The data.
+     * @return Information about the stored data.
+     * @throws IOException if the data could not be stored.
+     */
+    public StoredData store(final InputStream data) throws IOException {
+        storeLock.readLock().lock();
+        try {
+            final var stored = dataStore.store(data);
+            pin(stored.getKey());
+            return stored;
+        } finally {
+            storeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Release replaced data. The data is removed once the current transaction has committed,
+     * unless it is still referenced. If the transaction rolls back, the data is kept.
+     *
+     * @param key The storage key of the replaced data.
+     */
+    public void release(final String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            orphans.add(key);
+            collect();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        orphans.add(key);
+                    }
+
+                    @Override
+                    public void afterCompletion(final int status) {
+                        collect();
+                    }
+                });
+    }
+
+    /**
+     * Remove all released data that is no longer referenced. Skipped while data is being
+     * stored, the next completed transaction tries again.
+     */
+    public void collect() {
+        if (orphans.isEmpty() || !storeLock.writeLock().tryLock()) {
+            return;
+        }
+
+        try {
+            for (final var key : List.copyOf(orphans)) {
+                if (!pinned.containsKey(key)) {
+                    removeIfUnreferenced(key);
+                }
+            }
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+    private void removeIfUnreferenced(final String key) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (dataRepo.countByStorageKey(key) == 0) {
+                    delete(key);
+                }
+            });
+            orphans.remove(key);
+        } catch (UncheckedIOException | DataAccessException e) {
+            // Keep the key, the next collection tries again.
+            if (log.isWarnEnabled()) {
+                log.warn("Failed to remove replaced data. [key=({}), exception=({})]",
+                        key, e.getMessage());
+            }
+        }
+    }
+
+    private void delete(final String key) {
+        try {
+            dataStore.delete(key);
+            if (log.isDebugEnabled()) {
+                log.debug("Removed replaced data. [key=({})]", key);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void pin(final String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        pinned.merge(key, 1, Integer::sum);
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(final int status) {
+                        pinned.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+                        if (status != STATUS_COMMITTED) {
+                            // The data element referencing the data has not been saved.
+                            orphans.add(key);
+                        }
+                        collect();
+                    }
+                });
+    }
+}
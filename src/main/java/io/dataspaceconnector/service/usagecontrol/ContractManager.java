@@ -74,6 +74,11 @@ public class ContractManager {
      */
     private final @NonNull ConnectorService connectorService;
 
+    /**
+     * Cache for deserialized contract agreements.
+     */
+    private final @NonNull PolicyCache policyCache;
+
     /**
      * Check if the transfer contract is valid and the conditions are fulfilled.
      *
@@ -107,7 +112,7 @@ public class ContractManager {
                     + "agreement message to finish the negotiation sequence.");
         }
 
-        final var idsAgreement = deserializationService.getContractAgreement(agreement.getValue());
+        final var idsAgreement = policyCache.getContractAgreement(agreement);
 
         // Validation of issuer connector.
         if (!idsAgreement.getConsumer().equals(issuer)) {
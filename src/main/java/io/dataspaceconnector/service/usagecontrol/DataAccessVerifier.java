@@ -20,8 +20,6 @@ import io.dataspaceconnector.exception.PolicyExecutionException;
 import io.dataspaceconnector.exception.PolicyRestrictionException;
 import io.dataspaceconnector.model.artifact.Artifact;
 import io.dataspaceconnector.service.EntityResolver;
-import io.dataspaceconnector.util.ContractUtils;
-import io.dataspaceconnector.util.RuleUtils;
 import io.dataspaceconnector.util.SelfLinkHelper;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -30,6 +28,7 @@ import org.springframework.stereotype.Component;
 
 import java.net.URI;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,11 +40,29 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public final class DataAccessVerifier implements PolicyVerifier<AccessVerificationInput> {
 
+    /**
+     * The patterns enforced on data access.
+     */
+    private static final List<PolicyPattern> PATTERNS_TO_CHECK =
+            Collections.unmodifiableList(Arrays.asList(
+                    PolicyPattern.PROVIDE_ACCESS,
+                    PolicyPattern.USAGE_DURING_INTERVAL,
+                    PolicyPattern.USAGE_UNTIL_DELETION,
+                    PolicyPattern.DURATION_USAGE,
+                    PolicyPattern.USAGE_LOGGING,
+                    PolicyPattern.N_TIMES_USAGE,
+                    PolicyPattern.USAGE_NOTIFICATION));
+
     /**
      * The policy execution point.
      */
     private final @NonNull RuleValidator ruleValidator;
 
+    /**
+     * Cache for compiled decision plans.
+     */
+    private final @NonNull PolicyCache policyCache;
+
     /**
      * Service for configuring policy settings.
      */
@@ -65,18 +82,9 @@ public final class DataAccessVerifier implements PolicyVerifier<AccessVerificati
      */
     public void checkPolicy(final Artifact target, final URI agreementId) throws
             PolicyRestrictionException {
-        final var patternsToCheck = Arrays.asList(
-                PolicyPattern.PROVIDE_ACCESS,
-                PolicyPattern.USAGE_DURING_INTERVAL,
-                PolicyPattern.USAGE_UNTIL_DELETION,
-                PolicyPattern.DURATION_USAGE,
-                PolicyPattern.USAGE_LOGGING,
-                PolicyPattern.N_TIMES_USAGE,
-                PolicyPattern.USAGE_NOTIFICATION);
-
         try {
             final var artifactId = SelfLinkHelper.getSelfLink(target);
-            checkForAccess(patternsToCheck, artifactId, target.getRemoteId(), agreementId);
+            checkForAccess(PATTERNS_TO_CHECK, artifactId, target.getRemoteId(), agreementId);
         } catch (PolicyRestrictionException exception) {
             // Unknown patterns cause an exception. Ignore if unsupported patterns are allowed.
             if (!connectorConfig.isAllowUnsupported()) {
@@ -100,15 +108,14 @@ public final class DataAccessVerifier implements PolicyVerifier<AccessVerificati
         // Get the contract agreement's rules for the target.
         final var agreements = entityResolver.getContractAgreementsByTarget(artifactId);
         for (final var agreement : agreements) {
-            final var rules = ContractUtils.getRulesForTargetId(agreement, remoteId);
+            final var steps = policyCache.getPlan(agreement).getSteps(remoteId);
 
             // Check the policy of each rule.
-            for (final var rule : rules) {
-                final var pattern = RuleUtils.getPatternByRule(rule);
+            for (final var step : steps) {
                 // Enforce only a set of patterns.
-                if (patterns.contains(pattern)) {
-                    ruleValidator.validatePolicy(pattern, rule, artifactId, null,
-                            Optional.empty(), agreementId);
+                if (patterns.contains(step.getPattern())) {
+                    ruleValidator.validatePolicy(step, artifactId, null, Optional.empty(),
+                            agreementId);
                 }
             }
         }
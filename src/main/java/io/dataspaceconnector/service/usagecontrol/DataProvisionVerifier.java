@@ -19,8 +19,6 @@ import de.fraunhofer.iais.eis.ContractAgreement;
 import de.fraunhofer.iais.eis.SecurityProfile;
 import io.dataspaceconnector.config.ConnectorConfiguration;
 import io.dataspaceconnector.exception.PolicyRestrictionException;
-import io.dataspaceconnector.util.ContractUtils;
-import io.dataspaceconnector.util.RuleUtils;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -28,6 +26,7 @@ import org.springframework.stereotype.Component;
 
 import java.net.URI;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,11 +38,28 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class DataProvisionVerifier implements PolicyVerifier<ProvisionVerificationInput> {
 
+    /**
+     * The patterns enforced on data provision.
+     */
+    private static final List<PolicyPattern> PATTERNS_TO_CHECK =
+            Collections.unmodifiableList(Arrays.asList(
+                    PolicyPattern.PROVIDE_ACCESS,
+                    PolicyPattern.PROHIBIT_ACCESS,
+                    PolicyPattern.USAGE_DURING_INTERVAL,
+                    PolicyPattern.USAGE_UNTIL_DELETION,
+                    PolicyPattern.CONNECTOR_RESTRICTED_USAGE,
+                    PolicyPattern.SECURITY_PROFILE_RESTRICTED_USAGE));
+
     /**
      * The policy execution point.
      */
     private final @NonNull RuleValidator ruleValidator;
 
+    /**
+     * Cache for compiled decision plans.
+     */
+    private final @NonNull PolicyCache policyCache;
+
     /**
      * Service for configuring policy settings.
      */
@@ -62,15 +78,8 @@ public class DataProvisionVerifier implements PolicyVerifier<ProvisionVerificati
                             final ContractAgreement agreement,
                             final Optional<SecurityProfile> profile)
             throws PolicyRestrictionException {
-        final var patternsToCheck = Arrays.asList(
-                PolicyPattern.PROVIDE_ACCESS,
-                PolicyPattern.PROHIBIT_ACCESS,
-                PolicyPattern.USAGE_DURING_INTERVAL,
-                PolicyPattern.USAGE_UNTIL_DELETION,
-                PolicyPattern.CONNECTOR_RESTRICTED_USAGE,
-                PolicyPattern.SECURITY_PROFILE_RESTRICTED_USAGE);
         try {
-            checkForAccess(patternsToCheck, target, issuerConnector, agreement, profile);
+            checkForAccess(PATTERNS_TO_CHECK, target, issuerConnector, agreement, profile);
         } catch (PolicyRestrictionException exception) {
             // Unknown patterns cause an exception. Ignore if unsupported patterns are allowed.
             if (!connectorConfig.isAllowUnsupported()) {
@@ -94,14 +103,13 @@ public class DataProvisionVerifier implements PolicyVerifier<ProvisionVerificati
                                final ContractAgreement agreement,
                                final Optional<SecurityProfile> profile)
             throws PolicyRestrictionException {
-        final var rules = ContractUtils.getRulesForTargetId(agreement, target);
+        final var steps = policyCache.getPlan(agreement).getSteps(target);
 
         // Check the policy of each rule.
-        for (final var rule : rules) {
-            final var pattern = RuleUtils.getPatternByRule(rule);
+        for (final var step : steps) {
             // Enforce only a set of patterns.
-            if (patterns.contains(pattern)) {
-                ruleValidator.validatePolicy(pattern, rule, target, issuerConnector, profile,
+            if (patterns.contains(step.getPattern())) {
+                ruleValidator.validatePolicy(step, target, issuerConnector, profile,
                         agreement.getId());
             }
         }
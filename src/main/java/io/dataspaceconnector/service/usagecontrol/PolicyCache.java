@@ -0,0 +1,229 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.usagecontrol;
+
+import de.fraunhofer.iais.eis.ContractAgreement;
+import de.fraunhofer.iais.eis.Rule;
+import io.dataspaceconnector.model.agreement.Agreement;
+import io.dataspaceconnector.model.base.Entity;
+import io.dataspaceconnector.model.rule.ContractRule;
+import io.dataspaceconnector.service.ids.DeserializationService;
+import io.dataspaceconnector.util.RuleUtils;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Caches the ids objects deserialized from contract agreements and contract rules, as well as
+ * the policy pattern recognized for a rule and the decision plan compiled for an agreement.
+ * Entries are keyed by the entity id and only reused as long as the entity's modification date
+ * did not change.
+ */
+@Log4j2
+@Component
+public class PolicyCache {
+
+    /**
+     * The initial capacity of the cache maps.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The load factor of the cache maps.
+     */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * Service for deserialization.
+     */
+    private final @NonNull DeserializationService deserializationService;
+
+    /**
+     * Deserialized contract agreements by entity id.
+     */
+    private final Map<UUID, Versioned<ContractAgreement>> agreements;
+
+    /**
+     * Deserialized contract rules by entity id.
+     */
+    private final Map<UUID, Versioned<Rule>> rules;
+
+    /**
+     * Recognized policy patterns by ids rule.
+     */
+    private final Map<Rule, PolicyPattern> patterns;
+
+    /**
+     * Compiled decision plans by contract agreement id.
+     */
+    private final Map<URI, PolicyDecisionPlan> plans;
+
+    /**
+     * Constructor for the policy cache.
+     *
+     * @param deserializer The service for deserialization.
+     * @param size         The maximum number of entries kept per cached type.
+     */
+    public PolicyCache(final @NonNull DeserializationService deserializer,
+                       @Value("${policy.cache.size}") final int size) {
+        this.deserializationService = deserializer;
+        this.agreements = createLruMap(size);
+        this.rules = createLruMap(size);
+        this.patterns = createLruMap(size);
+        this.plans = createLruMap(size);
+    }
+
+    /**
+     * Get the ids contract agreement stored in an agreement entity.
+     *
+     * @param agreement The agreement entity.
+     * @return The ids contract agreement.
+     * @throws IllegalArgumentException If deserialization fails.
+     */
+    public ContractAgreement getContractAgreement(final Agreement agreement)
+            throws IllegalArgumentException {
+        return get(agreements, agreement, agreement.getValue(),
+                deserializationService::getContractAgreement);
+    }
+
+    /**
+     * Get the ids rule stored in a contract rule entity.
+     *
+     * @param rule The contract rule entity.
+     * @return The ids rule.
+     * @throws IllegalArgumentException If deserialization fails.
+     */
+    public Rule getRule(final ContractRule rule) throws IllegalArgumentException {
+        return get(rules, rule, rule.getValue(), deserializationService::getRule);
+    }
+
+    /**
+     * Get the policy pattern of an ids rule.
+     *
+     * @param rule The ids rule.
+     * @return The recognized policy pattern.
+     * @throws io.dataspaceconnector.exception.UnsupportedPatternException If no pattern could be
+     *                                                                     recognized.
+     */
+    public PolicyPattern getPattern(final Rule rule) {
+        final var cached = patterns.get(rule);
+        if (cached != null) {
+            return cached;
+        }
+
+        final var pattern = RuleUtils.getPatternByRule(rule);
+        patterns.put(rule, pattern);
+        return pattern;
+    }
+
+    /**
+     * Get the decision plan of an ids contract agreement. Plans are reused as long as the same
+     * agreement object is passed, which is the case for agreements returned by
+     * {@link #getContractAgreement(Agreement)} while the entity is unchanged.
+     *
+     * @param agreement The ids contract agreement.
+     * @return The compiled decision plan.
+     */
+    public PolicyDecisionPlan getPlan(final ContractAgreement agreement) {
+        final var agreementId = agreement.getId();
+        final var cached = plans.get(agreementId);
+        if (cached != null && cached.isCompiledFrom(agreement)) {
+            return cached;
+        }
+
+        final var plan = PolicyDecisionPlan.compile(agreement);
+        plans.put(agreementId, plan);
+        if (log.isDebugEnabled()) {
+            log.debug("Compiled decision plan. [id=({})]", agreementId);
+        }
+
+        return plan;
+    }
+
+    private <T> T get(final Map<UUID, Versioned<T>> cache, final Entity entity,
+                      final String value, final Function<String, T> deserializer) {
+        final var entityId = entity.getId();
+        final var version = entity.getModificationDate();
+        if (entityId == null || version == null) {
+            // Not persisted yet, nothing to key the entry on.
+            return deserializer.apply(value);
+        }
+
+        final var cached = cache.get(entityId);
+        if (cached != null && cached.isVersion(version)) {
+            return cached.getValue();
+        }
+
+        final var result = deserializer.apply(value);
+        cache.put(entityId, new Versioned<>(version, result));
+        if (log.isDebugEnabled()) {
+            log.debug("Cached deserialized policy. [id=({}), version=({})]", entityId, version);
+        }
+
+        return result;
+    }
+
+    private static <K, V> Map<K, V> createLruMap(final int maxSize) {
+        return Collections.synchronizedMap(
+                new LinkedHashMap<K, V>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                        return size() > maxSize;
+                    }
+                });
+    }
+
+    /**
+     * A cached object and the modification date of the entity it was created from.
+     *
+     * @param <T> The type of the cached object.
+     */
+    private static final class Versioned<T> {
+        /**
+         * The modification date of the entity.
+         */
+        private final ZonedDateTime version;
+
+        /**
+         * The cached object.
+         */
+        private final T value;
+
+        Versioned(final ZonedDateTime modificationDate, final T object) {
+            this.version = modificationDate;
+            this.value = object;
+        }
+
+        boolean isVersion(final ZonedDateTime modificationDate) {
+            return version.isEqual(modificationDate);
+        }
+
+        T getValue() {
+            return value;
+        }
+    }
+}
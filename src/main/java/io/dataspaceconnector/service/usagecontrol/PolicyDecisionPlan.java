@@ -0,0 +1,422 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.usagecontrol;
+
+import de.fraunhofer.iais.eis.ContractAgreement;
+import de.fraunhofer.iais.eis.Rule;
+import io.dataspaceconnector.util.RuleUtils;
+import io.dataspaceconnector.util.TimeInterval;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A contract agreement compiled for policy decisions. The rules of the agreement are indexed by
+ * their target, their policy patterns are recognized and the values of their constraints are
+ * parsed once, so that checking a request does not need to inspect the agreement again.
+ */
+public final class PolicyDecisionPlan {
+
+    /**
+     * The agreement the plan was compiled from.
+     */
+    private final ContractAgreement agreement;
+
+    /**
+     * The steps to check per rule target, in the order of the agreement's permissions,
+     * prohibitions and obligations.
+     */
+    private final Map<URI, List<Step>> steps;
+
+    private PolicyDecisionPlan(final ContractAgreement source, final Map<URI, List<Step>> map) {
+        this.agreement = source;
+        this.steps = map;
+    }
+
+    /**
+     * Compile a contract agreement into a decision plan.
+     *
+     * @param agreement The ids contract agreement.
+     * @return The decision plan.
+     */
+    public static PolicyDecisionPlan compile(final ContractAgreement agreement) {
+        final var map = new LinkedHashMap<URI, List<Step>>();
+        addSteps(map, agreement.getPermission());
+        addSteps(map, agreement.getProhibition());
+        addSteps(map, agreement.getObligation());
+
+        for (final var entry : map.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+
+        return new PolicyDecisionPlan(agreement, Collections.unmodifiableMap(map));
+    }
+
+    private static void addSteps(final Map<URI, List<Step>> map,
+                                 final List<? extends Rule> rules) {
+        if (rules == null) {
+            return;
+        }
+
+        for (final var rule : rules) {
+            final var target = rule.getTarget();
+            if (target != null) {
+                map.computeIfAbsent(target, x -> new ArrayList<>()).add(Step.compile(rule));
+            }
+        }
+    }
+
+    /**
+     * Get the steps to check for a target.
+     *
+     * @param target The target of the rules.
+     * @return The steps, or an empty list if no rule applies to the target.
+     */
+    public List<Step> getSteps(final URI target) {
+        return steps.getOrDefault(target, Collections.emptyList());
+    }
+
+    /**
+     * Check whether the plan was compiled from the given agreement object.
+     *
+     * @param source The ids contract agreement.
+     * @return True if the plan was compiled from the same object.
+     */
+    public boolean isCompiledFrom(final ContractAgreement source) {
+        return agreement == source;
+    }
+
+    /**
+     * A single rule with its recognized policy pattern. Patterns that are checked against a
+     * constraint value are compiled into a subclass holding the parsed value, which is returned
+     * by the getter matching the pattern.
+     */
+    public abstract static class Step {
+        /**
+         * The ids rule.
+         */
+        private final Rule rule;
+
+        /**
+         * The recognized policy pattern. Null if no pattern was recognized.
+         */
+        private final PolicyPattern pattern;
+
+        /**
+         * The error raised while recognizing the pattern.
+         */
+        private final RuntimeException patternError;
+
+        private Step(final Rule source, final PolicyPattern recognized,
+                     final RuntimeException error) {
+            this.rule = source;
+            this.pattern = recognized;
+            this.patternError = error;
+        }
+
+        /**
+         * Compile a rule into a step, recognizing its pattern.
+         *
+         * @param rule The ids rule.
+         * @return The step.
+         */
+        public static Step compile(final Rule rule) {
+            final PolicyPattern pattern;
+            try {
+                pattern = RuleUtils.getPatternByRule(rule);
+            } catch (RuntimeException exception) {
+                return new BasicStep(rule, null, exception);
+            }
+
+            return compile(rule, pattern);
+        }
+
+        /**
+         * Compile a rule into a step for a given pattern.
+         *
+         * @param rule    The ids rule.
+         * @param pattern The policy pattern of the rule.
+         * @return The step.
+         */
+        public static Step compile(final Rule rule, final PolicyPattern pattern) {
+            if (pattern == null) {
+                return new BasicStep(rule, null, null);
+            }
+
+            try {
+                switch (pattern) {
+                    case USAGE_DURING_INTERVAL:
+                    case USAGE_UNTIL_DELETION:
+                        return new IntervalStep(rule, pattern, RuleUtils.getTimeInterval(rule));
+                    case DURATION_USAGE:
+                        return new DurationStep(rule, pattern, RuleUtils.getDuration(rule));
+                    case N_TIMES_USAGE:
+                        return new AccessNumberStep(rule, pattern, RuleUtils.getMaxAccess(rule));
+                    case CONNECTOR_RESTRICTED_USAGE:
+                        return new ConsumerStep(rule, pattern,
+                                URI.create(RuleUtils.getEndpoint(rule)));
+                    case SECURITY_PROFILE_RESTRICTED_USAGE:
+                        return new SecurityProfileStep(rule, pattern,
+                                RuleUtils.getSecurityProfile(rule));
+                    default:
+                        return new BasicStep(rule, pattern, null);
+                }
+            } catch (RuntimeException exception) {
+                return new InvalidStep(rule, pattern, exception);
+            }
+        }
+
+        /**
+         * Get the ids rule.
+         *
+         * @return The ids rule.
+         */
+        public Rule getRule() {
+            return rule;
+        }
+
+        /**
+         * Get the recognized policy pattern.
+         *
+         * @return The pattern, or null if no pattern was recognized.
+         * @throws RuntimeException The error raised while recognizing the pattern.
+         */
+        public PolicyPattern getPattern() {
+            if (patternError != null) {
+                throw patternError;
+            }
+            return pattern;
+        }
+
+        /**
+         * Get the allowed time interval.
+         *
+         * @return The time interval.
+         * @throws DateTimeParseException If the interval could not be parsed.
+         */
+        public TimeInterval getInterval() throws DateTimeParseException {
+            throw notDefined("time interval");
+        }
+
+        /**
+         * Get the allowed usage duration.
+         *
+         * @return The duration, or null if the rule does not define a duration.
+         * @throws DateTimeParseException If the duration could not be parsed.
+         */
+        public Duration getDuration() throws DateTimeParseException {
+            throw notDefined("usage duration");
+        }
+
+        /**
+         * Get the maximum number of accesses.
+         *
+         * @return The maximum number of accesses.
+         * @throws NumberFormatException If the number could not be parsed.
+         */
+        public int getMaxAccess() throws NumberFormatException {
+            throw notDefined("maximum number of accesses");
+        }
+
+        /**
+         * Get the allowed consumer connector.
+         *
+         * @return The connector id.
+         */
+        public URI getAllowedConsumer() {
+            throw notDefined("consumer connector");
+        }
+
+        /**
+         * Get the allowed security profile.
+         *
+         * @return The security profile.
+         * @throws NullPointerException If the rule does not define a security profile.
+         */
+        public String getAllowedProfile() throws NullPointerException {
+            throw notDefined("security profile");
+        }
+
+        private IllegalStateException notDefined(final String value) {
+            return new IllegalStateException(
+                    String.format("Pattern %s does not define a %s.", pattern, value));
+        }
+    }
+
+    /**
+     * A step of a rule whose pattern is not checked against a constraint value, or whose pattern
+     * was not recognized.
+     */
+    private static final class BasicStep extends Step {
+        private BasicStep(final Rule source, final PolicyPattern recognized,
+                          final RuntimeException error) {
+            super(source, recognized, error);
+        }
+    }
+
+    /**
+     * A step of a rule allowing usage during a time interval.
+     */
+    private static final class IntervalStep extends Step {
+        /**
+         * The allowed time interval.
+         */
+        private final TimeInterval interval;
+
+        private IntervalStep(final Rule source, final PolicyPattern recognized,
+                             final TimeInterval value) {
+            super(source, recognized, null);
+            this.interval = value;
+        }
+
+        @Override
+        public TimeInterval getInterval() {
+            return interval;
+        }
+    }
+
+    /**
+     * A step of a rule allowing usage for a duration.
+     */
+    private static final class DurationStep extends Step {
+        /**
+         * The allowed usage duration.
+         */
+        private final Duration duration;
+
+        private DurationStep(final Rule source, final PolicyPattern recognized,
+                             final Duration value) {
+            super(source, recognized, null);
+            this.duration = value;
+        }
+
+        @Override
+        public Duration getDuration() {
+            return duration;
+        }
+    }
+
+    /**
+     * A step of a rule allowing a maximum number of accesses.
+     */
+    private static final class AccessNumberStep extends Step {
+        /**
+         * The maximum number of accesses.
+         */
+        private final int maxAccess;
+
+        private AccessNumberStep(final Rule source, final PolicyPattern recognized,
+                                 final int value) {
+            super(source, recognized, null);
+            this.maxAccess = value;
+        }
+
+        @Override
+        public int getMaxAccess() {
+            return maxAccess;
+        }
+    }
+
+    /**
+     * A step of a rule restricting usage to a consumer connector.
+     */
+    private static final class ConsumerStep extends Step {
+        /**
+         * The allowed consumer connector.
+         */
+        private final URI consumer;
+
+        private ConsumerStep(final Rule source, final PolicyPattern recognized,
+                             final URI value) {
+            super(source, recognized, null);
+            this.consumer = value;
+        }
+
+        @Override
+        public URI getAllowedConsumer() {
+            return consumer;
+        }
+    }
+
+    /**
+     * A step of a rule restricting usage to a security profile.
+     */
+    private static final class SecurityProfileStep extends Step {
+        /**
+         * The allowed security profile.
+         */
+        private final String profile;
+
+        private SecurityProfileStep(final Rule source, final PolicyPattern recognized,
+                                    final String value) {
+            super(source, recognized, null);
+            this.profile = value;
+        }
+
+        @Override
+        public String getAllowedProfile() {
+            return profile;
+        }
+    }
+
+    /**
+     * A step of a rule whose constraint value could not be parsed. The error is raised when the
+     * value is requested, so that it is reported while checking the rule.
+     */
+    private static final class InvalidStep extends Step {
+        /**
+         * The error raised while parsing the constraint value.
+         */
+        private final RuntimeException valueError;
+
+        private InvalidStep(final Rule source, final PolicyPattern recognized,
+                            final RuntimeException error) {
+            super(source, recognized, null);
+            this.valueError = error;
+        }
+
+        @Override
+        public TimeInterval getInterval() {
+            throw valueError;
+        }
+
+        @Override
+        public Duration getDuration() {
+            throw valueError;
+        }
+
+        @Override
+        public int getMaxAccess() {
+            throw valueError;
+        }
+
+        @Override
+        public URI getAllowedConsumer() {
+            throw valueError;
+        }
+
+        @Override
+        public String getAllowedProfile() {
+            throw valueError;
+        }
+    }
+}
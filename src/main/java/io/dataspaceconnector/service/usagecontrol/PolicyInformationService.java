@@ -58,8 +58,18 @@ public class PolicyInformationService {
      */
     public long getAccessNumber(final URI target) {
         final var resourceId = EndpointUtils.getUUIDFromPath(target);
-        final var artifact = artifactService.get(resourceId);
+        return artifactService.getAccessCounter(resourceId);
+    }
 
-        return artifact.getNumAccessed();
+    /**
+     * Limit the access number of an artifact for the current data access. The access is denied
+     * if concurrent accesses reach the maximum before it is counted.
+     *
+     * @param target The target id.
+     * @param max    The maximum access number.
+     */
+    public void limitAccessNumber(final URI target, final long max) {
+        final var resourceId = EndpointUtils.getUUIDFromPath(target);
+        artifactService.limitAccessCounter(resourceId, max);
     }
 }
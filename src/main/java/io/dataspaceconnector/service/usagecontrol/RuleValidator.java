@@ -20,11 +20,14 @@ import de.fraunhofer.iais.eis.SecurityProfile;
 import io.dataspaceconnector.exception.PolicyRestrictionException;
 import io.dataspaceconnector.model.contract.Contract;
 import io.dataspaceconnector.model.rule.ContractRule;
-import io.dataspaceconnector.service.ids.DeserializationService;
 import io.dataspaceconnector.service.resource.EntityDependencyResolver;
+import io.dataspaceconnector.telemetry.TracingUtils;
 import io.dataspaceconnector.util.ErrorMessage;
 import io.dataspaceconnector.util.RuleUtils;
 import io.dataspaceconnector.util.TimeInterval;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.opentracing.Tracer;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -34,9 +37,11 @@ import java.net.URI;
 import java.time.Duration;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * This class provides policy pattern recognition and calls the {@link
@@ -64,9 +69,19 @@ public class RuleValidator {
     private final @NonNull EntityDependencyResolver dependencyResolver;
 
     /**
-     * Service for deserialization.
+     * Cache for deserialized policies.
      */
-    private final @NonNull DeserializationService deserializationService;
+    private final @NonNull PolicyCache policyCache;
+
+    /**
+     * The registry for the policy validation metrics.
+     */
+    private final @NonNull MeterRegistry registry;
+
+    /**
+     * The tracer for the policy validation spans.
+     */
+    private final @NonNull Tracer tracer;
 
     /**
      * Validates the data access for a given rule.
@@ -82,30 +97,76 @@ public class RuleValidator {
     public void validatePolicy(final PolicyPattern pattern, final Rule rule, final URI target,
                                final URI issuerConnector, final Optional<SecurityProfile> profile,
                                final URI agreementId) throws PolicyRestrictionException {
+        validatePolicy(PolicyDecisionPlan.Step.compile(rule, pattern), target, issuerConnector,
+                profile, agreementId);
+    }
+
+    /**
+     * Validates the data access for a compiled rule of a {@link PolicyDecisionPlan}.
+     *
+     * @param step            The compiled rule.
+     * @param target          The requested/accessed element.
+     * @param issuerConnector The issuer connector.
+     * @param profile         The security profile.
+     * @param agreementId     The id of the transfer contract (agreement).
+     * @throws PolicyRestrictionException If a policy restriction was detected.
+     */
+    public void validatePolicy(final PolicyDecisionPlan.Step step, final URI target,
+                               final URI issuerConnector, final Optional<SecurityProfile> profile,
+                               final URI agreementId) throws PolicyRestrictionException {
+        final var pattern = step.getPattern();
+        final var span = tracer.buildSpan("RuleValidator.validatePolicy")
+                .withTag("policy.pattern", String.valueOf(pattern))
+                .start();
+        final var sample = Timer.start(registry);
+        var outcome = "denied";
+        try (var scope = tracer.activateSpan(span)) {
+            checkPolicy(pattern, step, target, issuerConnector, profile, agreementId);
+            outcome = "allowed";
+        } catch (RuntimeException exception) {
+            if (!(exception instanceof PolicyRestrictionException)) {
+                TracingUtils.setError(span, exception);
+            }
+            throw exception;
+        } finally {
+            sample.stop(Timer.builder("dsc.policy.validation")
+                    .description("Time for validating a rule per policy pattern.")
+                    .tag("pattern", String.valueOf(pattern))
+                    .tag("outcome", outcome)
+                    .register(registry));
+            span.setTag("policy.outcome", outcome);
+            span.finish();
+        }
+    }
+
+    private void checkPolicy(final PolicyPattern pattern, final PolicyDecisionPlan.Step step,
+                             final URI target, final URI issuerConnector,
+                             final Optional<SecurityProfile> profile, final URI agreementId)
+            throws PolicyRestrictionException {
         switch (pattern) {
             case PROVIDE_ACCESS:
                 break;
             case USAGE_DURING_INTERVAL:
             case USAGE_UNTIL_DELETION:
-                validateInterval(rule);
+                validateInterval(step);
                 break;
             case DURATION_USAGE:
-                validateDuration(rule, target);
+                validateDuration(step, target);
                 break;
             case USAGE_LOGGING:
                 executionService.logDataAccess(target, agreementId);
                 break;
             case N_TIMES_USAGE:
-                validateAccessNumber(rule, target);
+                validateAccessNumber(step, target);
                 break;
             case USAGE_NOTIFICATION:
-                executionService.reportDataAccess(rule, target);
+                executionService.reportDataAccess(step.getRule(), target);
                 break;
             case CONNECTOR_RESTRICTED_USAGE:
-                validateIssuerConnector(rule, issuerConnector);
+                validateIssuerConnector(step, issuerConnector);
                 break;
             case SECURITY_PROFILE_RESTRICTED_USAGE:
-                validateSecurityProfile(rule, profile);
+                validateSecurityProfile(step, profile);
                 break;
             case PROHIBIT_ACCESS:
                 throw new PolicyRestrictionException(ErrorMessage.NOT_ALLOWED);
@@ -118,7 +179,8 @@ public class RuleValidator {
     }
 
     /**
-     * Compare content of rule offer and request with each other.
+     * Compare content of rule offer and request with each other. Offers whose rule fingerprints
+     * do not match the requested ones are skipped without comparing their rules.
      *
      * @param contractOffers The contract offer.
      * @param map            The target contract map.
@@ -128,13 +190,22 @@ public class RuleValidator {
     public boolean validateRulesOfRequest(final List<Contract> contractOffers,
                                           final Map<URI, List<Rule>> map,
                                           final URI target) {
+        // Get rule list from contract request.
+        final var values = map.get(target);
+        final var requested = getFingerprints(values);
+
         for (final var contract : contractOffers) {
             // Get rule list from contract offer.
             final var ruleList = dependencyResolver.getRulesByContractOffer(contract);
-            // Get rule list from contract request.
-            final var values = map.get(target);
 
-            // Compare rules
+            // Compare fingerprints first, the rules only on a match
+            if (!requested.equals(getOfferFingerprints(ruleList))) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Rule fingerprints do not match. [offer=({})]", contract.getId());
+                }
+                continue;
+            }
+
             if (compareRulesOfOfferToRequest(ruleList, values)) {
                 return true;
             }
@@ -143,6 +214,29 @@ public class RuleValidator {
         return false;
     }
 
+    private Set<String> getFingerprints(final List<Rule> rules) {
+        final var fingerprints = new HashSet<String>();
+        if (rules != null) {
+            for (final var rule : rules) {
+                fingerprints.add(RuleUtils.getFingerprint(rule));
+            }
+        }
+
+        return fingerprints;
+    }
+
+    private Set<String> getOfferFingerprints(final List<ContractRule> rules) {
+        final var fingerprints = new HashSet<String>();
+        for (final var rule : rules) {
+            final var fingerprint = rule.getFingerprint();
+            // Rules persisted before fingerprints were introduced have none.
+            fingerprints.add(fingerprint != null
+                    ? fingerprint : RuleUtils.getFingerprint(policyCache.getRule(rule)));
+        }
+
+        return fingerprints;
+    }
+
     /**
      * Compare rule list of a contract offer to the rule list of a contract request.
      *
@@ -154,7 +248,7 @@ public class RuleValidator {
                                                  final List<Rule> requestRules) {
         final var idsRuleList = new ArrayList<Rule>();
         for (final var rule : offerRules) {
-            idsRuleList.add(deserializationService.getRule(rule.getValue()));
+            idsRuleList.add(policyCache.getRule(rule));
         }
 
         if (!RuleUtils.compareRules(idsRuleList, requestRules)) {
@@ -171,14 +265,15 @@ public class RuleValidator {
     /**
      * Checks if the requested data access is in the allowed time interval.
      *
-     * @param rule The ids rule.
+     * @param step The compiled rule.
      * @throws PolicyRestrictionException If the policy could not be read or a restriction is
      *                                    detected.
      */
-    private void validateInterval(final Rule rule) throws PolicyRestrictionException {
+    private void validateInterval(final PolicyDecisionPlan.Step step)
+            throws PolicyRestrictionException {
         TimeInterval timeInterval;
         try {
-            timeInterval = RuleUtils.getTimeInterval(rule);
+            timeInterval = step.getInterval();
         } catch (DateTimeParseException e) {
             if (log.isWarnEnabled()) {
                 log.warn("Could not read time interval. [exception=({})]", e.getMessage());
@@ -198,18 +293,18 @@ public class RuleValidator {
     /**
      * Adds a duration to a given date and checks if the duration has already been exceeded.
      *
-     * @param rule   The ids rule.
+     * @param step   The compiled rule.
      * @param target The accessed element.
      * @throws PolicyRestrictionException If the policy could not be read or a restriction is
      *                                    detected.
      */
-    private void validateDuration(final Rule rule, final URI target)
+    private void validateDuration(final PolicyDecisionPlan.Step step, final URI target)
             throws PolicyRestrictionException {
         final var created = informationService.getCreationDate(target);
 
         final Duration duration;
         try {
-            duration = RuleUtils.getDuration(rule);
+            duration = step.getDuration();
         } catch (DateTimeParseException e) {
             if (log.isWarnEnabled()) {
                 log.warn("Could not read duration. [target=({}), exception=({})]",
@@ -234,15 +329,16 @@ public class RuleValidator {
     }
 
     /**
-     * Checks whether the maximum number of accesses has already been reached.
+     * Checks whether the maximum number of accesses has already been reached. The access is
+     * counted later on only if the number is still below the maximum then.
      *
-     * @param rule   The ids rule.
+     * @param step   The compiled rule.
      * @param target The accessed element.
      * @throws PolicyRestrictionException If the access number has been reached.
      */
-    private void validateAccessNumber(final Rule rule, final URI target)
+    private void validateAccessNumber(final PolicyDecisionPlan.Step step, final URI target)
             throws PolicyRestrictionException {
-        final var max = RuleUtils.getMaxAccess(rule);
+        final var max = step.getMaxAccess();
         final var accessed = informationService.getAccessNumber(target);
         if (accessed >= max) {
             if (log.isDebugEnabled()) {
@@ -250,20 +346,21 @@ public class RuleValidator {
             }
             throw new PolicyRestrictionException(ErrorMessage.DATA_ACCESS_NUMBER_REACHED);
         }
+
+        informationService.limitAccessNumber(target, max);
     }
 
     /**
      * Checks whether the requesting connector corresponds to the allowed connector.
      *
-     * @param rule            The ids rule.
+     * @param step            The compiled rule.
      * @param issuerConnector The issuer connector.
      * @throws PolicyRestrictionException If the connector ids do no match.
      */
-    private void validateIssuerConnector(final Rule rule, final URI issuerConnector)
+    private void validateIssuerConnector(final PolicyDecisionPlan.Step step,
+                                         final URI issuerConnector)
             throws PolicyRestrictionException {
-        final var allowedConsumer = RuleUtils.getEndpoint(rule);
-        final var allowedConsumerAsUri = URI.create(allowedConsumer);
-        if (!allowedConsumerAsUri.equals(issuerConnector)) {
+        if (!step.getAllowedConsumer().equals(issuerConnector)) {
             if (log.isDebugEnabled()) {
                 log.debug("Invalid consumer connector. [issuer=({})]", issuerConnector);
             }
@@ -274,18 +371,19 @@ public class RuleValidator {
     /**
      * Checks whether the requesting connector has the right security level.
      *
-     * @param rule    The ids rule.
+     * @param step    The compiled rule.
      * @param profile The security profile.
      * @throws PolicyRestrictionException If the connector ids do no match.
      */
-    private void validateSecurityProfile(final Rule rule, final Optional<SecurityProfile> profile)
+    private void validateSecurityProfile(final PolicyDecisionPlan.Step step,
+                                         final Optional<SecurityProfile> profile)
             throws PolicyRestrictionException {
         if (profile.isEmpty()) {
             throw new PolicyRestrictionException(ErrorMessage.MISSING_SECURITY_PROFILE_CLAIM);
         }
 
         try {
-            final var allowedProfile = RuleUtils.getSecurityProfile(rule);
+            final var allowedProfile = step.getAllowedProfile();
             final var securityProfile = profile.get();
             if (!allowedProfile.equals(securityProfile.toString())) {
                 throw new PolicyRestrictionException(
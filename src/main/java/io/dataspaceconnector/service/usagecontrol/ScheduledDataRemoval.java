@@ -18,30 +18,30 @@ package io.dataspaceconnector.service.usagecontrol;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import io.dataspaceconnector.config.ConnectorConfiguration;
 import io.dataspaceconnector.config.util.UsageControlFramework;
 import io.dataspaceconnector.exception.ResourceNotFoundException;
-import io.dataspaceconnector.service.ids.DeserializationService;
+import io.dataspaceconnector.model.agreement.Agreement;
 import io.dataspaceconnector.service.resource.AgreementService;
 import io.dataspaceconnector.service.resource.ArtifactService;
 import io.dataspaceconnector.util.ContractUtils;
 import io.dataspaceconnector.util.RuleUtils;
-import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 /**
- * This class implements automated policy check.
+ * This class implements automated policy check. Only agreements whose deletion date has passed
+ * are loaded, the deletion date is maintained by the {@link AgreementService}.
  */
 @EnableScheduling
 @Log4j2
-@RequiredArgsConstructor
 @Service
 public class ScheduledDataRemoval {
 
@@ -50,72 +50,160 @@ public class ScheduledDataRemoval {
      */
     private static final int FIXED_DELAY = 60_000;
 
+    /**
+     * The number of agreements loaded at once while indexing.
+     */
+    private static final int PAGE_SIZE = 100;
+
     /**
      * Service for configuring policy settings.
      */
-    private final @NonNull ConnectorConfiguration connectorConfig;
+    private final ConnectorConfiguration connectorConfig;
 
     /**
-     * Service for ids deserialization.
+     * Cache for deserialized policies.
      */
-    private final @NonNull DeserializationService deserializationService;
+    private final PolicyCache policyCache;
 
     /**
-     * Service for ids deserialization.
+     * Service for contract agreements.
      */
-    private final @NonNull AgreementService agreementService;
+    private final AgreementService agreementService;
 
     /**
      * Service for updating artifacts.
      */
-    private final @NonNull ArtifactService artifactService;
+    private final ArtifactService artifactService;
+
+    /**
+     * The number of agreements with a deletion date in the future.
+     */
+    private final AtomicLong pending = new AtomicLong();
+
+    /**
+     * The number of agreements whose deletion date passed without the data being deleted.
+     */
+    private final AtomicLong overdue = new AtomicLong();
+
+    /**
+     * Whether agreements persisted before the deletion date was tracked have been indexed.
+     */
+    private boolean indexed;
+
+    /**
+     * Constructor for ScheduledDataRemoval.
+     *
+     * @param configuration The connector configuration.
+     * @param cache         The cache for deserialized policies.
+     * @param agreements    The service for contract agreements.
+     * @param artifacts     The service for artifacts.
+     * @param registry      The registry for the removal metrics.
+     */
+    public ScheduledDataRemoval(final ConnectorConfiguration configuration,
+                                final PolicyCache cache,
+                                final AgreementService agreements,
+                                final ArtifactService artifacts,
+                                final MeterRegistry registry) {
+        this.connectorConfig = configuration;
+        this.policyCache = cache;
+        this.agreementService = agreements;
+        this.artifactService = artifacts;
+
+        registry.gauge("dsc.data.removal.pending", pending);
+        registry.gauge("dsc.data.removal.overdue", overdue);
+    }
 
     /**
      * Periodically checks agreements for data deletion.
      */
     @Scheduled(fixedDelay = FIXED_DELAY)
     public void schedule() {
-        try {
-            if (connectorConfig.getUcFramework() == UsageControlFramework.INTERNAL) {
-                if (log.isInfoEnabled()) {
-                    log.info("Scanning agreements...");
+        if (connectorConfig.getUcFramework() != UsageControlFramework.INTERNAL) {
+            return;
+        }
+
+        if (!indexed) {
+            indexAgreements();
+            indexed = true;
+        }
+
+        final var now = RuleUtils.getCurrentDate();
+        for (final var agreement : agreementService.getAllDueForDeletion(now)) {
+            try {
+                removeDueData(agreement, now);
+            } catch (IllegalArgumentException | DateTimeParseException
+                    | ResourceNotFoundException e) {
+                if (log.isWarnEnabled()) {
+                    log.warn("Failed to check policy. [agreement=({}), exception=({})]",
+                            agreement.getId(), e.getMessage());
                 }
-                scanAgreements();
-            }
-        } catch (IllegalArgumentException | DateTimeParseException | ResourceNotFoundException e) {
-            if (log.isWarnEnabled()) {
-                log.warn("Failed to check policy. [exception=({})]", e.getMessage());
             }
         }
+
+        pending.set(agreementService.countPendingDeletion(now));
+        overdue.set(agreementService.countDueForDeletion(now));
+    }
+
+    /**
+     * Computes the deletion date of agreements that have not been indexed yet. Once all
+     * agreements are indexed this is a single query returning no rows.
+     */
+    private void indexAgreements() {
+        var total = 0;
+        var count = agreementService.indexDeletionDates(PAGE_SIZE);
+        while (count > 0) {
+            total += count;
+            count = agreementService.indexDeletionDates(PAGE_SIZE);
+        }
+
+        if (total > 0 && log.isInfoEnabled()) {
+            log.info("Indexed deletion dates of agreements. [count=({})]", total);
+        }
     }
 
     /**
-     * Checks all known agreements for artifacts that have to be deleted.
+     * Removes the data of all targets whose deletion date has passed and moves the agreement's
+     * deletion date to the next one in the future. If a removal fails, the agreement stays due and
+     * is checked again on the next run.
      *
+     * @param agreement The agreement.
+     * @param now       The current date.
      * @throws DateTimeParseException    If a date from a policy cannot be parsed.
-     * @throws IllegalArgumentException  If the rule could not be deserialized.
+     * @throws IllegalArgumentException  If the agreement could not be deserialized.
      * @throws ResourceNotFoundException If the data could not be deleted.
      */
-    private void scanAgreements() throws DateTimeParseException, IllegalArgumentException,
-            ResourceNotFoundException {
-        for (final var agreement : agreementService.getAll(Pageable.unpaged())) {
-            final var value = agreement.getValue();
-            final var idsAgreement = deserializationService.getContractAgreement(value);
-            for (final var rule : ContractUtils.extractRulesFromContract(idsAgreement)) {
-                if (RuleUtils.checkRuleForPostDuties(rule)) {
-                    removeDataFromArtifact(rule.getTarget());
-                }
+    private void removeDueData(final Agreement agreement, final ZonedDateTime now)
+            throws DateTimeParseException, IllegalArgumentException, ResourceNotFoundException {
+        final var idsAgreement = policyCache.getContractAgreement(agreement);
+
+        ZonedDateTime next = null;
+        var removed = true;
+        for (final var rule : ContractUtils.extractRulesFromContract(idsAgreement)) {
+            final var date = RuleUtils.getDeletionDate(rule);
+            if (date == null) {
+                continue;
+            }
+
+            if (date.isAfter(now)) {
+                next = next == null || date.isBefore(next) ? date : next;
+            } else {
+                removed &= removeDataFromArtifact(rule.getTarget());
             }
         }
+
+        if (removed) {
+            agreementService.setDeletionDate(agreement, next);
+        }
     }
 
     /**
      * Delete data by artifact id.
      *
      * @param target The artifact id.
+     * @return False if the data could not be removed.
      * @throws ResourceNotFoundException If the artifact update fails.
      */
-    private void removeDataFromArtifact(final URI target) throws ResourceNotFoundException {
+    private boolean removeDataFromArtifact(final URI target) throws ResourceNotFoundException {
         final var artifactId = artifactService.identifyByRemoteId(target);
         if (artifactId.isPresent()) {
             // Update data for artifact.
@@ -129,7 +217,10 @@ public class ScheduledDataRemoval {
                     log.warn("Failed to remove data from artifact. [target=({})]",
                              artifactId);
                 }
+                return false;
             }
         }
+
+        return true;
     }
 }
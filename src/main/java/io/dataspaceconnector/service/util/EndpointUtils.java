@@ -47,6 +47,9 @@ public final class EndpointUtils {
     public static EndpointId getEndpointIdFromPath(final URI uri) throws IllegalArgumentException {
         final var fullPath = uri.toString();
         final var allUuids = UUIDUtils.findUuids(fullPath);
+        if (allUuids.isEmpty()) {
+            throw new IllegalArgumentException("The uri does not contain a uuid.");
+        }
 
         final var resourceId = UUID.fromString(allUuids.get(0));
         final var index = fullPath.lastIndexOf(resourceId.toString()) - 1;
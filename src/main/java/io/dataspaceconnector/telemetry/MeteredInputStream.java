@@ -0,0 +1,171 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.telemetry;
+
+import io.dataspaceconnector.util.FileRegionTarget;
+import io.dataspaceconnector.util.RangeTransferable;
+import io.dataspaceconnector.util.StreamUtils;
+import io.micrometer.core.instrument.DistributionSummary;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Counts the bytes read from a stream and records their number once the stream is closed. Data
+ * is streamed to the consumer, so its size is only known after it has been read.
+ */
+public class MeteredInputStream extends FilterInputStream implements RangeTransferable {
+
+    /**
+     * The summary receiving the number of bytes read.
+     */
+    private final DistributionSummary summary;
+
+    /**
+     * The number of bytes read so far.
+     */
+    private long count;
+
+    /**
+     * Whether the stream has been closed and the count has been recorded.
+     */
+    private boolean closed;
+
+    /**
+     * Constructor for MeteredInputStream.
+     *
+     * @param in    The stream to count.
+     * @param bytes The summary receiving the number of bytes read.
+     */
+    public MeteredInputStream(final InputStream in, final DistributionSummary bytes) {
+        super(in);
+        this.summary = bytes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException {
+        final var value = super.read();
+        if (value != -1) {
+            count++;
+        }
+
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        final var read = super.read(buffer, offset, length);
+        if (read > 0) {
+            count += read;
+        }
+
+        return read;
+    }
+
+    /**
+     * Skip data without counting it, skipped bytes are not delivered to the consumer. If the
+     * underlying stream cannot skip, a single byte is read from it instead, so callers do not
+     * fall back to reading, and counting, the skipped data.
+     *
+     * @param length The number of bytes to skip.
+     * @return The number of bytes skipped.
+     * @throws IOException if the data could not be skipped.
+     */
+    @Override
+    public long skip(final long length) throws IOException {
+        final var skipped = in.skip(length);
+        if (skipped > 0 || length <= 0) {
+            return skipped;
+        }
+
+        return in.read() == -1 ? 0 : 1;
+    }
+
+    /**
+     * Transfer the data using the underlying stream, so that its optimized transfer is used.
+     *
+     * @param out The output stream.
+     * @return The number of bytes transferred.
+     * @throws IOException if the data could not be transferred.
+     */
+    @Override
+    public long transferTo(final OutputStream out) throws IOException {
+        final var transferred = in.transferTo(out);
+        count += transferred;
+        return transferred;
+    }
+
+    /**
+     * Transfer a part of the data, only the transferred bytes are counted. The ranged transfer of
+     * the underlying stream is used where available, other data is skipped up to the offset.
+     * The stream has to be at its start.
+     *
+     * @param out    The output stream.
+     * @param offset The position of the first byte to transfer.
+     * @param length The number of bytes to transfer.
+     * @return The number of bytes transferred.
+     * @throws IOException if the data could not be transferred.
+     */
+    @Override
+    public long transferTo(final OutputStream out, final long offset, final long length)
+            throws IOException {
+        final var transferred = StreamUtils.transferRange(in, out, offset, length);
+        count += transferred;
+        return transferred;
+    }
+
+    /**
+     * Hand a part of the data over to a target sending it from the file the data is read from.
+     * The bytes handed over are counted, as they are sent without being read from this stream.
+     *
+     * @param target The target sending the data.
+     * @param offset The position of the first byte to send.
+     * @param length The number of bytes to send.
+     * @return The number of bytes handed over, -1 if the data is not read from a file.
+     * @throws IOException if the data could not be handed over.
+     */
+    @Override
+    public long transferTo(final FileRegionTarget target, final long offset, final long length)
+            throws IOException {
+        final var transferred = StreamUtils.transferRange(in, target, offset, length);
+        if (transferred > 0) {
+            count += transferred;
+        }
+
+        return transferred;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            summary.record(count);
+        }
+
+        super.close();
+    }
+}
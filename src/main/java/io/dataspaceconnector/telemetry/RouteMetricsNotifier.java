@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.telemetry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.NonNull;
+import org.apache.camel.spi.CamelEvent;
+import org.apache.camel.support.EventNotifierSupport;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the processing time of every exchange per Camel route. Camel registers all event
+ * notifier beans on startup. Only the events at the end of an exchange are subscribed to, so the
+ * notifier adds a single timer update per exchange.
+ */
+@Component
+public class RouteMetricsNotifier extends EventNotifierSupport {
+
+    /**
+     * The registry for the route metrics.
+     */
+    private final @NonNull MeterRegistry registry;
+
+    /**
+     * Constructor for RouteMetricsNotifier.
+     *
+     * @param meterRegistry The registry for the route metrics.
+     */
+    public RouteMetricsNotifier(final @NonNull MeterRegistry meterRegistry) {
+        super();
+        this.registry = meterRegistry;
+
+        setIgnoreCamelContextEvents(true);
+        setIgnoreRouteEvents(true);
+        setIgnoreServiceEvents(true);
+        setIgnoreExchangeCreatedEvent(true);
+        setIgnoreExchangeSendingEvents(true);
+        setIgnoreExchangeSentEvents(true);
+        setIgnoreExchangeRedeliveryEvents(true);
+        setIgnoreStepEvents(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEnabled(final CamelEvent event) {
+        return event instanceof CamelEvent.ExchangeCompletedEvent
+                || event instanceof CamelEvent.ExchangeFailedEvent;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void notify(final CamelEvent event) {
+        final var exchange = ((CamelEvent.ExchangeEvent) event).getExchange();
+        final var routeId = exchange.getFromRouteId();
+        if (routeId == null) {
+            // The exchange was sent to an endpoint directly and never entered a route.
+            return;
+        }
+
+        final var failed = event instanceof CamelEvent.ExchangeFailedEvent;
+        Timer.builder("dsc.route.exchanges")
+                .description("Processing time of exchanges per Camel route.")
+                .tag("route", routeId)
+                .tag("outcome", failed ? "failed" : "completed")
+                .register(registry)
+                .record(System.currentTimeMillis() - exchange.getCreated(),
+                        TimeUnit.MILLISECONDS);
+    }
+}
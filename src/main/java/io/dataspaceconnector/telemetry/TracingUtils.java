@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.telemetry;
+
+import io.opentracing.Span;
+import io.opentracing.Tracer;
+import io.opentracing.log.Fields;
+import io.opentracing.tag.Tags;
+
+import java.util.Map;
+
+/**
+ * Helper methods for tracing.
+ */
+public final class TracingUtils {
+
+    /**
+     * Default constructor.
+     */
+    private TracingUtils() {
+        // not used
+    }
+
+    /**
+     * Mark a span as failed and attach the exception that caused the failure.
+     *
+     * @param span      The span.
+     * @param exception The exception.
+     */
+    public static void setError(final Span span, final Throwable exception) {
+        Tags.ERROR.set(span, true);
+        span.log(Map.of(Fields.EVENT, "error", Fields.ERROR_OBJECT, exception));
+    }
+
+    /**
+     * Run a step of a Camel route within a span. The span is marked as failed if the step
+     * throws an exception.
+     *
+     * @param tracer The tracer.
+     * @param name   The name of the span.
+     * @param action The step.
+     * @param <T>    The type of the result.
+     * @return The result of the step.
+     * @throws Exception if the step fails.
+     */
+    public static <T> T trace(final Tracer tracer, final String name,
+                              final ThrowingSupplier<T> action) throws Exception {
+        final var span = tracer.buildSpan(name)
+                .withTag(Tags.COMPONENT, "camel")
+                .start();
+        try (var scope = tracer.activateSpan(span)) {
+            return action.get();
+        } catch (Exception exception) {
+            setError(span, exception);
+            throw exception;
+        } finally {
+            span.finish();
+        }
+    }
+
+    /**
+     * Supplies a result and may throw an exception.
+     *
+     * @param <T> The type of the result.
+     */
+    @FunctionalInterface
+    public interface ThrowingSupplier<T> {
+        /**
+         * Get the result.
+         *
+         * @return The result.
+         * @throws Exception if the result cannot be supplied.
+         */
+        T get() throws Exception;
+    }
+}
@@ -208,7 +208,22 @@ public enum ErrorMessage {
     /**
      * If a resource update message could not be sent.
      */
-    UPDATE_MESSAGE_FAILED("Failed to send update message.");
+    UPDATE_MESSAGE_FAILED("Failed to send update message."),
+
+    /**
+     * If the response to a message was not the expected one.
+     */
+    UNEXPECTED_RESPONSE("Received unexpected response."),
+
+    /**
+     * If received data could not be stored.
+     */
+    DATA_STORAGE_FAILED("Failed to store data."),
+
+    /**
+     * If data could not be downloaded for another reason.
+     */
+    DATA_DOWNLOAD_FAILED("Failed to download data.");
 
     /**
      * Holds the enums string.
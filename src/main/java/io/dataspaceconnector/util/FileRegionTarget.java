@@ -0,0 +1,37 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.util;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Sends a part of a file without it being read by the caller, e.g. the servlet container
+ * sending it through sendfile.
+ */
+@FunctionalInterface
+public interface FileRegionTarget {
+
+    /**
+     * Send a part of the file.
+     *
+     * @param file   The file.
+     * @param offset The position of the first byte to send.
+     * @param length The number of bytes to send.
+     * @throws IOException if the part cannot be sent.
+     */
+    void send(Path file, long offset, long length) throws IOException;
+}
@@ -29,10 +29,14 @@ import io.dataspaceconnector.exception.MessageRequestException;
 import io.dataspaceconnector.exception.VersionNotSupportedException;
 import okhttp3.MultipartBody;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CharSequenceInputStream;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 
@@ -41,6 +45,11 @@ import java.util.Map;
  */
 public final class MessageUtils {
 
+    /**
+     * The maximum initial size of the buffer used for encoding payloads.
+     */
+    private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+
     /**
      * Class constructor without params.
      */
@@ -232,6 +241,40 @@ public final class MessageUtils {
         return message.get("payload");
     }
 
+    /**
+     * Encode data as Base64 for the payload of an ids message. The data is encoded while it is
+     * read, so the raw data is never held in memory as a whole.
+     *
+     * @param data The data. Will be closed.
+     * @return The Base64 encoded data.
+     * @throws IOException If the data could not be read.
+     */
+    public static String encodePayload(final InputStream data) throws IOException {
+        final var estimate = 4 * (data.available() / 3 + 1L);
+        final var output = new ByteArrayOutputStream((int) Math.min(estimate, MAX_BUFFER_SIZE));
+        try (data; var encoder = Base64.getEncoder().wrap(output)) {
+            data.transferTo(encoder);
+        }
+
+        return output.toString(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Decode the Base64 payload of an ids message. The data is decoded lazily while the
+     * returned stream is read. Reading fails with an IOException if the payload contains
+     * characters outside of the Base64 alphabet.
+     *
+     * @param payload The Base64 encoded payload.
+     * @return The decoded data.
+     * @throws IllegalArgumentException If the payload is null.
+     */
+    public static InputStream decodePayload(final String payload) {
+        Utils.requireNonNull(payload, ErrorMessage.MISSING_PAYLOAD);
+        // Whitespace around the payload may be left over from the multipart framing.
+        return Base64.getDecoder().wrap(
+                new CharSequenceInputStream(payload.strip(), StandardCharsets.US_ASCII));
+    }
+
     /**
      * Read string from stream. TODO Handle null payloads.
      *
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Data that can transfer a part of itself to an output stream without reading the data before
+ * it. Streams wrapping such data should implement this interface and delegate to it.
+ */
+public interface RangeTransferable {
+
+    /**
+     * Transfer a part of the data to the output stream. The stream has to be at its start.
+     *
+     * @param out    The output stream.
+     * @param offset The position of the first byte to transfer.
+     * @param length The number of bytes to transfer.
+     * @return The number of bytes transferred.
+     * @throws IOException if the data could not be transferred.
+     */
+    long transferTo(OutputStream out, long offset, long length) throws IOException;
+
+    /**
+     * Hand a part of the data over to a target sending it from the file the data is read from.
+     * The stream has to be at its start.
+     *
+     * @param target The target sending the data.
+     * @param offset The position of the first byte to send.
+     * @param length The number of bytes to send.
+     * @return The number of bytes handed over, -1 if the data is not read from a file.
+     * @throws IOException if the data could not be handed over.
+     */
+    long transferTo(FileRegionTarget target, long offset, long length) throws IOException;
+}
@@ -33,11 +33,16 @@ import io.dataspaceconnector.service.usagecontrol.PolicyPattern;
 import lombok.extern.log4j.Log4j2;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Function;
 
 /**
  * Contains utility methods for validating the content of ids rules.
@@ -45,6 +50,11 @@ import java.util.List;
 @Log4j2
 public final class RuleUtils {
 
+    /**
+     * The hash algorithm used for rule fingerprints.
+     */
+    private static final String FINGERPRINT_ALGORITHM = "SHA-256";
+
     /**
      * Constructor without params.
      */
@@ -145,6 +155,30 @@ public final class RuleUtils {
         return false;
     }
 
+    /**
+     * Gets the date at which data has to be deleted according to the post duties of a rule.
+     *
+     * @param rule The ids rule.
+     * @return The deletion date or null, if the rule does not demand a deletion.
+     * @throws DateTimeParseException If the date cannot be parsed.
+     */
+    public static ZonedDateTime getDeletionDate(final Rule rule) throws DateTimeParseException {
+        if (rule instanceof Permission) {
+            final var postDuties = ((Permission) rule).getPostDuty();
+            if (postDuties != null) {
+                for (final var duty : postDuties) {
+                    if (duty.getAction() != null && duty.getAction().contains(Action.DELETE)) {
+                        final var constraints = duty.getConstraint();
+                        return constraints == null || constraints.isEmpty() ? null
+                                : getDate(duty);
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
     /**
      * Checks if the specified duration since resource creation or the specified maximum date for
      * resource access has already been exceeded.
@@ -395,7 +429,8 @@ public final class RuleUtils {
      */
     private static boolean compareDuties(final List<? extends Permission> lList,
                                          final List<? extends Permission> rList) {
-        return Utils.compareList(lList, rList, RuleUtils::compareDuties);
+        return Utils.compareList(lList, rList, RuleUtils::canonicalizeDuties,
+                RuleUtils::compareDuties);
     }
 
     /**
@@ -407,7 +442,8 @@ public final class RuleUtils {
      */
     public static boolean compareRules(final List<? extends Rule> oldRules,
                                        final List<? extends Rule> newRules) {
-        return Utils.compareList(oldRules, newRules, RuleUtils::compareRule);
+        return Utils.compareList(oldRules, newRules, RuleUtils::getFingerprint,
+                RuleUtils::compareRule);
     }
 
     /**
@@ -453,6 +489,70 @@ public final class RuleUtils {
         return lObj.equals(rObj);
     }
 
+    /**
+     * Compute the fingerprint of an ids rule from its actions and constraints, independent of
+     * their order and of duplicates. Rules that {@link #compareRules(List, List)} considers equal
+     * have the same fingerprint, while rules with the same fingerprint still have to be compared.
+     *
+     * @param rule The ids rule.
+     * @return The hex encoded SHA-256 fingerprint.
+     */
+    public static String getFingerprint(final Rule rule) {
+        final var digest = createDigest();
+        final var hash = digest.digest(canonicalizeRule(rule).getBytes(StandardCharsets.UTF_8));
+
+        final var builder = new StringBuilder();
+        for (final var b : hash) {
+            builder.append(String.format("%02x", b));
+        }
+
+        return builder.toString();
+    }
+
+    private static String canonicalizeRule(final Rule rule) {
+        return "rule(" + canonicalize(rule.getAction(), String::valueOf) + ";"
+                + canonicalize(rule.getConstraint(), RuleUtils::canonicalizeConstraint) + ")";
+    }
+
+    private static String canonicalizeConstraint(final AbstractConstraint constraint) {
+        if (!(constraint instanceof ConstraintImpl)) {
+            // Only used for grouping, the constraints are still compared with each other.
+            return constraint.getClass().getName();
+        }
+
+        final var tmp = (ConstraintImpl) constraint;
+        final var rightOperand = tmp.getRightOperand();
+        return "constraint(" + tmp.getLeftOperand() + "," + tmp.getOperator() + ","
+                + (rightOperand == null ? null
+                : rightOperand.getValue() + "^^" + rightOperand.getType()) + ","
+                + tmp.getPipEndpoint() + ")";
+    }
+
+    private static <T extends Permission> String canonicalizeDuties(final T permission) {
+        return "duties(" + canonicalize(permission.getPreDuty(), RuleUtils::canonicalizeRule) + ";"
+                + canonicalize(permission.getPostDuty(), RuleUtils::canonicalizeRule) + ")";
+    }
+
+    private static <T> String canonicalize(final List<? extends T> list,
+                                           final Function<T, String> canonicalize) {
+        final var elements = new TreeSet<String>();
+        if (list != null) {
+            for (final T obj : list) {
+                elements.add(canonicalize.apply(obj));
+            }
+        }
+
+        return elements.toString();
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("Missing hash algorithm.", exception);
+        }
+    }
+
     /**
      * Get current system date.
      *
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * This class offers support functions for copying data between streams.
+ */
+public final class StreamUtils {
+
+    /**
+     * The size of the copy buffers.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The copy buffer per thread. Data is copied by pooled request threads, so the buffers are
+     * reused instead of being allocated for every transfer.
+     */
+    private static final ThreadLocal<byte[]> BUFFER =
+            ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    /**
+     * Default constructor.
+     */
+    private StreamUtils() {
+        // not used
+    }
+
+    /**
+     * Copy data from an input to an output stream. Neither of the streams is closed.
+     *
+     * @param in     The input stream.
+     * @param out    The output stream.
+     * @param length The maximum number of bytes to copy.
+     * @return The number of bytes copied.
+     * @throws IOException if the data could not be copied.
+     */
+    public static long copy(final InputStream in, final OutputStream out, final long length)
+            throws IOException {
+        final var buffer = BUFFER.get();
+        var copied = 0L;
+        while (copied < length) {
+            final var read = in.read(buffer, 0, (int) Math.min(buffer.length, length - copied));
+            if (read == -1) {
+                break;
+            }
+
+            out.write(buffer, 0, read);
+            copied += read;
+        }
+
+        return copied;
+    }
+
+    /**
+     * Skip exactly the given number of bytes of an input stream.
+     *
+     * @param in     The input stream.
+     * @param length The number of bytes to skip.
+     * @throws IOException if the stream ends before or cannot be skipped.
+     */
+    public static void skipFully(final InputStream in, final long length) throws IOException {
+        var remaining = length;
+        while (remaining > 0) {
+            final var skipped = in.skip(remaining);
+            if (skipped > 0) {
+                remaining -= skipped;
+            } else if (in.read() == -1) {
+                throw new EOFException("Unexpected end of data.");
+            } else {
+                remaining--;
+            }
+        }
+    }
+
+    /**
+     * Transfer a part of the data of an input stream, which has to be at its start. The ranged
+     * transfer of the stream is used if it is {@link RangeTransferable}, otherwise the data before
+     * the range is skipped.
+     *
+     * @param in     The input stream.
+     * @param out    The output stream.
+     * @param offset The position of the first byte to transfer.
+     * @param length The number of bytes to transfer.
+     * @return The number of bytes transferred.
+     * @throws IOException if the data could not be transferred.
+     */
+    public static long transferRange(final InputStream in, final OutputStream out,
+                                     final long offset, final long length) throws IOException {
+        if (in instanceof RangeTransferable) {
+            return ((RangeTransferable) in).transferTo(out, offset, length);
+        }
+
+        skipFully(in, offset);
+        return copy(in, out, length);
+    }
+
+    /**
+     * Hand a part of the data of an input stream, which has to be at its start, over to a target
+     * sending it from the file the data is read from.
+     *
+     * @param in     The input stream.
+     * @param target The target sending the data.
+     * @param offset The position of the first byte to send.
+     * @param length The number of bytes to send.
+     * @return The number of bytes handed over, -1 if the data is not read from a file.
+     * @throws IOException if the data could not be handed over.
+     */
+    public static long transferRange(final InputStream in, final FileRegionTarget target,
+                                     final long offset, final long length) throws IOException {
+        if (in instanceof RangeTransferable) {
+            return ((RangeTransferable) in).transferTo(target, offset, length);
+        }
+
+        return -1;
+    }
+}
@@ -30,6 +30,13 @@ import java.util.regex.Pattern;
  */
 public final class UUIDUtils {
 
+    /**
+     * Pattern matching a UUID.
+     */
+    private static final Pattern UUID_PATTERN = Pattern
+            .compile("\\p{XDigit}{8}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit"
+                    + "}{12}");
+
     /**
      * Default constructor.
      */
@@ -44,10 +51,7 @@ public final class UUIDUtils {
      * @return the list of found UUIDs.
      */
     public static List<String> findUuids(final String input) {
-        final var pairRegex = Pattern
-                .compile("\\p{XDigit}{8}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit"
-                        + "}{12}");
-        final var matcher = pairRegex.matcher(input);
+        final var matcher = UUID_PATTERN.matcher(input);
 
         // Extract all UUIDs
         final var output = new ArrayList<String>();
@@ -17,9 +17,12 @@ package io.dataspaceconnector.util;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
@@ -102,7 +105,7 @@ public final class Utils {
 
         final var start = (int) pageable.getOffset();
 
-        if (start > pageable.getPageSize()) {
+        if (start >= list.size()) {
             // There are no more list elements.
             return new PageImpl<>(new ArrayList<>(), pageable, list.size());
         }
@@ -191,6 +194,51 @@ public final class Utils {
         return isSame;
     }
 
+    /**
+     * Compare two lists to each other. Elements are grouped by their fingerprint first, so that
+     * only elements with the same fingerprint are compared. The fingerprint has to be equal for
+     * all elements the comparison considers equal.
+     *
+     * @param lList       One list.
+     * @param rList       The other list.
+     * @param fingerprint The function computing the fingerprint of an element.
+     * @param compare     The function that should be used for comparison.
+     * @param <T>         Type of the list.
+     * @return True if lists are equal, false if not.
+     */
+    public static <T> boolean compareList(final List<? extends T> lList,
+                                          final List<? extends T> rList,
+                                          final Function<T, String> fingerprint,
+                                          final BiFunction<T, T, Boolean> compare) {
+        final var lBuckets = groupBy(lList, fingerprint);
+        final var rBuckets = groupBy(rList, fingerprint);
+
+        if (!lBuckets.keySet().equals(rBuckets.keySet())) {
+            // At least one element has no counterpart
+            return false;
+        }
+
+        for (final var entry : lBuckets.entrySet()) {
+            if (!compareList(entry.getValue(), rBuckets.get(entry.getKey()), compare)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static <T> Map<String, List<T>> groupBy(final List<? extends T> list,
+                                                    final Function<T, String> fingerprint) {
+        final var output = new HashMap<String, List<T>>();
+        if (list != null) {
+            for (final T obj : list) {
+                output.computeIfAbsent(fingerprint.apply(obj), x -> new ArrayList<>()).add(obj);
+            }
+        }
+
+        return output;
+    }
+
     private static <T> List<? extends T> makeUnique(final List<? extends T> list,
                                                     final BiFunction<T, T, Boolean> compare) {
         final var output = new ArrayList<>(list);
@@ -16,27 +16,40 @@
 package io.configmanager.extensions.routes.camel;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
+import de.fraunhofer.iais.eis.AppRoute;
 import de.fraunhofer.iais.eis.AppRouteBuilder;
 import de.fraunhofer.iais.eis.BasicAuthenticationBuilder;
+import de.fraunhofer.iais.eis.EndpointBuilder;
 import de.fraunhofer.iais.eis.GenericEndpointBuilder;
 import de.fraunhofer.iais.eis.util.Util;
 import io.configmanager.extensions.routes.camel.exceptions.RouteCreationException;
 import io.dataspaceconnector.camel.config.CamelConfig;
+import io.dataspaceconnector.camel.util.RouteDefinitionReader;
 import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@SpringBootTest(classes = {RouteManager.class, RouteConfigurer.class, CamelConfig.class, DefaultCamelContext.class})
+@SpringBootTest(classes = {RouteManager.class, RouteConfigurer.class, CamelConfig.class,
+        RouteDefinitionReader.class, DefaultCamelContext.class})
 public class RouteManagerTest {
     @Autowired
     private RouteManager routeManager;
 
-    @Autowired
+    @SpyBean
     private DefaultCamelContext camelContext;
 
     @Test
@@ -58,4 +71,85 @@ public class RouteManagerTest {
         routeManager.createAndDeployXMLRoute(appRoute);
         assertTrue(camelContext.getRouteDefinitions().get(0).toString().startsWith("Route(app-route_" + uuid + ")"));
     }
+
+    @Test
+    void createAndDeployXMLRoutes_validAppRoutes_deployAllRoutes() {
+        /* ARRANGE */
+        final var uuids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        final var appRoutes = new ArrayList<AppRoute>();
+        for (final var uuid : uuids) {
+            appRoutes.add(getAppRoute(uuid));
+        }
+
+        /* ACT */
+        routeManager.createAndDeployXMLRoutes(appRoutes);
+
+        /* ASSERT */
+        assertEquals(3, camelContext.getRouteDefinitions().size());
+        for (final var uuid : uuids) {
+            assertNotNull(camelContext.getRouteDefinition("app-route_" + uuid));
+        }
+    }
+
+    @Test
+    void createAndDeployXMLRoutes_oneInvalidAppRoute_deployNoRoutes() {
+        /* ARRANGE */
+        final var invalid = new AppRouteBuilder(URI.create("http://approute/" + UUID.randomUUID()))
+                ._routeDeployMethod_("CAMEL")
+                ._appRouteStart_(Util.asList(new EndpointBuilder()
+                        ._accessURL_(URI.create("http://test")).build()))
+                ._appRouteOutput_(Util.asList())
+                ._appRouteEnd_(Util.asList(new EndpointBuilder()
+                        ._accessURL_(URI.create("http://test")).build()))
+                .build();
+        final var appRoutes = List.of(getAppRoute(UUID.randomUUID()), invalid);
+
+        /* ACT && ASSERT */
+        assertThrows(RouteCreationException.class,
+                () -> routeManager.createAndDeployXMLRoutes(appRoutes));
+        assertTrue(camelContext.getRouteDefinitions().isEmpty());
+    }
+
+    @Test
+    void createAndDeployXMLRoutes_addingRoutesFails_restorePreviousRoutes() throws Exception {
+        /* ARRANGE */
+        final var deployed = UUID.randomUUID();
+        final var added = UUID.randomUUID();
+        routeManager.createAndDeployXMLRoutes(List.of(getAppRoute(deployed)));
+
+        Mockito.doAnswer(invocation -> {
+            invocation.callRealMethod();
+            throw new IllegalStateException("Cannot start route.");
+        }).doCallRealMethod().when(camelContext).addRouteDefinitions(Mockito.anyCollection());
+
+        final var appRoutes = List.of(getAppRoute(deployed), getAppRoute(added));
+
+        /* ACT && ASSERT */
+        assertThrows(RouteCreationException.class,
+                () -> routeManager.createAndDeployXMLRoutes(appRoutes));
+        assertEquals(1, camelContext.getRouteDefinitions().size());
+        assertNotNull(camelContext.getRouteDefinition("app-route_" + deployed));
+        assertNull(camelContext.getRouteDefinition("app-route_" + added));
+    }
+
+    @AfterEach
+    void removeRoutes() throws Exception {
+        camelContext.removeRouteDefinitions(new ArrayList<>(camelContext.getRouteDefinitions()));
+    }
+
+    private AppRoute getAppRoute(final UUID uuid) {
+        final var authentication = new BasicAuthenticationBuilder()
+                ._authPassword_("test")._authUsername_("test").build();
+
+        return new AppRouteBuilder(URI.create("http://approute/" + uuid))
+                ._routeDeployMethod_("CAMEL")
+                ._appRouteStart_(Util.asList(new GenericEndpointBuilder()
+                        ._genericEndpointAuthentication_(authentication)
+                        ._accessURL_(URI.create("http://test")).build()))
+                ._appRouteOutput_(Util.asList())
+                ._appRouteEnd_(Util.asList(new GenericEndpointBuilder()
+                        ._genericEndpointAuthentication_(authentication)
+                        ._accessURL_(URI.create("http://test")).build()))
+                .build();
+    }
 }
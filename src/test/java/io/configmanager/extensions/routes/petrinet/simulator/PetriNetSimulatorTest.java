@@ -0,0 +1,213 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.configmanager.extensions.routes.petrinet.simulator;
+
+import io.configmanager.extensions.routes.petrinet.model.Arc;
+import io.configmanager.extensions.routes.petrinet.model.ArcImpl;
+import io.configmanager.extensions.routes.petrinet.model.Node;
+import io.configmanager.extensions.routes.petrinet.model.PetriNet;
+import io.configmanager.extensions.routes.petrinet.model.PetriNetImpl;
+import io.configmanager.extensions.routes.petrinet.model.Place;
+import io.configmanager.extensions.routes.petrinet.model.PlaceImpl;
+import io.configmanager.extensions.routes.petrinet.model.TransitionImpl;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PetriNetSimulatorTest {
+
+    @Test
+    void buildStepGraph_sequence_containEveryMarkingOnce() {
+        /* ARRANGE */
+        final var petriNet = buildSequence();
+
+        /* ACT */
+        final var graph = PetriNetSimulator.buildStepGraph(petriNet);
+
+        /* ASSERT */
+        assertEquals(3, graph.getSteps().size());
+        assertEquals(2, graph.getArcs().size());
+        assertFalse(graph.isTruncated());
+        assertTrue(graph.getSteps().contains(petriNet));
+        assertEquals(1, getMarkers(petriNet, "place://start"));
+    }
+
+    @Test
+    void buildStepGraph_cycle_reuseKnownMarkings() {
+        /* ARRANGE */
+        final var petriNet = buildSequence();
+        final var start = findPlace(petriNet, "place://start");
+        final var end = findPlace(petriNet, "place://end");
+        final var back = new TransitionImpl(URI.create("trans://back"));
+        petriNet.getNodes().add(back);
+        petriNet.getArcs().add(new ArcImpl(end, back));
+        petriNet.getArcs().add(new ArcImpl(back, start));
+
+        /* ACT */
+        final var graph = PetriNetSimulator.buildStepGraph(petriNet);
+
+        /* ASSERT */
+        assertEquals(3, graph.getSteps().size());
+        assertEquals(3, graph.getArcs().size());
+        assertFalse(graph.isTruncated());
+    }
+
+    @Test
+    void buildStepGraph_unboundedNet_stopAtStateLimit() {
+        /* ARRANGE */
+        final var place = new PlaceImpl(URI.create("place://place"));
+        place.setMarkers(1);
+        final var counter = new PlaceImpl(URI.create("place://counter"));
+        final var generate = new TransitionImpl(URI.create("trans://generate"));
+        final var nodes = new HashSet<Node>(List.of(place, counter, generate));
+        final var arcs = new HashSet<Arc>(List.of(
+                new ArcImpl(place, generate),
+                new ArcImpl(generate, place),
+                new ArcImpl(generate, counter)));
+        final var petriNet = new PetriNetImpl(URI.create("https://petrinet"), nodes, arcs);
+
+        /* ACT */
+        final var graph = PetriNetSimulator.buildStepGraph(petriNet, 10);
+
+        /* ASSERT */
+        assertEquals(10, graph.getSteps().size());
+        assertTrue(graph.isTruncated());
+    }
+
+    @Test
+    void getAllPaths_sequence_returnLongestPathPerStart() {
+        /* ARRANGE */
+        final var petriNet = buildSequence();
+        final var graph = PetriNetSimulator.buildStepGraph(petriNet);
+
+        /* ACT */
+        final var paths = PetriNetSimulator.getAllPaths(graph);
+
+        /* ASSERT */
+        assertEquals(4, paths.size());
+        assertEquals(List.of("trans://second", "place://end"), toIds(paths.get(0)));
+        assertEquals(List.of("place://start", "trans://first", "place://middle",
+                "trans://second", "place://end"), toIds(paths.get(3)));
+    }
+
+    @Test
+    void getAllPaths_cycle_endPathsOnRepeatedNodeAndSortThemLast() {
+        /* ARRANGE */
+        final var petriNet = buildSequence();
+        final var start = findPlace(petriNet, "place://start");
+        final var end = findPlace(petriNet, "place://end");
+        final var back = new TransitionImpl(URI.create("trans://back"));
+        petriNet.getNodes().add(back);
+        petriNet.getArcs().add(new ArcImpl(end, back));
+        petriNet.getArcs().add(new ArcImpl(back, start));
+        final var graph = PetriNetSimulator.buildStepGraph(petriNet);
+
+        /* ACT */
+        final var paths = PetriNetSimulator.getAllPaths(graph);
+
+        /* ASSERT */
+        assertEquals(6, paths.size());
+        for (final var path : paths) {
+            assertEquals(7, path.size());
+            assertEquals(path.get(0), path.get(6));
+            assertFalse(PetriNetSimulator.circleFree(path));
+        }
+    }
+
+    @Test
+    void getAllPaths_pathLimitExceeded_returnEmpty() {
+        /* ARRANGE */
+        final var graph = PetriNetSimulator.buildStepGraph(buildSequence());
+
+        /* ACT */
+        final var paths = PetriNetSimulator.getAllPaths(graph, 3);
+
+        /* ASSERT */
+        assertTrue(paths.isEmpty());
+    }
+
+    @Test
+    void getAllPaths_pathLimitReached_returnAllPaths() {
+        /* ARRANGE */
+        final var graph = PetriNetSimulator.buildStepGraph(buildSequence());
+
+        /* ACT */
+        final var paths = PetriNetSimulator.getAllPaths(graph, 4);
+
+        /* ASSERT */
+        assertTrue(paths.isPresent());
+        assertEquals(4, paths.get().size());
+    }
+
+    @Test
+    void visitPaths_visitorRejectsPath_stopEnumeration() {
+        /* ARRANGE */
+        final var graph = PetriNetSimulator.buildStepGraph(buildSequence());
+        final var visited = new ArrayList<List<Node>>();
+
+        /* ACT */
+        final var complete = PetriNetSimulator.visitPaths(graph, path -> {
+            visited.add(path);
+            return false;
+        });
+
+        /* ASSERT */
+        assertFalse(complete);
+        assertEquals(1, visited.size());
+    }
+
+    private PetriNet buildSequence() {
+        final var start = new PlaceImpl(URI.create("place://start"));
+        start.setMarkers(1);
+        final var middle = new PlaceImpl(URI.create("place://middle"));
+        final var end = new PlaceImpl(URI.create("place://end"));
+        final var first = new TransitionImpl(URI.create("trans://first"));
+        final var second = new TransitionImpl(URI.create("trans://second"));
+
+        final var nodes = new HashSet<Node>(List.of(start, middle, end, first, second));
+        final var arcs = new HashSet<Arc>(List.of(
+                new ArcImpl(start, first),
+                new ArcImpl(first, middle),
+                new ArcImpl(middle, second),
+                new ArcImpl(second, end)));
+
+        return new PetriNetImpl(URI.create("https://petrinet"), nodes, arcs);
+    }
+
+    private Place findPlace(final PetriNet petriNet, final String id) {
+        return petriNet.getNodes().stream()
+                .filter(node -> node.getID().equals(URI.create(id)))
+                .map(Place.class::cast)
+                .findAny()
+                .orElseThrow();
+    }
+
+    private List<String> toIds(final List<Node> path) {
+        return path.stream().map(node -> node.getID().toString()).collect(Collectors.toList());
+    }
+
+    private int getMarkers(final PetriNet petriNet, final String id) {
+        return findPlace(petriNet, id).getMarkers();
+    }
+}
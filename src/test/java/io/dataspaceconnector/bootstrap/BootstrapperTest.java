@@ -25,6 +25,7 @@ import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import javax.xml.datatype.DatatypeFactory;
 
@@ -35,6 +36,7 @@ import de.fraunhofer.ids.messaging.requests.MessageContainer;
 import io.dataspaceconnector.camel.route.handler.IdscpServerRoute;
 import io.dataspaceconnector.model.template.CatalogTemplate;
 import io.dataspaceconnector.service.message.GlobalMessageService;
+import io.dataspaceconnector.service.resource.BatchTemplateBuilder;
 import io.dataspaceconnector.service.resource.CatalogService;
 import io.dataspaceconnector.service.resource.TemplateBuilder;
 import io.dataspaceconnector.util.Utils;
@@ -44,6 +46,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -66,6 +69,9 @@ public class BootstrapperTest {
     @MockBean
     TemplateBuilder<OfferedResource, OfferedResourceDesc> templateBuilder;
 
+    @SpyBean
+    BatchTemplateBuilder batchTemplateBuilder;
+
     @Autowired
     Bootstrapper bootstrapper;
 
@@ -112,6 +118,42 @@ public class BootstrapperTest {
         assertEquals(2, catalogService.getAll(Pageable.unpaged()).getSize());
     }
 
+    @SneakyThrows
+    @Test
+    public void bootstrap_catalogAlreadyBootstrapped_skipCatalog() {
+        /* ARRANGE */
+        final var knownCatalog = URI.create("https://w3id.org/idsa/autogen/resourceCatalog/"
+                + "12548e90-c094-424a-a207-6c736f817492");
+        Mockito.doReturn(Set.of(knownCatalog)).when(catalogService).getBootstrapIds();
+
+        Mockito.doAnswer(x -> createCatalog(x.getArgument(0)))
+               .when(templateBuilder)
+               .build(Mockito.any(CatalogTemplate.class));
+
+        /* ACT */
+        bootstrapper.bootstrap();
+
+        /* ASSERT */
+        Mockito.verify(templateBuilder, Mockito.times(1)).build(Mockito.any(CatalogTemplate.class));
+    }
+
+    @SneakyThrows
+    @Test
+    public void bootstrap_files_buildCatalogsInOneBatch() {
+        /* ARRANGE */
+        Mockito.doAnswer(x -> createCatalog(x.getArgument(0)))
+               .when(templateBuilder)
+               .build(Mockito.any(CatalogTemplate.class));
+
+        /* ACT */
+        bootstrapper.bootstrap();
+
+        /* ASSERT */
+        Mockito.verify(batchTemplateBuilder, Mockito.times(1))
+               .build(Mockito.argThat(templates -> templates.size() == 2));
+        Mockito.verify(templateBuilder, Mockito.times(2)).build(Mockito.any(CatalogTemplate.class));
+    }
+
 
     @SneakyThrows
     private Catalog getCatalogOne() {
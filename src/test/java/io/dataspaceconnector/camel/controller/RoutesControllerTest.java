@@ -18,8 +18,8 @@ package io.dataspaceconnector.camel.controller;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
 
+import io.dataspaceconnector.camel.util.RouteDefinitionReader;
 import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.model.RoutesDefinition;
 import org.junit.jupiter.api.Test;
@@ -43,7 +43,7 @@ public class RoutesControllerTest {
     private DefaultCamelContext camelContext;
 
     @MockBean
-    private Unmarshaller unmarshaller;
+    private RouteDefinitionReader routeDefinitionReader;
 
     @Autowired
     private RoutesController routesController;
@@ -60,7 +60,7 @@ public class RoutesControllerTest {
     @Test
     public void addRoutes_validRouteFile_returnStatusCode200() throws Exception {
         /* ARRANGE */
-        when(unmarshaller.unmarshal(any(InputStream.class))).thenReturn(new RoutesDefinition());
+        when(routeDefinitionReader.read(any(InputStream.class))).thenReturn(new RoutesDefinition());
         doNothing().when(camelContext).addRouteDefinitions(any());
 
         final var file = new MockMultipartFile("file", "routes.xml",
@@ -77,7 +77,7 @@ public class RoutesControllerTest {
     @Test
     public void addRoutes_invalidRouteFile_returnStatusCode400() throws Exception {
         /* ARRANGE */
-        when(unmarshaller.unmarshal(any(InputStream.class))).thenThrow(JAXBException.class);
+        when(routeDefinitionReader.read(any(InputStream.class))).thenThrow(JAXBException.class);
 
         final var file = new MockMultipartFile("file", "routes.xml",
                 "application/xml",
@@ -93,7 +93,7 @@ public class RoutesControllerTest {
     @Test
     public void addRoutes_errorAddingRoutesToContext_returnStatusCode500() throws Exception {
         /* ARRANGE */
-        when(unmarshaller.unmarshal(any(InputStream.class))).thenReturn(new RoutesDefinition());
+        when(routeDefinitionReader.read(any(InputStream.class))).thenReturn(new RoutesDefinition());
         doThrow(Exception.class).when(camelContext).addRouteDefinitions(any());
 
         final var file = new MockMultipartFile("file", "routes.xml",
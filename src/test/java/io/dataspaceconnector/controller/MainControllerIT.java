@@ -23,6 +23,7 @@ import de.fraunhofer.iais.eis.ConnectorEndpointBuilder;
 import de.fraunhofer.iais.eis.SecurityProfile;
 import de.fraunhofer.iais.eis.ids.jsonld.Serializer;
 import io.dataspaceconnector.service.ids.ConnectorService;
+import io.dataspaceconnector.service.ids.SelfDescription;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,7 +53,8 @@ class MainControllerIT {
     public void getPublicSelfDescription_nothing_returnValidDescription() throws Exception {
         /* ARRANGE */
         final var connector = getConnectorWithoutResources();
-        Mockito.when(connectorService.getConnectorWithoutResources()).thenReturn(connector);
+        Mockito.when(connectorService.getSelfDescriptionWithoutResources())
+                .thenReturn(new SelfDescription(connector.toRdf(), "\"1\""));
 
         /* ACT */
         final var result = mockMvc.perform(get("/")).andExpect(status().isOk()).andReturn();
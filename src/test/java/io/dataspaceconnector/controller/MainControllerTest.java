@@ -25,12 +25,14 @@ import de.fraunhofer.iais.eis.ConnectorEndpointBuilder;
 import de.fraunhofer.iais.eis.SecurityProfile;
 import io.dataspaceconnector.camel.route.handler.IdscpServerRoute;
 import io.dataspaceconnector.service.ids.ConnectorService;
+import io.dataspaceconnector.service.ids.SelfDescription;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
@@ -66,19 +68,35 @@ public class MainControllerTest {
                         ._accessURL_(URI.create("https://accessUrl"))
                         .build())
                 .build();
-        Mockito.doReturn(connector).when(connectorService).getConnectorWithoutResources();
+        Mockito.doReturn(new SelfDescription(connector.toRdf(), "\"1\""))
+                .when(connectorService).getSelfDescriptionWithoutResources();
 
         /* ACT */
         final var result = mockMvc.perform(get("/")).andExpect(status().isOk()).andReturn();
 
         /* ASSERT */
         assertEquals(connector.toRdf(), result.getResponse().getContentAsString());
+        assertEquals("\"1\"", result.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void getPublicSelfDescription_etagMatches_returnNotModified() throws Exception {
+        /* ARRANGE */
+        Mockito.doReturn(new SelfDescription("description", "\"1\""))
+                .when(connectorService).getSelfDescriptionWithoutResources();
+
+        /* ACT */
+        final var result = mockMvc.perform(get("/").header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andExpect(status().isNotModified()).andReturn();
+
+        /* ASSERT */
+        assertEquals("", result.getResponse().getContentAsString());
     }
 
     @Test
     public void getPublicSelfDescription_serviceFails_InternalServerError() throws Exception {
         /* ARRANGE */
-        Mockito.doThrow(ConstraintViolationException.class).when(connectorService).getConnectorWithoutResources();
+        Mockito.doThrow(ConstraintViolationException.class).when(connectorService).getSelfDescriptionWithoutResources();
 
         /* ACT */
         final var result = mockMvc.perform(get("/"))
@@ -108,7 +126,8 @@ public class MainControllerTest {
                         ._accessURL_(URI.create("https://accessUrl"))
                         .build())
                 .build();
-        Mockito.doReturn(connector).when(connectorService).getConnectorWithOfferedResources();
+        Mockito.doReturn(new SelfDescription(connector.toRdf(), "\"1\""))
+                .when(connectorService).getSelfDescriptionWithOfferedResources();
 
         /* ACT */
         final var result =
@@ -123,7 +142,7 @@ public class MainControllerTest {
     @WithMockUser("ADMIN")
     public void getPrivateSelfDescription_serviceFails_InternalServerError() throws Exception {
         /* ARRANGE */
-        Mockito.doThrow(ConstraintViolationException.class).when(connectorService).getConnectorWithOfferedResources();
+        Mockito.doThrow(ConstraintViolationException.class).when(connectorService).getSelfDescriptionWithOfferedResources();
 
         /* ACT */
         final var result = mockMvc.perform(get("/api/connector"))
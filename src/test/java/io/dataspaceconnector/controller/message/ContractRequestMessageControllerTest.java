@@ -15,13 +15,39 @@
  */
 package io.dataspaceconnector.controller.message;
 
+import java.net.ConnectException;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+
+import de.fraunhofer.iais.eis.DynamicAttributeTokenBuilder;
+import de.fraunhofer.iais.eis.TokenFormat;
+import io.dataspaceconnector.controller.resource.view.AgreementView;
+import io.dataspaceconnector.controller.resource.view.AgreementViewAssembler;
+import io.dataspaceconnector.exception.MessageException;
+import io.dataspaceconnector.model.agreement.Agreement;
+import io.dataspaceconnector.service.ArtifactDataDownloader;
+import io.dataspaceconnector.service.ContractNegotiator;
+import io.dataspaceconnector.service.EntityUpdateService;
+import io.dataspaceconnector.service.MetadataDownloader;
+import io.dataspaceconnector.service.ids.ConnectorService;
+import io.dataspaceconnector.service.resource.AgreementService;
+import io.dataspaceconnector.util.ErrorMessage;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import javax.persistence.PersistenceException;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -33,6 +59,30 @@ public class ContractRequestMessageControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ContractRequestMessageController controller;
+
+    @SpyBean
+    private ConnectorService connectorService;
+
+    @MockBean
+    private ContractNegotiator negotiator;
+
+    @MockBean
+    private MetadataDownloader metadataDownloader;
+
+    @MockBean
+    private EntityUpdateService updateService;
+
+    @MockBean
+    private ArtifactDataDownloader artifactDataDownloader;
+
+    @MockBean
+    private AgreementService agreementService;
+
+    @MockBean
+    private AgreementViewAssembler agreementAsm;
+
     @Test
     @WithMockUser("ADMIN")
     public void sendContractRequestMessage_noRecipient_throws400() throws Exception {
@@ -47,4 +97,46 @@ public class ContractRequestMessageControllerTest {
         assertTrue(result.getResponse().getContentAsString().isEmpty());
         assertEquals(400, result.getResponse().getStatus());
     }
+
+    @Test
+    @WithMockUser("ADMIN")
+    public void sendContractRequestMessage_someDownloadsFailed_returnAgreementAndReasons()
+            throws Exception {
+        /* ARRANGE */
+        final var recipient = URI.create("https://recipient.com");
+        final var artifacts = List.of(URI.create("https://provider/artifacts/1"),
+                URI.create("https://provider/artifacts/2"),
+                URI.create("https://provider/artifacts/3"));
+        final var agreementId = UUID.randomUUID();
+        final var agreement = new AgreementView();
+        agreement.add(Link.of("https://localhost/api/agreements/" + agreementId));
+
+        final var failures = new LinkedHashMap<URI, Exception>();
+        failures.put(artifacts.get(0), new MessageException(ErrorMessage.MESSAGE_SENDING_FAILED,
+                new ConnectException("Connection to 10.0.0.12:8080 refused")));
+        failures.put(artifacts.get(1), new PersistenceException("ERROR: relation data"));
+
+        Mockito.doReturn(new DynamicAttributeTokenBuilder()._tokenValue_("token")
+                ._tokenFormat_(TokenFormat.JWT).build()).when(connectorService).getCurrentDat();
+        Mockito.when(negotiator.negotiate(Mockito.eq(recipient), Mockito.any()))
+                .thenReturn(agreementId);
+        Mockito.when(artifactDataDownloader.download(recipient, artifacts, agreementId))
+                .thenReturn(failures);
+        Mockito.when(agreementAsm.toModel(Mockito.any())).thenReturn(agreement);
+        Mockito.when(agreementService.get(agreementId)).thenReturn(new Agreement());
+
+        /* ACT */
+        final var result = controller.sendMessage(recipient, List.of(), artifacts, true,
+                List.of());
+
+        /* ASSERT */
+        assertEquals(HttpStatus.CREATED, result.getStatusCode());
+        assertEquals(agreement, result.getBody());
+        assertEquals(List.of(
+                "<" + artifacts.get(0) + ">; reason=\"" + ErrorMessage.MESSAGE_SENDING_FAILED
+                        + "\"",
+                "<" + artifacts.get(1) + ">; reason=\"" + ErrorMessage.DATA_STORAGE_FAILED
+                        + "\""),
+                result.getHeaders().get(ContractRequestMessageController.FAILED_DOWNLOADS_HEADER));
+    }
 }
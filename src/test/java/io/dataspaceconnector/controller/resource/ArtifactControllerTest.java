@@ -16,11 +16,17 @@
 package io.dataspaceconnector.controller.resource;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Optional;
 import java.util.UUID;
 
 import de.fraunhofer.ids.messaging.protocol.UnexpectedResponseException;
 import io.dataspaceconnector.controller.resource.view.ArtifactViewAssembler;
+import io.dataspaceconnector.exception.UploadConflictException;
 import io.dataspaceconnector.model.artifact.Artifact;
 import io.dataspaceconnector.model.artifact.ArtifactFactory;
 import io.dataspaceconnector.repository.ArtifactRepository;
@@ -30,18 +36,31 @@ import io.dataspaceconnector.service.BlockingArtifactReceiver;
 import io.dataspaceconnector.service.HttpService;
 import io.dataspaceconnector.service.message.subscription.SubscriberNotificationService;
 import io.dataspaceconnector.service.resource.ArtifactService;
+import io.dataspaceconnector.service.resource.ArtifactUploadService;
+import io.dataspaceconnector.service.resource.ArtifactUploadService.UploadStatus;
+import io.dataspaceconnector.service.storage.DataStore;
+import io.dataspaceconnector.service.storage.FileChannelInputStream;
+import io.dataspaceconnector.service.storage.StoredData;
+import io.dataspaceconnector.service.storage.StoredDataInputStream;
 import io.dataspaceconnector.service.usagecontrol.DataAccessVerifier;
 import io.dataspaceconnector.util.QueryInput;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 
@@ -57,6 +76,9 @@ class ArtifactControllerTest {
     @MockBean
     private AuthenticationRepository authRepo;
 
+    @MockBean
+    private DataStore dataStore;
+
     @MockBean
     private ArtifactRepository artifactRepo;
 
@@ -78,6 +100,9 @@ class ArtifactControllerTest {
     @MockBean
     private SubscriberNotificationService subscriberNotificationService;
 
+    @MockBean
+    private ArtifactUploadService uploadService;
+
     @SpyBean
     private ArtifactService service;
 
@@ -89,15 +114,256 @@ class ArtifactControllerTest {
         /* ARRANGE */
         final var artifactId = UUID.randomUUID();
         final byte[] data = {0 , 1, 2, 3};
+        final var request = new MockHttpServletRequest();
+        request.setContent(data);
 
+        /* ACT */
+        final var result = controller.putData(artifactId, null, null, request);
 
-        Mockito.doReturn(null).when(service).setData(eq(artifactId), any());
+        /* ASSERT */
+        assertEquals(HttpStatus.NO_CONTENT.value(), result.getStatusCode().value());
+        Mockito.verify(uploadService).upload(eq(artifactId), any());
+    }
+
+    @Test
+    public void putData_intermediateChunk_returnAcceptedWithRange() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final var request = new MockHttpServletRequest();
+        request.setContent(new byte[]{0, 1});
+
+        Mockito.doReturn(new UploadStatus("upload", 2, 4)).when(uploadService)
+                .uploadChunk(eq(artifactId), any(), eq(0L), eq(1L), eq(4L), any());
 
         /* ACT */
-        final var result = controller.putData(artifactId, data);
+        final var result = controller.putData(artifactId, "bytes 0-1/4", null, request);
 
         /* ASSERT */
-        assertEquals(HttpStatus.NO_CONTENT.value(), result.getStatusCode().value());
+        assertEquals(HttpStatus.ACCEPTED, result.getStatusCode());
+        assertEquals("bytes=0-1", result.getHeaders().getFirst(HttpHeaders.RANGE));
+        assertEquals("\"upload\"", result.getHeaders().getETag());
+    }
+
+    @Test
+    public void putData_lastChunk_returnNoContent() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final var request = new MockHttpServletRequest();
+        request.setContent(new byte[]{2, 3});
+
+        Mockito.doReturn(new UploadStatus("upload", 4, 4)).when(uploadService)
+                .uploadChunk(eq(artifactId), any(), eq(2L), eq(3L), eq(4L), any());
+
+        /* ACT */
+        final var result = controller.putData(artifactId, "bytes 2-3/4", null, request);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode());
+    }
+
+    @Test
+    public void putData_chunkOutOfOrder_returnConflict() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final var request = new MockHttpServletRequest();
+        request.setContent(new byte[]{3});
+
+        Mockito.doReturn(new UploadStatus("upload", 2, 4)).when(uploadService)
+                .uploadChunk(eq(artifactId), any(), eq(3L), eq(3L), eq(4L), any());
+
+        /* ACT */
+        final var result = controller.putData(artifactId, "bytes 3-3/4", null, request);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.CONFLICT, result.getStatusCode());
+        assertEquals("bytes=0-1", result.getHeaders().getFirst(HttpHeaders.RANGE));
+    }
+
+    @Test
+    public void putData_otherUploadId_returnPreconditionFailed() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final var request = new MockHttpServletRequest();
+        request.setContent(new byte[]{2});
+
+        Mockito.doThrow(new UploadConflictException("The upload id does not match."))
+                .when(uploadService)
+                .uploadChunk(eq(artifactId), any(), eq(2L), eq(2L), eq(4L), eq("old"));
+        Mockito.doReturn(new UploadStatus("upload", 2, 4)).when(uploadService)
+                .getStatus(artifactId);
+
+        /* ACT */
+        final var result = controller.putData(artifactId, "bytes 2-2/4", "\"old\"", request);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.PRECONDITION_FAILED, result.getStatusCode());
+        assertEquals("\"upload\"", result.getHeaders().getETag());
+    }
+
+    @Test
+    public void abortUpload_stagedUpload_returnNoContent() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        Mockito.doReturn(true).when(uploadService).abort(artifactId);
+
+        /* ACT */
+        final var result = controller.abortUpload(artifactId);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode());
+    }
+
+    @Test
+    public void putData_invalidContentRange_returnBadRequest() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final var request = new MockHttpServletRequest();
+
+        /* ACT */
+        final var result = controller.putData(artifactId, "bytes 3-1/4", null, request);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+    }
+
+    @Test
+    public void getData_storedData_returnLengthAndETag() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final var request = getDataRequest(artifactId);
+        mockStoredData(artifactId, new byte[]{0, 1, 2, 3});
+
+        /* ACT */
+        final var result = controller.getData(artifactId, null, null, null, new HashMap<>(),
+                request);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(4, result.getHeaders().getContentLength());
+        assertEquals("W/\"2a-4\"", result.getHeaders().getETag());
+        assertArrayEquals(new byte[]{0, 1, 2, 3}, readBody(result));
+    }
+
+    @Test
+    public void getData_storedFileWithSendfileSupport_letContainerSendFile(
+            @TempDir final Path root) throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final var file = Files.write(root.resolve("data"), new byte[64 * 1024]);
+        final var request = getDataRequest(artifactId);
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=1024-");
+        final var stored = new StoredDataInputStream(new FileChannelInputStream(file),
+                64 * 1024, 0x2a);
+        Mockito.doReturn(stored).when(service)
+                .getData(any(), any(), eq(artifactId), any(QueryInput.class));
+        Mockito.doReturn(Optional.of(new StoredData("key", 64 * 1024, 0x2a))).when(service)
+                .getStoredData(artifactId);
+
+        /* ACT */
+        final var result = controller.getData(artifactId, null, null, null, new HashMap<>(),
+                request);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.PARTIAL_CONTENT, result.getStatusCode());
+        assertEquals(63 * 1024, result.getHeaders().getContentLength());
+        assertNull(result.getBody());
+        assertEquals(file.toAbsolutePath().toString(),
+                request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(1024L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(64L * 1024, request.getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+
+    @Test
+    public void getData_matchingIfNoneMatch_returnNotModified() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final var request = getDataRequest(artifactId);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", \"2a-4\"");
+        mockStoredData(artifactId, new byte[]{0, 1, 2, 3});
+
+        /* ACT */
+        final var result = controller.getData(artifactId, null, null, null, new HashMap<>(),
+                request);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+        assertNull(result.getBody());
+        Mockito.verify(service, Mockito.never())
+                .getData(any(), any(), eq(artifactId), any(QueryInput.class));
+    }
+
+    @Test
+    public void getData_requestedDataWithIfNoneMatch_returnData() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final var request = getDataRequest(artifactId);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"2a-4\"");
+        mockStoredData(artifactId, new byte[]{0, 1, 2, 3});
+        Mockito.doReturn(Optional.empty()).when(service).getStoredData(artifactId);
+
+        /* ACT */
+        final var result = controller.getData(artifactId, null, null, null, new HashMap<>(),
+                request);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertArrayEquals(new byte[]{0, 1, 2, 3}, readBody(result));
+    }
+
+    @Test
+    public void getData_singleRange_returnPartialContent() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final var request = getDataRequest(artifactId);
+        request.addHeader(HttpHeaders.RANGE, "bytes=1-2");
+        mockStoredData(artifactId, new byte[]{0, 1, 2, 3});
+
+        /* ACT */
+        final var result = controller.getData(artifactId, null, null, null, new HashMap<>(),
+                request);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.PARTIAL_CONTENT, result.getStatusCode());
+        assertEquals("bytes 1-2/4", result.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(new byte[]{1, 2}, readBody(result));
+    }
+
+    @Test
+    public void getData_rangeWithIfRange_returnFullData() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final var request = getDataRequest(artifactId);
+        request.addHeader(HttpHeaders.RANGE, "bytes=1-2");
+        request.addHeader(HttpHeaders.IF_RANGE, "W/\"2a-4\"");
+        mockStoredData(artifactId, new byte[]{0, 1, 2, 3});
+
+        /* ACT */
+        final var result = controller.getData(artifactId, null, null, null, new HashMap<>(),
+                request);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertArrayEquals(new byte[]{0, 1, 2, 3}, readBody(result));
+    }
+
+    @Test
+    public void getData_rangeBeyondData_returnRangeNotSatisfiable() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final var request = getDataRequest(artifactId);
+        request.addHeader(HttpHeaders.RANGE, "bytes=4-");
+        mockStoredData(artifactId, new byte[]{0, 1, 2, 3});
+
+        /* ACT */
+        final var result = controller.getData(artifactId, null, null, null, new HashMap<>(),
+                request);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, result.getStatusCode());
+        assertEquals("bytes */4", result.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        Mockito.verify(service, Mockito.never())
+                .getData(any(), any(), eq(artifactId), any(QueryInput.class));
     }
 
     @Test
@@ -170,4 +436,27 @@ class ArtifactControllerTest {
 //        /* ASSERT */
 //        assertEquals(HttpStatus.OK.value(), result.getStatusCodeValue());
 //    }
+
+    private MockHttpServletRequest getDataRequest(final UUID artifactId) {
+        final var request = new MockHttpServletRequest("GET",
+                "/api/artifacts/" + artifactId + "/data");
+        request.setContextPath("");
+        return request;
+    }
+
+    private void mockStoredData(final UUID artifactId, final byte[] data) throws IOException {
+        final var stored = new StoredDataInputStream(new ByteArrayInputStream(data), data.length,
+                0x2a);
+        Mockito.doReturn(stored).when(service)
+                .getData(any(), any(), eq(artifactId), any(QueryInput.class));
+        Mockito.doReturn(Optional.of(new StoredData("key", data.length, 0x2a))).when(service)
+                .getStoredData(artifactId);
+    }
+
+    private byte[] readBody(final ResponseEntity<StreamingResponseBody> response)
+            throws IOException {
+        final var output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+        return output.toByteArray();
+    }
 }
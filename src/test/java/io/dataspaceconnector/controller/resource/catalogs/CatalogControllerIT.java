@@ -17,6 +17,7 @@ package io.dataspaceconnector.controller.resource.catalogs;
 
 import java.net.URI;
 
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -30,6 +31,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -107,4 +109,28 @@ class CatalogControllerIT {
         mockMvc.perform(delete(URI.create(newObj).getPath()))
                .andExpect(status().isNoContent());
     }
+
+    @Test
+    @WithMockUser("ADMIN")
+    void createBatch_validInput_returnNewCatalogsAndOffers() throws Exception {
+        final var offer = "{\"desc\":{\"title\":\"offer\"},"
+                + "\"representations\":[{\"desc\":{},"
+                + "\"artifacts\":[{\"desc\":{\"value\":\"data\"}}]}],"
+                + "\"contracts\":[{\"desc\":{}}]}";
+        final var catalog = "{\"desc\":{\"title\":\"catalog\"},"
+                + "\"offeredResources\":[" + offer + "," + offer + "]}";
+
+        final var result = mockMvc.perform(post("/api/catalogs/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + catalog + "," + catalog + "]"))
+               .andExpect(status().isCreated())
+               .andExpect(jsonPath("$.catalogs.length()").value(2))
+               .andExpect(jsonPath("$.catalogs[0].offers.length()").value(2))
+               .andReturn();
+
+        final var newObj = JsonPath.<String>read(
+                result.getResponse().getContentAsString(), "$.catalogs[1].offers[0]");
+
+        mockMvc.perform(get(URI.create(newObj).getPath())).andExpect(status().isOk());
+    }
 }
@@ -26,8 +26,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ContractRuleFactoryTest {
 
@@ -380,4 +382,34 @@ public class ContractRuleFactoryTest {
         /* ACT && ASSERT */
         assertThrows(IllegalArgumentException.class, () -> factory.update(contractRule, null));
     }
+
+    /**
+     * updateFingerprint.
+     */
+
+    @Test
+    public void updateFingerprint_newFingerprint_willUpdate() {
+        /* ARRANGE */
+        final var contractRule = factory.create(new ContractRuleDesc());
+
+        /* ACT */
+        final var result = factory.updateFingerprint(contractRule, "fingerprint");
+
+        /* ASSERT */
+        assertTrue(result);
+        assertEquals("fingerprint", contractRule.getFingerprint());
+    }
+
+    @Test
+    public void updateFingerprint_sameFingerprint_willNotUpdate() {
+        /* ARRANGE */
+        final var contractRule = factory.create(new ContractRuleDesc());
+        factory.updateFingerprint(contractRule, "fingerprint");
+
+        /* ACT */
+        final var result = factory.updateFingerprint(contractRule, "fingerprint");
+
+        /* ASSERT */
+        assertFalse(result);
+    }
 }
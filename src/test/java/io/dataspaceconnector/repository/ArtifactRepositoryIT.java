@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.repository;
+
+import io.dataspaceconnector.model.artifact.ArtifactDesc;
+import io.dataspaceconnector.model.artifact.ArtifactFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ArtifactRepositoryIT {
+
+    @Autowired
+    private ArtifactRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void incrementAccessCounterBelow_parallelAccesses_countOnlyUpToMaximum()
+            throws Exception {
+        /* ARRANGE */
+        final var artifact = repository.saveAndFlush(
+                new ArtifactFactory().create(new ArtifactDesc()));
+        final var template = new TransactionTemplate(transactionManager);
+        final var threads = 16;
+        final var max = 5;
+
+        final var start = new CountDownLatch(1);
+        final var accesses = new ArrayList<Callable<Integer>>();
+        for (int i = 0; i < threads; i++) {
+            accesses.add(() -> {
+                start.await();
+                return template.execute(
+                        x -> repository.incrementAccessCounterBelow(artifact.getId(), max));
+            });
+        }
+
+        /* ACT */
+        final var executor = Executors.newFixedThreadPool(threads);
+        var granted = 0;
+        try {
+            final var results = new ArrayList<Future<Integer>>();
+            for (final var access : accesses) {
+                results.add(executor.submit(access));
+            }
+            start.countDown();
+            for (final var result : results) {
+                granted += result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        /* ASSERT */
+        assertEquals(max, granted);
+        assertEquals(max, (long) repository.findAccessCounter(artifact.getId()));
+    }
+}
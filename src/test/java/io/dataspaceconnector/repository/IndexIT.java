@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class IndexIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void schema_declaredIndexes_exist() {
+        /* ARRANGE */
+        final var expected = List.of(
+                "agreement_remote_id_idx", "artifact_remote_id_idx", "contract_remote_id_idx",
+                "contractrule_remote_id_idx", "representation_remote_id_idx",
+                "resource_remote_id_idx", "artifact_bootstrap_id_idx", "catalog_bootstrap_id_idx",
+                "catalog_offered_resources_owner_idx", "catalog_offered_resources_target_idx",
+                "catalog_requested_resources_owner_idx", "catalog_requested_resources_target_idx",
+                "resource_representations_owner_idx", "resource_representations_target_idx",
+                "resource_contracts_owner_idx", "resource_contracts_target_idx",
+                "contract_rules_owner_idx", "contract_rules_target_idx",
+                "representation_artifacts_owner_idx", "representation_artifacts_target_idx",
+                "agreement_artifacts_owner_idx", "agreement_artifacts_target_idx",
+                "broker_offered_resources_owner_idx", "broker_offered_resources_target_idx");
+
+        /* ACT */
+        final var indexes = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES", String.class));
+
+        /* ASSERT */
+        for (final var index : expected) {
+            assertTrue(indexes.contains(index), index);
+        }
+    }
+
+    @Test
+    public void identifyByRemoteId_artifact_useRemoteIdIndex() {
+        /* ARRANGE */
+        // Nothing to arrange here.
+
+        /* ACT */
+        final var plan = jdbcTemplate.queryForObject("EXPLAIN SELECT id FROM artifact "
+                + "WHERE remote_id = 'https://remote/artifact' AND deleted = false", String.class);
+
+        /* ASSERT */
+        assertTrue(plan.toLowerCase().contains("artifact_remote_id_idx"), plan);
+    }
+}
@@ -15,14 +15,23 @@
  */
 package io.dataspaceconnector.repository;
 
+import io.dataspaceconnector.model.contract.Contract;
 import io.dataspaceconnector.model.rule.ContractRule;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
@@ -31,6 +40,9 @@ class RuleRepositoryIT {
     @Autowired
     private RuleRepository repository;
 
+    @Autowired
+    private ContractRepository contractRepository;
+
     @Test
     public void rule_can_hold_min_1_gb() {
         /* ARRANGE */
@@ -40,6 +52,44 @@ class RuleRepositoryIT {
         assertDoesNotThrow(() -> repository.saveAndFlush(rule));
     }
 
+    @Test
+    @SneakyThrows
+    public void findAllByContract_paged_returnOnlyPage() {
+        /* ARRANGE */
+        final var rules = List.of(getRule(), getRule(), getRule());
+        repository.saveAllAndFlush(rules);
+
+        final var constructor = Contract.class.getConstructor();
+        constructor.setAccessible(true);
+        final var contract = constructor.newInstance();
+        ReflectionTestUtils.setField(contract, "rules", rules);
+        contractRepository.saveAndFlush(contract);
+
+        /* ACT */
+        final var first = repository.findAllByContract(contract.getId(), PageRequest.of(0, 2));
+        final var second = repository.findAllByContract(contract.getId(), PageRequest.of(1, 2));
+
+        /* ASSERT */
+        assertEquals(3, first.getTotalElements());
+        assertEquals(2, first.getNumberOfElements());
+        assertEquals(1, second.getNumberOfElements());
+
+        final var found = new HashSet<UUID>();
+        first.forEach(x -> found.add(x.getId()));
+        second.forEach(x -> found.add(x.getId()));
+        assertEquals(Set.of(rules.get(0).getId(), rules.get(1).getId(), rules.get(2).getId()),
+                found);
+    }
+
+    @SneakyThrows
+    private ContractRule getRule() {
+        final var constructor = ContractRule.class.getConstructor();
+        constructor.setAccessible(true);
+        final var rule = constructor.newInstance();
+        ReflectionTestUtils.setField(rule, "value", "{}");
+        return rule;
+    }
+
     // NOTE This needs to be tested with the postgres db.
 
     @SneakyThrows
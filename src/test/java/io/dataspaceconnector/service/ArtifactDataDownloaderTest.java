@@ -26,6 +26,7 @@ import io.dataspaceconnector.exception.UnexpectedResponseException;
 import io.dataspaceconnector.model.agreement.Agreement;
 import io.dataspaceconnector.service.message.type.ArtifactRequestService;
 import io.dataspaceconnector.service.resource.AgreementService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,10 +34,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 
-@SpringBootTest(classes = { ArtifactDataDownloader.class })
+@SpringBootTest(classes = { ArtifactDataDownloader.class, DownloadExecutor.class,
+        SimpleMeterRegistry.class })
 class ArtifactDataDownloaderTest {
     @MockBean
     private ArtifactRequestService artifactReqSvc;
@@ -93,4 +98,35 @@ class ArtifactDataDownloaderTest {
         /* ACT && ASSERT */
         assertThrows(PersistenceException.class, ()-> downloader.download(recipient, artifacts, agreementId));
     }
+
+    @Test
+    public void download_oneOfTwoStorageFails_reportFailureAndKeepOther()
+            throws IOException, UnexpectedResponseException {
+        /* ARRANGE */
+        final var recipient = URI.create("https://provider");
+        final var artifacts = Arrays.asList(URI.create("https://artifact1"),
+                URI.create("https://artifact2"));
+        final var agreementId = UUID.fromString("550e8400-e29b-11d4-a716-446655440000");
+
+        final var response = new HashMap<String, String>();
+        response.put("Hi", "Bye");
+
+        final var agreement = new Agreement();
+        ReflectionTestUtils.setField(agreement, "remoteId", URI.create("https//remoteId"));
+
+        Mockito.when(agreementService.get(eq(agreementId))).thenReturn(agreement);
+        Mockito.when(artifactReqSvc.sendMessage(eq(recipient), any(),
+                eq(agreement.getRemoteId()))).thenReturn(response);
+        Mockito.doThrow(IOException.class).when(persistenceSvc)
+                .saveData(eq(response), eq(artifacts.get(0)));
+
+        /* ACT */
+        final var failures = downloader.download(recipient, artifacts, agreementId);
+
+        /* ASSERT */
+        assertEquals(1, failures.size());
+        assertTrue(failures.get(artifacts.get(0)) instanceof PersistenceException);
+        Mockito.verify(persistenceSvc).saveData(eq(response), eq(artifacts.get(1)));
+        Mockito.verify(agreementService, Mockito.times(1)).get(eq(agreementId));
+    }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.dataspaceconnector.exception.UnexpectedResponseException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DownloadExecutorTest {
+
+    private final URI recipient = URI.create("https://recipient");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private DownloadExecutor executor;
+
+    @AfterEach
+    public void stopExecutor() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void downloadAll_validItems_returnResultsInOrder()
+            throws UnexpectedResponseException {
+        /* ARRANGE */
+        executor = new DownloadExecutor(registry, 4, 4);
+        final var items = Arrays.asList(URI.create("https://a"), URI.create("https://b"),
+                URI.create("https://c"));
+
+        /* ACT */
+        final var results = executor.downloadAll("test", recipient, items, URI::toString);
+
+        /* ASSERT */
+        assertEquals(3, results.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(items.get(i), results.get(i).getItem());
+            assertEquals(items.get(i).toString(), results.get(i).get());
+        }
+        assertEquals(0, registry.get("dsc.download.batches").gauge().value());
+        assertEquals(0, registry.get("dsc.download.pending").gauge().value());
+    }
+
+    @Test
+    public void downloadAll_failingItem_reportFailureAndContinue() {
+        /* ARRANGE */
+        executor = new DownloadExecutor(registry, 2, 1);
+        final var items = Arrays.asList(URI.create("https://a"), URI.create("https://b"));
+
+        /* ACT */
+        final var results = executor.downloadAll("test", recipient, items, item -> {
+            if (item.equals(items.get(0))) {
+                throw new IllegalStateException();
+            }
+            return item;
+        });
+
+        /* ASSERT */
+        assertFalse(results.get(0).isSuccess());
+        assertThrows(IllegalStateException.class, () -> results.get(0).get());
+        assertTrue(results.get(1).isSuccess());
+        assertEquals(1, registry.get("dsc.download.failed").counter().count());
+    }
+
+    @Test
+    public void downloadAll_recipientLimit_boundConcurrentDownloads() {
+        /* ARRANGE */
+        executor = new DownloadExecutor(registry, 8, 2);
+        final var items = Arrays.asList(URI.create("https://a"), URI.create("https://b"),
+                URI.create("https://c"), URI.create("https://d"), URI.create("https://e"),
+                URI.create("https://f"));
+        final var active = new AtomicInteger();
+        final var maxActive = new AtomicInteger();
+
+        /* ACT */
+        final var results = executor.downloadAll("test", recipient, items, item -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            active.decrementAndGet();
+            return item;
+        });
+
+        /* ASSERT */
+        assertEquals(items.size(), results.size());
+        assertTrue(maxActive.get() <= 2);
+    }
+
+    @Test
+    public void downloadAll_otherRecipientBusy_downloadWithoutWaiting() throws Exception {
+        /* ARRANGE */
+        executor = new DownloadExecutor(registry, 2, 1);
+        final var items = Arrays.asList(URI.create("https://a"), URI.create("https://b"),
+                URI.create("https://c"));
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var caller = Executors.newSingleThreadExecutor();
+        final var busy = caller.submit(() -> executor.downloadAll("test",
+                URI.create("https://busy"), items, item -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return item;
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        /* ACT */
+        final var results = executor.downloadAll("test", recipient, items, item -> item);
+
+        /* ASSERT */
+        assertEquals(items.size(), results.size());
+        assertEquals(2, registry.get("dsc.download.waiting").gauge().value());
+        release.countDown();
+        assertEquals(items.size(), busy.get(5, TimeUnit.SECONDS).size());
+        caller.shutdown();
+    }
+}
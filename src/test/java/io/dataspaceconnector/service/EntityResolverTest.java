@@ -59,6 +59,7 @@ import io.dataspaceconnector.service.resource.RepresentationService;
 import io.dataspaceconnector.service.resource.ResourceService;
 import io.dataspaceconnector.service.resource.RuleService;
 import io.dataspaceconnector.service.usagecontrol.AllowAccessVerifier;
+import io.dataspaceconnector.service.usagecontrol.PolicyCache;
 import io.dataspaceconnector.util.IdsUtils;
 import io.dataspaceconnector.util.QueryInput;
 import lombok.SneakyThrows;
@@ -78,7 +79,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
-@SpringBootTest(classes = {EntityResolver.class})
+@SpringBootTest(classes = {EntityResolver.class, PolicyCache.class})
 public class EntityResolverTest {
 
     @MockBean
@@ -25,13 +25,17 @@ import io.dataspaceconnector.model.auth.Authentication;
 import io.dataspaceconnector.model.auth.BasicAuth;
 import io.dataspaceconnector.util.QueryInput;
 import io.dataspaceconnector.util.exception.NotImplemented;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentracing.mock.MockTracer;
 import okhttp3.MediaType;
 import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 import org.bouncycastle.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -41,7 +45,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@SpringBootTest(classes = {HttpService.class})
+@SpringBootTest(classes = {HttpService.class, SimpleMeterRegistry.class, MockTracer.class})
 class HttpServiceTest {
 
     @MockBean
@@ -50,6 +54,14 @@ class HttpServiceTest {
     @Autowired
     HttpService service;
 
+    @Autowired
+    MockTracer tracer;
+
+    @BeforeEach
+    public void init() {
+        tracer.reset();
+    }
+
     @Test
     public void toArgs_null_emptyArgs() {
         /* ARRANGE */
@@ -141,18 +153,51 @@ class HttpServiceTest {
                 .build();
 
         Mockito.doReturn(response).when(httpSvc).get(Mockito.any());
+        Mockito.doReturn(response).when(httpSvc).getWithHeaders(Mockito.any(), Mockito.any());
 
         /* ACT */
         final var result = service.request(HttpService.Method.GET, target, args);
 
         /* ASSERT */
         Mockito.doReturn(response2).when(httpSvc).get(Mockito.any());
+        Mockito.doReturn(response2).when(httpSvc).getWithHeaders(Mockito.any(), Mockito.any());
         final var expected = service.get(target, args);
         assertEquals(expected.getCode(), result.getCode());
         assertTrue(Arrays.areEqual("someBody".getBytes(StandardCharsets.UTF_8),
                 result.getBody().readAllBytes()));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void get_validTarget_propagateTraceContext() throws IOException {
+        /* ARRANGE */
+        final var target = new URL("https://someTarget");
+        final var args = new HttpService.HttpArgs();
+        args.setHeaders(Map.of("C", "CV"));
+
+        final var response = new Response.Builder()
+                .request(new Request.Builder().url(target).build())
+                .protocol(Protocol.HTTP_1_1).code(200).message("Some message")
+                .body(ResponseBody.create("someBody", MediaType.parse("application/text")))
+                .build();
+        Mockito.doReturn(response).when(httpSvc).getWithHeaders(Mockito.any(), Mockito.any());
+
+        /* ACT */
+        service.get(target, args);
+
+        /* ASSERT */
+        final var headers = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(httpSvc).getWithHeaders(Mockito.any(), headers.capture());
+
+        final var spans = tracer.finishedSpans();
+        assertEquals(1, spans.size());
+        assertEquals("HTTP GET", spans.get(0).operationName());
+        assertEquals(200, spans.get(0).tags().get("http.status_code"));
+        assertEquals("CV", headers.getValue().get("C"));
+        assertEquals(String.valueOf(spans.get(0).context().spanId()),
+                headers.getValue().get("spanid"));
+    }
+
     @Test
     public void request_null_throwNotImplemented() throws IOException {
         /* ARRANGE */
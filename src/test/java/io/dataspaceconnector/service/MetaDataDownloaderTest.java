@@ -20,16 +20,22 @@ import java.util.Arrays;
 import java.util.HashMap;
 
 import io.dataspaceconnector.exception.UnexpectedResponseException;
+import io.dataspaceconnector.exception.MessageException;
 import io.dataspaceconnector.service.message.type.DescriptionRequestService;
+import io.dataspaceconnector.util.ErrorMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 
-@SpringBootTest(classes = { MetadataDownloader.class })
+@SpringBootTest(classes = { MetadataDownloader.class, DownloadExecutor.class,
+        SimpleMeterRegistry.class })
 class MetaDataDownloaderTest {
 
     @MockBean
@@ -62,4 +68,27 @@ class MetaDataDownloaderTest {
         Mockito.verify(persistenceSvc, Mockito.atLeastOnce())
                .saveMetadata(eq(response), eq(artifactList), eq(download), eq(recipient));
     }
+
+    @Test
+    void download_secondResourceFails_saveFirstAndThrow() throws UnexpectedResponseException {
+        /* ARRANGE */
+        final var response = new HashMap<String, String>();
+        response.put("Hi", "Bye");
+
+        final var recipient = URI.create("https://someOne");
+        final var resourceList = Arrays.asList(URI.create("https://resource1"),
+                URI.create("https://resource2"));
+        final var artifactList = Arrays.asList(URI.create("https://artifact1"));
+
+        Mockito.when(descReqSvc.sendMessage(eq(recipient), eq(resourceList.get(0))))
+               .thenReturn(response);
+        Mockito.when(descReqSvc.sendMessage(eq(recipient), eq(resourceList.get(1))))
+               .thenThrow(new MessageException(ErrorMessage.MESSAGE_SENDING_FAILED, null));
+
+        /* ACT && ASSERT */
+        assertThrows(MessageException.class,
+                () -> downloader.download(recipient, resourceList, artifactList, false));
+        Mockito.verify(persistenceSvc, Mockito.times(1))
+               .saveMetadata(any(), any(), eq(false), eq(recipient));
+    }
 }
@@ -15,16 +15,21 @@
  */
 package io.dataspaceconnector.service.configuration;
 
+import java.util.List;
 import java.util.UUID;
 
 import io.dataspaceconnector.model.datasource.DataSource;
 import io.dataspaceconnector.model.endpoint.GenericEndpoint;
+import io.dataspaceconnector.model.route.Route;
 import io.dataspaceconnector.repository.GenericEndpointRepository;
+import io.dataspaceconnector.repository.RouteRepository;
+import io.dataspaceconnector.service.configuration.util.RouteHelper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.eq;
@@ -38,6 +43,12 @@ class GenericEndpointServiceTest {
     @MockBean
     private GenericEndpointRepository repository;
 
+    @MockBean
+    private RouteRepository routeRepository;
+
+    @MockBean
+    private RouteHelper routeHelper;
+
     @SpyBean
     private GenericEndpointService service;
 
@@ -60,4 +71,27 @@ class GenericEndpointServiceTest {
         Mockito.verify(repository, Mockito.atLeastOnce()).saveAndFlush(eq(endpoint));
         assertEquals(endpoint.getDataSource(), datasource);
     }
+
+    @Test
+    public void setGenericEndpoint_endpointUsedByRoutes_redeployRoutesAtOnce() {
+        /* ARRANGE */
+        final var endpointId = UUID.fromString("550e8400-e29b-11d4-a716-446655440000");
+        final var dataSourceId = UUID.fromString("550e8400-e29b-11d4-a716-446655441111");
+
+        final var endpoint = new GenericEndpoint();
+        ReflectionTestUtils.setField(endpoint, "id", endpointId);
+        Mockito.doReturn(endpoint).when(service).get(endpointId);
+        Mockito.when(dataSourceService.get(eq(dataSourceId))).thenReturn(new DataSource());
+
+        final var routes = List.of(new Route(), new Route());
+        Mockito.when(routeRepository.findTopLevelRoutesByEndpoint(eq(endpointId)))
+                .thenReturn(routes);
+
+        /* ACT */
+        service.setGenericEndpointDataSource(endpointId, dataSourceId);
+
+        /* ASSERT */
+        Mockito.verify(routeHelper, Mockito.times(1)).deploy(eq(routes));
+        Mockito.verify(routeHelper, Mockito.never()).deploy(Mockito.any(Route.class));
+    }
 }
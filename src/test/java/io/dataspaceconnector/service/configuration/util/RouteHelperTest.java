@@ -17,6 +17,7 @@ package io.dataspaceconnector.service.configuration.util;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import de.fraunhofer.iais.eis.AppRoute;
@@ -95,6 +96,25 @@ public class RouteHelperTest {
         verify(routeManager, times(1)).createAndDeployXMLRoute(appRoute);
     }
 
+    @Test
+    public void deploy_routeList_deployOnlyCamelRoutesAtOnce() {
+        /* ARRANGE */
+        final var endpoint = getConnectorEndpoint();
+        final var route = getRoute(endpoint, endpoint);
+        final var incomplete = getRoute(null, endpoint);
+        final var appRoute = getAppRoute();
+
+        when(appRouteBuilder.create(route)).thenReturn(appRoute);
+        doNothing().when(routeManager).createAndDeployXMLRoutes(any());
+
+        /* ACT */
+        routeHelper.deploy(List.of(route, incomplete));
+
+        /* ASSERT */
+        verify(routeManager, times(1)).createAndDeployXMLRoutes(List.of(appRoute));
+        verify(routeManager, never()).createAndDeployXMLRoute(any());
+    }
+
     @Test
     public void delete_validRoute_callRouteManagerDelete() {
         /* ARRANGE */
@@ -15,6 +15,7 @@
  */
 package io.dataspaceconnector.service.ids;
 
+import de.fraunhofer.iais.eis.ArtifactBuilder;
 import de.fraunhofer.iais.eis.BaseConnectorBuilder;
 import de.fraunhofer.iais.eis.ConfigurationModel;
 import de.fraunhofer.iais.eis.ConfigurationModelBuilder;
@@ -26,6 +27,7 @@ import de.fraunhofer.iais.eis.ConnectorStatus;
 import de.fraunhofer.iais.eis.KeyType;
 import de.fraunhofer.iais.eis.LogLevel;
 import de.fraunhofer.iais.eis.PublicKeyBuilder;
+import de.fraunhofer.iais.eis.RepresentationBuilder;
 import de.fraunhofer.iais.eis.Resource;
 import de.fraunhofer.iais.eis.ResourceBuilder;
 import de.fraunhofer.iais.eis.ResourceCatalog;
@@ -35,6 +37,8 @@ import de.fraunhofer.iais.eis.util.TypedLiteral;
 import de.fraunhofer.iais.eis.util.Util;
 import de.fraunhofer.ids.messaging.core.config.ConfigContainer;
 import de.fraunhofer.ids.messaging.core.daps.DapsTokenProvider;
+import io.dataspaceconnector.model.agreement.Agreement;
+import io.dataspaceconnector.model.artifact.ArtifactImpl;
 import io.dataspaceconnector.model.catalog.Catalog;
 import io.dataspaceconnector.model.resource.OfferedResource;
 import io.dataspaceconnector.service.ids.builder.IdsCatalogBuilder;
@@ -48,20 +52,26 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -176,6 +186,87 @@ public class ConnectorServiceTest {
         verify(configContainer, times(1)).updateConfiguration(configModelImpl);
     }
 
+    @Test
+    public void getSelfDescriptionWithOfferedResources_calledTwice_buildCatalogsOnce() {
+        /* ARRANGE */
+        final var catalog = getCatalog();
+        ReflectionTestUtils.setField(catalog, "id", UUID.randomUUID());
+
+        when(configContainer.getConnector()).thenReturn(getConnector());
+        when(catalogService.getAll(Pageable.unpaged())).thenReturn(new PageImpl<>(List.of(catalog)));
+        when(catalogBuilder.create(eq(catalog), eq(0))).thenReturn(getIdsCatalog());
+
+        /* ACT */
+        final var first = connectorService.getSelfDescriptionWithOfferedResources();
+        final var second = connectorService.getSelfDescriptionWithOfferedResources();
+
+        /* ASSERT */
+        assertEquals(first.getRdf(), second.getRdf());
+        assertEquals(first.getEtag(), second.getEtag());
+        verify(catalogBuilder, times(1)).create(eq(catalog), eq(0));
+    }
+
+    @Test
+    public void evictFromSelfDescription_catalogChanged_rebuildCatalog() {
+        /* ARRANGE */
+        final var catalog = getCatalog();
+        ReflectionTestUtils.setField(catalog, "id", UUID.randomUUID());
+
+        when(configContainer.getConnector()).thenReturn(getConnector());
+        when(catalogService.getAll(Pageable.unpaged())).thenReturn(new PageImpl<>(List.of(catalog)));
+        when(catalogBuilder.create(eq(catalog), eq(0))).thenReturn(getIdsCatalog());
+        connectorService.getSelfDescriptionWithOfferedResources();
+
+        /* ACT */
+        connectorService.evictFromSelfDescription(catalog);
+        connectorService.getSelfDescriptionWithOfferedResources();
+
+        /* ASSERT */
+        verify(catalogBuilder, times(2)).create(eq(catalog), eq(0));
+    }
+
+    @Test
+    public void evictFromSelfDescription_agreementChanged_keepCatalog() {
+        /* ARRANGE */
+        final var catalog = getCatalog();
+        ReflectionTestUtils.setField(catalog, "id", UUID.randomUUID());
+
+        when(configContainer.getConnector()).thenReturn(getConnector());
+        when(catalogService.getAll(Pageable.unpaged())).thenReturn(new PageImpl<>(List.of(catalog)));
+        when(catalogBuilder.create(eq(catalog), eq(0))).thenReturn(getIdsCatalog());
+        connectorService.getSelfDescriptionWithOfferedResources();
+
+        /* ACT */
+        connectorService.evictFromSelfDescription(new Agreement());
+        connectorService.getSelfDescriptionWithOfferedResources();
+
+        /* ASSERT */
+        verify(catalogBuilder, times(1)).create(eq(catalog), eq(0));
+    }
+
+    @Test
+    public void evictFromSelfDescription_artifactDataChanged_renderNewCheckSum() {
+        /* ARRANGE */
+        final var catalog = getCatalog();
+        ReflectionTestUtils.setField(catalog, "id", UUID.randomUUID());
+
+        when(configContainer.getConnector()).thenReturn(getConnector());
+        when(catalogService.getAll(Pageable.unpaged())).thenReturn(new PageImpl<>(List.of(catalog)));
+        when(catalogBuilder.create(eq(catalog), eq(0)))
+                .thenReturn(getIdsCatalogWithCheckSum("1111"))
+                .thenReturn(getIdsCatalogWithCheckSum("2222"));
+        final var before = connectorService.getSelfDescriptionWithOfferedResources();
+
+        /* ACT */
+        connectorService.evictFromSelfDescription(new ArtifactImpl());
+        final var after = connectorService.getSelfDescriptionWithOfferedResources();
+
+        /* ASSERT */
+        assertTrue(before.getRdf().contains("1111"));
+        assertTrue(after.getRdf().contains("2222"));
+        assertNotEquals(before.getEtag(), after.getEtag());
+    }
+
     @Test
     public void getOfferedResourceById_inputNull_throwNullPointerException() {
         /* ACT && ASSERT */
@@ -191,8 +282,7 @@ public class ConnectorServiceTest {
         final var resource = getOfferedResource(uuid);
         final var idsResource = getIdsResource();
 
-        when(offeredResourceService.getAll(Pageable.unpaged()))
-                .thenReturn(new PageImpl<>(List.of(resource)));
+        when(offeredResourceService.findById(uuid)).thenReturn(Optional.of(resource));
         when(resourceBuilder.create(resource)).thenReturn(idsResource);
 
         /* ACT */
@@ -208,10 +298,8 @@ public class ConnectorServiceTest {
         /* ARRANGE */
         final var uuid = UUID.randomUUID();
         final var uri = URI.create("https://resource-id.com/" + uuid);
-        final var resource = getOfferedResource(UUID.randomUUID());
 
-        when(offeredResourceService.getAll(Pageable.unpaged()))
-                .thenReturn(new PageImpl<>(List.of(resource)));
+        when(offeredResourceService.findById(uuid)).thenReturn(Optional.empty());
 
         /* ACT */
         final var result = connectorService.getOfferedResourceById(uri);
@@ -220,6 +308,44 @@ public class ConnectorServiceTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    public void getOfferedResourceById_noUuidInInput_returnEmptyOptional() {
+        /* ARRANGE */
+        final var uri = URI.create("https://resource-id.com/resource");
+
+        /* ACT */
+        final var result = connectorService.getOfferedResourceById(uri);
+
+        /* ASSERT */
+        assertTrue(result.isEmpty());
+        verify(offeredResourceService, never()).findById(any());
+    }
+
+    @Test
+    public void getOfferedResourceById_manyBaseUrls_evictLeastRecentlyUsedBaseUrl() {
+        /* ARRANGE */
+        final var uuid = UUID.randomUUID();
+        final var uri = URI.create("https://resource-id.com/" + uuid);
+        final var resource = getOfferedResource(uuid);
+
+        when(offeredResourceService.findById(uuid)).thenReturn(Optional.of(resource));
+        when(resourceBuilder.create(resource)).thenReturn(getIdsResource());
+
+        /* ACT */
+        try {
+            for (int i = 0; i < 9; i++) {
+                getOfferedResourceByIdFromHost(uri, "host" + i);
+            }
+            getOfferedResourceByIdFromHost(uri, "host8");
+            getOfferedResourceByIdFromHost(uri, "host0");
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        /* ASSERT */
+        verify(resourceBuilder, times(10)).create(resource);
+    }
+
     /**************************************************************************
      * Utilities.
      *************************************************************************/
@@ -254,6 +380,18 @@ public class ConnectorServiceTest {
         return new ResourceCatalogBuilder().build();
     }
 
+    private ResourceCatalog getIdsCatalogWithCheckSum(final String checkSum) {
+        return new ResourceCatalogBuilder()
+                ._offeredResource_(Util.asList(new ResourceBuilder()
+                        ._representation_(Util.asList(new RepresentationBuilder()
+                                ._instance_(Util.asList(new ArtifactBuilder()
+                                        ._checkSum_(checkSum)
+                                        .build()))
+                                .build()))
+                        .build()))
+                .build();
+    }
+
     private ConfigurationModel getConfigModel() {
         return new ConfigurationModelBuilder(URI.create("https://w3id" +
                 ".org/idsa/autogen/configModel/462e5a6a-7143-4453-9c5c-d2aba8c9aec1"))
@@ -292,6 +430,13 @@ public class ConnectorServiceTest {
         return resource;
     }
 
+    private void getOfferedResourceByIdFromHost(final URI resourceId, final String host) {
+        final var request = new MockHttpServletRequest();
+        request.setServerName(host);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        connectorService.getOfferedResourceById(resourceId);
+    }
+
     private Resource getIdsResource() {
         return new ResourceBuilder(URI.create("https://resource-id.com")).build();
     }
@@ -59,6 +59,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -252,7 +253,8 @@ class ContractAgreementHandlerTest {
 
         /* ASSERT */
         assertNotNull(result.getHeader());
-        verify(logMessageService, times(1)).sendMessage(clearingHouseTarget, agreement.toRdf());
+        verify(logMessageService, timeout(5000).times(1))
+                .sendMessage(clearingHouseTarget, agreement.toRdf());
     }
 
     @SneakyThrows
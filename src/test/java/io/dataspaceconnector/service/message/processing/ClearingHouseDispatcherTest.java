@@ -0,0 +1,246 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.message.processing;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.dataspaceconnector.config.ClearingHouseProperties;
+import io.dataspaceconnector.exception.PolicyExecutionException;
+import io.dataspaceconnector.service.message.type.LogMessageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ClearingHouseDispatcherTest {
+
+    private final URI destination = URI.create("https://clearing-house.com/agreement");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final LogMessageService logMessageService = mock(LogMessageService.class);
+
+    private ClearingHouseDispatcher dispatcher;
+
+    @TempDir
+    Path dataDir;
+
+    private Path bufferDir;
+
+    @AfterEach
+    public void stopDispatcher() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void dispatch_successfulDelivery_recordLagAndClearBuffer() throws Exception {
+        /* ARRANGE */
+        dispatcher = newDispatcher(10, 3, "buffer");
+        dispatcher.start();
+
+        /* ACT */
+        dispatcher.dispatch(destination, "item");
+
+        /* ASSERT */
+        waitForPending();
+        verify(logMessageService, times(1)).sendMessage(destination, "item");
+        assertEquals(1, registry.get("dsc.clearinghouse.delivery.lag").timer().count());
+        assertEquals(0, countBuffered());
+    }
+
+    @Test
+    public void dispatch_failingDelivery_retryUntilMaxAttemptsAndKeepBuffer() throws Exception {
+        /* ARRANGE */
+        doThrow(PolicyExecutionException.class).when(logMessageService).sendMessage(any(), any());
+        dispatcher = newDispatcher(10, 3, "buffer");
+        dispatcher.start();
+
+        /* ACT */
+        dispatcher.dispatch(destination, "item");
+
+        /* ASSERT */
+        waitForPending();
+        verify(logMessageService, times(3)).sendMessage(destination, "item");
+        assertEquals(1, registry.get("dsc.clearinghouse.delivery.failed").counter().count());
+        assertEquals(1, countBuffered());
+    }
+
+    @Test
+    public void start_itemsInBuffer_deliverBufferedItems() throws Exception {
+        /* ARRANGE */
+        bufferDir = Files.createDirectories(dataDir.resolve("buffer"));
+        Files.writeString(bufferDir.resolve("1-a.log"), destination + "\nfirst",
+                StandardCharsets.UTF_8);
+        Files.writeString(bufferDir.resolve("2-b.tmp"), destination + "\nincomplete",
+                StandardCharsets.UTF_8);
+        dispatcher = newDispatcher(10, 3, "buffer");
+
+        /* ACT */
+        dispatcher.start();
+
+        /* ASSERT */
+        waitForPending();
+        verify(logMessageService, times(1)).sendMessage(destination, "first");
+        verify(logMessageService, times(0)).sendMessage(destination, "incomplete");
+        assertEquals(0, countBuffered());
+    }
+
+    @Test
+    public void dispatch_queueFull_deliverDirectly() throws Exception {
+        /* ARRANGE */
+        final var release = new CountDownLatch(1);
+        final var started = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if ("blocking".equals(invocation.getArgument(1))) {
+                started.countDown();
+                release.await();
+            }
+            return null;
+        }).when(logMessageService).sendMessage(any(), any());
+        dispatcher = newDispatcher(1, 1, "");
+        dispatcher.start();
+        dispatcher.dispatch(destination, "blocking");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(destination, "queued");
+
+        /* ACT */
+        dispatcher.dispatch(destination, "overflow");
+
+        /* ASSERT */
+        verify(logMessageService, times(1)).sendMessage(destination, "overflow");
+        assertEquals(1, registry.get("dsc.clearinghouse.delivery.overflow").counter().count());
+        release.countDown();
+        waitForPending();
+    }
+
+    @Test
+    public void dispatch_multipleThreads_deliverInParallel() throws Exception {
+        /* ARRANGE */
+        final var started = new CountDownLatch(2);
+        final var release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(logMessageService).sendMessage(any(), any());
+        dispatcher = newDispatcher(2, 10, 1, "");
+        dispatcher.start();
+
+        /* ACT */
+        dispatcher.dispatch(destination, "first");
+        dispatcher.dispatch(destination, "second");
+
+        /* ASSERT */
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        waitForPending();
+    }
+
+    @Test
+    public void start_moreBufferedItemsThanQueueCapacity_deliverAllBufferedItems()
+            throws Exception {
+        /* ARRANGE */
+        bufferDir = Files.createDirectories(dataDir.resolve("buffer"));
+        for (var i = 0; i < 3; i++) {
+            Files.writeString(bufferDir.resolve(i + "-a.log"), destination + "\nitem" + i,
+                    StandardCharsets.UTF_8);
+        }
+        dispatcher = newDispatcher(1, 3, "buffer");
+
+        /* ACT */
+        dispatcher.start();
+
+        /* ASSERT */
+        waitForBuffered();
+        for (var i = 0; i < 3; i++) {
+            verify(logMessageService, times(1)).sendMessage(destination, "item" + i);
+        }
+    }
+
+    @Test
+    public void dispatch_relativeBufferPath_bufferInDataDirectory() throws Exception {
+        /* ARRANGE */
+        final var release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(logMessageService).sendMessage(any(), any());
+        dispatcher = newDispatcher(10, 3, "buffer");
+        dispatcher.start();
+
+        /* ACT */
+        dispatcher.dispatch(destination, "item");
+
+        /* ASSERT */
+        assertEquals(1, countBuffered());
+        release.countDown();
+        waitForPending();
+    }
+
+    private ClearingHouseDispatcher newDispatcher(final int capacity, final int attempts,
+                                                  final String path) {
+        return newDispatcher(1, capacity, attempts, path);
+    }
+
+    private ClearingHouseDispatcher newDispatcher(final int threads, final int capacity,
+                                                  final int attempts, final String path) {
+        final var properties = new ClearingHouseProperties();
+        properties.getDispatcher().setThreads(threads);
+        properties.getDispatcher().setQueueCapacity(capacity);
+        properties.getDispatcher().setBatchSize(10);
+        properties.getRetry().setMaxAttempts(attempts);
+        properties.getRetry().setInitialDelay(1);
+        properties.getBuffer().setPath(path);
+        bufferDir = dataDir.resolve(path);
+        return new ClearingHouseDispatcher(registry, logMessageService, properties, dataDir);
+    }
+
+    private long countBuffered() throws Exception {
+        try (var files = Files.list(bufferDir)) {
+            return files.count();
+        }
+    }
+
+    private void waitForBuffered() throws Exception {
+        final var deadline = System.currentTimeMillis() + 5000;
+        while (countBuffered() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, countBuffered());
+    }
+
+    private void waitForPending() throws InterruptedException {
+        final var deadline = System.currentTimeMillis() + 5000;
+        while (dispatcher.getPending() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, dispatcher.getPending());
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.message.subscription;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NotificationDataStagerTest {
+
+    private static final byte[] DATA = {0, 1, 2, 3};
+
+    @TempDir
+    Path dataPath;
+
+    @Test
+    public void stage_twoDeliveries_readDataUntilLastRelease() throws IOException {
+        /* ARRANGE */
+        final var stager = new NotificationDataStager(dataPath);
+
+        /* ACT */
+        final var staged = stager.stage(new ByteArrayInputStream(DATA), 2);
+        staged.release();
+
+        /* ASSERT */
+        try (var data = staged.getInputStream()) {
+            assertArrayEquals(DATA, data.readAllBytes());
+        }
+        staged.release();
+        assertEquals(0, countStagedFiles());
+    }
+
+    @Test
+    public void new_dataStagedBeforeRestart_removeData() throws IOException {
+        /* ARRANGE */
+        new NotificationDataStager(dataPath).stage(new ByteArrayInputStream(DATA), 1);
+
+        /* ACT */
+        new NotificationDataStager(dataPath);
+
+        /* ASSERT */
+        assertEquals(0, countStagedFiles());
+    }
+
+    private long countStagedFiles() throws IOException {
+        try (var files = Files.list(dataPath.resolve("notifications"))) {
+            return files.count();
+        }
+    }
+}
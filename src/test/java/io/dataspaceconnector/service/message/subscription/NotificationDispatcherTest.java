@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.message.subscription;
+
+import java.net.URI;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationDispatcherTest {
+
+    private final URI recipient = URI.create("https://recipient");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private NotificationDispatcher dispatcher;
+
+    @AfterEach
+    public void stopDispatcher() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void dispatch_successfulDelivery_recordLatency() throws InterruptedException {
+        /* ARRANGE */
+        dispatcher = new NotificationDispatcher(registry, 2, 10, 1, 3, 1);
+        final var delivered = new CountDownLatch(1);
+
+        /* ACT */
+        final var accepted = dispatcher.dispatch(recipient, () -> {
+            delivered.countDown();
+            return true;
+        });
+
+        /* ASSERT */
+        assertTrue(accepted);
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        waitForPending();
+        assertEquals(1, registry.get("dsc.notification.delivery.latency").timer().count());
+    }
+
+    @Test
+    public void dispatch_failingDelivery_retryUntilMaxAttempts() throws InterruptedException {
+        /* ARRANGE */
+        dispatcher = new NotificationDispatcher(registry, 2, 10, 1, 3, 1);
+        final var attempts = new AtomicInteger();
+
+        /* ACT */
+        dispatcher.dispatch(recipient, () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException();
+        });
+
+        /* ASSERT */
+        waitForPending();
+        assertEquals(3, attempts.get());
+        assertEquals(1, registry.get("dsc.notification.delivery.failed").counter().count());
+    }
+
+    @Test
+    public void dispatch_queueFull_rejectDelivery() throws InterruptedException {
+        /* ARRANGE */
+        dispatcher = new NotificationDispatcher(registry, 1, 1, 1, 1, 1);
+        final var release = new CountDownLatch(1);
+        dispatcher.dispatch(recipient, () -> {
+            release.await();
+            return true;
+        });
+
+        /* ACT */
+        final var accepted = dispatcher.dispatch(recipient, () -> true);
+
+        /* ASSERT */
+        assertFalse(accepted);
+        release.countDown();
+        waitForPending();
+    }
+
+    @Test
+    public void dispatch_failingDelivery_runOnEndOnceAfterLastAttempt()
+            throws InterruptedException {
+        /* ARRANGE */
+        dispatcher = new NotificationDispatcher(registry, 2, 10, 1, 3, 1);
+        final var attempts = new AtomicInteger();
+        final var ended = new AtomicInteger();
+
+        /* ACT */
+        dispatcher.dispatch(recipient, () -> attempts.incrementAndGet() < 0,
+                () -> ended.set(attempts.get()));
+
+        /* ASSERT */
+        waitForPending();
+        assertEquals(3, ended.get());
+    }
+
+    @Test
+    public void dispatch_queueFull_runOnEnd() throws InterruptedException {
+        /* ARRANGE */
+        dispatcher = new NotificationDispatcher(registry, 1, 1, 1, 1, 1);
+        final var release = new CountDownLatch(1);
+        final var ended = new AtomicInteger();
+        dispatcher.dispatch(recipient, () -> {
+            release.await();
+            return true;
+        }, ended::incrementAndGet);
+
+        /* ACT */
+        dispatcher.dispatch(recipient, () -> true, ended::incrementAndGet);
+
+        /* ASSERT */
+        assertEquals(1, ended.get());
+        release.countDown();
+        waitForPending();
+        assertEquals(2, ended.get());
+    }
+
+    private void waitForPending() throws InterruptedException {
+        final var deadline = System.currentTimeMillis() + 5000;
+        while (dispatcher.getPending() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, dispatcher.getPending());
+    }
+}
@@ -15,21 +15,41 @@
  */
 package io.dataspaceconnector.service.resource;
 
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import de.fraunhofer.iais.eis.Action;
+import de.fraunhofer.iais.eis.BinaryOperator;
+import de.fraunhofer.iais.eis.ConstraintBuilder;
+import de.fraunhofer.iais.eis.ContractAgreement;
+import de.fraunhofer.iais.eis.ContractAgreementBuilder;
+import de.fraunhofer.iais.eis.DutyBuilder;
+import de.fraunhofer.iais.eis.LeftOperand;
+import de.fraunhofer.iais.eis.PermissionBuilder;
+import de.fraunhofer.iais.eis.util.RdfResource;
+import de.fraunhofer.iais.eis.util.Util;
+import de.fraunhofer.ids.messaging.util.IdsMessageUtils;
 import io.dataspaceconnector.model.agreement.Agreement;
+import io.dataspaceconnector.model.agreement.AgreementDesc;
 import io.dataspaceconnector.model.agreement.AgreementFactory;
 import io.dataspaceconnector.repository.AgreementRepository;
+import io.dataspaceconnector.service.ids.DeserializationService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -45,6 +65,9 @@ public class AgreementServiceTest {
     @MockBean
     private AgreementFactory agreementFactory;
 
+    @MockBean
+    private DeserializationService deserializationService;
+
     @Autowired
     private AgreementService agreementService;
 
@@ -85,6 +108,75 @@ public class AgreementServiceTest {
         verify(agreementRepository, never()).confirmAgreement(agreement.getId());
     }
 
+    @Test
+    public void create_agreementWithDeletionDuty_storeDeletionDate() {
+        /* ARRANGE */
+        final var desc = new AgreementDesc();
+        final var agreement = getAgreement();
+
+        when(agreementFactory.create(desc)).thenReturn(agreement);
+        when(agreementRepository.saveAndFlush(agreement)).thenReturn(agreement);
+        when(deserializationService.getContractAgreement("someValue"))
+                .thenReturn(getContractAgreement());
+
+        /* ACT */
+        agreementService.create(desc);
+
+        /* ASSERT */
+        verify(agreementFactory, times(1)).updateDeletionDate(eq(agreement),
+                eq(ZonedDateTime.parse("2021-07-11T00:00:00Z")));
+    }
+
+    @Test
+    public void create_emptyAgreement_storeNoDeletionDate() {
+        /* ARRANGE */
+        final var desc = new AgreementDesc();
+        final var agreement = new Agreement();
+
+        when(agreementFactory.create(desc)).thenReturn(agreement);
+        when(agreementRepository.saveAndFlush(agreement)).thenReturn(agreement);
+
+        /* ACT */
+        agreementService.create(desc);
+
+        /* ASSERT */
+        verify(agreementFactory, times(1)).updateDeletionDate(eq(agreement), isNull());
+        verify(deserializationService, never()).getContractAgreement(any());
+    }
+
+    @Test
+    public void indexDeletionDates_unindexedAgreement_storeDeletionDate() {
+        /* ARRANGE */
+        final var agreement = getAgreement();
+
+        when(agreementRepository.findAllNotDeletionIndexed(any()))
+                .thenReturn(List.of(agreement));
+        when(deserializationService.getContractAgreement("someValue"))
+                .thenReturn(getContractAgreement());
+
+        /* ACT */
+        final var result = agreementService.indexDeletionDates(10);
+
+        /* ASSERT */
+        assertEquals(1, result);
+        verify(agreementRepository, times(1)).setDeletionDate(eq(agreement.getId()),
+                eq(ZonedDateTime.parse("2021-07-11T00:00:00Z")));
+    }
+
+    @Test
+    public void indexDeletionDates_allAgreementsIndexed_doNothing() {
+        /* ARRANGE */
+        when(agreementRepository.findAllNotDeletionIndexed(any())).thenReturn(List.of());
+
+        /* ACT */
+        final var result = agreementService.indexDeletionDates(10);
+
+        /* ASSERT */
+        assertEquals(0, result);
+        verify(deserializationService, never()).getContractAgreement(any());
+        verify(agreementRepository, never()).setDeletionDate(any(), any());
+    }
+
     /***********************************************************************************************
      * Utilities.                                                                                  *
      **********************************************************************************************/
@@ -95,4 +187,24 @@ public class AgreementServiceTest {
         ReflectionTestUtils.setField(agreement, "value", "someValue");
         return agreement;
     }
+
+    private ContractAgreement getContractAgreement() {
+        return new ContractAgreementBuilder(URI.create("https://agreement.com"))
+                ._contractStart_(IdsMessageUtils.getGregorianNow())
+                ._contractEnd_(IdsMessageUtils.getGregorianNow())
+                ._permission_(Util.asList(new PermissionBuilder()
+                        ._action_(Util.asList(Action.USE))
+                        ._postDuty_(Util.asList(new DutyBuilder()
+                                ._action_(Util.asList(Action.DELETE))
+                                ._constraint_(Util.asList(new ConstraintBuilder()
+                                        ._leftOperand_(LeftOperand.POLICY_EVALUATION_TIME)
+                                        ._operator_(BinaryOperator.TEMPORAL_EQUALS)
+                                        ._rightOperand_(new RdfResource("2021-07-11T00:00:00Z",
+                                                URI.create("xsd:dateTimeStamp")))
+                                        .build()))
+                                .build()))
+                        ._target_(URI.create("https://target.com"))
+                        .build()))
+                .build();
+    }
 }
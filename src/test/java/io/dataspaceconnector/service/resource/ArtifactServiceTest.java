@@ -17,19 +17,21 @@ package io.dataspaceconnector.service.resource;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.lang.reflect.Field;
+import java.net.URI;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+import io.dataspaceconnector.exception.PolicyRestrictionException;
 import io.dataspaceconnector.exception.ResourceNotFoundException;
 import io.dataspaceconnector.exception.UnexpectedResponseException;
 import io.dataspaceconnector.exception.UnreachableLineException;
-import io.dataspaceconnector.model.artifact.Artifact;
 import io.dataspaceconnector.model.artifact.ArtifactDesc;
 import io.dataspaceconnector.model.artifact.ArtifactFactory;
 import io.dataspaceconnector.model.artifact.ArtifactImpl;
@@ -42,26 +44,43 @@ import io.dataspaceconnector.repository.ArtifactRepository;
 import io.dataspaceconnector.repository.AuthenticationRepository;
 import io.dataspaceconnector.repository.DataRepository;
 import io.dataspaceconnector.service.HttpService;
+import io.dataspaceconnector.service.storage.DataStore;
+import io.dataspaceconnector.service.storage.StoredData;
+import io.dataspaceconnector.service.storage.StoredDataTracker;
+import io.dataspaceconnector.service.usagecontrol.AccessVerificationInput;
+import io.dataspaceconnector.service.usagecontrol.PolicyVerifier;
+import io.dataspaceconnector.service.usagecontrol.VerificationResult;
+import io.dataspaceconnector.util.ErrorMessage;
 import io.dataspaceconnector.util.QueryInput;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentracing.mock.MockTracer;
 import lombok.SneakyThrows;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest(classes = {ArtifactService.class, ArtifactFactory.class, ArtifactRepository.class,
-        DataRepository.class, AuthenticationRepository.class, HttpService.class})
+        DataRepository.class, AuthenticationRepository.class, HttpService.class,
+        SimpleMeterRegistry.class, MockTracer.class, StoredDataTracker.class})
+@RecordApplicationEvents
 class ArtifactServiceTest {
 
     @MockBean
@@ -76,12 +95,24 @@ class ArtifactServiceTest {
     @MockBean
     private HttpService httpService;
 
+    @MockBean
+    private DataStore dataStore;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
     @MockBean
     private ArtifactFactory artifactFactory;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Autowired
     private ArtifactService service;
 
+    @Autowired
+    private ApplicationEvents events;
+
     /**************************************************************************
      * persist
      *************************************************************************/
@@ -251,17 +282,155 @@ class ArtifactServiceTest {
         when(artifactFactory.create(any())).thenReturn(localArtifact);
         when(dataRepository.getById(any())).thenReturn(getLocalData());
 
-        final var before = localArtifact.getNumAccessed();
-
         /* ACT */
         service.getData(null, null, localArtifact.getId(), (QueryInput) null);
 
         /* ASSERT */
-        Field numAccessedField = Artifact.class.getDeclaredField("numAccessed");
-        numAccessedField.setAccessible(true);
-        numAccessedField.set(localArtifact, before + 1);
+        verify(artifactRepository, times(1)).incrementAccessCounter(localArtifact.getId());
+        verify(artifactRepository, never()).saveAndFlush(localArtifact);
+    }
+
+    @SneakyThrows
+    @Test
+    public void getData_accessNumberReachedSincePolicyCheck_denyAccess() {
+        /* ARRANGE */
+        final var localArtifact = getLocalArtifact();
+        ReflectionTestUtils.setField(localArtifact, "additional",
+                new HashMap<>(Map.of("ids:byteSize", "0")));
+
+        when(artifactRepository.findById(any())).thenReturn(Optional.of(localArtifact));
+        when(dataRepository.getById(any())).thenReturn(getLocalData());
+        when(artifactRepository.incrementAccessCounterBelow(localArtifact.getId(), 5))
+                .thenReturn(0);
+
+        final PolicyVerifier<AccessVerificationInput> verifier = input -> {
+            service.limitAccessCounter(localArtifact.getId(), 5);
+            return VerificationResult.ALLOWED;
+        };
+        final var information =
+                new RetrievalInformation(URI.create("https://agreement"), null, null);
+
+        /* ACT && ASSERT */
+        final var result = assertThrows(PolicyRestrictionException.class,
+                () -> service.getData(verifier, null, localArtifact.getId(), information));
+        assertEquals(ErrorMessage.DATA_ACCESS_NUMBER_REACHED.toString(), result.getMessage());
+        verify(artifactRepository, never()).incrementAccessCounter(any());
+    }
+
+    @SneakyThrows
+    @Test
+    public void getData_accessNumberBelowMaximum_countAccessOnce() {
+        /* ARRANGE */
+        final var localArtifact = getLocalArtifact();
+        ReflectionTestUtils.setField(localArtifact, "additional",
+                new HashMap<>(Map.of("ids:byteSize", "0")));
+
+        when(artifactRepository.findById(any())).thenReturn(Optional.of(localArtifact));
+        when(dataRepository.getById(any())).thenReturn(getLocalData());
+        when(artifactRepository.incrementAccessCounterBelow(localArtifact.getId(), 5))
+                .thenReturn(1);
+
+        final PolicyVerifier<AccessVerificationInput> verifier = input -> {
+            service.limitAccessCounter(localArtifact.getId(), 5);
+            return VerificationResult.ALLOWED;
+        };
+        final var information =
+                new RetrievalInformation(URI.create("https://agreement"), null, null);
+
+        /* ACT */
+        service.getData(verifier, null, localArtifact.getId(), information).close();
+        service.getData(null, null, localArtifact.getId(), (QueryInput) null).close();
+
+        /* ASSERT */
+        verify(artifactRepository, times(1))
+                .incrementAccessCounterBelow(localArtifact.getId(), 5);
+        verify(artifactRepository, times(1)).incrementAccessCounter(localArtifact.getId());
+    }
+
+    @SneakyThrows
+    @Test
+    public void setData_localDataChanged_publishEntityChangedEvent() {
+        /* ARRANGE */
+        final var localArtifact = getLocalArtifact();
+        final var stored = new StoredData("key", 4, 1);
+
+        when(artifactRepository.findById(any())).thenReturn(Optional.of(localArtifact));
+        when(dataStore.store(any())).thenReturn(stored);
+        when(dataStore.open("key")).thenReturn(new ByteArrayInputStream(new byte[4]));
+        when(artifactFactory.updateStoredData(localArtifact, "key", 4, 1)).thenReturn(true);
+
+        /* ACT */
+        service.setData(localArtifact.getId(), new ByteArrayInputStream(new byte[4])).close();
 
-        verify(artifactRepository, times(1)).saveAndFlush(localArtifact);
+        /* ASSERT */
+        verify(artifactRepository, times(1)).setArtifactData(any(), anyLong(), anyLong());
+        assertEquals(1, events.stream(EntityChangedEvent.class)
+                .filter(event -> event.getEntity() == localArtifact)
+                .count());
+    }
+
+    @SneakyThrows
+    @Test
+    public void getStoredData_storedLocalData_returnSizeWithoutCountingAccess() {
+        /* ARRANGE */
+        ArtifactImpl localArtifact = getLocalArtifact();
+
+        final var keyField = LocalData.class.getDeclaredField("storageKey");
+        keyField.setAccessible(true);
+        keyField.set(localArtifact.getData(), "key");
+
+        final var sizeField = localArtifact.getClass().getSuperclass()
+                .getDeclaredField("byteSize");
+        sizeField.setAccessible(true);
+        sizeField.set(localArtifact, 4L);
+
+        when(artifactRepository.findById(any())).thenReturn(Optional.of(localArtifact));
+
+        /* ACT */
+        final var result = service.getStoredData(localArtifact.getId());
+
+        /* ASSERT */
+        assertTrue(result.isPresent());
+        assertEquals("key", result.get().getKey());
+        assertEquals(4L, result.get().getByteSize());
+        verify(artifactRepository, never()).incrementAccessCounter(any());
+        verify(dataStore, never()).open(any());
+    }
+
+    @Test
+    public void getStoredData_inlineLocalData_returnEmpty() {
+        /* ARRANGE */
+        ArtifactImpl localArtifact = getLocalArtifact();
+
+        when(artifactRepository.findById(any())).thenReturn(Optional.of(localArtifact));
+
+        /* ACT */
+        final var result = service.getStoredData(localArtifact.getId());
+
+        /* ASSERT */
+        assertTrue(result.isEmpty());
+    }
+
+    @SneakyThrows
+    @Test
+    public void getData_localDataStreamClosed_recordBytesRead() {
+        /* ARRANGE */
+        ArtifactImpl localArtifact = getLocalArtifact();
+
+        when(artifactRepository.findById(any())).thenReturn(Optional.of(localArtifact));
+        when(artifactFactory.create(any())).thenReturn(localArtifact);
+        when(dataRepository.getById(any())).thenReturn(getLocalData());
+
+        final var summary = meterRegistry.summary("dsc.artifact.data.size", "source", "local");
+        final var before = summary.totalAmount();
+
+        /* ACT */
+        try (var data = service.getData(null, null, localArtifact.getId(), (QueryInput) null)) {
+            data.readAllBytes();
+        }
+
+        /* ASSERT */
+        assertEquals(getLocalData().getValue().length, summary.totalAmount() - before);
     }
 
     @SneakyThrows
@@ -287,7 +456,7 @@ class ArtifactServiceTest {
                                                     (QueryInput)  null);
 
         /* ASSERT */
-        assertEquals(response.getBody(), data);
+        assertArrayEquals(remoteData, data.readAllBytes());
     }
 
     @SneakyThrows
@@ -310,7 +479,7 @@ class ArtifactServiceTest {
                 remoteArtifact.getId(),(QueryInput)  null);
 
         /* ASSERT */
-        assertEquals(response.getBody(), data);
+        assertArrayEquals(remoteData, data.readAllBytes());
     }
 
     @SneakyThrows
@@ -334,7 +503,7 @@ class ArtifactServiceTest {
                                          remoteArtifact.getId(), queryInput);
 
         /* ASSERT */
-        assertEquals(response.getBody(), data);
+        assertArrayEquals(remoteData, data.readAllBytes());
     }
 
     @SneakyThrows
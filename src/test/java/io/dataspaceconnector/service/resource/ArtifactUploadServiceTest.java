@@ -0,0 +1,264 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.UUID;
+
+import io.dataspaceconnector.exception.DataTooLargeException;
+import io.dataspaceconnector.exception.UploadConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArtifactUploadServiceTest {
+
+    @TempDir
+    Path staging;
+
+    private ArtifactService artifactService;
+
+    private ArtifactUploadService service;
+
+    private byte[] uploaded;
+
+    @BeforeEach
+    public void init() throws IOException {
+        artifactService = Mockito.mock(ArtifactService.class);
+        service = new ArtifactUploadService(artifactService, 8, staging, 60_000);
+        uploaded = null;
+
+        when(artifactService.setData(any(), any())).thenAnswer(invocation -> {
+            try (InputStream data = invocation.getArgument(1)) {
+                uploaded = data.readAllBytes();
+            }
+            return new ByteArrayInputStream(uploaded);
+        });
+    }
+
+    @Test
+    public void checkSize_sizeAboveMaximum_throwDataTooLargeException() {
+        /* ACT && ASSERT */
+        assertThrows(DataTooLargeException.class, () -> service.checkSize(9));
+        assertDoesNotThrow(() -> service.checkSize(8));
+        assertDoesNotThrow(() -> service.checkSize(-1));
+    }
+
+    @Test
+    public void upload_dataWithinLimit_replaceData() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final byte[] data = {0, 1, 2, 3};
+
+        /* ACT */
+        service.upload(artifactId, new ByteArrayInputStream(data));
+
+        /* ASSERT */
+        assertArrayEquals(data, uploaded);
+    }
+
+    @Test
+    public void upload_dataExceedsLimit_throwDataTooLargeException() {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final var data = new ByteArrayInputStream(new byte[9]);
+
+        /* ACT && ASSERT */
+        assertThrows(DataTooLargeException.class, () -> service.upload(artifactId, data));
+    }
+
+    @Test
+    public void uploadChunk_allChunks_replaceDataOnLastChunk() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+
+        /* ACT */
+        final var first = service.uploadChunk(artifactId,
+                new ByteArrayInputStream(new byte[]{0, 1, 2}), 0, 2, 5, null);
+        final var second = service.uploadChunk(artifactId,
+                new ByteArrayInputStream(new byte[]{3, 4}), 3, 4, 5, first.getUploadId());
+
+        /* ASSERT */
+        assertEquals(3, first.getStaged());
+        assertEquals(5, second.getStaged());
+        assertArrayEquals(new byte[]{0, 1, 2, 3, 4}, uploaded);
+        assertEquals(0, service.getStatus(artifactId).getStaged());
+        assertEquals(0, countStaged());
+    }
+
+    @Test
+    public void uploadChunk_chunkOutOfOrder_keepStagedData() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        service.uploadChunk(artifactId, new ByteArrayInputStream(new byte[]{0, 1}), 0, 1, 5,
+                null);
+
+        /* ACT */
+        final var result = service.uploadChunk(artifactId,
+                new ByteArrayInputStream(new byte[]{4}), 4, 4, 5, null);
+
+        /* ASSERT */
+        assertEquals(2, result.getStaged());
+        assertEquals(2, service.getStatus(artifactId).getStaged());
+        verify(artifactService, never()).setData(eq(artifactId), any());
+    }
+
+    @Test
+    public void uploadChunk_serviceRestarted_resumeStagedUpload() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final var first = service.uploadChunk(artifactId,
+                new ByteArrayInputStream(new byte[]{0, 1}), 0, 1, 4, null);
+        final var restarted = new ArtifactUploadService(artifactService, 8, staging, 60_000);
+
+        /* ACT */
+        final var status = restarted.getStatus(artifactId);
+        final var result = restarted.uploadChunk(artifactId,
+                new ByteArrayInputStream(new byte[]{2, 3}), 2, 3, 4, first.getUploadId());
+
+        /* ASSERT */
+        assertEquals(first.getUploadId(), status.getUploadId());
+        assertEquals(2, status.getStaged());
+        assertEquals(4, status.getTotal());
+        assertEquals(4, result.getStaged());
+        assertArrayEquals(new byte[]{0, 1, 2, 3}, uploaded);
+    }
+
+    @Test
+    public void uploadChunk_otherTotal_throwUploadConflictException() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        service.uploadChunk(artifactId, new ByteArrayInputStream(new byte[]{0, 1}), 0, 1, 5,
+                null);
+        final var data = new ByteArrayInputStream(new byte[]{2});
+
+        /* ACT && ASSERT */
+        assertThrows(UploadConflictException.class,
+                () -> service.uploadChunk(artifactId, data, 2, 2, 3, null));
+        assertEquals(2, service.getStatus(artifactId).getStaged());
+        assertEquals(5, service.getStatus(artifactId).getTotal());
+    }
+
+    @Test
+    public void uploadChunk_firstChunkWithOtherTotal_restartUpload() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final var first = service.uploadChunk(artifactId,
+                new ByteArrayInputStream(new byte[]{0, 1}), 0, 1, 5, null);
+
+        /* ACT */
+        final var result = service.uploadChunk(artifactId,
+                new ByteArrayInputStream(new byte[]{7}), 0, 0, 3, null);
+
+        /* ASSERT */
+        assertNotEquals(first.getUploadId(), result.getUploadId());
+        assertEquals(1, result.getStaged());
+        assertEquals(3, result.getTotal());
+        assertEquals(1, countStaged());
+    }
+
+    @Test
+    public void uploadChunk_otherUploadId_throwUploadConflictException() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        service.uploadChunk(artifactId, new ByteArrayInputStream(new byte[]{0, 1}), 0, 1, 5,
+                null);
+        final var data = new ByteArrayInputStream(new byte[]{2});
+
+        /* ACT && ASSERT */
+        assertThrows(UploadConflictException.class,
+                () -> service.uploadChunk(artifactId, data, 2, 2, 5, "other"));
+        assertEquals(2, service.getStatus(artifactId).getStaged());
+    }
+
+    @Test
+    public void abort_stagedUpload_removeStagedData() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        service.uploadChunk(artifactId, new ByteArrayInputStream(new byte[]{0, 1}), 0, 1, 5,
+                null);
+
+        /* ACT */
+        final var aborted = service.abort(artifactId);
+
+        /* ASSERT */
+        assertTrue(aborted);
+        assertFalse(service.abort(artifactId));
+        assertNull(service.getStatus(artifactId).getUploadId());
+        assertEquals(0, countStaged());
+    }
+
+    @Test
+    public void removeExpired_uploadNotContinued_removeStagedData() throws IOException {
+        /* ARRANGE */
+        final var expired = UUID.randomUUID();
+        final var recent = UUID.randomUUID();
+        service.uploadChunk(expired, new ByteArrayInputStream(new byte[]{0}), 0, 0, 5, null);
+        service.uploadChunk(recent, new ByteArrayInputStream(new byte[]{0}), 0, 0, 5, null);
+        try (var files = Files.newDirectoryStream(staging, expired + "*")) {
+            for (final var file : files) {
+                Files.setLastModifiedTime(file,
+                        FileTime.fromMillis(System.currentTimeMillis() - 120_000));
+            }
+        }
+        final var restarted = new ArtifactUploadService(artifactService, 8, staging, 60_000);
+
+        /* ACT */
+        restarted.removeExpired();
+
+        /* ASSERT */
+        assertNull(restarted.getStatus(expired).getUploadId());
+        assertEquals(1, restarted.getStatus(recent).getStaged());
+        assertEquals(1, countStaged());
+    }
+
+    @Test
+    public void uploadChunk_totalAboveMaximum_throwDataTooLargeException() {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final var data = new ByteArrayInputStream(new byte[]{0});
+
+        /* ACT && ASSERT */
+        assertThrows(DataTooLargeException.class,
+                () -> service.uploadChunk(artifactId, data, 0, 0, 9, null));
+    }
+
+    private long countStaged() throws IOException {
+        try (var files = Files.list(staging)) {
+            return files.count();
+        }
+    }
+}
@@ -19,6 +19,7 @@ import io.dataspaceconnector.exception.ResourceNotFoundException;
 import io.dataspaceconnector.model.artifact.Artifact;
 import io.dataspaceconnector.model.artifact.ArtifactImpl;
 import io.dataspaceconnector.model.representation.Representation;
+import io.dataspaceconnector.util.Utils;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,7 +31,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -80,6 +83,11 @@ public class RepresentationArtifactLinkerTest {
         Mockito.when(artifactService.doesExist(Mockito.eq(artifactOne.getId()))).thenReturn(true);
         Mockito.when(artifactService.doesExist(Mockito.eq(artifactTwo.getId()))).thenReturn(true);
         Mockito.when(artifactService.doesExist(Mockito.eq(artifactThree.getId()))).thenReturn(true);
+
+        Mockito.when(artifactService.getAllByRepresentation(
+                Mockito.eq(representation.getId()), Mockito.any()))
+                .thenAnswer((Answer<Page<Artifact>>) invocationOnMock -> Utils.toPage(
+                        representation.getArtifacts(), invocationOnMock.getArgument(1)));
     }
 
     /***********************************************************************************************
@@ -152,6 +160,23 @@ public class RepresentationArtifactLinkerTest {
         assertTrue(linkedArtifacts.contains(artifactThree));
     }
 
+    @Test
+    public void get_knownIdAndPage_pageArtifactsOnDatabase() {
+        /* ARRANGE */
+        final var pageable = PageRequest.of(0, 2);
+        linker.add(representation.getId(), Set.of(artifactOne.getId(), artifactTwo.getId(),
+                artifactThree.getId()));
+
+        /* ACT */
+        final var page = linker.get(representation.getId(), pageable);
+
+        /* ASSERT */
+        assertEquals(2, page.getNumberOfElements());
+        assertEquals(3, page.getTotalElements());
+        Mockito.verify(artifactService, Mockito.atLeastOnce())
+                .getAllByRepresentation(Mockito.eq(representation.getId()), Mockito.eq(pageable));
+    }
+
     /***********************************************************************************************
      * add                                                                                         *
      **********************************************************************************************/
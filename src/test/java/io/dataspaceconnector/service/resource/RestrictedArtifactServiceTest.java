@@ -32,19 +32,26 @@ import io.dataspaceconnector.repository.AuthenticationRepository;
 import io.dataspaceconnector.repository.DataRepository;
 import io.dataspaceconnector.service.BlockingArtifactReceiver;
 import io.dataspaceconnector.service.HttpService;
+import io.dataspaceconnector.service.storage.DataStore;
+import io.dataspaceconnector.service.storage.StoredDataTracker;
+import io.dataspaceconnector.service.storage.StoredData;
 import io.dataspaceconnector.service.usagecontrol.AllowAccessVerifier;
 import io.dataspaceconnector.util.QueryInput;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentracing.mock.MockTracer;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(classes = {ArtifactService.class, ArtifactFactory.class, ArtifactRepository.class,
-        DataRepository.class, HttpService.class, BlockingArtifactReceiver.class})
+        DataRepository.class, HttpService.class, BlockingArtifactReceiver.class,
+        SimpleMeterRegistry.class, MockTracer.class, StoredDataTracker.class})
 public class RestrictedArtifactServiceTest {
 
     @MockBean
@@ -59,6 +66,12 @@ public class RestrictedArtifactServiceTest {
     @MockBean
     private HttpService httpService;
 
+    @MockBean
+    private DataStore dataStore;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
     @MockBean
     private ArtifactFactory artifactFactory;
 
@@ -86,6 +99,8 @@ public class RestrictedArtifactServiceTest {
         Mockito.doReturn(agreements).when(artifactRepository).findRemoteOriginAgreements(artifactId);
         Mockito.doReturn(artifact).when(service).get(artifactId);
         Mockito.doReturn(data).when(artifactReceiver).retrieve(artifactId, artifact.getRemoteAddress(), agreements.get(0), null);
+        Mockito.doReturn(new StoredData("key", dataString.length, 0)).when(dataStore).store(data);
+        Mockito.doReturn(new ByteArrayInputStream(dataString)).when(dataStore).open("key");
 
         /* ACT */
         final var result = service.getData(verifier, artifactReceiver, artifactId, (QueryInput) null);
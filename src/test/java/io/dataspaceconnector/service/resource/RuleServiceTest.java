@@ -15,19 +15,27 @@
  */
 package io.dataspaceconnector.service.resource;
 
+import de.fraunhofer.iais.eis.Action;
+import de.fraunhofer.iais.eis.PermissionBuilder;
+import de.fraunhofer.iais.eis.util.Util;
 import io.dataspaceconnector.model.rule.ContractRule;
+import io.dataspaceconnector.model.rule.ContractRuleDesc;
 import io.dataspaceconnector.model.rule.ContractRuleFactory;
 import io.dataspaceconnector.repository.RuleRepository;
+import io.dataspaceconnector.service.ids.DeserializationService;
+import io.dataspaceconnector.util.RuleUtils;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest(classes = {RuleService.class})
@@ -39,6 +47,9 @@ public class RuleServiceTest {
     @MockBean
     private ContractRuleFactory factory;
 
+    @MockBean
+    private DeserializationService deserializationService;
+
     @Autowired
     private RuleService service;
 
@@ -62,4 +73,42 @@ public class RuleServiceTest {
         /* ASSERT */
         assertEquals(rules, result);
     }
+
+    @Test
+    public void create_validRule_storeFingerprint() {
+        /* ARRANGE */
+        final var desc = new ContractRuleDesc();
+        desc.setValue("rule");
+        final var rule = new ContractRule();
+        final var idsRule = new PermissionBuilder()._action_(Util.asList(Action.USE)).build();
+
+        ReflectionTestUtils.setField(rule, "value", "rule");
+        when(factory.create(desc)).thenReturn(rule);
+        when(deserializationService.getRule("rule")).thenReturn(idsRule);
+        when(repository.saveAndFlush(rule)).thenReturn(rule);
+
+        /* ACT */
+        service.create(desc);
+
+        /* ASSERT */
+        verify(factory).updateFingerprint(rule, RuleUtils.getFingerprint(idsRule));
+    }
+
+    @Test
+    public void create_invalidRule_storeNoFingerprint() {
+        /* ARRANGE */
+        final var desc = new ContractRuleDesc();
+        final var rule = new ContractRule();
+
+        ReflectionTestUtils.setField(rule, "value", "invalid");
+        when(factory.create(desc)).thenReturn(rule);
+        when(deserializationService.getRule("invalid")).thenThrow(IllegalArgumentException.class);
+        when(repository.saveAndFlush(rule)).thenReturn(rule);
+
+        /* ACT */
+        service.create(desc);
+
+        /* ASSERT */
+        verify(factory).updateFingerprint(rule, null);
+    }
 }
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32C;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DatabaseDataStoreTest {
+
+    private final ChunkTable table = new ChunkTable();
+
+    private final DatabaseDataStore store = new DatabaseDataStore(table, 4);
+
+    private final byte[] data = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+    @Test
+    public void constructor_chunkSizeZero_throwIllegalArgumentException() {
+        /* ACT && ASSERT */
+        assertThrows(IllegalArgumentException.class, () -> new DatabaseDataStore(table, 0));
+    }
+
+    @Test
+    public void store_validData_splitIntoChunks() throws IOException {
+        /* ARRANGE */
+        final var checksum = new CRC32C();
+        checksum.update(data, 0, data.length);
+
+        /* ACT */
+        final var result = store.store(new ByteArrayInputStream(data));
+
+        /* ASSERT */
+        assertEquals(data.length, result.getByteSize());
+        assertEquals(checksum.getValue(), result.getCheckSum());
+        final var chunks = table.getChunks(result.getKey());
+        assertEquals(3, chunks.size());
+        assertArrayEquals(new byte[]{8, 9}, chunks.get(2));
+    }
+
+    @Test
+    public void open_storedData_readAllChunks() throws IOException {
+        /* ARRANGE */
+        final var stored = store.store(new ByteArrayInputStream(data));
+
+        /* ACT */
+        final byte[] result;
+        try (var stream = store.open(stored.getKey())) {
+            result = stream.readAllBytes();
+        }
+
+        /* ASSERT */
+        assertArrayEquals(data, result);
+    }
+
+    @Test
+    public void open_emptyData_returnEndOfStream() throws IOException {
+        /* ARRANGE */
+        final var stored = store.store(new ByteArrayInputStream(new byte[0]));
+
+        /* ACT */
+        final int result;
+        try (var stream = store.open(stored.getKey())) {
+            result = stream.read();
+        }
+
+        /* ASSERT */
+        assertEquals(0, stored.getByteSize());
+        assertEquals(-1, result);
+    }
+
+    @Test
+    public void skip_acrossChunks_continueAfterSkippedBytes() throws IOException {
+        /* ARRANGE */
+        final var stored = store.store(new ByteArrayInputStream(data));
+
+        /* ACT */
+        final long skipped;
+        final byte[] result;
+        try (var stream = store.open(stored.getKey())) {
+            stream.read();
+            skipped = stream.skip(6);
+            result = stream.readAllBytes();
+        }
+
+        /* ASSERT */
+        assertEquals(6, skipped);
+        assertArrayEquals(new byte[]{7, 8, 9}, result);
+    }
+
+    @Test
+    public void skip_beyondEnd_skipRemainingBytes() throws IOException {
+        /* ARRANGE */
+        final var stored = store.store(new ByteArrayInputStream(data));
+
+        /* ACT */
+        final long skipped;
+        try (var stream = store.open(stored.getKey())) {
+            skipped = stream.skip(100);
+        }
+
+        /* ASSERT */
+        assertEquals(data.length, skipped);
+    }
+
+    @Test
+    public void transferTo_storedData_writeAllChunks() throws IOException {
+        /* ARRANGE */
+        final var stored = store.store(new ByteArrayInputStream(data));
+        final var out = new ByteArrayOutputStream();
+
+        /* ACT */
+        final long transferred;
+        try (var stream = store.open(stored.getKey())) {
+            stream.read();
+            transferred = stream.transferTo(out);
+        }
+
+        /* ASSERT */
+        assertEquals(data.length - 1, transferred);
+        assertEquals(data.length - 1, out.size());
+    }
+
+    @Test
+    public void delete_storedData_removeAllChunks() throws IOException {
+        /* ARRANGE */
+        final var stored = store.store(new ByteArrayInputStream(data));
+        final var other = store.store(new ByteArrayInputStream(data));
+
+        /* ACT */
+        store.delete(stored.getKey());
+
+        /* ASSERT */
+        assertTrue(table.getChunks(stored.getKey()).isEmpty());
+        assertEquals(3, table.getChunks(other.getKey()).size());
+        try (var stream = store.open(stored.getKey())) {
+            assertEquals(-1, stream.read());
+        }
+    }
+
+    @Test
+    public void store_streamFailsAfterChunks_removeWrittenChunks() {
+        /* ARRANGE */
+        final var failing = new SequenceInputStream(new ByteArrayInputStream(data),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("Connection reset.");
+                    }
+                });
+
+        /* ACT */
+        assertThrows(IOException.class, () -> store.store(failing));
+
+        /* ASSERT */
+        assertTrue(table.isEmpty());
+    }
+
+    /**
+     * Holds the chunk table in memory.
+     */
+    private static final class ChunkTable extends JdbcTemplate {
+
+        private final Map<String, Map<Integer, byte[]>> rows = new TreeMap<>();
+
+        boolean isEmpty() {
+            return rows.isEmpty();
+        }
+
+        List<byte[]> getChunks(final String key) {
+            return new ArrayList<>(rows.getOrDefault(key, Map.of()).values());
+        }
+
+        @Override
+        public int update(final String sql, final Object... args) {
+            if (sql.startsWith("INSERT")) {
+                rows.computeIfAbsent((String) args[0], key -> new TreeMap<>())
+                        .put((Integer) args[1], (byte[]) args[2]);
+                return 1;
+            }
+
+            final var removed = rows.remove((String) args[0]);
+            return removed == null ? 0 : removed.size();
+        }
+
+        @Override
+        public <T> List<T> query(final String sql, final RowMapper<T> rowMapper,
+                                 final Object... args) {
+            final var chunk = rows.getOrDefault((String) args[0], Map.of()).get(args[1]);
+            if (chunk == null) {
+                return List.of();
+            }
+
+            try {
+                final var resultSet = Mockito.mock(ResultSet.class);
+                Mockito.when(resultSet.getBytes(1)).thenReturn(chunk);
+                return List.of(rowMapper.mapRow(resultSet, 0));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
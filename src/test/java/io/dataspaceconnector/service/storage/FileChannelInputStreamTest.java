@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FileChannelInputStreamTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    public void transferTo_fullData_writeAllBytes() throws IOException {
+        /* ARRANGE */
+        final var data = "some data".getBytes(StandardCharsets.UTF_8);
+        final var file = Files.write(root.resolve("data"), data);
+        final var output = new ByteArrayOutputStream();
+
+        /* ACT */
+        try (var stream = new FileChannelInputStream(file)) {
+            assertEquals(data.length, stream.transferTo(output));
+        }
+
+        /* ASSERT */
+        assertArrayEquals(data, output.toByteArray());
+    }
+
+    @Test
+    public void transferTo_range_writeOnlyRange() throws IOException {
+        /* ARRANGE */
+        final var data = "some data".getBytes(StandardCharsets.UTF_8);
+        final var file = Files.write(root.resolve("data"), data);
+        final var output = new ByteArrayOutputStream();
+
+        /* ACT */
+        try (var stream = new FileChannelInputStream(file)) {
+            assertEquals(4, stream.transferTo(output, 5, 100));
+        }
+
+        /* ASSERT */
+        assertArrayEquals("data".getBytes(StandardCharsets.UTF_8), output.toByteArray());
+    }
+
+    @Test
+    public void transferTo_fileOutputStream_writeRangeThroughChannel() throws IOException {
+        /* ARRANGE */
+        final var data = "some data".getBytes(StandardCharsets.UTF_8);
+        final var file = Files.write(root.resolve("data"), data);
+        final var target = root.resolve("target");
+
+        /* ACT */
+        try (var stream = new FileChannelInputStream(file);
+             var output = new FileOutputStream(target.toFile())) {
+            assertEquals(4, stream.transferTo(output, 0, 4));
+            assertEquals(4, stream.transferTo(output, 5, 100));
+        }
+
+        /* ASSERT */
+        assertArrayEquals("somedata".getBytes(StandardCharsets.UTF_8), Files.readAllBytes(target));
+    }
+
+    @Test
+    public void read_afterSkip_continueAtPosition() throws IOException {
+        /* ARRANGE */
+        final var data = "some data".getBytes(StandardCharsets.UTF_8);
+        final var file = Files.write(root.resolve("data"), data);
+
+        /* ACT */
+        try (var stream = new FileChannelInputStream(file)) {
+            stream.skip(5);
+
+            /* ASSERT */
+            assertEquals(data.length, stream.size());
+            assertArrayEquals("data".getBytes(StandardCharsets.UTF_8), stream.readAllBytes());
+        }
+    }
+
+    @Test
+    public void transferTo_fileRegionTarget_handOverFileRegion() throws IOException {
+        /* ARRANGE */
+        final var data = "some data".getBytes(StandardCharsets.UTF_8);
+        final var file = Files.write(root.resolve("data"), data);
+        final var region = new ArrayList<Object>();
+
+        /* ACT */
+        final long result;
+        try (var stream = new FileChannelInputStream(file)) {
+            result = stream.transferTo((target, offset, length) -> region.addAll(
+                    List.of(target, offset, length)), 5, 10);
+        }
+
+        /* ASSERT */
+        assertEquals(4, result);
+        assertEquals(List.of(file, 5L, 4L), region);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileSystemDataStoreTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    public void store_validData_returnSizeAndChecksum() throws IOException {
+        /* ARRANGE */
+        final var store = new FileSystemDataStore(root);
+        final var data = "some data".getBytes(StandardCharsets.UTF_8);
+        final var checksum = new CRC32C();
+        checksum.update(data, 0, data.length);
+
+        /* ACT */
+        final var result = store.store(new ByteArrayInputStream(data));
+
+        /* ASSERT */
+        assertEquals(data.length, result.getByteSize());
+        assertEquals(checksum.getValue(), result.getCheckSum());
+        try (var stream = store.open(result.getKey())) {
+            assertArrayEquals(data, stream.readAllBytes());
+        }
+    }
+
+    @Test
+    public void store_sameDataTwice_returnSameKey() throws IOException {
+        /* ARRANGE */
+        final var store = new FileSystemDataStore(root);
+        final var data = "some data".getBytes(StandardCharsets.UTF_8);
+
+        /* ACT */
+        final var first = store.store(new ByteArrayInputStream(data));
+        final var second = store.store(new ByteArrayInputStream(data));
+
+        /* ASSERT */
+        assertEquals(first.getKey(), second.getKey());
+        assertTrue(Files.exists(store.resolve(first.getKey())));
+    }
+
+    @Test
+    public void delete_storedData_removeFile() throws IOException {
+        /* ARRANGE */
+        final var store = new FileSystemDataStore(root);
+        final var stored = store.store(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+
+        /* ACT */
+        store.delete(stored.getKey());
+
+        /* ASSERT */
+        assertFalse(Files.exists(store.resolve(stored.getKey())));
+    }
+
+    @Test
+    public void open_invalidKey_throwIllegalArgumentException() throws IOException {
+        /* ARRANGE */
+        final var store = new FileSystemDataStore(root);
+
+        /* ACT && ASSERT */
+        assertThrows(IllegalArgumentException.class, () -> store.open("../secret"));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import io.dataspaceconnector.exception.DataTooLargeException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SizeLimitedInputStreamTest {
+
+    @Test
+    public void readAllBytes_dataWithinLimit_returnData() throws IOException {
+        /* ARRANGE */
+        final byte[] data = {0, 1, 2, 3};
+        final var stream = new SizeLimitedInputStream(new ByteArrayInputStream(data), 4);
+
+        /* ACT */
+        final var result = stream.readAllBytes();
+
+        /* ASSERT */
+        assertArrayEquals(data, result);
+        assertEquals(4, stream.getCount());
+    }
+
+    @Test
+    public void readAllBytes_dataExceedsLimit_throwDataTooLargeException() {
+        /* ARRANGE */
+        final byte[] data = {0, 1, 2, 3};
+        final var stream = new SizeLimitedInputStream(new ByteArrayInputStream(data), 3);
+
+        /* ACT && ASSERT */
+        assertThrows(DataTooLargeException.class, stream::readAllBytes);
+    }
+
+    @Test
+    public void read_singleBytesExceedLimit_throwDataTooLargeException() throws IOException {
+        /* ARRANGE */
+        final byte[] data = {0, 1};
+        final var stream = new SizeLimitedInputStream(new ByteArrayInputStream(data), 1);
+        stream.read();
+
+        /* ACT && ASSERT */
+        assertThrows(DataTooLargeException.class, stream::read);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import io.dataspaceconnector.repository.DataRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StoredDataTrackerTest {
+
+    private final DataStore dataStore = Mockito.mock(DataStore.class);
+
+    private final DataRepository dataRepo = Mockito.mock(DataRepository.class);
+
+    private final StoredDataTracker tracker = new StoredDataTracker(dataStore, dataRepo,
+            Mockito.mock(PlatformTransactionManager.class));
+
+    @BeforeEach
+    public void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    public void endTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void release_transactionCommitted_deleteAfterCommit() throws IOException {
+        /* ARRANGE */
+        when(dataRepo.countByStorageKey("old")).thenReturn(0L);
+
+        /* ACT */
+        tracker.release("old");
+        verify(dataStore, never()).delete(any());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        /* ASSERT */
+        verify(dataStore).delete("old");
+    }
+
+    @Test
+    public void release_transactionRolledBack_keepData() throws IOException {
+        /* ARRANGE */
+        when(dataRepo.countByStorageKey("old")).thenReturn(0L);
+
+        /* ACT */
+        tracker.release("old");
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        /* ASSERT */
+        verify(dataStore, never()).delete(any());
+    }
+
+    @Test
+    public void release_stillReferenced_keepData() throws IOException {
+        /* ARRANGE */
+        when(dataRepo.countByStorageKey("old")).thenReturn(1L);
+
+        /* ACT */
+        tracker.release("old");
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        /* ASSERT */
+        verify(dataStore, never()).delete(any());
+    }
+
+    @Test
+    public void release_keyStoredByRunningTransaction_deleteNotBeforeItCompleted()
+            throws IOException {
+        /* ARRANGE */
+        final var data = new ByteArrayInputStream(new byte[]{1});
+        when(dataStore.store(data)).thenReturn(new StoredData("same", 1, 0));
+        when(dataRepo.countByStorageKey("same")).thenReturn(0L);
+        tracker.store(data);
+        final var uploading = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+
+        /* ACT */
+        tracker.release("same");
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        /* ASSERT */
+        verify(dataStore, never()).delete(any());
+        when(dataRepo.countByStorageKey("same")).thenReturn(1L);
+        uploading.forEach(sync -> sync.afterCompletion(
+                TransactionSynchronization.STATUS_COMMITTED));
+        verify(dataStore, never()).delete(any());
+    }
+
+    @Test
+    public void store_transactionRolledBack_deleteStoredData() throws IOException {
+        /* ARRANGE */
+        final var data = new ByteArrayInputStream(new byte[]{1});
+        when(dataStore.store(data)).thenReturn(new StoredData("new", 1, 0));
+        when(dataRepo.countByStorageKey("new")).thenReturn(0L);
+
+        /* ACT */
+        tracker.store(data);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        /* ASSERT */
+        verify(dataStore).delete("new");
+    }
+
+    private static void complete(final int status) {
+        final var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(sync -> sync.afterCompletion(status));
+    }
+}
@@ -32,6 +32,7 @@ import io.dataspaceconnector.exception.PolicyRestrictionException;
 import io.dataspaceconnector.model.artifact.Artifact;
 import io.dataspaceconnector.model.artifact.ArtifactImpl;
 import io.dataspaceconnector.service.EntityResolver;
+import io.dataspaceconnector.service.ids.DeserializationService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -48,7 +49,7 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
-@SpringBootTest(classes = {DataAccessVerifier.class})
+@SpringBootTest(classes = {DataAccessVerifier.class, PolicyCache.class})
 public class DataAccessVerifierTest {
 
     @MockBean
@@ -57,6 +58,9 @@ public class DataAccessVerifierTest {
     @MockBean
     private ConnectorConfiguration connectorConfig;
 
+    @MockBean
+    private DeserializationService deserializationService;
+
     @MockBean
     private EntityResolver entityResolver;
 
@@ -75,7 +79,7 @@ public class DataAccessVerifierTest {
         final var input = new AccessVerificationInput(agreement.getId(), artifact);
 
         when(entityResolver.getContractAgreementsByTarget(any())).thenReturn(List.of(agreement));
-        doNothing().when(ruleValidator).validatePolicy(any(), any(), any(), any(), any(), any());
+        doNothing().when(ruleValidator).validatePolicy(any(), any(), any(), any(), any());
 
         /* ACT */
         final var result = verifier.verify(input);
@@ -93,7 +97,7 @@ public class DataAccessVerifierTest {
 
         when(entityResolver.getContractAgreementsByTarget(any())).thenReturn(List.of(agreement));
         doThrow(PolicyRestrictionException.class)
-                .when(ruleValidator).validatePolicy(any(), any(), any(), any(), any(), any());
+                .when(ruleValidator).validatePolicy(any(), any(), any(), any(), any());
         when(connectorConfig.isAllowUnsupported()).thenReturn(false);
 
         /* ACT */
@@ -30,6 +30,7 @@ import de.fraunhofer.iais.eis.util.Util;
 import de.fraunhofer.ids.messaging.util.IdsMessageUtils;
 import io.dataspaceconnector.config.ConnectorConfiguration;
 import io.dataspaceconnector.exception.PolicyRestrictionException;
+import io.dataspaceconnector.service.ids.DeserializationService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -44,7 +45,7 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
-@SpringBootTest(classes = {DataProvisionVerifier.class})
+@SpringBootTest(classes = {DataProvisionVerifier.class, PolicyCache.class})
 public class DataProvisionVerifierTest {
 
     @MockBean
@@ -53,6 +54,9 @@ public class DataProvisionVerifierTest {
     @MockBean
     private ConnectorConfiguration connectorConfig;
 
+    @MockBean
+    private DeserializationService deserializationService;
+
     @Autowired
     private DataProvisionVerifier verifier;
 
@@ -67,7 +71,7 @@ public class DataProvisionVerifierTest {
 
         final var input = new ProvisionVerificationInput(target, issuerConnector, agreement, profile);
 
-        doNothing().when(ruleValidator).validatePolicy(any(), any(), any(), any(), any(), any());
+        doNothing().when(ruleValidator).validatePolicy(any(), any(), any(), any(), any());
 
         /* ACT */
         final var result = verifier.verify(input);
@@ -86,7 +90,7 @@ public class DataProvisionVerifierTest {
         final var input = new ProvisionVerificationInput(target, issuerConnector, agreement, profile);
 
         doThrow(PolicyRestrictionException.class)
-                .when(ruleValidator).validatePolicy(any(), any(), any(), any(), any(), any());
+                .when(ruleValidator).validatePolicy(any(), any(), any(), any(), any());
         when(connectorConfig.isAllowUnsupported()).thenReturn(false);
 
         /* ACT */
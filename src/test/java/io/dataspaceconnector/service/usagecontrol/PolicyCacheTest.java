@@ -0,0 +1,185 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.usagecontrol;
+
+import de.fraunhofer.iais.eis.Action;
+import de.fraunhofer.iais.eis.ContractAgreement;
+import de.fraunhofer.iais.eis.ContractAgreementBuilder;
+import de.fraunhofer.iais.eis.Permission;
+import de.fraunhofer.iais.eis.PermissionBuilder;
+import de.fraunhofer.iais.eis.util.TypedLiteral;
+import de.fraunhofer.iais.eis.util.Util;
+import de.fraunhofer.ids.messaging.util.IdsMessageUtils;
+import io.dataspaceconnector.model.agreement.Agreement;
+import io.dataspaceconnector.service.ids.DeserializationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PolicyCacheTest {
+
+    private DeserializationService deserializationService;
+
+    private PolicyCache cache;
+
+    @BeforeEach
+    public void init() {
+        deserializationService = Mockito.mock(DeserializationService.class);
+        cache = new PolicyCache(deserializationService, 2);
+    }
+
+    @Test
+    public void getContractAgreement_sameVersion_deserializeOnce() {
+        /* ARRANGE */
+        final var agreement = getAgreement(UUID.randomUUID(), ZonedDateTime.now());
+        final var expected = getContractAgreement();
+        when(deserializationService.getContractAgreement("value")).thenReturn(expected);
+
+        /* ACT */
+        final var first = cache.getContractAgreement(agreement);
+        final var second = cache.getContractAgreement(agreement);
+
+        /* ASSERT */
+        assertSame(expected, first);
+        assertSame(expected, second);
+        verify(deserializationService, times(1)).getContractAgreement("value");
+    }
+
+    @Test
+    public void getContractAgreement_modifiedEntity_deserializeAgain() {
+        /* ARRANGE */
+        final var id = UUID.randomUUID();
+        final var date = ZonedDateTime.now();
+        when(deserializationService.getContractAgreement("value"))
+                .thenReturn(getContractAgreement());
+
+        /* ACT */
+        cache.getContractAgreement(getAgreement(id, date));
+        cache.getContractAgreement(getAgreement(id, date.plusSeconds(1)));
+
+        /* ASSERT */
+        verify(deserializationService, times(2)).getContractAgreement("value");
+    }
+
+    @Test
+    public void getContractAgreement_notPersisted_doNotCache() {
+        /* ARRANGE */
+        final var agreement = getAgreement(null, null);
+        when(deserializationService.getContractAgreement("value"))
+                .thenReturn(getContractAgreement());
+
+        /* ACT */
+        cache.getContractAgreement(agreement);
+        cache.getContractAgreement(agreement);
+
+        /* ASSERT */
+        verify(deserializationService, times(2)).getContractAgreement("value");
+    }
+
+    @Test
+    public void getContractAgreement_sizeExceeded_evictLeastRecentlyUsed() {
+        /* ARRANGE */
+        final var date = ZonedDateTime.now();
+        final var first = getAgreement(UUID.randomUUID(), date);
+        when(deserializationService.getContractAgreement("value"))
+                .thenReturn(getContractAgreement());
+
+        /* ACT */
+        cache.getContractAgreement(first);
+        cache.getContractAgreement(getAgreement(UUID.randomUUID(), date));
+        cache.getContractAgreement(getAgreement(UUID.randomUUID(), date));
+        cache.getContractAgreement(first);
+
+        /* ASSERT */
+        verify(deserializationService, times(4)).getContractAgreement("value");
+    }
+
+    @Test
+    public void getPattern_equalRules_returnSamePattern() {
+        /* ARRANGE */
+        final var rule = getPermission();
+
+        /* ACT */
+        final var first = cache.getPattern(rule);
+        final var second = cache.getPattern(getPermission());
+
+        /* ASSERT */
+        assertEquals(PolicyPattern.PROVIDE_ACCESS, first);
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void getPlan_sameAgreement_compileOnce() {
+        /* ARRANGE */
+        final var agreement = getContractAgreement();
+
+        /* ACT */
+        final var first = cache.getPlan(agreement);
+        final var second = cache.getPlan(agreement);
+
+        /* ASSERT */
+        assertSame(first, second);
+    }
+
+    @Test
+    public void getPlan_otherAgreementObject_compileAgain() {
+        /* ACT */
+        final var first = cache.getPlan(getContractAgreement());
+        final var second = cache.getPlan(getContractAgreement());
+
+        /* ASSERT */
+        assertNotSame(first, second);
+    }
+
+    /***********************************************************************************************
+     * Utilities.                                                                                  *
+     **********************************************************************************************/
+
+    private Agreement getAgreement(final UUID id, final ZonedDateTime modificationDate) {
+        final var agreement = new Agreement();
+        ReflectionTestUtils.setField(agreement, "id", id);
+        ReflectionTestUtils.setField(agreement, "modificationDate", modificationDate);
+        ReflectionTestUtils.setField(agreement, "value", "value");
+        return agreement;
+    }
+
+    private ContractAgreement getContractAgreement() {
+        return new ContractAgreementBuilder(URI.create("https://agreement.com"))
+                ._contractStart_(IdsMessageUtils.getGregorianNow())
+                ._contractEnd_(IdsMessageUtils.getGregorianNow())
+                ._permission_(Util.asList(getPermission()))
+                .build();
+    }
+
+    private Permission getPermission() {
+        return new PermissionBuilder(URI.create("https://permission.com"))
+                ._title_(Util.asList(new TypedLiteral("Example Usage Policy")))
+                ._action_(Util.asList(Action.USE))
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.usagecontrol;
+
+import de.fraunhofer.iais.eis.Action;
+import de.fraunhofer.iais.eis.BinaryOperator;
+import de.fraunhofer.iais.eis.ConstraintBuilder;
+import de.fraunhofer.iais.eis.ContractAgreement;
+import de.fraunhofer.iais.eis.ContractAgreementBuilder;
+import de.fraunhofer.iais.eis.LeftOperand;
+import de.fraunhofer.iais.eis.Permission;
+import de.fraunhofer.iais.eis.PermissionBuilder;
+import de.fraunhofer.iais.eis.Rule;
+import de.fraunhofer.iais.eis.util.RdfResource;
+import de.fraunhofer.iais.eis.util.Util;
+import de.fraunhofer.ids.messaging.util.IdsMessageUtils;
+import io.dataspaceconnector.util.RuleUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the policy decision for an agreement with 1, 10 and 100 rules on the requested
+ * target, once by inspecting the rules of the agreement on every request and once by using a
+ * compiled {@link PolicyDecisionPlan}. Run it with
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main PolicyDecisionPlanBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolicyDecisionPlanBenchmark {
+
+    private final URI target = URI.create("https://target.com");
+
+    @Param({"1", "10", "100"})
+    private int rules;
+
+    private ContractAgreement agreement;
+
+    private PolicyDecisionPlan plan;
+
+    @Setup
+    public void setup() {
+        final var permissions = new ArrayList<Permission>();
+        for (int i = 0; i < rules; i++) {
+            permissions.add(new PermissionBuilder()
+                    ._action_(Util.asList(Action.USE))
+                    ._target_(target)
+                    ._constraint_(Util.asList(new ConstraintBuilder()
+                            ._leftOperand_(LeftOperand.COUNT)
+                            ._operator_(BinaryOperator.LTEQ)
+                            ._rightOperand_(new RdfResource(String.valueOf(i + 1),
+                                    URI.create("xsd:double")))
+                            .build()))
+                    .build());
+        }
+
+        agreement = new ContractAgreementBuilder(URI.create("https://agreement.com"))
+                ._contractStart_(IdsMessageUtils.getGregorianNow())
+                ._permission_(permissions)
+                .build();
+        plan = PolicyDecisionPlan.compile(agreement);
+    }
+
+    @Benchmark
+    public PolicyDecisionPlan compile() {
+        return PolicyDecisionPlan.compile(agreement);
+    }
+
+    @Benchmark
+    public void decide_inspectAgreement(final Blackhole blackhole) {
+        for (final Rule rule : agreement.getPermission()) {
+            if (target.equals(rule.getTarget())
+                    && RuleUtils.getPatternByRule(rule) == PolicyPattern.N_TIMES_USAGE) {
+                blackhole.consume(RuleUtils.getMaxAccess(rule));
+            }
+        }
+    }
+
+    @Benchmark
+    public void decide_compiledPlan(final Blackhole blackhole) {
+        for (final var step : plan.getSteps(target)) {
+            if (step.getPattern() == PolicyPattern.N_TIMES_USAGE) {
+                blackhole.consume(step.getMaxAccess());
+            }
+        }
+    }
+}
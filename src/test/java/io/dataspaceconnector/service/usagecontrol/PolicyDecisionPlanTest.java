@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.usagecontrol;
+
+import de.fraunhofer.iais.eis.Action;
+import de.fraunhofer.iais.eis.BinaryOperator;
+import de.fraunhofer.iais.eis.ConstraintBuilder;
+import de.fraunhofer.iais.eis.ContractAgreementBuilder;
+import de.fraunhofer.iais.eis.LeftOperand;
+import de.fraunhofer.iais.eis.PermissionBuilder;
+import de.fraunhofer.iais.eis.ProhibitionBuilder;
+import de.fraunhofer.iais.eis.util.RdfResource;
+import de.fraunhofer.iais.eis.util.Util;
+import de.fraunhofer.ids.messaging.util.IdsMessageUtils;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PolicyDecisionPlanTest {
+
+    private final URI target = URI.create("https://target.com");
+
+    @Test
+    public void compile_rulesWithTarget_indexStepsByTargetInOrder() {
+        /* ARRANGE */
+        final var permission = new PermissionBuilder()
+                ._action_(Util.asList(Action.USE))
+                ._target_(target)
+                .build();
+        final var prohibition = new ProhibitionBuilder()
+                ._action_(Util.asList(Action.USE))
+                ._target_(target)
+                .build();
+        final var agreement = new ContractAgreementBuilder(URI.create("https://agreement.com"))
+                ._contractStart_(IdsMessageUtils.getGregorianNow())
+                ._permission_(Util.asList(permission))
+                ._prohibition_(Util.asList(prohibition))
+                .build();
+
+        /* ACT */
+        final var plan = PolicyDecisionPlan.compile(agreement);
+
+        /* ASSERT */
+        final var steps = plan.getSteps(target);
+        assertEquals(2, steps.size());
+        assertSame(permission, steps.get(0).getRule());
+        assertEquals(PolicyPattern.PROVIDE_ACCESS, steps.get(0).getPattern());
+        assertSame(prohibition, steps.get(1).getRule());
+        assertEquals(PolicyPattern.PROHIBIT_ACCESS, steps.get(1).getPattern());
+        assertTrue(plan.isCompiledFrom(agreement));
+    }
+
+    @Test
+    public void getSteps_unknownTarget_returnEmptyList() {
+        /* ARRANGE */
+        final var agreement = new ContractAgreementBuilder(URI.create("https://agreement.com"))
+                ._contractStart_(IdsMessageUtils.getGregorianNow())
+                ._permission_(new ArrayList<>())
+                .build();
+
+        /* ACT */
+        final var plan = PolicyDecisionPlan.compile(agreement);
+
+        /* ASSERT */
+        assertTrue(plan.getSteps(URI.create("https://other.com")).isEmpty());
+    }
+
+    @Test
+    public void getInterval_invalidDate_throwDateTimeParseException() {
+        /* ARRANGE */
+        final var rule = new PermissionBuilder()
+                ._action_(Util.asList(Action.USE))
+                ._target_(target)
+                ._constraint_(Util.asList(new ConstraintBuilder()
+                        ._leftOperand_(LeftOperand.POLICY_EVALUATION_TIME)
+                        ._operator_(BinaryOperator.AFTER)
+                        ._rightOperand_(new RdfResource("some long long time ago",
+                                URI.create("xsd:dateTimeStamp")))
+                        .build(), new ConstraintBuilder()
+                        ._leftOperand_(LeftOperand.POLICY_EVALUATION_TIME)
+                        ._operator_(BinaryOperator.BEFORE)
+                        ._rightOperand_(new RdfResource("2029-05-07T17:05:45.678Z",
+                                URI.create("xsd:dateTimeStamp")))
+                        .build()))
+                .build();
+
+        /* ACT */
+        final var step = PolicyDecisionPlan.Step.compile(rule, PolicyPattern.USAGE_DURING_INTERVAL);
+
+        /* ASSERT */
+        assertThrows(DateTimeParseException.class, step::getInterval);
+    }
+
+    @Test
+    public void getMaxAccess_nTimesUsage_returnParsedNumber() {
+        /* ARRANGE */
+        final var rule = new PermissionBuilder()
+                ._action_(Util.asList(Action.USE))
+                ._target_(target)
+                ._constraint_(Util.asList(new ConstraintBuilder()
+                        ._leftOperand_(LeftOperand.COUNT)
+                        ._operator_(BinaryOperator.LTEQ)
+                        ._rightOperand_(new RdfResource("5", URI.create("xsd:double")))
+                        .build()))
+                .build();
+
+        /* ACT */
+        final var step = PolicyDecisionPlan.Step.compile(rule);
+
+        /* ASSERT */
+        assertEquals(PolicyPattern.N_TIMES_USAGE, step.getPattern());
+        assertEquals(5, step.getMaxAccess());
+        assertThrows(IllegalStateException.class, step::getDuration);
+    }
+}
@@ -30,10 +30,12 @@ import de.fraunhofer.iais.eis.util.Util;
 import de.fraunhofer.ids.messaging.util.IdsMessageUtils;
 import io.dataspaceconnector.config.ConnectorConfiguration;
 import io.dataspaceconnector.service.ids.ConnectorService;
+import io.dataspaceconnector.service.message.processing.ClearingHouseDispatcher;
 import io.dataspaceconnector.service.message.processing.ClearingHouseService;
 import io.dataspaceconnector.service.message.type.LogMessageService;
 import io.dataspaceconnector.service.message.type.NotificationService;
 import io.dataspaceconnector.util.IdsUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -48,10 +50,12 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-@SpringBootTest(classes = {PolicyExecutionService.class, ClearingHouseService.class})
+@SpringBootTest(classes = {PolicyExecutionService.class, ClearingHouseService.class,
+        ClearingHouseDispatcher.class, SimpleMeterRegistry.class})
 public class PolicyExecutionServiceTest {
 
     @MockBean
@@ -97,7 +101,7 @@ public class PolicyExecutionServiceTest {
         policyExecutionService.sendAgreement(agreement);
 
         /* ASSERT */
-        verify(logMessageService, times(1))
+        verify(logMessageService, timeout(5000).times(1))
                 .sendMessage(new URI(chUri + agreementID.toString()), IdsUtils.toRdf(agreement));
     }
 
@@ -115,7 +119,7 @@ public class PolicyExecutionServiceTest {
         policyExecutionService.logDataAccess(target, URI.create("https://agreement.com/api/agreements/" + agreementID));
 
         /* ASSERT */
-        verify(logMessageService, times(1))
+        verify(logMessageService, timeout(5000).times(1))
                 .sendMessage(eq(URI.create(chUri + agreementID.toString())), any());
     }
 
@@ -29,6 +29,8 @@ import io.dataspaceconnector.service.ids.DeserializationService;
 import io.dataspaceconnector.service.resource.EntityDependencyResolver;
 import io.dataspaceconnector.util.ErrorMessage;
 import io.dataspaceconnector.util.PatternUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentracing.mock.MockTracer;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -46,7 +48,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.eq;
 
 
-@SpringBootTest(classes = { RuleValidator.class })
+@SpringBootTest(classes = { RuleValidator.class, PolicyCache.class, SimpleMeterRegistry.class,
+        MockTracer.class })
 class RuleValidatorTest {
 
     @MockBean
@@ -157,6 +160,7 @@ class RuleValidatorTest {
 
         /* ACT && ASSERT */
         assertDoesNotThrow(() -> validator.validatePolicy( PolicyPattern.N_TIMES_USAGE, rule, target, recipient, Optional.empty(),agreementId));
+        Mockito.verify(informationService, Mockito.times(1)).limitAccessNumber(target, 5);
     }
 
     @Test
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.telemetry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import io.dataspaceconnector.service.storage.FileChannelInputStream;
+import io.dataspaceconnector.util.StreamUtils;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MeteredInputStreamTest {
+
+    private static final byte[] DATA = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void close_dataRead_recordBytesRead() throws IOException {
+        /* ARRANGE */
+        final var summary = getSummary();
+        final var stream = new MeteredInputStream(new ByteArrayInputStream(DATA), summary);
+
+        /* ACT */
+        stream.readAllBytes();
+        stream.close();
+
+        /* ASSERT */
+        assertEquals(DATA.length, summary.totalAmount());
+    }
+
+    @Test
+    public void skip_dataSkipped_doNotRecordSkippedBytes() throws IOException {
+        /* ARRANGE */
+        final var summary = getSummary();
+        final var stream = new MeteredInputStream(new ByteArrayInputStream(DATA), summary);
+
+        /* ACT */
+        stream.skip(4);
+        stream.readAllBytes();
+        stream.close();
+
+        /* ASSERT */
+        assertEquals(6, summary.totalAmount());
+    }
+
+    @Test
+    public void skip_underlyingStreamCannotSkip_doNotRecordSkippedBytes() throws IOException {
+        /* ARRANGE */
+        final var summary = getSummary();
+        final var data = new FilterInputStream(new ByteArrayInputStream(DATA)) {
+            @Override
+            public long skip(final long length) {
+                return 0;
+            }
+        };
+        final var stream = new MeteredInputStream(data, summary);
+
+        /* ACT */
+        StreamUtils.skipFully(stream, 4);
+        final var rest = stream.readAllBytes();
+        stream.close();
+
+        /* ASSERT */
+        assertEquals(6, rest.length);
+        assertEquals(6, summary.totalAmount());
+    }
+
+    @Test
+    public void transferTo_range_recordOnlyTransferredBytes() throws IOException {
+        /* ARRANGE */
+        final var summary = getSummary();
+        final var stream = new MeteredInputStream(new ByteArrayInputStream(DATA), summary);
+        final var out = new ByteArrayOutputStream();
+
+        /* ACT */
+        final var transferred = stream.transferTo(out, 6, 3);
+        stream.close();
+
+        /* ASSERT */
+        assertEquals(3, transferred);
+        assertArrayEquals(new byte[]{6, 7, 8}, out.toByteArray());
+        assertEquals(3, summary.totalAmount());
+    }
+
+    @Test
+    public void transferTo_rangeOfFile_readAtPosition() throws IOException {
+        /* ARRANGE */
+        final var file = Files.write(tempDir.resolve("data"), DATA);
+        final var summary = getSummary();
+        final var stream = new MeteredInputStream(new FileChannelInputStream(file), summary);
+        final var out = new ByteArrayOutputStream();
+
+        /* ACT */
+        final var transferred = stream.transferTo(out, 2, 4);
+        stream.close();
+
+        /* ASSERT */
+        assertEquals(4, transferred);
+        assertArrayEquals(new byte[]{2, 3, 4, 5}, out.toByteArray());
+        assertEquals(4, summary.totalAmount());
+    }
+
+    @Test
+    public void transferTo_fileRegionOfFile_recordHandedOverBytes() throws IOException {
+        /* ARRANGE */
+        final var file = Files.write(tempDir.resolve("data"), DATA);
+        final var summary = getSummary();
+        final var stream = new MeteredInputStream(new FileChannelInputStream(file), summary);
+
+        /* ACT */
+        final var transferred = stream.transferTo((target, offset, length) -> { }, 2, 4);
+        stream.close();
+
+        /* ASSERT */
+        assertEquals(4, transferred);
+        assertEquals(4, summary.totalAmount());
+    }
+
+    @Test
+    public void transferTo_fileRegionOfOtherData_recordNothing() throws IOException {
+        /* ARRANGE */
+        final var summary = getSummary();
+        final var stream = new MeteredInputStream(new ByteArrayInputStream(DATA), summary);
+
+        /* ACT */
+        final var transferred = stream.transferTo((target, offset, length) -> { }, 2, 4);
+        stream.close();
+
+        /* ASSERT */
+        assertEquals(-1, transferred);
+        assertEquals(0, summary.totalAmount());
+    }
+
+    private DistributionSummary getSummary() {
+        return DistributionSummary.builder("test.bytes").register(new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.telemetry;
+
+import io.opentracing.mock.MockTracer;
+import io.opentracing.tag.Tags;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TracingUtilsTest {
+
+    @Test
+    public void trace_actionSucceeds_returnResultWithinFinishedSpan() throws Exception {
+        /* ARRANGE */
+        final var tracer = new MockTracer();
+
+        /* ACT */
+        final var result = TracingUtils.trace(tracer, "step",
+                () -> tracer.activeSpan() != null ? "active" : "inactive");
+
+        /* ASSERT */
+        assertEquals("active", result);
+        assertEquals(1, tracer.finishedSpans().size());
+
+        final var span = tracer.finishedSpans().get(0);
+        assertEquals("step", span.operationName());
+        assertEquals("camel", span.tags().get(Tags.COMPONENT.getKey()));
+        assertNull(span.tags().get(Tags.ERROR.getKey()));
+        assertNull(tracer.activeSpan());
+    }
+
+    @Test
+    public void trace_actionFails_markSpanAsFailedAndRethrow() {
+        /* ARRANGE */
+        final var tracer = new MockTracer();
+        final var exception = new IllegalStateException("failed");
+
+        /* ACT */
+        final var result = assertThrows(IllegalStateException.class,
+                () -> TracingUtils.trace(tracer, "step", () -> {
+                    throw exception;
+                }));
+
+        /* ASSERT */
+        assertSame(exception, result);
+        assertEquals(1, tracer.finishedSpans().size());
+
+        final var span = tracer.finishedSpans().get(0);
+        assertEquals(true, span.tags().get(Tags.ERROR.getKey()));
+        assertTrue(span.logEntries().get(0).fields().containsValue(exception));
+    }
+}
@@ -32,11 +32,16 @@ import io.dataspaceconnector.exception.MessageEmptyException;
 import io.dataspaceconnector.exception.VersionNotSupportedException;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 
 import static de.fraunhofer.ids.messaging.util.IdsMessageUtils.getGregorianNow;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -411,6 +416,62 @@ class MessageUtilsTest {
                 .build();
     }
 
+    @Test
+    public void encodePayload_data_returnBase64() throws IOException {
+        /* ARRANGE */
+        final var data = "some data".getBytes(StandardCharsets.UTF_8);
+
+        /* ACT */
+        final var result = MessageUtils.encodePayload(new ByteArrayInputStream(data));
+
+        /* ASSERT */
+        assertEquals(Base64.getEncoder().encodeToString(data), result);
+    }
+
+    @Test
+    public void decodePayload_base64_returnData() throws IOException {
+        /* ARRANGE */
+        final var data = "some data".getBytes(StandardCharsets.UTF_8);
+        final var payload = Base64.getEncoder().encodeToString(data);
+
+        /* ACT */
+        final var result = MessageUtils.decodePayload(payload);
+
+        /* ASSERT */
+        assertArrayEquals(data, result.readAllBytes());
+    }
+
+    @Test
+    public void decodePayload_invalidCharacter_throwIOException() {
+        /* ARRANGE */
+        final var payload = "c29tZS*kYXRh";
+
+        /* ACT */
+        final var result = MessageUtils.decodePayload(payload);
+
+        /* ASSERT */
+        assertThrows(IOException.class, result::readAllBytes);
+    }
+
+    @Test
+    public void decodePayload_surroundingLineBreak_returnData() throws IOException {
+        /* ARRANGE */
+        final var data = "some data".getBytes(StandardCharsets.UTF_8);
+        final var payload = Base64.getEncoder().encodeToString(data) + "\r\n";
+
+        /* ACT */
+        final var result = MessageUtils.decodePayload(payload);
+
+        /* ASSERT */
+        assertArrayEquals(data, result.readAllBytes());
+    }
+
+    @Test
+    public void decodePayload_null_throwIllegalArgumentException() {
+        /* ACT && ASSERT */
+        assertThrows(IllegalArgumentException.class, () -> MessageUtils.decodePayload(null));
+    }
+
     private RejectionMessage getRejectionMessage(final RejectionReason rejectionReason) {
         return new RejectionMessageBuilder(messageId)
                 ._issued_(getGregorianNow())
@@ -289,6 +289,40 @@ class RuleUtilsTest {
                 Util.asList(getRuleOne(), getRuleThree())));
     }
 
+    @Test
+    public void getFingerprint_reorderedActionsAndConstraints_returnSameFingerprint() {
+        /* ARRANGE */
+        final var first = new ConstraintBuilder()
+                ._leftOperand_(LeftOperand.COUNT)
+                ._operator_(BinaryOperator.LTEQ)
+                ._rightOperand_(new RdfResource("5", URI.create("xsd:double")))
+                .build();
+        final var second = new ConstraintBuilder()
+                ._leftOperand_(LeftOperand.POLICY_EVALUATION_TIME)
+                ._operator_(BinaryOperator.AFTER)
+                ._rightOperand_(new RdfResource("2020-07-11T00:00:00Z",
+                        URI.create("xsd:dateTimeStamp")))
+                .build();
+        final var rule = new PermissionBuilder()
+                ._action_(Util.asList(Action.USE, Action.NOTIFY))
+                ._constraint_(Util.asList(first, second))
+                .build();
+        final var reordered = new PermissionBuilder()
+                ._action_(Util.asList(Action.NOTIFY, Action.USE, Action.USE))
+                ._constraint_(Util.asList(second, first))
+                .build();
+
+        /* ACT && ASSERT */
+        assertEquals(RuleUtils.getFingerprint(rule), RuleUtils.getFingerprint(reordered));
+    }
+
+    @Test
+    public void getFingerprint_differentActions_returnDifferentFingerprint() {
+        /* ACT && ASSERT */
+        assertNotEquals(RuleUtils.getFingerprint(getRuleOne()),
+                RuleUtils.getFingerprint(getRuleThree()));
+    }
+
     /**
      * removeContractsWithInvalidConsumer
      */
@@ -714,6 +748,44 @@ class RuleUtilsTest {
         assertNull(result.getEnd());
     }
 
+    @Test
+    public void getDeletionDate_permissionWithDeleteDuty_returnDate() {
+        /* ARRANGE */
+        final var date = "2021-07-11T00:00:00Z";
+        final var permission = new PermissionBuilder()
+                ._action_(Util.asList(Action.USE))
+                ._postDuty_(Util.asList(new DutyBuilder()
+                        ._action_(Util.asList(Action.DELETE))
+                        ._constraint_(Util.asList(new ConstraintBuilder()
+                                ._leftOperand_(LeftOperand.POLICY_EVALUATION_TIME)
+                                ._operator_(BinaryOperator.TEMPORAL_EQUALS)
+                                ._rightOperand_(new RdfResource(date,
+                                        URI.create("xsd:dateTimeStamp")))
+                                .build()))
+                        .build()))
+                .build();
+
+        /* ACT */
+        final var result = RuleUtils.getDeletionDate(permission);
+
+        /* ASSERT */
+        assertEquals(ZonedDateTime.parse(date), result);
+    }
+
+    @Test
+    public void getDeletionDate_permissionWithoutDeleteDuty_returnNull() {
+        /* ARRANGE */
+        final var permission = new PermissionBuilder()
+                ._action_(Util.asList(Action.USE))
+                .build();
+
+        /* ACT */
+        final var result = RuleUtils.getDeletionDate(permission);
+
+        /* ASSERT */
+        assertNull(result);
+    }
+
     @Test
     public void getEndpoint_inputNull_throwNullPointerException() {
         /* ACT & ASSERT */
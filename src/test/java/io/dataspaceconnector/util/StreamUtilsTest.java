@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StreamUtilsTest {
+
+    @Test
+    public void copy_lengthBelowSize_copyOnlyLength() throws IOException {
+        /* ARRANGE */
+        final var input = new ByteArrayInputStream(new byte[]{0, 1, 2, 3});
+        final var output = new ByteArrayOutputStream();
+
+        /* ACT */
+        final var result = StreamUtils.copy(input, output, 3);
+
+        /* ASSERT */
+        assertEquals(3, result);
+        assertArrayEquals(new byte[]{0, 1, 2}, output.toByteArray());
+    }
+
+    @Test
+    public void copy_lengthAboveSize_copyAll() throws IOException {
+        /* ARRANGE */
+        final var input = new ByteArrayInputStream(new byte[]{0, 1, 2, 3});
+        final var output = new ByteArrayOutputStream();
+
+        /* ACT */
+        final var result = StreamUtils.copy(input, output, Long.MAX_VALUE);
+
+        /* ASSERT */
+        assertEquals(4, result);
+        assertArrayEquals(new byte[]{0, 1, 2, 3}, output.toByteArray());
+    }
+
+    @Test
+    public void skipFully_withinData_skipBytes() throws IOException {
+        /* ARRANGE */
+        final var input = new ByteArrayInputStream(new byte[]{0, 1, 2, 3});
+
+        /* ACT */
+        StreamUtils.skipFully(input, 3);
+
+        /* ASSERT */
+        assertEquals(3, input.read());
+    }
+
+    @Test
+    public void skipFully_beyondData_throwEOFException() {
+        /* ARRANGE */
+        final var input = new ByteArrayInputStream(new byte[]{0, 1});
+
+        /* ACT && ASSERT */
+        assertThrows(EOFException.class, () -> StreamUtils.skipFully(input, 3));
+    }
+
+    @Test
+    public void transferRange_plainStream_skipToOffset() throws IOException {
+        /* ARRANGE */
+        final var input = new ByteArrayInputStream(new byte[]{0, 1, 2, 3});
+        final var output = new ByteArrayOutputStream();
+
+        /* ACT */
+        final var result = StreamUtils.transferRange(input, output, 1, 2);
+
+        /* ASSERT */
+        assertEquals(2, result);
+        assertArrayEquals(new byte[]{1, 2}, output.toByteArray());
+    }
+
+    @Test
+    public void transferRange_rangeTransferableStream_delegateTransfer() throws IOException {
+        /* ARRANGE */
+        final var input = new RangeTransferableStream(new byte[]{0, 1, 2, 3});
+        final var output = new ByteArrayOutputStream();
+
+        /* ACT */
+        final var result = StreamUtils.transferRange(input, output, 1, 2);
+
+        /* ASSERT */
+        assertEquals(2, result);
+        assertArrayEquals(new byte[]{1, 2}, output.toByteArray());
+        assertEquals(0, input.read());
+    }
+
+    private static final class RangeTransferableStream extends ByteArrayInputStream
+            implements RangeTransferable {
+        RangeTransferableStream(final byte[] data) {
+            super(data);
+        }
+
+        @Override
+        public long transferTo(final OutputStream out, final long offset, final long length)
+                throws IOException {
+            out.write(buf, (int) offset, (int) length);
+            return length;
+        }
+
+        @Override
+        public long transferTo(final FileRegionTarget target, final long offset,
+                               final long length) {
+            return -1;
+        }
+    }
+}
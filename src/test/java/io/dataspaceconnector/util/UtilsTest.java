@@ -164,6 +164,34 @@ class UtilsTest {
         assertTrue(result.toList().contains(3));
     }
 
+    @Test
+    public void toPage_deepPage_returnOnlyPage() {
+        /* ARRANGE */
+        final var list = List.of(5, 4, 3, 2, 1, 0);
+        final var pageable = PageRequest.of(2, 2);
+
+        /* ACT */
+        final var result = Utils.toPage(list, pageable);
+
+        /* ASSERT */
+        assertEquals(List.of(1, 0), result.toList());
+        assertEquals(6, result.getTotalElements());
+    }
+
+    @Test
+    public void toPage_pageAfterEnd_returnEmptyPage() {
+        /* ARRANGE */
+        final var list = List.of(5, 4, 3);
+        final var pageable = PageRequest.of(3, 2);
+
+        /* ACT */
+        final var result = Utils.toPage(list, pageable);
+
+        /* ASSERT */
+        assertTrue(result.toList().isEmpty());
+        assertEquals(3, result.getTotalElements());
+    }
+
     /***********************************************************************************************
      * toPageRequest.                                                                              *
      **********************************************************************************************/